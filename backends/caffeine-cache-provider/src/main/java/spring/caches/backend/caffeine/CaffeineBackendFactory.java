@@ -7,11 +7,15 @@ import spring.caches.backend.properties.tree.CachesProperties;
 import spring.caches.backend.system.BackendFactory;
 import spring.caches.backend.system.DefaultPlatform;
 
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -25,15 +29,84 @@ public class CaffeineBackendFactory extends BackendFactory {
 
     public static final String BACKEND_NAME = "caffeine";
 
+    private static final String REFRESH_AFTER_WRITE = "refreshAfterWrite";
+
     // Constructs a new caffeine cache instance. If there is no cache configuration
     // provided, the default values as defined by caffeine will be used.
     private static Caffeine<Object, Object> findSpec(CachesProperties.Data data) {
         return data
                 .getValue(".config.spec", String.class)
+                .map(CaffeineBackendFactory::withoutRefreshAfterWrite)
                 .map(Caffeine::from)
                 .orElse(Caffeine.newBuilder());
     }
 
+    // Caffeine only refreshes a LoadingCache, whose loader is fixed when the cache is built, whereas
+    // Spring passes a loader to each get. The option is therefore taken out of the spec and handled
+    // by the CaffeineCache itself.
+    private static Optional<Duration> findRefreshAfterWrite(CachesProperties.Data data) {
+        List<String> options = data
+                .getValue(".config.spec", String.class)
+                .map(spec -> Arrays.stream(spec.split(","))
+                        .map(String::strip)
+                        .filter(CaffeineBackendFactory::isRefreshAfterWrite)
+                        .collect(Collectors.toList()))
+                .orElse(Collections.emptyList());
+        if (options.size() > 1) {
+            throw new IllegalArgumentException(REFRESH_AFTER_WRITE + " was already set");
+        }
+        return options.stream()
+                .findFirst()
+                .map(option -> parseDuration(option.substring(REFRESH_AFTER_WRITE.length() + 1).strip()));
+    }
+
+    private static String withoutRefreshAfterWrite(String spec) {
+        return Arrays.stream(spec.split(","))
+                .filter(option -> !isRefreshAfterWrite(option.strip()))
+                .collect(Collectors.joining(","));
+    }
+
+    private static boolean isRefreshAfterWrite(String option) {
+        return option.startsWith(REFRESH_AFTER_WRITE + "=");
+    }
+
+    /**
+     * Parses a duration in the format of a {@code CaffeineSpec}, e.g. {@code 10m} or {@code PT10M}.
+     */
+    static Duration parseDuration(String value) {
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("value of key " + REFRESH_AFTER_WRITE + " omitted");
+        }
+        try {
+            Duration duration = (value.contains("p") || value.contains("P"))
+                    ? Duration.parse(value)
+                    : Duration.ofNanos(parseTimeUnit(value).toNanos(
+                            Long.parseLong(value.substring(0, value.length() - 1))));
+            if (duration.isNegative()) {
+                throw new IllegalArgumentException(REFRESH_AFTER_WRITE + " cannot be negative, was " + value);
+            }
+            return duration;
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException(REFRESH_AFTER_WRITE + " has an invalid format: " + value, e);
+        }
+    }
+
+    private static TimeUnit parseTimeUnit(String value) {
+        switch (Character.toLowerCase(value.charAt(value.length() - 1))) {
+            case 'd':
+                return TimeUnit.DAYS;
+            case 'h':
+                return TimeUnit.HOURS;
+            case 'm':
+                return TimeUnit.MINUTES;
+            case 's':
+                return TimeUnit.SECONDS;
+            default:
+                throw new IllegalArgumentException(
+                        REFRESH_AFTER_WRITE + " has an invalid unit, must end with one of [dDhHmMsS]: " + value);
+        }
+    }
+
 
     private static List<String> findNames(CachesProperties.Data data) {
         return data
@@ -49,14 +122,17 @@ public class CaffeineBackendFactory extends BackendFactory {
     @Override
     public CacheBackend create(CachesProperties properties) {
         Map<String, Caffeine<Object, Object>> settings = new ConcurrentHashMap<>(16);
+        Map<String, Duration> refreshAfterWrites = new ConcurrentHashMap<>(16);
         properties.consume(data -> {
             Caffeine<Object, Object> builder = findSpec(data);
+            Optional<Duration> refreshAfterWrite = findRefreshAfterWrite(data);
             for (String name : findNames(data)) {
                 settings.put(name, builder);
+                refreshAfterWrite.ifPresent(duration -> refreshAfterWrites.put(name, duration));
             }
         });
 
-        return CaffeineCacheBackend.of(settings);
+        return CaffeineCacheBackend.of(settings, refreshAfterWrites);
     }
 
     @Override
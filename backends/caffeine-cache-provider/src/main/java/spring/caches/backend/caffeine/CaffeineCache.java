@@ -20,11 +20,23 @@ package spring.caches.backend.caffeine;
  */
 
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Policy;
 import org.springframework.cache.support.AbstractValueAdaptingCache;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import spring.caches.backend.BatchCache;
+import spring.caches.backend.Refresher;
+import spring.caches.backend.SnapshotCache;
+import spring.caches.backend.snapshot.SnapshotWriter;
 
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
@@ -39,12 +51,15 @@ import java.util.function.Function;
  * @see CaffeineCacheManager
  * @since 4.3
  */
-class CaffeineCache extends AbstractValueAdaptingCache {
+class CaffeineCache extends AbstractValueAdaptingCache implements BatchCache, SnapshotCache {
 
     private final String name;
 
     private final com.github.benmanes.caffeine.cache.Cache<Object, Object> cache;
 
+    @Nullable
+    private final Refresher refresher;
+
     /**
      * Create a {@link CaffeineCache} instance with the specified name and the
      * given internal {@link com.github.benmanes.caffeine.cache.Cache} to use.
@@ -69,12 +84,34 @@ class CaffeineCache extends AbstractValueAdaptingCache {
             String name,
             com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
             boolean allowNullValues
+    ) {
+        this(name, cache, allowNullValues, null);
+    }
+
+    /**
+     * Create a {@link CaffeineCache} instance with the specified name and the
+     * given internal {@link com.github.benmanes.caffeine.cache.Cache} to use,
+     * whose entries are reloaded by the given refresher once they are due.
+     *
+     * @param name            the name of the cache
+     * @param cache           the backing Caffeine Cache instance
+     * @param allowNullValues whether to accept and convert {@code null}
+     *                        values for this cache
+     * @param refresher       the refresher of the entries, or {@code null}
+     *                        if entries are not refreshed
+     */
+    CaffeineCache(
+            String name,
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+            boolean allowNullValues,
+            @Nullable Refresher refresher
     ) {
         super(allowNullValues);
         Assert.notNull(name, "Name must not be null");
         Assert.notNull(cache, "Cache must not be null");
         this.name = name;
         this.cache = cache;
+        this.refresher = refresher;
     }
 
     @Override
@@ -87,11 +124,19 @@ class CaffeineCache extends AbstractValueAdaptingCache {
         return this.cache;
     }
 
+    /**
+     * Returns the cached value or loads it. If the cache refreshes its entries, a value that is due is
+     * returned as well and reloaded asynchronously with the given loader.
+     */
     @SuppressWarnings("unchecked")
     @Override
     @Nullable
     public <T> T get(Object key, final Callable<T> valueLoader) {
-        return (T) fromStoreValue(this.cache.get(key, new LoadFunction(valueLoader)));
+        Object storeValue = this.cache.get(key, new LoadFunction(valueLoader));
+        if ((this.refresher != null) && this.refresher.isDue(storeValue)) {
+            this.refresher.refresh(key, valueLoader, value -> put(key, value));
+        }
+        return (T) fromStoreValue(storeValue);
     }
 
     @Override
@@ -115,6 +160,76 @@ class CaffeineCache extends AbstractValueAdaptingCache {
         return (callable.called ? null : toValueWrapper(this.cache.get(key, callable)));
     }
 
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> present = this.cache.getAllPresent(keys);
+        Map<Object, Object> result = new HashMap<>(Math.max(16, (int) (present.size() / .75f) + 1));
+        present.forEach((key, value) -> result.put(key, fromStoreValue(value)));
+        return result;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        Map<Object, Object> storeValues = new HashMap<>(Math.max(16, (int) (entries.size() / .75f) + 1));
+        entries.forEach((key, value) -> storeValues.put(key, toStoreValue(value)));
+        this.cache.putAll(storeValues);
+    }
+
+    /**
+     * Writes the entries of the cache to the snapshot, along with the time they have left to live according
+     * to the expiration policies of the cache.
+     */
+    @Override
+    public void writeSnapshot(SnapshotWriter writer) throws IOException {
+        Policy<Object, Object> policy = this.cache.policy();
+        Optional<Policy.FixedExpiration<Object, Object>> afterWrite = policy.expireAfterWrite();
+        Optional<Policy.FixedExpiration<Object, Object>> afterAccess = policy.expireAfterAccess();
+        Optional<Policy.VarExpiration<Object, Object>> variably = policy.expireVariably();
+        for (Map.Entry<Object, Object> entry : this.cache.asMap().entrySet()) {
+            Object key = entry.getKey();
+            long timeToLive = Long.MAX_VALUE;
+            if (afterWrite.isPresent()) {
+                timeToLive = Math.min(timeToLive, timeToLive(afterWrite.get(), key));
+            }
+            if (afterAccess.isPresent()) {
+                timeToLive = Math.min(timeToLive, timeToLive(afterAccess.get(), key));
+            }
+            if (variably.isPresent()) {
+                OptionalLong expiresAfter = variably.get().getExpiresAfter(key, TimeUnit.NANOSECONDS);
+                timeToLive = Math.min(timeToLive, expiresAfter.orElse(0L));
+            }
+            writer.write(key, fromStoreValue(entry.getValue()), timeToLive);
+        }
+    }
+
+    /**
+     * Returns the nanoseconds the entry of the key has left to live, or 0 if it is gone.
+     */
+    private static long timeToLive(Policy.FixedExpiration<Object, Object> expiration, Object key) {
+        OptionalLong age = expiration.ageOf(key, TimeUnit.NANOSECONDS);
+        return age.isPresent() ? (expiration.getExpiresAfter(TimeUnit.NANOSECONDS) - age.getAsLong()) : 0L;
+    }
+
+    @Override
+    protected Object toStoreValue(@Nullable Object userValue) {
+        Object storeValue = super.toStoreValue(userValue);
+        return (this.refresher == null) ? storeValue : this.refresher.wrap(storeValue);
+    }
+
+    @Override
+    @Nullable
+    protected Object fromStoreValue(@Nullable Object storeValue) {
+        return super.fromStoreValue((this.refresher == null) ? storeValue : this.refresher.unwrap(storeValue));
+    }
+
+    /**
+     * Returns the refresher of the entries, or {@code null} if entries are not refreshed.
+     */
+    @Nullable
+    Refresher refresher() {
+        return this.refresher;
+    }
+
     @Override
     public void evict(Object key) {
         this.cache.invalidate(key);
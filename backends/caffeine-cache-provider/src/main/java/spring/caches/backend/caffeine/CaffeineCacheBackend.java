@@ -7,6 +7,8 @@ import org.springframework.cache.CacheManager;
 import spring.caches.backend.CacheBackend;
 import spring.caches.backend.system.CacheBackendInstantiationException;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.Map;
 import java.util.function.BiConsumer;
 
@@ -26,10 +28,21 @@ final class CaffeineCacheBackend extends CacheBackend {
      * Throws a {@code CacheBackendInstantiationException} when the configuration data is invalid.
      */
     public static CaffeineCacheBackend of(Map<String, Caffeine<Object, Object>> settings) {
+        return of(settings, Collections.emptyMap());
+    }
+
+    /**
+     * Creates a new instance of a {@code CacheBackend} whose caches of the given names refresh their entries
+     * after the given durations.
+     */
+    public static CaffeineCacheBackend of(
+            Map<String, Caffeine<Object, Object>> settings,
+            Map<String, Duration> refreshAfterWrites
+    ) {
         if (settings.isEmpty()) {
             throw new CacheBackendInstantiationException("Invalid cache backend configuration!");
         }
-        return new CaffeineCacheBackend(new CaffeineCacheManager(settings));
+        return new CaffeineCacheBackend(new CaffeineCacheManager(settings, refreshAfterWrites));
     }
 
     @Override
@@ -9,7 +9,9 @@ import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
+import spring.caches.backend.Refresher;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -35,6 +37,7 @@ final class CaffeineCacheManager implements CacheManager {
     private final Map<String, Cache> cacheMap = new ConcurrentHashMap<>(16);
     private final Collection<String> customCacheNames = new CopyOnWriteArrayList<>();
     private final Map<String, Caffeine<Object, Object>> namedCacheBuilders = new ConcurrentHashMap<>(16);
+    private final Map<String, Duration> namedRefreshAfterWrites = new ConcurrentHashMap<>(16);
     @Nullable
     private CacheLoader<Object, Object> cacheLoader;
     private boolean allowNullValues = true;
@@ -58,7 +61,19 @@ final class CaffeineCacheManager implements CacheManager {
     }
 
     CaffeineCacheManager(Map<String, Caffeine<Object, Object>> namedCacheBuilders) {
+        this(namedCacheBuilders, Collections.emptyMap());
+    }
+
+    /**
+     * Construct a static CaffeineCacheManager, whose caches of the given names
+     * reload their entries asynchronously once they are older than the given durations.
+     */
+    CaffeineCacheManager(
+            Map<String, Caffeine<Object, Object>> namedCacheBuilders,
+            Map<String, Duration> namedRefreshAfterWrites
+    ) {
         this.namedCacheBuilders.putAll(namedCacheBuilders);
+        this.namedRefreshAfterWrites.putAll(namedRefreshAfterWrites);
         setCacheNames(namedCacheBuilders.keySet());
     }
 
@@ -206,7 +221,9 @@ final class CaffeineCacheManager implements CacheManager {
      * @since 5.2.8
      */
     Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
-        return new CaffeineCache(name, cache, isAllowNullValues());
+        Duration refreshAfterWrite = this.namedRefreshAfterWrites.get(name);
+        return new CaffeineCache(name, cache, isAllowNullValues(),
+                (refreshAfterWrite == null) ? null : new Refresher(refreshAfterWrite));
     }
 
     /**
@@ -0,0 +1,89 @@
+package spring.caches.backend.caffeine;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import spring.caches.backend.Refresher;
+import spring.caches.backend.snapshot.JavaSnapshotCodec;
+import spring.caches.backend.snapshot.SnapshotReader;
+import spring.caches.backend.snapshot.SnapshotWriter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CaffeineCacheTest {
+
+    private final AtomicLong millis = new AtomicLong();
+    private final Queue<Runnable> reloads = new ArrayDeque<>();
+
+    @Test
+    void dueEntryShouldBeReturnedAndReloadedOnce() {
+        CaffeineCache cache = new CaffeineCache("test", Caffeine.newBuilder().build(), true,
+                new Refresher(Duration.ofMinutes(1), reloads::add, millis::get));
+        assertThat(cache.get("key", () -> "first")).isEqualTo("first");
+
+        millis.addAndGet(Duration.ofMinutes(1).toMillis());
+
+        assertThat(cache.get("key", () -> "second")).isEqualTo("first");
+        assertThat(cache.get("key", () -> "third")).isEqualTo("first");
+        assertThat(reloads).hasSize(1);
+
+        reloads.remove().run();
+
+        assertThat(cache.get("key", () -> "fourth")).isEqualTo("second");
+        assertThat(cache.getAll(Collections.singleton("key"))).containsEntry("key", "second");
+        assertThat(reloads).isEmpty();
+    }
+
+    @Test
+    void specShouldRejectInvalidRefreshAfterWrite() {
+        assertThat(CaffeineBackendFactory.parseDuration("10m")).isEqualTo(Duration.ofMinutes(10));
+        assertThat(CaffeineBackendFactory.parseDuration("PT10S")).isEqualTo(Duration.ofSeconds(10));
+        assertThatThrownBy(() -> CaffeineBackendFactory.parseDuration("10x"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CaffeineBackendFactory.parseDuration("-1s"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void snapshotShouldSkipExpiredEntries(@TempDir Path directory) throws Exception {
+        AtomicLong nanos = new AtomicLong();
+        CaffeineCache cache = new CaffeineCache("test", Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(1))
+                .ticker(nanos::get)
+                .executor(Runnable::run)
+                .build());
+        cache.put("expired", "value");
+        nanos.addAndGet(Duration.ofSeconds(30).toNanos());
+        cache.put("a", 1);
+        cache.put("b", null);
+        nanos.addAndGet(Duration.ofSeconds(40).toNanos());
+
+        Path file = directory.resolve("test.snapshot");
+        try (SnapshotWriter writer = SnapshotWriter.create(file, new JavaSnapshotCodec())) {
+            cache.writeSnapshot(writer);
+            writer.commit();
+            assertThat(writer.getEntries()).isEqualTo(2);
+        }
+        CaffeineCache restored = new CaffeineCache("test", Caffeine.newBuilder().build());
+        Map<Object, Object> entries = new HashMap<>();
+        new SnapshotReader(file, new JavaSnapshotCodec()).read((key, value) -> {
+            entries.put(key, value);
+            restored.restore(key, value);
+        });
+
+        assertThat(entries).containsOnlyKeys("a", "b");
+        assertThat(restored.getAll(Arrays.asList("expired", "a", "b"))).containsEntry("a", 1).containsEntry("b", null)
+                .doesNotContainKey("expired");
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 import org.springframework.cache.annotation.Cacheable;
 import spring.caches.autoconfigure.CachesAutoConfiguration;
 
+import java.time.Duration;
 import java.util.Random;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -36,6 +37,24 @@ public class SpringCacheManagerIntegrationTest {
                 });
     }
 
+    @Test
+    void runWithRefreshAfterWriteShouldCreateRefreshingCache() {
+        this.contextRunner
+                .withPropertyValues(
+                        "spring.caches.caffeine[0].names=cache1",
+                        "spring.caches.caffeine[0].config.spec=maximumSize=500,refreshAfterWrite=30s,recordStats"
+                )
+                .run(context -> {
+                    CaffeineCacheManager cacheManager =
+                            context.getBean("caffeineCacheManager", CaffeineCacheManager.class);
+                    CaffeineCache cache = (CaffeineCache) cacheManager.getCache("cache1");
+                    assertThat(cache.refresher()).isNotNull();
+                    assertThat(cache.refresher().refreshAfterWrite()).isEqualTo(Duration.ofSeconds(30));
+                    assertThat(cache.get("key", () -> "value")).isEqualTo("value");
+                    assertThat(cache.get("key").get()).isEqualTo("value");
+                });
+    }
+
     @Test
     void runWithProperties_invalidConfiguration_missingProperties() {
         this.contextRunner.run(context -> assertThat(context).doesNotHaveBean("caffeineCacheManager"));
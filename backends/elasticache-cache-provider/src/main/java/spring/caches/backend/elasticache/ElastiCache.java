@@ -3,10 +3,15 @@ package spring.caches.backend.elasticache;
 import com.google.errorprone.annotations.CheckReturnValue;
 import com.google.errorprone.annotations.FormatMethod;
 import org.checkerframework.checker.nullness.qual.Nullable;
+import spring.caches.backend.elasticache.codec.Codec;
+import spring.caches.backend.elasticache.compression.Compression;
 import spring.caches.backend.elasticache.engines.memcached.stats.CacheStats;
 import spring.caches.backend.elasticache.engines.memcached.stats.ConcurrentStatsCounter;
 import spring.caches.backend.elasticache.engines.memcached.stats.StatsCounter;
+import spring.caches.backend.elasticache.engines.memcached.stats.StripedStatsCounter;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.function.Supplier;
 
 import static java.util.Objects.requireNonNull;
@@ -18,9 +23,35 @@ public final class ElastiCache {
 
     public static final int UNSET_INT = -1;
     private static final Supplier<StatsCounter> ENABLED_STATS_COUNTER_SUPPLIER = ConcurrentStatsCounter::new;
+    private static final Supplier<StatsCounter> STRIPED_STATS_COUNTER_SUPPLIER = StripedStatsCounter::new;
     private static final int DEFAULT_EXPIRATION = 60;
+    private static final int DEFAULT_MAX_PENDING_WRITES = 1024;
+    private static final int DEFAULT_NEAR_EXPIRATION = 5;
+    private static final int DEFAULT_COMPRESSION_THRESHOLD = 1024;
     private @Nullable Supplier<StatsCounter> statsCounterSupplier;
     private int expiration = UNSET_INT;
+    private int lease = UNSET_INT;
+    private int refreshAfterWrite = UNSET_INT;
+    private int maxPendingWrites = UNSET_INT;
+    private long nearMaximumSize = UNSET_INT;
+    private int nearExpiration = UNSET_INT;
+    private @Nullable Codec codec;
+    private List<String> codecAllowedTypes = List.of();
+    private @Nullable String compression;
+    private int compressionThreshold = UNSET_INT;
+    private int poolMaxTotal = UNSET_INT;
+    private int poolMinIdle = UNSET_INT;
+    private int commandTimeout = UNSET_INT;
+    private int ioThreads = UNSET_INT;
+    private int computationThreads = UNSET_INT;
+    private boolean readFromReplica;
+    private boolean binaryProtocol;
+    private boolean lazy;
+    private int opQueueSize = UNSET_INT;
+    private int opQueueMaxBlockTime = UNSET_INT;
+    private int readBufferSize = UNSET_INT;
+    private @Nullable String failureMode;
+    private int connectionsPerNode = UNSET_INT;
 
     @FormatMethod
     static void requireArgument(boolean expression, String template, @Nullable Object... args) {
@@ -71,6 +102,426 @@ public final class ElastiCache {
         return this;
     }
 
+    /**
+     * Coordinates the loading of an absent entry across nodes. Before loading, a cache takes a lease by
+     * adding a lock key that expires after the given number of seconds. Callers on other nodes that find
+     * the lease taken wait for the value instead of loading it, or take over once the lease expires.
+     * Within a node, concurrent loads of the same key are always coalesced.
+     *
+     * @param seconds the time to live of the lease, which should exceed the time it takes to load a value
+     * @return this {@code ElastiCache} instance (for chaining)
+     */
+    public ElastiCache lease(int seconds) {
+        requireArgument(seconds > 0, "lease must be positive, was %s", seconds);
+        this.lease = seconds;
+        return this;
+    }
+
+    /**
+     * Reloads an entry once the given number of seconds have passed since it was written. Until the reload
+     * completes, {@code get(key, valueLoader)} keeps returning the current value, and only one reload of a
+     * key runs at a time within a node. The entries carry their write time, so the refresh age should be
+     * shorter than the expiration for entries to be reloaded before they expire.
+     *
+     * @param seconds the age after which an entry is reloaded
+     * @return this {@code ElastiCache} instance (for chaining)
+     */
+    public ElastiCache refreshAfterWrite(int seconds) {
+        requireArgument(seconds >= 0, "refreshAfterWrite cannot be negative, was %s", seconds);
+        this.refreshAfterWrite = seconds;
+        return this;
+    }
+
+    /**
+     * Makes {@code put} return without waiting for memcached to acknowledge the write, with the default
+     * limit of pending writes.
+     *
+     * @return this {@code ElastiCache} instance (for chaining)
+     * @see #asyncWrites(int)
+     */
+    public ElastiCache asyncWrites() {
+        return asyncWrites(DEFAULT_MAX_PENDING_WRITES);
+    }
+
+    /**
+     * Makes {@code put} return without waiting for memcached to acknowledge the write. The acknowledgement
+     * is tracked in the background, and a write that fails is recorded as a write failure in the cache
+     * statistics. Once the given number of writes are pending, {@code put} blocks until one of them is
+     * acknowledged, so that a slow or unreachable server cannot queue an unbounded number of writes.
+     *
+     * @param maxPendingWrites the maximum number of writes awaiting acknowledgement
+     * @return this {@code ElastiCache} instance (for chaining)
+     */
+    public ElastiCache asyncWrites(int maxPendingWrites) {
+        requireArgument(maxPendingWrites > 0, "max pending writes must be positive, was %s", maxPendingWrites);
+        this.maxPendingWrites = maxPendingWrites;
+        return this;
+    }
+
+    public boolean isWritingAsync() {
+        return (maxPendingWrites != UNSET_INT);
+    }
+
+    public int maxPendingWrites() {
+        return maxPendingWrites;
+    }
+
+    /**
+     * Puts a bounded in-process near cache in front of the cluster. Reads are served from the near cache
+     * when possible and fall through to the cluster otherwise; writes go to both. Entries that are changed
+     * on another node are invalidated through Redis pub/sub, whereas memcached cannot notify of changes,
+     * so its near entries may be stale until they expire.
+     *
+     * @param maximumSize the maximum number of entries held in the near cache
+     * @return this {@code ElastiCache} instance (for chaining)
+     * @see #nearExpiration(int)
+     */
+    public ElastiCache nearMaximumSize(long maximumSize) {
+        requireArgument(maximumSize >= 0, "near maximum size must not be negative, was %s", maximumSize);
+        this.nearMaximumSize = maximumSize;
+        return this;
+    }
+
+    /**
+     * Sets the time after which an entry of the near cache expires. For memcached this bounds how long a
+     * value that was changed on another node may be served, and should be kept short. Defaults to 5 seconds.
+     *
+     * @param seconds the time to live of a near cache entry
+     * @return this {@code ElastiCache} instance (for chaining)
+     */
+    public ElastiCache nearExpiration(int seconds) {
+        requireArgument(seconds > 0, "near expiration must be positive, was %s", seconds);
+        this.nearExpiration = seconds;
+        return this;
+    }
+
+    public boolean hasNearCache() {
+        return (nearMaximumSize != UNSET_INT);
+    }
+
+    public long nearMaximumSize() {
+        return nearMaximumSize;
+    }
+
+    public int nearExpiration() {
+        return (nearExpiration == UNSET_INT) ? DEFAULT_NEAR_EXPIRATION : nearExpiration;
+    }
+
+    /**
+     * Serializes the values of memcached caches with the given codec rather than the client's default Java
+     * serialization. Values that were written before the codec was configured can still be read.
+     *
+     * @param codec the codec
+     * @return this {@code ElastiCache} instance (for chaining)
+     */
+    public ElastiCache codec(Codec codec) {
+        this.codec = requireNonNull(codec);
+        return this;
+    }
+
+    public @Nullable Codec codec() {
+        return codec;
+    }
+
+    /**
+     * Sets the types that the Smile and CBOR codecs may read, as class names or package prefixes such as
+     * {@code com.example.}. Those codecs require them, both to be configured and to read the values another
+     * instance wrote with them.
+     *
+     * @param allowedTypes the class names or package prefixes of the types that may be read
+     * @return this {@code ElastiCache} instance (for chaining)
+     * @see spring.caches.backend.elasticache.codec.JacksonCodec
+     */
+    public ElastiCache codecAllowedTypes(Collection<String> allowedTypes) {
+        this.codecAllowedTypes = List.copyOf(allowedTypes);
+        return this;
+    }
+
+    public List<String> codecAllowedTypes() {
+        return codecAllowedTypes;
+    }
+
+    /**
+     * Compresses the serialized values that exceed the compression threshold with the given algorithm,
+     * either {@code lz4} or {@code zstd}. Values that were written before compression was enabled can
+     * still be read.
+     *
+     * @param algorithm the name of the compression algorithm
+     * @return this {@code ElastiCache} instance (for chaining)
+     * @see #compressionThreshold(int)
+     */
+    public ElastiCache compression(String algorithm) {
+        Compression.forName(algorithm, 0);
+        this.compression = algorithm;
+        return this;
+    }
+
+    /**
+     * Sets the size from which serialized values are compressed. Defaults to 1024 bytes.
+     *
+     * @param bytes the minimum size of a value to be compressed
+     * @return this {@code ElastiCache} instance (for chaining)
+     */
+    public ElastiCache compressionThreshold(int bytes) {
+        requireArgument(bytes >= 0, "compression threshold must not be negative, was %s", bytes);
+        this.compressionThreshold = bytes;
+        return this;
+    }
+
+    public boolean hasCompression() {
+        return (compression != null);
+    }
+
+    /**
+     * Returns a new compression as configured, with its own metrics, or {@code null} if values are not
+     * compressed.
+     */
+    public @Nullable Compression compression() {
+        if (compression == null) {
+            return null;
+        }
+        int threshold = (compressionThreshold == UNSET_INT) ? DEFAULT_COMPRESSION_THRESHOLD : compressionThreshold;
+        return Compression.forName(compression, threshold);
+    }
+
+    /**
+     * Pools the connections to a Redis cluster and limits their number. Without a pool, Lettuce shares a
+     * single connection and Jedis uses the pool defaults of its driver.
+     *
+     * @param maxTotal the maximum number of connections to the cluster
+     * @return this {@code ElastiCache} instance (for chaining)
+     */
+    public ElastiCache poolMaxTotal(int maxTotal) {
+        requireArgument(maxTotal > 0, "pool max total must be positive, was %s", maxTotal);
+        this.poolMaxTotal = maxTotal;
+        return this;
+    }
+
+    /**
+     * Pools the connections to a Redis cluster and keeps the given number of them open while idle.
+     *
+     * @param minIdle the minimum number of idle connections to the cluster
+     * @return this {@code ElastiCache} instance (for chaining)
+     */
+    public ElastiCache poolMinIdle(int minIdle) {
+        requireArgument(minIdle >= 0, "pool min idle must not be negative, was %s", minIdle);
+        this.poolMinIdle = minIdle;
+        return this;
+    }
+
+    /**
+     * Sets the time after which a command fails if the cluster has not answered. For memcached this is the
+     * operation timeout of the client.
+     *
+     * @param millis the command timeout in milliseconds
+     * @return this {@code ElastiCache} instance (for chaining)
+     */
+    public ElastiCache commandTimeout(int millis) {
+        requireArgument(millis > 0, "command timeout must be positive, was %s", millis);
+        this.commandTimeout = millis;
+        return this;
+    }
+
+    /**
+     * Sets the number of threads that perform the network I/O of Lettuce. Clusters without thread settings
+     * share the client resources of Lettuce's defaults.
+     *
+     * @param threads the number of I/O threads
+     * @return this {@code ElastiCache} instance (for chaining)
+     */
+    public ElastiCache ioThreads(int threads) {
+        requireArgument(threads > 0, "io threads must be positive, was %s", threads);
+        this.ioThreads = threads;
+        return this;
+    }
+
+    /**
+     * Sets the number of threads that complete the commands of Lettuce.
+     *
+     * @param threads the number of computation threads
+     * @return this {@code ElastiCache} instance (for chaining)
+     */
+    public ElastiCache computationThreads(int threads) {
+        requireArgument(threads > 0, "computation threads must be positive, was %s", threads);
+        this.computationThreads = threads;
+        return this;
+    }
+
+    /**
+     * Reads from the replicas of a Redis cluster if one is available, and otherwise from its primary. The
+     * Lettuce client is required; a replica may lag behind the primary, so a read may miss a recent write.
+     *
+     * @return this {@code ElastiCache} instance (for chaining)
+     */
+    public ElastiCache readFromReplica() {
+        this.readFromReplica = true;
+        return this;
+    }
+
+    public boolean isReadingFromReplica() {
+        return readFromReplica;
+    }
+
+    /**
+     * Talks to memcached with the binary protocol rather than the text protocol. The binary protocol has
+     * smaller requests and lets the client pipeline multi-key gets and quiet writes.
+     *
+     * @return this {@code ElastiCache} instance (for chaining)
+     */
+    public ElastiCache binaryProtocol() {
+        this.binaryProtocol = true;
+        return this;
+    }
+
+    /**
+     * Bounds the queue of memcached operations that wait to be written to a node.
+     *
+     * @param size the maximum number of queued operations per node
+     * @return this {@code ElastiCache} instance (for chaining)
+     */
+    public ElastiCache opQueueSize(int size) {
+        requireArgument(size > 0, "op queue size must be positive, was %s", size);
+        this.opQueueSize = size;
+        return this;
+    }
+
+    /**
+     * Sets how long an operation waits for room in a full queue before it fails.
+     *
+     * @param millis the maximum blocking time in milliseconds
+     * @return this {@code ElastiCache} instance (for chaining)
+     */
+    public ElastiCache opQueueMaxBlockTime(int millis) {
+        requireArgument(millis >= 0, "op queue max block time must not be negative, was %s", millis);
+        this.opQueueMaxBlockTime = millis;
+        return this;
+    }
+
+    /**
+     * Sets the size of the buffer that the memcached client reads responses into.
+     *
+     * @param bytes the size of the read buffer
+     * @return this {@code ElastiCache} instance (for chaining)
+     */
+    public ElastiCache readBufferSize(int bytes) {
+        requireArgument(bytes > 0, "read buffer size must be positive, was %s", bytes);
+        this.readBufferSize = bytes;
+        return this;
+    }
+
+    /**
+     * Sets what happens to the operations of a memcached node that is down: {@code redistribute} moves them
+     * to the next node on the hash ring, {@code retry} waits for the node to come back and {@code cancel}
+     * fails them.
+     *
+     * @param mode the failure mode
+     * @return this {@code ElastiCache} instance (for chaining)
+     */
+    public ElastiCache failureMode(String mode) {
+        requireArgument("redistribute".equals(mode) || "retry".equals(mode) || "cancel".equals(mode),
+                "failure mode must be redistribute, retry or cancel, was %s", mode);
+        this.failureMode = mode;
+        return this;
+    }
+
+    /**
+     * Opens the given number of connections to each memcached node. The client writes the operations of a
+     * connection from a single I/O thread, so several connections spread the load of busy caches over more
+     * threads.
+     *
+     * @param connections the number of connections per node
+     * @return this {@code ElastiCache} instance (for chaining)
+     */
+    public ElastiCache connectionsPerNode(int connections) {
+        requireArgument(connections > 0, "connections per node must be positive, was %s", connections);
+        this.connectionsPerNode = connections;
+        return this;
+    }
+
+    public boolean isBinaryProtocol() {
+        return binaryProtocol;
+    }
+
+    /**
+     * Connects to the cluster when its cache is first used rather than when the application context starts.
+     * The cluster is described and its connections are opened by the first caller, while concurrent callers
+     * wait for it; a cluster that is never used is never connected to.
+     *
+     * @return this {@code ElastiCache} instance (for chaining)
+     */
+    public ElastiCache lazy() {
+        this.lazy = true;
+        return this;
+    }
+
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    public int opQueueSize() {
+        return opQueueSize;
+    }
+
+    public int opQueueMaxBlockTime() {
+        return opQueueMaxBlockTime;
+    }
+
+    public int readBufferSize() {
+        return readBufferSize;
+    }
+
+    public @Nullable String failureMode() {
+        return failureMode;
+    }
+
+    public int connectionsPerNode() {
+        return (connectionsPerNode == UNSET_INT) ? 1 : connectionsPerNode;
+    }
+
+    public boolean isPooling() {
+        return (poolMaxTotal != UNSET_INT) || (poolMinIdle != UNSET_INT);
+    }
+
+    public int poolMaxTotal() {
+        return poolMaxTotal;
+    }
+
+    public int poolMinIdle() {
+        return poolMinIdle;
+    }
+
+    public int commandTimeout() {
+        return commandTimeout;
+    }
+
+    public boolean hasThreads() {
+        return (ioThreads != UNSET_INT) || (computationThreads != UNSET_INT);
+    }
+
+    public int ioThreads() {
+        return ioThreads;
+    }
+
+    public int computationThreads() {
+        return computationThreads;
+    }
+
+    public boolean hasLease() {
+        return (lease != UNSET_INT);
+    }
+
+    public int lease() {
+        return lease;
+    }
+
+    public boolean isRefreshing() {
+        return (refreshAfterWrite != UNSET_INT);
+    }
+
+    public int refreshAfterWrite() {
+        return refreshAfterWrite;
+    }
+
     /**
      * Enables the accumulation of {@link CacheStats} during the operation of the cache. Without this
      * {@link spring.caches.backend.elasticache.engines.memcached.MemcachedCache#stats} will return zero for all
@@ -84,6 +535,18 @@ public final class ElastiCache {
         return this;
     }
 
+    /**
+     * Enables the accumulation of {@link CacheStats} during the operation of the cache, like {@link #recordStats()},
+     * but into a {@link StripedStatsCounter}. The striped counter avoids contention between threads that use the
+     * cache concurrently at the cost of a larger footprint.
+     *
+     * @return this {@code ElastiCache} instance (for chaining)
+     */
+    public ElastiCache recordStripedStats() {
+        statsCounterSupplier = STRIPED_STATS_COUNTER_SUPPLIER;
+        return this;
+    }
+
     /**
      * Enables the accumulation of {@link CacheStats} during the operation of the cache. Without this
      * {@link spring.caches.backend.elasticache.engines.memcached.MemcachedCache#stats} will return zero for all
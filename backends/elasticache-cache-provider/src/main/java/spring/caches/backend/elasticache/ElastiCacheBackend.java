@@ -1,14 +1,23 @@
 package spring.caches.backend.elasticache;
 
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.data.redis.cache.RedisCache;
 import spring.caches.backend.CacheBackend;
+import spring.caches.backend.elasticache.engines.CacheFactory;
+import spring.caches.backend.elasticache.engines.LazyCache;
+import spring.caches.backend.elasticache.engines.LazyCacheMetrics;
 import spring.caches.backend.elasticache.engines.memcached.MemcachedCache;
 import spring.caches.backend.elasticache.engines.memcached.MemcachedCacheMetrics;
+import spring.caches.backend.elasticache.engines.near.NearCache;
+import spring.caches.backend.elasticache.engines.near.NearCacheMetrics;
 import spring.caches.backend.elasticache.engines.redis.RedisCacheMetrics;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.function.BiConsumer;
 
@@ -24,8 +33,13 @@ final class ElastiCacheBackend extends CacheBackend {
     }
 
     public static ElastiCacheBackend of(List<Cache> caches) {
+        return of(caches, Collections.emptyList());
+    }
+
+    public static ElastiCacheBackend of(List<Cache> caches, List<? extends CacheFactory> cacheFactories) {
         ElastiCacheCacheManager cacheManager = new ElastiCacheCacheManager();
         cacheManager.setCaches(caches);
+        cacheManager.setCacheFactories(cacheFactories);
         cacheManager.afterPropertiesSet();
         return new ElastiCacheBackend(cacheManager);
     }
@@ -50,5 +64,32 @@ final class ElastiCacheBackend extends CacheBackend {
                 getBackendName() + "memcached",
                 (CacheMeterBinderProvider<MemcachedCache>) MemcachedCacheMetrics::new
         );
+        consumer.accept(
+                getBackendName() + "near",
+                (CacheMeterBinderProvider<NearCache>) NearCacheMetrics::new
+        );
+        consumer.accept(
+                getBackendName() + "lazy",
+                (CacheMeterBinderProvider<LazyCache>) (cache, tags) ->
+                        new LazyCacheMetrics(cache, tags, ElastiCacheBackend::meterBinder)
+        );
+    }
+
+    /**
+     * Returns the meter binder of a connected cache. Redis caches are bound with the deprecated
+     * {@link RedisCacheMetrics} until the project moves to the binder of a later Spring Boot actuator.
+     */
+    @SuppressWarnings("deprecation")
+    static @Nullable MeterBinder meterBinder(Cache cache, Iterable<Tag> tags) {
+        if (cache instanceof NearCache) {
+            return new NearCacheMetrics((NearCache) cache, tags);
+        }
+        if (cache instanceof MemcachedCache) {
+            return new MemcachedCacheMetrics((MemcachedCache) cache, tags);
+        }
+        if (cache instanceof RedisCache) {
+            return new RedisCacheMetrics((RedisCache) cache, tags);
+        }
+        return null;
     }
 }
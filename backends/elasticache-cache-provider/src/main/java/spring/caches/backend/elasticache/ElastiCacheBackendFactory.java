@@ -3,6 +3,7 @@ package spring.caches.backend.elasticache;
 import com.amazonaws.services.elasticache.AmazonElastiCache;
 import com.google.auto.service.AutoService;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.cache.Cache;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
@@ -10,7 +11,9 @@ import org.springframework.util.Assert;
 import spring.caches.backend.CacheBackend;
 import spring.caches.backend.elasticache.engines.CacheFactory;
 import spring.caches.backend.elasticache.engines.ElastiCacheFactory;
+import spring.caches.backend.elasticache.engines.LazyCache;
 import spring.caches.backend.elasticache.engines.memcached.MemcachedCacheFactory;
+import spring.caches.backend.elasticache.engines.near.NearCacheFactory;
 import spring.caches.backend.elasticache.engines.redis.RedisCacheFactory;
 import spring.caches.backend.properties.tree.CachesProperties;
 import spring.caches.backend.properties.tree.CachePropertiesUtils;
@@ -23,13 +26,21 @@ import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 /**
  * BackendFactory for ElastiCache
  *
  * <p>When using Spring Cache's {@link DefaultPlatform}, this
  * factory will automatically be used if it is included on the classpath.
+ *
+ * <p>When the backend is created with an executor, the caches of the clusters are created in parallel on it.
+ * If the cache of a cluster cannot be created, the connections of the other clusters are closed and the
+ * creation fails with all failures, the first as the cause and the others suppressed. The caches of clusters
+ * configured with {@code lazy} are {@link LazyCache}s that connect on first use instead.
  */
 @AutoService(BackendFactory.class)
 public class ElastiCacheBackendFactory extends BackendFactory implements ApplicationContextAware {
@@ -58,6 +69,11 @@ public class ElastiCacheBackendFactory extends BackendFactory implements Applica
 
     @Override
     public CacheBackend create(CachesProperties properties) {
+        return create(properties, Runnable::run);
+    }
+
+    @Override
+    public CacheBackend create(CachesProperties properties, Executor executor) {
         Map<String, ElastiCache> settings = new ConcurrentHashMap<>(16);
         properties.consume(data -> {
             for (CachesProperties.Data cluster : findClusters(data)) {
@@ -72,17 +88,71 @@ public class ElastiCacheBackendFactory extends BackendFactory implements Applica
             throw new CacheBackendInstantiationException("Invalid cache backend configuration!");
         }
 
-        List<Cache> caches = new ArrayList<>(settings.keySet().size());
-        for (String cacheName : settings.keySet()) {
-            caches.add(clusterCache(cacheName, resolveCacheFactories(settings)));
+        // resolved up front, beans must not be looked up from other threads while the context is refreshed
+        AmazonElastiCache amazonElastiCache = resolveAmazonElastiCache();
+        List<CacheFactory> cacheFactories = resolveCacheFactories(settings);
+        List<CompletableFuture<Cache>> clusters = new ArrayList<>(settings.size());
+        for (Map.Entry<String, ElastiCache> cluster : settings.entrySet()) {
+            String cacheName = cluster.getKey();
+            if (cluster.getValue().isLazy()) {
+                clusters.add(CompletableFuture.completedFuture(new LazyCache(cacheName,
+                        () -> clusterCache(cacheName, amazonElastiCache, cacheFactories))));
+            } else {
+                clusters.add(CompletableFuture.supplyAsync(
+                        () -> clusterCache(cacheName, amazonElastiCache, cacheFactories), executor));
+            }
+        }
+
+        return ElastiCacheBackend.of(joinClusters(clusters, cacheFactories), cacheFactories);
+    }
+
+    private static List<Cache> joinClusters(List<CompletableFuture<Cache>> clusters, List<CacheFactory> factories) {
+        List<Cache> caches = new ArrayList<>(clusters.size());
+        RuntimeException failure = null;
+        for (CompletableFuture<Cache> cluster : clusters) {
+            try {
+                caches.add(cluster.join());
+            } catch (CompletionException e) {
+                RuntimeException cause = (e.getCause() instanceof RuntimeException)
+                        ? (RuntimeException) e.getCause()
+                        : e;
+                if (failure == null) {
+                    failure = cause;
+                } else {
+                    failure.addSuppressed(cause);
+                }
+            }
         }
+        if (failure != null) {
+            destroy(factories, failure);
+            throw failure;
+        }
+        return caches;
+    }
 
-        return ElastiCacheBackend.of(caches);
+    private static void destroy(List<CacheFactory> cacheFactories, RuntimeException failure) {
+        for (CacheFactory cacheFactory : cacheFactories) {
+            if (cacheFactory instanceof DisposableBean) {
+                try {
+                    ((DisposableBean) cacheFactory).destroy();
+                } catch (Exception e) {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
     }
 
     protected Cache clusterCache(String cacheName, List<CacheFactory> cacheFactories) {
+        return clusterCache(cacheName, resolveAmazonElastiCache(), cacheFactories);
+    }
+
+    protected Cache clusterCache(
+            String cacheName,
+            AmazonElastiCache amazonElastiCache,
+            List<CacheFactory> cacheFactories
+    ) {
         try {
-            ElastiCacheFactory factory = new ElastiCacheFactory(resolveAmazonElastiCache(), cacheName, cacheFactories);
+            ElastiCacheFactory factory = new ElastiCacheFactory(amazonElastiCache, cacheName, cacheFactories);
             return factory.createInstance();
         } catch (Exception e) {
             throw new RuntimeException("Error creating cache", e);
@@ -109,8 +179,8 @@ public class ElastiCacheBackendFactory extends BackendFactory implements Applica
     private List<CacheFactory> resolveCacheFactories(Map<String, ElastiCache> settings) {
         List<CacheFactory> cacheFactories = new LinkedList<>();
 
-        cacheFactories.add(new RedisCacheFactory(settings));
-        cacheFactories.add(new MemcachedCacheFactory(settings));
+        cacheFactories.add(new NearCacheFactory(new RedisCacheFactory(settings), settings));
+        cacheFactories.add(new NearCacheFactory(new MemcachedCacheFactory(settings), settings));
 
         return cacheFactories;
     }
@@ -1,10 +1,36 @@
 package spring.caches.backend.elasticache;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.cache.support.SimpleCacheManager;
+import spring.caches.backend.elasticache.engines.CacheFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 /**
- * tbd.
+ * A cache manager for the caches of ElastiCache clusters. It owns the factories that created the caches, and
+ * closes their connections when it is destroyed.
  */
-public class ElastiCacheCacheManager extends SimpleCacheManager {
+public class ElastiCacheCacheManager extends SimpleCacheManager implements DisposableBean {
+
+    private final List<CacheFactory> cacheFactories = new ArrayList<>();
+
+    /**
+     * Specify the factories whose connections are closed when this cache manager is destroyed.
+     */
+    public void setCacheFactories(Collection<? extends CacheFactory> cacheFactories) {
+        this.cacheFactories.clear();
+        this.cacheFactories.addAll(cacheFactories);
+    }
 
+    @Override
+    public void destroy() throws Exception {
+        for (CacheFactory cacheFactory : cacheFactories) {
+            if (cacheFactory instanceof DisposableBean) {
+                ((DisposableBean) cacheFactory).destroy();
+            }
+        }
+        cacheFactories.clear();
+    }
 }
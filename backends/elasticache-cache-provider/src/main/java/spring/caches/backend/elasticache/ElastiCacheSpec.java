@@ -1,6 +1,10 @@
 package spring.caches.backend.elasticache;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
+import spring.caches.backend.elasticache.codec.Codecs;
+
+import java.util.Arrays;
+import java.util.List;
 
 import static java.util.Objects.requireNonNull;
 import static spring.caches.backend.elasticache.ElastiCache.UNSET_INT;
@@ -9,11 +13,36 @@ import static spring.caches.backend.elasticache.ElastiCache.requireArgument;
 final class ElastiCacheSpec {
     private static final String SPLIT_OPTIONS = ",";
     private static final String SPLIT_KEY_VALUE = "=";
+    private static final String SPLIT_VALUES = "\\|";
 
     private final String specification;
 
     private boolean recordStats;
+    private boolean stripedStats;
     private int expiration = UNSET_INT;
+    private int lease = UNSET_INT;
+    private int refreshAfterWrite = UNSET_INT;
+    private boolean asyncWrites;
+    private int maxPendingWrites = UNSET_INT;
+    private long nearMaximumSize = UNSET_INT;
+    private int nearExpiration = UNSET_INT;
+    private @Nullable String codec;
+    private @Nullable List<String> codecAllowedTypes;
+    private @Nullable String compression;
+    private int compressionThreshold = UNSET_INT;
+    private int poolMaxTotal = UNSET_INT;
+    private int poolMinIdle = UNSET_INT;
+    private int commandTimeout = UNSET_INT;
+    private int ioThreads = UNSET_INT;
+    private int computationThreads = UNSET_INT;
+    private boolean readFromReplica;
+    private boolean binaryProtocol;
+    private boolean lazy;
+    private int opQueueSize = UNSET_INT;
+    private int opQueueMaxBlockTime = UNSET_INT;
+    private int readBufferSize = UNSET_INT;
+    private @Nullable String failureMode;
+    private int connectionsPerNode = UNSET_INT;
 
     private ElastiCacheSpec(String specification) {
         this.specification = requireNonNull(specification);
@@ -44,13 +73,94 @@ final class ElastiCacheSpec {
         }
     }
 
+    static long parseLong(String key, @Nullable String value) {
+        requireArgument((value != null) && !value.isEmpty(), "value of key %s was omitted", key);
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format(
+                    "key %s value was set to %s, must be a long", key, value), e);
+        }
+    }
+
+    @SuppressWarnings({"CyclomaticComplexity", "NPathComplexity", "JavaNCSS"})
     ElastiCache toBuilder() {
         ElastiCache builder = ElastiCache.newBuilder();
 
         if (expiration != UNSET_INT) {
             builder.expiration(expiration);
         }
-        if (recordStats) {
+        if (lease != UNSET_INT) {
+            builder.lease(lease);
+        }
+        if (refreshAfterWrite != UNSET_INT) {
+            builder.refreshAfterWrite(refreshAfterWrite);
+        }
+        if (maxPendingWrites != UNSET_INT) {
+            builder.asyncWrites(maxPendingWrites);
+        } else if (asyncWrites) {
+            builder.asyncWrites();
+        }
+        if (nearMaximumSize != UNSET_INT) {
+            builder.nearMaximumSize(nearMaximumSize);
+        }
+        if (nearExpiration != UNSET_INT) {
+            builder.nearExpiration(nearExpiration);
+        }
+        if (codecAllowedTypes != null) {
+            builder.codecAllowedTypes(codecAllowedTypes);
+        }
+        if (codec != null) {
+            builder.codec(Codecs.forName(codec, builder.codecAllowedTypes()));
+        }
+        if (compression != null) {
+            builder.compression(compression);
+        }
+        if (compressionThreshold != UNSET_INT) {
+            builder.compressionThreshold(compressionThreshold);
+        }
+        if (poolMaxTotal != UNSET_INT) {
+            builder.poolMaxTotal(poolMaxTotal);
+        }
+        if (poolMinIdle != UNSET_INT) {
+            builder.poolMinIdle(poolMinIdle);
+        }
+        if (commandTimeout != UNSET_INT) {
+            builder.commandTimeout(commandTimeout);
+        }
+        if (ioThreads != UNSET_INT) {
+            builder.ioThreads(ioThreads);
+        }
+        if (computationThreads != UNSET_INT) {
+            builder.computationThreads(computationThreads);
+        }
+        if (readFromReplica) {
+            builder.readFromReplica();
+        }
+        if (binaryProtocol) {
+            builder.binaryProtocol();
+        }
+        if (lazy) {
+            builder.lazy();
+        }
+        if (opQueueSize != UNSET_INT) {
+            builder.opQueueSize(opQueueSize);
+        }
+        if (opQueueMaxBlockTime != UNSET_INT) {
+            builder.opQueueMaxBlockTime(opQueueMaxBlockTime);
+        }
+        if (readBufferSize != UNSET_INT) {
+            builder.readBufferSize(readBufferSize);
+        }
+        if (failureMode != null) {
+            builder.failureMode(failureMode);
+        }
+        if (connectionsPerNode != UNSET_INT) {
+            builder.connectionsPerNode(connectionsPerNode);
+        }
+        if (stripedStats) {
+            builder.recordStripedStats();
+        } else if (recordStats) {
             builder.recordStats();
         }
         return builder;
@@ -78,6 +188,7 @@ final class ElastiCacheSpec {
     /**
      * Configures the setting.
      */
+    @SuppressWarnings({"CyclomaticComplexity", "JavaNCSS"})
     void configure(String key, @Nullable String value) {
         switch (key) {
             case "expiration":
@@ -86,6 +197,72 @@ final class ElastiCacheSpec {
             case "recordStats":
                 recordStats(value);
                 return;
+            case "lease":
+                lease(key, value);
+                return;
+            case "refreshAfterWrite":
+                refreshAfterWrite(key, value);
+                return;
+            case "asyncWrites":
+                asyncWrites(key, value);
+                return;
+            case "nearMaximumSize":
+                nearMaximumSize(key, value);
+                return;
+            case "nearExpiration":
+                nearExpiration(key, value);
+                return;
+            case "codec":
+                codec(key, value);
+                return;
+            case "codecAllowedTypes":
+                codecAllowedTypes(key, value);
+                return;
+            case "compression":
+                compression(key, value);
+                return;
+            case "compressionThreshold":
+                compressionThreshold(key, value);
+                return;
+            case "poolMaxTotal":
+                poolMaxTotal(key, value);
+                return;
+            case "poolMinIdle":
+                poolMinIdle(key, value);
+                return;
+            case "commandTimeout":
+                commandTimeout(key, value);
+                return;
+            case "ioThreads":
+                ioThreads(key, value);
+                return;
+            case "computationThreads":
+                computationThreads(key, value);
+                return;
+            case "readFromReplica":
+                readFromReplica(key, value);
+                return;
+            case "binaryProtocol":
+                binaryProtocol(key, value);
+                return;
+            case "lazy":
+                lazy(key, value);
+                return;
+            case "opQueueSize":
+                opQueueSize(key, value);
+                return;
+            case "opQueueMaxBlockTime":
+                opQueueMaxBlockTime(key, value);
+                return;
+            case "readBufferSize":
+                readBufferSize(key, value);
+                return;
+            case "failureMode":
+                failureMode(key, value);
+                return;
+            case "connectionsPerNode":
+                connectionsPerNode(key, value);
+                return;
             default:
                 throw new IllegalArgumentException("Unknown key " + key);
         }
@@ -101,12 +278,206 @@ final class ElastiCacheSpec {
     }
 
     /**
-     * Configures the value as weak or soft references.
+     * Configures the lease.
+     */
+    void lease(String key, @Nullable String value) {
+        requireArgument(lease == UNSET_INT, "lease was already set to %,d", lease);
+        lease = parseInt(key, value);
+    }
+
+    /**
+     * Configures refresh after write.
+     */
+    void refreshAfterWrite(String key, @Nullable String value) {
+        requireArgument(refreshAfterWrite == UNSET_INT,
+                "refreshAfterWrite was already set to %,d", refreshAfterWrite);
+        refreshAfterWrite = parseInt(key, value);
+    }
+
+    /**
+     * Configures asynchronous writes, optionally with the maximum number of pending writes.
+     */
+    void asyncWrites(String key, @Nullable String value) {
+        requireArgument(!asyncWrites, "async writes was already set");
+        asyncWrites = true;
+        if (value != null) {
+            maxPendingWrites = parseInt(key, value);
+        }
+    }
+
+    /**
+     * Configures the maximum size of the near cache.
+     */
+    void nearMaximumSize(String key, @Nullable String value) {
+        requireArgument(nearMaximumSize == UNSET_INT, "near maximum size was already set to %,d", nearMaximumSize);
+        nearMaximumSize = parseLong(key, value);
+    }
+
+    /**
+     * Configures the expiration of the near cache.
+     */
+    void nearExpiration(String key, @Nullable String value) {
+        requireArgument(nearExpiration == UNSET_INT, "near expiration was already set to %,d", nearExpiration);
+        nearExpiration = parseInt(key, value);
+    }
+
+    /**
+     * Configures the codec.
+     */
+    void codec(String key, @Nullable String value) {
+        requireArgument(codec == null, "codec was already set to %s", codec);
+        requireArgument((value != null) && !value.isEmpty(), "value of key %s was omitted", key);
+        codec = value;
+    }
+
+    /**
+     * Configures the types the codec may read, separated by {@code |}.
+     */
+    @SuppressWarnings("StringSplitter")
+    void codecAllowedTypes(String key, @Nullable String value) {
+        requireArgument(codecAllowedTypes == null, "codec allowed types were already set to %s", codecAllowedTypes);
+        requireArgument((value != null) && !value.isEmpty(), "value of key %s was omitted", key);
+        codecAllowedTypes = Arrays.asList(requireNonNull(value).split(SPLIT_VALUES));
+    }
+
+    /**
+     * Configures the compression algorithm.
+     */
+    void compression(String key, @Nullable String value) {
+        requireArgument(compression == null, "compression was already set to %s", compression);
+        requireArgument((value != null) && !value.isEmpty(), "value of key %s was omitted", key);
+        compression = value;
+    }
+
+    /**
+     * Configures the compression threshold.
+     */
+    void compressionThreshold(String key, @Nullable String value) {
+        requireArgument(compressionThreshold == UNSET_INT,
+                "compression threshold was already set to %,d", compressionThreshold);
+        compressionThreshold = parseInt(key, value);
+    }
+
+    /**
+     * Configures the maximum number of pooled connections.
+     */
+    void poolMaxTotal(String key, @Nullable String value) {
+        requireArgument(poolMaxTotal == UNSET_INT, "pool max total was already set to %,d", poolMaxTotal);
+        poolMaxTotal = parseInt(key, value);
+    }
+
+    /**
+     * Configures the minimum number of idle pooled connections.
+     */
+    void poolMinIdle(String key, @Nullable String value) {
+        requireArgument(poolMinIdle == UNSET_INT, "pool min idle was already set to %,d", poolMinIdle);
+        poolMinIdle = parseInt(key, value);
+    }
+
+    /**
+     * Configures the command timeout.
+     */
+    void commandTimeout(String key, @Nullable String value) {
+        requireArgument(commandTimeout == UNSET_INT, "command timeout was already set to %,d", commandTimeout);
+        commandTimeout = parseInt(key, value);
+    }
+
+    /**
+     * Configures the number of I/O threads.
+     */
+    void ioThreads(String key, @Nullable String value) {
+        requireArgument(ioThreads == UNSET_INT, "io threads was already set to %,d", ioThreads);
+        ioThreads = parseInt(key, value);
+    }
+
+    /**
+     * Configures the number of computation threads.
+     */
+    void computationThreads(String key, @Nullable String value) {
+        requireArgument(computationThreads == UNSET_INT,
+                "computation threads was already set to %,d", computationThreads);
+        computationThreads = parseInt(key, value);
+    }
+
+    /**
+     * Configures reads from replicas.
+     */
+    void readFromReplica(String key, @Nullable String value) {
+        requireArgument(value == null, "%s does not take a value", key);
+        requireArgument(!readFromReplica, "read from replica was already set");
+        readFromReplica = true;
+    }
+
+    /**
+     * Configures the binary protocol.
+     */
+    void binaryProtocol(String key, @Nullable String value) {
+        requireArgument(value == null, "%s does not take a value", key);
+        requireArgument(!binaryProtocol, "binary protocol was already set");
+        binaryProtocol = true;
+    }
+
+    /**
+     * Configures connecting on first use.
+     */
+    void lazy(String key, @Nullable String value) {
+        requireArgument(value == null, "%s does not take a value", key);
+        requireArgument(!lazy, "lazy was already set");
+        lazy = true;
+    }
+
+    /**
+     * Configures the size of the operation queue.
+     */
+    void opQueueSize(String key, @Nullable String value) {
+        requireArgument(opQueueSize == UNSET_INT, "op queue size was already set to %,d", opQueueSize);
+        opQueueSize = parseInt(key, value);
+    }
+
+    /**
+     * Configures the maximum blocking time of the operation queue.
+     */
+    void opQueueMaxBlockTime(String key, @Nullable String value) {
+        requireArgument(opQueueMaxBlockTime == UNSET_INT,
+                "op queue max block time was already set to %,d", opQueueMaxBlockTime);
+        opQueueMaxBlockTime = parseInt(key, value);
+    }
+
+    /**
+     * Configures the size of the read buffer.
+     */
+    void readBufferSize(String key, @Nullable String value) {
+        requireArgument(readBufferSize == UNSET_INT, "read buffer size was already set to %,d", readBufferSize);
+        readBufferSize = parseInt(key, value);
+    }
+
+    /**
+     * Configures the failure mode.
+     */
+    void failureMode(String key, @Nullable String value) {
+        requireArgument(failureMode == null, "failure mode was already set to %s", failureMode);
+        requireArgument((value != null) && !value.isEmpty(), "value of key %s was omitted", key);
+        failureMode = value;
+    }
+
+    /**
+     * Configures the number of connections per node.
+     */
+    void connectionsPerNode(String key, @Nullable String value) {
+        requireArgument(connectionsPerNode == UNSET_INT,
+                "connections per node was already set to %,d", connectionsPerNode);
+        connectionsPerNode = parseInt(key, value);
+    }
+
+    /**
+     * Configures the recording of statistics, optionally into a {@code striped} counter.
      */
     void recordStats(@Nullable String value) {
-        requireArgument(value == null, "record stats does not take a value");
+        requireArgument((value == null) || "concurrent".equals(value) || "striped".equals(value),
+                "record stats was set to %s, must be concurrent or striped", value);
         requireArgument(!recordStats, "record stats was already set");
         recordStats = true;
+        stripedStats = "striped".equals(value);
     }
 
     /**
@@ -0,0 +1,20 @@
+package spring.caches.backend.elasticache.codec;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import java.util.Collection;
+
+/**
+ * A {@link JacksonCodec} for the CBOR format.
+ */
+public final class CborCodec extends JacksonCodec {
+
+    /**
+     * Creates a codec that reads the given types.
+     *
+     * @param allowedTypes the class names or package prefixes of the types that may be read
+     */
+    public CborCodec(Collection<String> allowedTypes) {
+        super("cbor", new CBORFactory(), allowedTypes);
+    }
+}
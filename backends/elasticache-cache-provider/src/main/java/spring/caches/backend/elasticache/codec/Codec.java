@@ -0,0 +1,32 @@
+package spring.caches.backend.elasticache.codec;
+
+/**
+ * Converts cached values to and from bytes. A cache selects its codec with the {@code codec} key of its
+ * spec, either by the name of one of the codecs shipped with the backend or by the fully qualified name of
+ * an implementation with a public no-argument constructor. Implementations must be thread-safe.
+ *
+ * @see Codecs#forName(String, java.util.Collection)
+ */
+public interface Codec {
+
+    /**
+     * Returns the name under which the codec reports its metrics.
+     */
+    String name();
+
+    /**
+     * Serializes the value.
+     *
+     * @param value the value to be cached, never {@code null}
+     * @return the serialized form of the value
+     */
+    byte[] encode(Object value);
+
+    /**
+     * Deserializes a value that was serialized by this codec.
+     *
+     * @param bytes the serialized form of the value
+     * @return the value
+     */
+    Object decode(byte[] bytes);
+}
@@ -0,0 +1,85 @@
+package spring.caches.backend.elasticache.codec;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Resolves {@link Codec codecs} by name.
+ */
+public final class Codecs {
+
+    private static final boolean SMILE_AVAILABLE = ClassUtils.isPresent(
+            "com.fasterxml.jackson.dataformat.smile.SmileFactory", ClassUtils.getDefaultClassLoader());
+
+    private static final boolean CBOR_AVAILABLE = ClassUtils.isPresent(
+            "com.fasterxml.jackson.dataformat.cbor.CBORFactory", ClassUtils.getDefaultClassLoader());
+
+    private static final boolean KRYO_AVAILABLE = ClassUtils.isPresent(
+            "com.esotericsoftware.kryo.Kryo", ClassUtils.getDefaultClassLoader());
+
+    private Codecs() {
+    }
+
+    /**
+     * Returns a new instance of the named codec, which cannot be {@code smile} or {@code cbor} since those
+     * require the types they may read.
+     *
+     * @param name the name of the codec
+     * @return a new codec
+     * @throws IllegalArgumentException if the codec is unknown, its library is missing or it requires allowed types
+     * @see #forName(String, Collection)
+     */
+    public static Codec forName(String name) {
+        return forName(name, List.of());
+    }
+
+    /**
+     * Returns a new instance of the named codec. The names {@code java}, {@code smile}, {@code cbor} and
+     * {@code kryo} refer to the codecs of this package; the latter three require Jackson's Smile or CBOR
+     * data format, or Kryo, on the classpath. The Smile and CBOR codecs only read the allowed types, see
+     * {@link JacksonCodec}. Any other name is taken as the class name of a {@link Codec}.
+     *
+     * @param name         the name of the codec
+     * @param allowedTypes the class names or package prefixes of the types the Smile and CBOR codecs may read
+     * @return a new codec
+     * @throws IllegalArgumentException if the codec is unknown, its library is missing or it requires allowed types
+     */
+    public static Codec forName(String name, Collection<String> allowedTypes) {
+        switch (name) {
+            case "java":
+                return new JavaCodec();
+            case "smile":
+                requireLibrary(SMILE_AVAILABLE, name, "com.fasterxml.jackson.dataformat:jackson-dataformat-smile");
+                return new SmileCodec(allowedTypes);
+            case "cbor":
+                requireLibrary(CBOR_AVAILABLE, name, "com.fasterxml.jackson.dataformat:jackson-dataformat-cbor");
+                return new CborCodec(allowedTypes);
+            case "kryo":
+                requireLibrary(KRYO_AVAILABLE, name, "com.esotericsoftware:kryo");
+                return new KryoCodec();
+            default:
+                return instantiate(name);
+        }
+    }
+
+    private static void requireLibrary(boolean available, String name, String artifact) {
+        if (!available) {
+            throw new IllegalArgumentException("Codec " + name + " requires " + artifact + " on the classpath");
+        }
+    }
+
+    private static Codec instantiate(String className) {
+        try {
+            Class<?> codecClass = ClassUtils.forName(className, ClassUtils.getDefaultClassLoader());
+            if (!Codec.class.isAssignableFrom(codecClass)) {
+                throw new IllegalArgumentException(className + " is not a " + Codec.class.getName());
+            }
+            return (Codec) BeanUtils.instantiateClass(codecClass);
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new IllegalArgumentException("Unknown codec " + className, e);
+        }
+    }
+}
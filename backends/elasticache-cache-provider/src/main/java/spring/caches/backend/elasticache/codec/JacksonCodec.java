@@ -0,0 +1,78 @@
+package spring.caches.backend.elasticache.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import spring.caches.backend.RefreshableValue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A {@link Codec} on top of a binary Jackson data format. Type information is written along with every
+ * value, so that any value Jackson can bind round-trips to the same type. Only the types of the configured
+ * allow-list are read, along with the JDK's collections, numbers and dates: each entry is a class name or a
+ * package prefix such as {@code com.example.}. The allow-list keeps the type information of a stored value
+ * from instantiating arbitrary classes; as with Java serialization, the cluster must still only be writable
+ * by trusted clients.
+ */
+public class JacksonCodec implements Codec {
+    private static final List<String> JDK_TYPES = List.of(
+            "java.util.", "java.time.", "java.math.", "java.lang.Long", "java.lang.Short", "java.lang.Byte",
+            "java.lang.Float", "java.lang.Character");
+
+    private final String name;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Creates a codec.
+     *
+     * @param name         the name of the codec
+     * @param jsonFactory  the factory of the data format
+     * @param allowedTypes the class names or package prefixes of the types that may be read
+     * @throws IllegalArgumentException if no allowed types are given
+     */
+    protected JacksonCodec(String name, JsonFactory jsonFactory, Collection<String> allowedTypes) {
+        if (allowedTypes.isEmpty()) {
+            throw new IllegalArgumentException("Codec " + name
+                    + " requires the types it may read, e.g. codecAllowedTypes=com.example.");
+        }
+        BasicPolymorphicTypeValidator.Builder validator = BasicPolymorphicTypeValidator.builder()
+                .allowIfSubTypeIsArray()
+                .allowIfSubType(RefreshableValue.class);
+        for (String prefix : JDK_TYPES) {
+            validator.allowIfSubType(prefix);
+        }
+        for (String prefix : allowedTypes) {
+            validator.allowIfSubType(prefix);
+        }
+        this.name = name;
+        this.objectMapper = new ObjectMapper(jsonFactory).activateDefaultTyping(
+                validator.build(), ObjectMapper.DefaultTyping.EVERYTHING);
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        try {
+            return objectMapper.readValue(bytes, Object.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
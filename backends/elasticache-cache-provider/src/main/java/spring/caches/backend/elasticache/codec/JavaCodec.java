@@ -0,0 +1,28 @@
+package spring.caches.backend.elasticache.codec;
+
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+
+/**
+ * A {@link Codec} that uses Java serialization, like the default transcoder of the memcached client. It
+ * is meant as a baseline to compare the other codecs with.
+ */
+public final class JavaCodec implements Codec {
+    private final SerializingConverter serializer = new SerializingConverter();
+    private final DeserializingConverter deserializer = new DeserializingConverter();
+
+    @Override
+    public String name() {
+        return "java";
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        return serializer.convert(value);
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        return deserializer.convert(bytes);
+    }
+}
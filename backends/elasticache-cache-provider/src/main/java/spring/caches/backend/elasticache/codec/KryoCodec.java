@@ -0,0 +1,69 @@
+package spring.caches.backend.elasticache.codec;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.util.DefaultInstantiatorStrategy;
+import com.esotericsoftware.kryo.util.Pool;
+import org.objenesis.strategy.StdInstantiatorStrategy;
+
+/**
+ * A {@link Codec} that uses Kryo. Neither {@code Kryo} instances nor their buffers are thread-safe, and
+ * both are expensive to create, so they are pooled. A buffer that grew large for a single value is dropped
+ * rather than returned to the pool. Classes need not be registered, at the cost of writing
+ * the class name along with each value.
+ */
+public final class KryoCodec implements Codec {
+    private static final int POOL_SIZE = 64;
+    private static final int BUFFER_SIZE = 4096;
+    private static final int MAX_POOLED_BUFFER_SIZE = 64 * 1024;
+
+    private final Pool<Kryo> kryos = new Pool<>(true, false, POOL_SIZE) {
+        @Override
+        protected Kryo create() {
+            Kryo kryo = new Kryo();
+            kryo.setRegistrationRequired(false);
+            kryo.setReferences(true);
+            kryo.setInstantiatorStrategy(new DefaultInstantiatorStrategy(new StdInstantiatorStrategy()));
+            return kryo;
+        }
+    };
+
+    private final Pool<Output> outputs = new Pool<>(true, false, POOL_SIZE) {
+        @Override
+        protected Output create() {
+            return new Output(BUFFER_SIZE, -1);
+        }
+    };
+
+    @Override
+    public String name() {
+        return "kryo";
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        Kryo kryo = kryos.obtain();
+        Output output = outputs.obtain();
+        try {
+            kryo.writeClassAndObject(output, value);
+            return output.toBytes();
+        } finally {
+            if (output.getBuffer().length <= MAX_POOLED_BUFFER_SIZE) {
+                output.reset();
+                outputs.free(output);
+            }
+            kryos.free(kryo);
+        }
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        Kryo kryo = kryos.obtain();
+        try {
+            return kryo.readClassAndObject(new Input(bytes));
+        } finally {
+            kryos.free(kryo);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package spring.caches.backend.elasticache.codec;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.util.Collection;
+
+/**
+ * A {@link JacksonCodec} for the Smile format.
+ */
+public final class SmileCodec extends JacksonCodec {
+
+    /**
+     * Creates a codec that reads the given types.
+     *
+     * @param allowedTypes the class names or package prefixes of the types that may be read
+     */
+    public SmileCodec(Collection<String> allowedTypes) {
+        super("smile", new SmileFactory(), allowedTypes);
+    }
+}
@@ -0,0 +1,189 @@
+package spring.caches.backend.elasticache.compression;
+
+import org.springframework.util.ClassUtils;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compresses serialized values that exceed a size threshold. Every value is prefixed with a header byte,
+ * which is {@link #UNCOMPRESSED} for values below the threshold or the {@link Compressor#id() id} of the
+ * algorithm, followed by the uncompressed length, otherwise. A value whose first byte is not a known header
+ * is read as is, so that values written before compression was enabled can still be read; this relies
+ * on serialized values not starting with such a byte, as Java serialization never does.
+ *
+ * <p>The bytes saved and the time spent are recorded for metrics.
+ */
+public final class Compression {
+    public static final byte UNCOMPRESSED = 0;
+    private static final int HEADER_LENGTH = 1;
+    private static final int COMPRESSED_HEADER_LENGTH = HEADER_LENGTH + Integer.BYTES;
+
+    private static final boolean LZ4_AVAILABLE = ClassUtils.isPresent(
+            "net.jpountz.lz4.LZ4Factory", ClassUtils.getDefaultClassLoader());
+
+    private static final boolean ZSTD_AVAILABLE = ClassUtils.isPresent(
+            "com.github.luben.zstd.Zstd", ClassUtils.getDefaultClassLoader());
+
+    private final Compressor compressor;
+    private final int threshold;
+
+    private final LongAdder compressCount = new LongAdder();
+    private final LongAdder uncompressedBytes = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+    private final LongAdder compressTime = new LongAdder();
+    private final LongAdder decompressCount = new LongAdder();
+    private final LongAdder decompressTime = new LongAdder();
+
+    public Compression(Compressor compressor, int threshold) {
+        this.compressor = compressor;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Returns a compression with the named algorithm, either {@code lz4} or {@code zstd}. They require
+     * {@code org.lz4:lz4-java} or {@code com.github.luben:zstd-jni} on the classpath respectively.
+     *
+     * @param name      the name of the algorithm
+     * @param threshold the size in bytes from which values are compressed
+     * @return a new compression
+     * @throws IllegalArgumentException if the algorithm is unknown or its library is missing
+     */
+    public static Compression forName(String name, int threshold) {
+        switch (name) {
+            case "lz4":
+                requireLibrary(LZ4_AVAILABLE, name, "org.lz4:lz4-java");
+                return new Compression(new Lz4Compressor(), threshold);
+            case "zstd":
+                requireLibrary(ZSTD_AVAILABLE, name, "com.github.luben:zstd-jni");
+                return new Compression(new ZstdCompressor(), threshold);
+            default:
+                throw new IllegalArgumentException("Unknown compression " + name + ", must be lz4 or zstd");
+        }
+    }
+
+    private static void requireLibrary(boolean available, String name, String artifact) {
+        if (!available) {
+            throw new IllegalArgumentException("Compression " + name + " requires " + artifact + " on the classpath");
+        }
+    }
+
+    public Compressor compressor() {
+        return compressor;
+    }
+
+    /**
+     * Prefixes the value with its header, compressing it if it exceeds the threshold. A value that does not
+     * shrink is kept uncompressed.
+     *
+     * @param bytes the serialized value
+     * @return the value to be stored
+     */
+    public byte[] compress(byte[] bytes) {
+        if (bytes.length >= threshold) {
+            long startTime = System.nanoTime();
+            byte[] compressed = compressor.compress(bytes);
+            compressTime.add(System.nanoTime() - startTime);
+            compressCount.increment();
+            uncompressedBytes.add(bytes.length);
+            if (compressed.length + COMPRESSED_HEADER_LENGTH < bytes.length) {
+                compressedBytes.add(compressed.length + COMPRESSED_HEADER_LENGTH);
+                return ByteBuffer.allocate(COMPRESSED_HEADER_LENGTH + compressed.length)
+                        .put(compressor.id())
+                        .putInt(bytes.length)
+                        .put(compressed)
+                        .array();
+            }
+            compressedBytes.add(bytes.length + HEADER_LENGTH);
+        }
+
+        byte[] value = new byte[HEADER_LENGTH + bytes.length];
+        value[0] = UNCOMPRESSED;
+        System.arraycopy(bytes, 0, value, HEADER_LENGTH, bytes.length);
+        return value;
+    }
+
+    /**
+     * Strips the header of a value and decompresses it if needed. A value without a known header is
+     * returned unchanged.
+     *
+     * @param bytes the stored value
+     * @return the serialized value
+     */
+    public byte[] decompress(byte[] bytes) {
+        if (!isCompressed(bytes)) {
+            return strip(bytes);
+        }
+        long startTime = System.nanoTime();
+        byte[] decompressed = decompress(bytes, decompressor(bytes[0]));
+        decompressTime.add(System.nanoTime() - startTime);
+        decompressCount.increment();
+        return decompressed;
+    }
+
+    /**
+     * Reads a value like {@link #decompress(byte[])}, for caches that no longer compress their values but
+     * may still hold compressed ones.
+     *
+     * @param bytes the stored value
+     * @return the serialized value
+     */
+    public static byte[] decompressAny(byte[] bytes) {
+        return isCompressed(bytes) ? decompress(bytes, compressorFor(bytes[0])) : strip(bytes);
+    }
+
+    private static boolean isCompressed(byte[] bytes) {
+        return (bytes.length >= COMPRESSED_HEADER_LENGTH)
+                && ((bytes[0] == Lz4Compressor.ID) || (bytes[0] == ZstdCompressor.ID));
+    }
+
+    private static byte[] strip(byte[] bytes) {
+        return ((bytes.length > 0) && (bytes[0] == UNCOMPRESSED))
+                ? Arrays.copyOfRange(bytes, HEADER_LENGTH, bytes.length)
+                : bytes;
+    }
+
+    private static byte[] decompress(byte[] bytes, Compressor compressor) {
+        int originalLength = ByteBuffer.wrap(bytes, HEADER_LENGTH, Integer.BYTES).getInt();
+        return compressor.decompress(bytes, COMPRESSED_HEADER_LENGTH,
+                bytes.length - COMPRESSED_HEADER_LENGTH, originalLength);
+    }
+
+    /**
+     * Returns the compressor of the given header. Values compressed by another algorithm than the configured
+     * one remain readable, e.g. while switching from one to the other.
+     */
+    private Compressor decompressor(byte id) {
+        return (id == compressor.id()) ? compressor : compressorFor(id);
+    }
+
+    private static Compressor compressorFor(byte id) {
+        return forName((id == Lz4Compressor.ID) ? "lz4" : "zstd", 0).compressor();
+    }
+
+    /**
+     * Returns the ratio of the stored to the serialized size of the values that exceeded the threshold, or
+     * {@code 1.0} if there were none.
+     */
+    public double compressionRatio() {
+        long uncompressed = uncompressedBytes.sum();
+        return (uncompressed == 0) ? 1.0 : ((double) compressedBytes.sum() / uncompressed);
+    }
+
+    public long compressCount() {
+        return compressCount.sum();
+    }
+
+    public long compressTime() {
+        return compressTime.sum();
+    }
+
+    public long decompressCount() {
+        return decompressCount.sum();
+    }
+
+    public long decompressTime() {
+        return decompressTime.sum();
+    }
+}
@@ -0,0 +1,49 @@
+package spring.caches.backend.elasticache.compression;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collect metrics on the {@link Compression} of a cache.
+ */
+public class CompressionMetrics implements MeterBinder {
+    private static final String OPERATION = "operation";
+
+    private final Compression compression;
+    private final Iterable<Tag> tags;
+
+    /**
+     * Creates a new {@link CompressionMetrics} instance.
+     *
+     * @param compression the compression to be instrumented
+     * @param tags        tags to apply to all recorded metrics, including the name of the cache
+     */
+    public CompressionMetrics(Compression compression, Iterable<Tag> tags) {
+        this.compression = compression;
+        this.tags = Tags.concat(tags, "algorithm", compression.compressor().name());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("cache.compression.ratio", compression, Compression::compressionRatio)
+                .tags(tags)
+                .description("The ratio of the stored to the serialized size of the values above the threshold")
+                .register(registry);
+        FunctionTimer.builder("cache.compression", compression, Compression::compressCount,
+                Compression::compressTime, TimeUnit.NANOSECONDS)
+                .tags(tags).tags(OPERATION, "compress")
+                .description("The time spent compressing values")
+                .register(registry);
+        FunctionTimer.builder("cache.compression", compression, Compression::decompressCount,
+                Compression::decompressTime, TimeUnit.NANOSECONDS)
+                .tags(tags).tags(OPERATION, "decompress")
+                .description("The time spent decompressing values")
+                .register(registry);
+    }
+}
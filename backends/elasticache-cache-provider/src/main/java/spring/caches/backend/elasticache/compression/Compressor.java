@@ -0,0 +1,36 @@
+package spring.caches.backend.elasticache.compression;
+
+/**
+ * A compression algorithm. Implementations must be thread-safe.
+ */
+public interface Compressor {
+
+    /**
+     * Returns the header byte that marks values compressed by this algorithm.
+     */
+    byte id();
+
+    /**
+     * Returns the name of the algorithm, as used in the {@code compression} key of a spec.
+     */
+    String name();
+
+    /**
+     * Compresses the bytes.
+     *
+     * @param bytes the uncompressed bytes
+     * @return the compressed bytes
+     */
+    byte[] compress(byte[] bytes);
+
+    /**
+     * Decompresses a range of bytes.
+     *
+     * @param bytes          the array holding the compressed bytes
+     * @param offset         the offset of the compressed bytes
+     * @param length         the number of compressed bytes
+     * @param originalLength the number of uncompressed bytes
+     * @return the uncompressed bytes
+     */
+    byte[] decompress(byte[] bytes, int offset, int length, int originalLength);
+}
@@ -0,0 +1,43 @@
+package spring.caches.backend.elasticache.compression;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+/**
+ * A {@link Compressor} for LZ4, which favours speed over compression ratio.
+ */
+final class Lz4Compressor implements Compressor {
+    static final byte ID = 1;
+
+    private final LZ4Compressor compressor;
+    private final LZ4FastDecompressor decompressor;
+
+    Lz4Compressor() {
+        LZ4Factory factory = LZ4Factory.fastestInstance();
+        this.compressor = factory.fastCompressor();
+        this.decompressor = factory.fastDecompressor();
+    }
+
+    @Override
+    public byte id() {
+        return ID;
+    }
+
+    @Override
+    public String name() {
+        return "lz4";
+    }
+
+    @Override
+    public byte[] compress(byte[] bytes) {
+        return compressor.compress(bytes);
+    }
+
+    @Override
+    public byte[] decompress(byte[] bytes, int offset, int length, int originalLength) {
+        byte[] decompressed = new byte[originalLength];
+        decompressor.decompress(bytes, offset, decompressed, 0, originalLength);
+        return decompressed;
+    }
+}
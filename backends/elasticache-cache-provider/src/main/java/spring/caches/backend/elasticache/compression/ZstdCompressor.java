@@ -0,0 +1,36 @@
+package spring.caches.backend.elasticache.compression;
+
+import com.github.luben.zstd.Zstd;
+
+/**
+ * A {@link Compressor} for Zstandard, which compresses better than LZ4 at a higher CPU cost.
+ */
+final class ZstdCompressor implements Compressor {
+    static final byte ID = 2;
+    private static final int LEVEL = 3;
+
+    @Override
+    public byte id() {
+        return ID;
+    }
+
+    @Override
+    public String name() {
+        return "zstd";
+    }
+
+    @Override
+    public byte[] compress(byte[] bytes) {
+        return Zstd.compress(bytes, LEVEL);
+    }
+
+    @Override
+    public byte[] decompress(byte[] bytes, int offset, int length, int originalLength) {
+        byte[] decompressed = new byte[originalLength];
+        long size = Zstd.decompressByteArray(decompressed, 0, originalLength, bytes, offset, length);
+        if (Zstd.isError(size) || (size != originalLength)) {
+            throw new IllegalStateException("Corrupt zstd value: " + Zstd.getErrorName(size));
+        }
+        return decompressed;
+    }
+}
@@ -1,18 +1,27 @@
 package spring.caches.backend.elasticache.engines;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import spring.caches.backend.elasticache.ElastiCache;
 
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * Creates and owns the connection clients of the cache clusters, one per endpoint host. Clients of different
+ * hosts may be created concurrently, e.g. when the clusters of a backend are initialized in parallel; the
+ * client of a host is created at most once.
+ *
  * @param <T> connection client type
  */
-public abstract class AbstractCacheFactory<T> implements CacheFactory {
+public abstract class AbstractCacheFactory<T> implements CacheFactory, DisposableBean {
 
-    private final Map<String, T> nativeConnectionClients = new HashMap<>();
+    private final Map<String, T> nativeConnectionClients = new ConcurrentHashMap<>();
+
+    private final Map<String, Object> hostLocks = new ConcurrentHashMap<>();
 
     private final Map<String, ElastiCache> settings = new HashMap<>();
 
@@ -25,21 +34,81 @@ public abstract class AbstractCacheFactory<T> implements CacheFactory {
 
     protected abstract void destroyConnectionClient(T connectionClient) throws Exception;
 
+    /**
+     * Destroys the connection clients that were created by this factory.
+     */
+    @Override
+    public void destroy() throws Exception {
+        for (String hostName : this.nativeConnectionClients.keySet()) {
+            synchronized (hostLock(hostName)) {
+                T nativeConnectionClient = this.nativeConnectionClients.remove(hostName);
+                if (nativeConnectionClient != null) {
+                    destroyConnectionClient(nativeConnectionClient);
+                }
+            }
+        }
+    }
+
+    private Object hostLock(String hostName) {
+        return this.hostLocks.computeIfAbsent(hostName, h -> new Object());
+    }
+
     protected final T getConnectionFactory(String hostName, int port) throws Exception {
-        synchronized (this.nativeConnectionClients) {
-            if (!this.nativeConnectionClients.containsKey(hostName)) {
-                T nativeConnectionClient = createConnectionClient(hostName, port);
+        return getConnectionFactory(null, hostName, port);
+    }
+
+    /**
+     * Returns the connection client of the host, creating it with the settings of the given cache if there
+     * is none yet.
+     */
+    protected final T getConnectionFactory(@Nullable String cacheName, String hostName, int port) throws Exception {
+        return getConnectionFactory(cacheName, ClusterTopology.single(hostName, port));
+    }
+
+    /**
+     * Returns the connection client of the endpoint of a topology, creating it with the settings of the given
+     * cache if there is none yet.
+     */
+    protected final T getConnectionFactory(@Nullable String cacheName, ClusterTopology topology) throws Exception {
+        String hostName = topology.host();
+        T nativeConnectionClient = this.nativeConnectionClients.get(hostName);
+        if (nativeConnectionClient != null) {
+            return nativeConnectionClient;
+        }
+        synchronized (hostLock(hostName)) {
+            nativeConnectionClient = this.nativeConnectionClients.get(hostName);
+            if (nativeConnectionClient == null) {
+                ElastiCache cacheSettings = (cacheName == null) ? null : settings.get(cacheName);
+                nativeConnectionClient = (cacheSettings == null)
+                        ? createConnectionClient(hostName, topology.port())
+                        : createConnectionClient(topology, cacheSettings);
                 if (nativeConnectionClient instanceof InitializingBean) {
                     ((InitializingBean) nativeConnectionClient).afterPropertiesSet();
                 }
                 this.nativeConnectionClients.put(hostName, nativeConnectionClient);
             }
-            return this.nativeConnectionClients.get(hostName);
+            return nativeConnectionClient;
         }
     }
 
     protected abstract T createConnectionClient(String hostName, int port) throws IOException;
 
+    /**
+     * Creates a connection client with the settings of the cache that first uses it. By default the settings
+     * are ignored.
+     */
+    protected T createConnectionClient(String hostName, int port, ElastiCache settings) throws IOException {
+        return createConnectionClient(hostName, port);
+    }
+
+    /**
+     * Creates a connection client to the nodes of a topology with the settings of the cache that first uses
+     * it. By default the client connects to the endpoint of the topology.
+     */
+    protected T createConnectionClient(ClusterTopology topology, ElastiCache settings) throws IOException {
+        return createConnectionClient(topology.host(), topology.port(), settings);
+    }
+
     @SuppressWarnings("UnusedParameters")
     protected int getExpiryTime(String cacheName) {
         return settings.get(cacheName).expiration();
@@ -1,6 +1,7 @@
 package spring.caches.backend.elasticache.engines;
 
 import org.springframework.cache.Cache;
+import spring.caches.backend.elasticache.engines.near.InvalidationChannel;
 
 /**
  * tbd.
@@ -10,4 +11,28 @@ public interface CacheFactory {
     boolean isSupportingCacheArchitecture(String architecture);
 
     Cache createCache(String cacheName, String host, int port) throws Exception;
+
+    /**
+     * Creates the cache of a cluster with the given topology. By default an engine connects to the endpoint
+     * of the topology only.
+     */
+    default Cache createCache(String cacheName, ClusterTopology topology) throws Exception {
+        return createCache(cacheName, topology.host(), topology.port());
+    }
+
+    /**
+     * Returns the channel on which the near caches of a cluster announce their changes to other nodes. By
+     * default an engine cannot announce changes, and near cache entries are only bounded by their expiration.
+     */
+    default InvalidationChannel createInvalidationChannel(String cacheName, String host, int port) throws Exception {
+        return InvalidationChannel.none();
+    }
+
+    /**
+     * Returns the invalidation channel of a cluster with the given topology.
+     */
+    default InvalidationChannel createInvalidationChannel(String cacheName, ClusterTopology topology)
+            throws Exception {
+        return createInvalidationChannel(cacheName, topology.host(), topology.port());
+    }
 }
@@ -0,0 +1,94 @@
+package spring.caches.backend.elasticache.engines;
+
+import org.springframework.util.Assert;
+
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The nodes of an ElastiCache cluster as described by the ElastiCache API. The endpoint is the address a
+ * client connects to first: the configuration endpoint of a sharded cluster, the primary endpoint of a
+ * replicated one, or the only node of a single-node cluster.
+ */
+public final class ClusterTopology {
+
+    private final String host;
+
+    private final int port;
+
+    private final boolean sharded;
+
+    private final List<InetSocketAddress> nodes;
+
+    private final List<InetSocketAddress> replicas;
+
+    private ClusterTopology(
+            String host,
+            int port,
+            boolean sharded,
+            List<InetSocketAddress> nodes,
+            List<InetSocketAddress> replicas
+    ) {
+        Assert.hasText(host, "host is mandatory");
+        this.host = host;
+        this.port = port;
+        this.sharded = sharded;
+        this.nodes = Collections.unmodifiableList(nodes);
+        this.replicas = Collections.unmodifiableList(replicas);
+    }
+
+    /**
+     * Returns the topology of a cluster that is reached through a single endpoint.
+     */
+    public static ClusterTopology single(String host, int port) {
+        return new ClusterTopology(host, port, false, Collections.emptyList(), Collections.emptyList());
+    }
+
+    /**
+     * Returns the topology of a cluster whose keys are partitioned across the given nodes.
+     */
+    public static ClusterTopology sharded(String host, int port, List<InetSocketAddress> nodes) {
+        return new ClusterTopology(host, port, true, nodes, Collections.emptyList());
+    }
+
+    /**
+     * Returns the topology of a cluster whose primary endpoint is copied to the given replicas.
+     */
+    public static ClusterTopology replicated(String host, int port, List<InetSocketAddress> replicas) {
+        return new ClusterTopology(host, port, false, Collections.emptyList(), replicas);
+    }
+
+    public String host() {
+        return host;
+    }
+
+    public int port() {
+        return port;
+    }
+
+    public boolean isSharded() {
+        return sharded;
+    }
+
+    /**
+     * Returns the nodes of a sharded cluster, which may be empty if they are to be discovered by the client.
+     */
+    public List<InetSocketAddress> nodes() {
+        return nodes;
+    }
+
+    public boolean hasReplicas() {
+        return !replicas.isEmpty();
+    }
+
+    public List<InetSocketAddress> replicas() {
+        return replicas;
+    }
+
+    @Override
+    public String toString() {
+        return "ClusterTopology{host=" + host + ", port=" + port + ", sharded=" + sharded
+                + ", nodes=" + nodes + ", replicas=" + replicas + '}';
+    }
+}
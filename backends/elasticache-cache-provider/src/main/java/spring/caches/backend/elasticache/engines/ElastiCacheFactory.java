@@ -18,11 +18,18 @@ package spring.caches.backend.elasticache.engines;
 
 import com.amazonaws.services.elasticache.AmazonElastiCache;
 import com.amazonaws.services.elasticache.model.CacheCluster;
+import com.amazonaws.services.elasticache.model.CacheNode;
 import com.amazonaws.services.elasticache.model.DescribeCacheClustersRequest;
 import com.amazonaws.services.elasticache.model.DescribeCacheClustersResult;
+import com.amazonaws.services.elasticache.model.DescribeReplicationGroupsRequest;
 import com.amazonaws.services.elasticache.model.Endpoint;
+import com.amazonaws.services.elasticache.model.NodeGroup;
+import com.amazonaws.services.elasticache.model.NodeGroupMember;
+import com.amazonaws.services.elasticache.model.ReplicationGroup;
 import org.springframework.cache.Cache;
 
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -68,18 +75,83 @@ public class ElastiCacheFactory {
                 .describeCacheClusters(describeCacheClustersRequest);
 
         CacheCluster cacheCluster = describeCacheClustersResult.getCacheClusters().get(0);
-        Endpoint configurationEndpoint = getEndpointForCache(cacheCluster);
+        ClusterTopology topology = describeTopology(cacheCluster);
 
         for (CacheFactory cacheFactory : this.cacheFactories) {
             if (cacheFactory.isSupportingCacheArchitecture(cacheCluster.getEngine())) {
-                return cacheFactory.createCache(this.cacheClusterId, configurationEndpoint.getAddress(),
-                        configurationEndpoint.getPort());
+                return cacheFactory.createCache(this.cacheClusterId, topology);
             }
         }
 
         throw new IllegalArgumentException("No CacheFactory configured for engine: " + cacheCluster.getEngine());
     }
 
+    /**
+     * Describes the replication group of a Redis cluster, if it belongs to one, since only the group knows
+     * whether the cluster is sharded and which of its nodes are replicas. A memcached cluster is sharded
+     * across its cache nodes and reached through its configuration endpoint.
+     */
+    private ClusterTopology describeTopology(CacheCluster cacheCluster) {
+        if (cacheCluster.getReplicationGroupId() != null) {
+            List<ReplicationGroup> replicationGroups = this.amazonElastiCache
+                    .describeReplicationGroups(new DescribeReplicationGroupsRequest()
+                            .withReplicationGroupId(cacheCluster.getReplicationGroupId()))
+                    .getReplicationGroups();
+            if (!replicationGroups.isEmpty()) {
+                return replicationGroupTopology(replicationGroups.get(0), cacheCluster);
+            }
+        }
+        Endpoint configurationEndpoint = cacheCluster.getConfigurationEndpoint();
+        if (configurationEndpoint != null) {
+            List<InetSocketAddress> nodes = new ArrayList<>();
+            for (CacheNode cacheNode : cacheCluster.getCacheNodes()) {
+                if (cacheNode.getEndpoint() != null) {
+                    nodes.add(address(cacheNode.getEndpoint()));
+                }
+            }
+            return ClusterTopology.sharded(configurationEndpoint.getAddress(), configurationEndpoint.getPort(), nodes);
+        }
+        Endpoint endpoint = getEndpointForCache(cacheCluster);
+        return ClusterTopology.single(endpoint.getAddress(), endpoint.getPort());
+    }
+
+    private static ClusterTopology replicationGroupTopology(
+            ReplicationGroup replicationGroup,
+            CacheCluster cacheCluster
+    ) {
+        List<NodeGroup> nodeGroups = replicationGroup.getNodeGroups();
+        Endpoint configurationEndpoint = replicationGroup.getConfigurationEndpoint();
+        if (Boolean.TRUE.equals(replicationGroup.getClusterEnabled()) && (configurationEndpoint != null)) {
+            List<InetSocketAddress> nodes = new ArrayList<>();
+            for (NodeGroup nodeGroup : nodeGroups) {
+                for (NodeGroupMember member : nodeGroup.getNodeGroupMembers()) {
+                    if (member.getReadEndpoint() != null) {
+                        nodes.add(address(member.getReadEndpoint()));
+                    }
+                }
+            }
+            return ClusterTopology.sharded(configurationEndpoint.getAddress(), configurationEndpoint.getPort(), nodes);
+        }
+
+        if (nodeGroups.isEmpty() || (nodeGroups.get(0).getPrimaryEndpoint() == null)) {
+            Endpoint endpoint = getEndpointForCache(cacheCluster);
+            return ClusterTopology.single(endpoint.getAddress(), endpoint.getPort());
+        }
+        NodeGroup nodeGroup = nodeGroups.get(0);
+        List<InetSocketAddress> replicas = new ArrayList<>();
+        for (NodeGroupMember member : nodeGroup.getNodeGroupMembers()) {
+            if ("replica".equalsIgnoreCase(member.getCurrentRole()) && (member.getReadEndpoint() != null)) {
+                replicas.add(address(member.getReadEndpoint()));
+            }
+        }
+        Endpoint primaryEndpoint = nodeGroup.getPrimaryEndpoint();
+        return ClusterTopology.replicated(primaryEndpoint.getAddress(), primaryEndpoint.getPort(), replicas);
+    }
+
+    private static InetSocketAddress address(Endpoint endpoint) {
+        return InetSocketAddress.createUnresolved(endpoint.getAddress(), endpoint.getPort());
+    }
+
     private String getCacheClusterName() {
         return this.cacheClusterId;
     }
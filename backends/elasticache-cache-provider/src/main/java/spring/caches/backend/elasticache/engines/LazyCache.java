@@ -0,0 +1,219 @@
+package spring.caches.backend.elasticache.engines;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.cache.Cache;
+import org.springframework.util.Assert;
+import spring.caches.backend.BatchCache;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+/**
+ * A proxy for the cache of a cluster that is connected to on first use. The first operation on the cache
+ * creates it, i.e. describes the cluster and opens its connections, while concurrent operations wait for it
+ * rather than connecting themselves. If the cache cannot be created, the operation fails and so do further
+ * operations for the retry delay, without connecting; the next operation after that tries again.
+ *
+ * <p>The name of the cache is known up front, so that resolving it does not connect. Its native cache is only
+ * known once it is connected, so {@link #getNativeCache()} connects as well. Bulk operations are passed on to
+ * the cache if it is a {@link BatchCache}, and performed key by key otherwise.
+ */
+public final class LazyCache implements BatchCache {
+    private static final Logger LOGGER = System.getLogger(LazyCache.class.getName());
+    private static final Duration DEFAULT_RETRY_DELAY = Duration.ofSeconds(1);
+
+    private final String name;
+    private final Callable<Cache> factory;
+    private final long retryDelayNanos;
+    private final Object lock = new Object();
+    private final List<Consumer<Cache>> listeners = new ArrayList<>(1);
+
+    private volatile @Nullable Cache cache;
+    private @Nullable RuntimeException failure;
+    private long failedAt;
+
+    public LazyCache(String name, Callable<Cache> factory) {
+        this(name, factory, DEFAULT_RETRY_DELAY);
+    }
+
+    /**
+     * Creates a proxy.
+     *
+     * @param name       the name of the cache
+     * @param factory    creates the cache, on the thread of the first operation
+     * @param retryDelay how long operations fail without connecting after the cache could not be created
+     */
+    public LazyCache(String name, Callable<Cache> factory, Duration retryDelay) {
+        Assert.notNull(name, "name is mandatory");
+        Assert.notNull(factory, "factory is mandatory");
+        Assert.isTrue(!retryDelay.isNegative(), "retryDelay cannot be negative");
+        this.name = name;
+        this.factory = factory;
+        this.retryDelayNanos = retryDelay.toNanos();
+    }
+
+    /**
+     * Returns whether the cache was created.
+     */
+    public boolean isConnected() {
+        return cache != null;
+    }
+
+    /**
+     * Returns the cache, creating it if it was not yet.
+     *
+     * @throws IllegalStateException if the cache cannot be created
+     */
+    public Cache getTarget() {
+        Cache target = cache;
+        return (target == null) ? connect() : target;
+    }
+
+    /**
+     * Runs the given action with the cache once it is created, or right away if it already is. The action runs
+     * on the thread that created the cache, before the operation that created it proceeds.
+     */
+    public void whenConnected(Consumer<Cache> action) {
+        synchronized (lock) {
+            if (cache == null) {
+                listeners.add(action);
+                return;
+            }
+        }
+        action.accept(cache);
+    }
+
+    private Cache connect() {
+        synchronized (lock) {
+            if (cache != null) {
+                return cache;
+            }
+            if ((failure != null) && ((System.nanoTime() - failedAt) < retryDelayNanos)) {
+                throw new IllegalStateException("Could not connect cache " + name, failure);
+            }
+            Cache target = create();
+            cache = target;
+            for (Consumer<Cache> listener : listeners) {
+                try {
+                    listener.accept(target);
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Exception thrown by a listener of cache " + name, e);
+                }
+            }
+            listeners.clear();
+            return target;
+        }
+    }
+
+    private Cache create() {
+        long start = System.nanoTime();
+        try {
+            Cache target = factory.call();
+            Assert.state(target != null, "factory returned no cache");
+            failure = null;
+            LOGGER.log(Level.INFO, () -> "cache=" + name + " connected in "
+                    + Duration.ofNanos(System.nanoTime() - start).toMillis() + " ms");
+            return target;
+        } catch (Exception e) {
+            failure = (e instanceof RuntimeException) ? (RuntimeException) e : new IllegalStateException(e);
+            failedAt = System.nanoTime();
+            LOGGER.log(Level.WARNING, "Could not connect cache " + name, e);
+            throw new IllegalStateException("Could not connect cache " + name, e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return getTarget().getNativeCache();
+    }
+
+    @Override
+    public @Nullable ValueWrapper get(Object key) {
+        return getTarget().get(key);
+    }
+
+    @Override
+    public <T> @Nullable T get(Object key, @Nullable Class<T> type) {
+        return getTarget().get(key, type);
+    }
+
+    @Override
+    public <T> @Nullable T get(Object key, Callable<T> valueLoader) {
+        return getTarget().get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        getTarget().put(key, value);
+    }
+
+    @Override
+    public @Nullable ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        return getTarget().putIfAbsent(key, value);
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Cache target = getTarget();
+        if (target instanceof BatchCache) {
+            return ((BatchCache) target).getAll(keys);
+        }
+        Map<Object, Object> values = new HashMap<>();
+        for (Object key : keys) {
+            ValueWrapper valueWrapper = target.get(key);
+            if (valueWrapper != null) {
+                values.put(key, valueWrapper.get());
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        Cache target = getTarget();
+        if (target instanceof BatchCache) {
+            ((BatchCache) target).putAll(entries);
+        } else {
+            entries.forEach(target::put);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        getTarget().evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return getTarget().evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        getTarget().clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return getTarget().invalidate();
+    }
+
+    @Override
+    public String toString() {
+        Cache target = cache;
+        return "LazyCache{name=" + name + ", target=" + ((target == null) ? "<not connected>" : target) + '}';
+    }
+}
@@ -0,0 +1,47 @@
+package spring.caches.backend.elasticache.engines;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.cache.Cache;
+
+import java.util.function.BiFunction;
+
+/**
+ * Collect metrics on lazily connected caches. The type of the cache behind a {@link LazyCache}, and thus its
+ * meters, is only known once it is connected, so the meters of the cache are bound when it connects rather than
+ * when the cache is bound. A cache that is never used has no meters.
+ */
+public class LazyCacheMetrics implements MeterBinder {
+    private final LazyCache cache;
+    private final Iterable<Tag> tags;
+    private final BiFunction<Cache, Iterable<Tag>, @Nullable MeterBinder> binders;
+
+    /**
+     * Creates a new {@link LazyCacheMetrics} instance.
+     *
+     * @param cache   The lazy cache to be instrumented.
+     * @param tags    tags to apply to all recorded metrics.
+     * @param binders returns the meter binder of the connected cache, or {@code null} if it has none.
+     */
+    public LazyCacheMetrics(
+            LazyCache cache,
+            Iterable<Tag> tags,
+            BiFunction<Cache, Iterable<Tag>, @Nullable MeterBinder> binders
+    ) {
+        this.cache = cache;
+        this.tags = tags;
+        this.binders = binders;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        cache.whenConnected(target -> {
+            MeterBinder binder = binders.apply(target, tags);
+            if (binder != null) {
+                binder.bindTo(registry);
+            }
+        });
+    }
+}
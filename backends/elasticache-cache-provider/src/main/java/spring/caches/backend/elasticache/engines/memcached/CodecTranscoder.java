@@ -0,0 +1,214 @@
+package spring.caches.backend.elasticache.engines.memcached;
+
+import net.spy.memcached.CachedData;
+import net.spy.memcached.transcoders.SerializingTranscoder;
+import net.spy.memcached.transcoders.Transcoder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import spring.caches.backend.elasticache.codec.Codec;
+import spring.caches.backend.elasticache.codec.Codecs;
+import spring.caches.backend.elasticache.compression.Compression;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A memcached {@link Transcoder} that serializes values with a {@link Codec} and records the size of the
+ * serialized values and the time spent on it. Values are flagged as written by a codec, with the id of the
+ * codec in the low byte of the flags, so that values written by the client's default transcoder, e.g. before
+ * the codec was configured, can still be read. If a {@link Compression} is given, the serialized values are
+ * compressed and flagged separately, so that uncompressed and compressed values can be read alike.
+ *
+ * <p>A value written by another codec is decoded by the codec its flags name, so that instances with different
+ * codecs can share a cache, e.g. while the codec is being changed. A value whose codec is not available here,
+ * such as a custom codec of another instance, or one that cannot be decoded, is decoded as
+ * {@link #UNDECODABLE}, which the cache treats as a miss.
+ */
+public final class CodecTranscoder implements Transcoder<Object> {
+    static final int CODEC_FLAG = 0x4000;
+    static final int COMPRESSION_FLAG = 0x2000;
+    private static final int CODEC_ID_MASK = 0xFF;
+    static final Object UNDECODABLE = new Object();
+
+    private final Codec codec;
+    private final @Nullable Compression compression;
+    private final int flags;
+    private final Function<String, Codec> codecsByName;
+    private final Map<Integer, Optional<Codec>> codecs = new ConcurrentHashMap<>();
+    private final Transcoder<Object> fallback = new SerializingTranscoder();
+
+    private final LongAdder encodeCount = new LongAdder();
+    private final LongAdder encodedBytes = new LongAdder();
+    private final LongAdder encodeTime = new LongAdder();
+    private final LongAdder decodeCount = new LongAdder();
+    private final LongAdder decodedBytes = new LongAdder();
+    private final LongAdder decodeTime = new LongAdder();
+
+    public CodecTranscoder(Codec codec) {
+        this(codec, null);
+    }
+
+    public CodecTranscoder(Codec codec, @Nullable Compression compression) {
+        this(codec, compression, Codecs::forName);
+    }
+
+    /**
+     * Creates a transcoder.
+     *
+     * @param codec        the codec that writes values
+     * @param compression  the compression of the written values, if any
+     * @param codecsByName creates the codecs shipped with the backend that read the values of other instances
+     */
+    public CodecTranscoder(Codec codec, @Nullable Compression compression, Function<String, Codec> codecsByName) {
+        this.codec = codec;
+        this.codecsByName = codecsByName;
+        this.compression = compression;
+        this.flags = CODEC_FLAG | codecId(codec);
+        this.codecs.put(codecId(codec), Optional.of(codec));
+    }
+
+    /**
+     * Returns the id of the codec in the flags of its values: fixed for the codecs shipped with the backend,
+     * and derived from the class name for others.
+     */
+    static int codecId(Codec codec) {
+        switch (codec.name()) {
+            case "java":
+                return 0x10;
+            case "smile":
+                return 0x11;
+            case "cbor":
+                return 0x12;
+            case "kryo":
+                return 0x13;
+            default:
+                return 0x80 | (codec.getClass().getName().hashCode() & 0x7F);
+        }
+    }
+
+    /**
+     * Returns the name of the codec shipped with the backend that has the given id, if any.
+     */
+    static @Nullable String codecName(int id) {
+        switch (id) {
+            case 0x10:
+                return "java";
+            case 0x11:
+                return "smile";
+            case 0x12:
+                return "cbor";
+            case 0x13:
+                return "kryo";
+            default:
+                return null;
+        }
+    }
+
+    public Codec codec() {
+        return codec;
+    }
+
+    public @Nullable Compression compression() {
+        return compression;
+    }
+
+    @Override
+    public boolean asyncDecode(CachedData data) {
+        return false;
+    }
+
+    @Override
+    public CachedData encode(Object value) {
+        long startTime = System.nanoTime();
+        byte[] bytes = codec.encode(value);
+        encodeTime.add(System.nanoTime() - startTime);
+        encodeCount.increment();
+        encodedBytes.add(bytes.length);
+        return (compression == null)
+                ? new CachedData(flags, bytes, getMaxSize())
+                : new CachedData(flags | COMPRESSION_FLAG, compression.compress(bytes), getMaxSize());
+    }
+
+    @Override
+    public Object decode(CachedData data) {
+        int dataFlags = data.getFlags();
+        try {
+            if ((dataFlags & CODEC_FLAG) == 0) {
+                return fallback.decode(data);
+            }
+            Codec dataCodec = codecFor(dataFlags & CODEC_ID_MASK);
+            if (dataCodec == null) {
+                return UNDECODABLE;
+            }
+            byte[] bytes = ((dataFlags & COMPRESSION_FLAG) == 0) ? data.getData() : decompress(data.getData());
+            return decode(dataCodec, bytes);
+        } catch (RuntimeException e) {
+            return UNDECODABLE;
+        }
+    }
+
+    /**
+     * Returns the codec of the given id: the configured one, or one shipped with the backend, like
+     * {@link Compression#decompressAny(byte[])} reads the values of any algorithm. Returns {@code null} if the
+     * codec is unknown, its library is missing or it cannot be created, e.g. without allowed types.
+     */
+    private @Nullable Codec codecFor(int id) {
+        return codecs.computeIfAbsent(id, this::resolve).orElse(null);
+    }
+
+    private Optional<Codec> resolve(int id) {
+        String name = codecName(id);
+        if (name == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(codecsByName.apply(name));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] decompress(byte[] bytes) {
+        return (compression == null) ? Compression.decompressAny(bytes) : compression.decompress(bytes);
+    }
+
+    private Object decode(Codec dataCodec, byte[] bytes) {
+        long startTime = System.nanoTime();
+        Object value = dataCodec.decode(bytes);
+        decodeTime.add(System.nanoTime() - startTime);
+        decodeCount.increment();
+        decodedBytes.add(bytes.length);
+        return value;
+    }
+
+    @Override
+    public int getMaxSize() {
+        return CachedData.MAX_SIZE;
+    }
+
+    public long encodeCount() {
+        return encodeCount.sum();
+    }
+
+    public long encodedBytes() {
+        return encodedBytes.sum();
+    }
+
+    public long encodeTime() {
+        return encodeTime.sum();
+    }
+
+    public long decodeCount() {
+        return decodeCount.sum();
+    }
+
+    public long decodedBytes() {
+        return decodedBytes.sum();
+    }
+
+    public long decodeTime() {
+        return decodeTime.sum();
+    }
+}
@@ -0,0 +1,29 @@
+package spring.caches.backend.elasticache.engines.memcached;
+
+import spring.caches.backend.elasticache.engines.memcached.stats.CacheStats;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongConsumer;
+
+/**
+ * The consumers of the load times of a {@link MemcachedCache}, such as the timer of
+ * {@link MemcachedCacheMetrics}. Unlike {@link CacheStats#totalLoadTime()}, which accumulates since the cache
+ * was created, they see every load as it completes, so that a timer can publish percentiles over a recent window.
+ */
+final class LoadTimeListeners {
+    private final List<LongConsumer> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Adds a listener that is called with the time of each load, in nanoseconds.
+     */
+    void add(LongConsumer listener) {
+        listeners.add(listener);
+    }
+
+    void loaded(long loadTime) {
+        for (LongConsumer listener : listeners) {
+            listener.accept(loadTime);
+        }
+    }
+}
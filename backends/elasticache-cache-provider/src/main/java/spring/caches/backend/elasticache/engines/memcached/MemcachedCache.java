@@ -1,29 +1,62 @@
 package spring.caches.backend.elasticache.engines.memcached;
 
 import net.spy.memcached.MemcachedClientIF;
-import org.springframework.cache.Cache;
+import net.spy.memcached.internal.OperationFuture;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.springframework.cache.support.SimpleValueWrapper;
 import org.springframework.util.Assert;
+import spring.caches.backend.BatchCache;
+import spring.caches.backend.RefreshableValue;
+import spring.caches.backend.Refresher;
 import spring.caches.backend.elasticache.ElastiCache;
+import spring.caches.backend.elasticache.codec.Codec;
+import spring.caches.backend.elasticache.codec.Codecs;
+import spring.caches.backend.elasticache.codec.JavaCodec;
 import spring.caches.backend.elasticache.engines.memcached.stats.CacheStats;
 import spring.caches.backend.elasticache.engines.memcached.stats.StatsCounter;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 /**
  * tbd.
  */
 @SuppressWarnings("MultipleStringLiterals")
-public class MemcachedCache implements Cache {
+public class MemcachedCache implements BatchCache {
+    private static final String LEASE_SUFFIX = ":lease";
+    private static final long MIN_LEASE_PAUSE_MILLIS = 5;
+    private static final long MAX_LEASE_PAUSE_MILLIS = 100;
 
     private final MemcachedClientIF memcachedClientIF;
+    private final MemcachedClientIF[] memcachedClients;
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+    private final LoadTimeListeners loadTimeListeners = new LoadTimeListeners();
 
     private final String cacheName;
     private final boolean isRecordingStats;
     private final StatsCounter statsCounter;
     private int expiration;
+    private final int lease;
+    private final int maxPendingWrites;
+    private final @Nullable Semaphore pendingWrites;
+    private final @Nullable CodecTranscoder transcoder;
+    private final @Nullable Refresher refresher;
 
     public MemcachedCache(MemcachedClientIF memcachedClientIF, String cacheName) {
         this(memcachedClientIF, cacheName, 60, false, StatsCounter.disabledStatsCounter());
@@ -34,13 +67,34 @@ public class MemcachedCache implements Cache {
             String cacheName,
             ElastiCache setings
     ) {
-        Assert.notNull(memcachedClientIF, "memcachedClient is mandatory");
+        this(Collections.singletonList(memcachedClientIF), cacheName, setings);
+    }
+
+    /**
+     * Creates a cache that spreads its operations over the connections of several clients to the same
+     * nodes. A thread always uses the same client, so that its operations are not reordered.
+     */
+    public MemcachedCache(
+            List<? extends MemcachedClientIF> memcachedClients,
+            String cacheName,
+            ElastiCache setings
+    ) {
+        Assert.notEmpty(memcachedClients, "memcachedClient is mandatory");
+        Assert.noNullElements(memcachedClients, "memcachedClient is mandatory");
         Assert.notNull(cacheName, "cacheName is mandatory");
-        this.memcachedClientIF = memcachedClientIF;
+        this.memcachedClientIF = memcachedClients.get(0);
+        this.memcachedClients = memcachedClients.toArray(new MemcachedClientIF[0]);
         this.cacheName = cacheName;
         this.isRecordingStats = setings.isRecordingStats();
         this.statsCounter = setings.statsCounter();
         this.expiration = setings.expiration();
+        this.lease = setings.lease();
+        this.maxPendingWrites = setings.maxPendingWrites();
+        this.pendingWrites = setings.isWritingAsync() ? new Semaphore(maxPendingWrites) : null;
+        this.transcoder = createTranscoder(setings);
+        this.refresher = setings.isRefreshing()
+                ? new Refresher(Duration.ofSeconds(setings.refreshAfterWrite()))
+                : null;
     }
 
     public MemcachedCache(
@@ -53,10 +107,16 @@ public class MemcachedCache implements Cache {
         Assert.notNull(memcachedClientIF, "memcachedClient is mandatory");
         Assert.notNull(cacheName, "cacheName is mandatory");
         this.memcachedClientIF = memcachedClientIF;
+        this.memcachedClients = new MemcachedClientIF[] {memcachedClientIF};
         this.cacheName = cacheName;
         this.isRecordingStats = isRecordingStats;
         this.statsCounter = statsCounter;
         this.expiration = expiration;
+        this.lease = ElastiCache.UNSET_INT;
+        this.maxPendingWrites = ElastiCache.UNSET_INT;
+        this.pendingWrites = null;
+        this.transcoder = null;
+        this.refresher = null;
     }
 
     @Override
@@ -70,9 +130,16 @@ public class MemcachedCache implements Cache {
     }
 
     protected Object lookup(Object key) {
+        return unwrap(lookupStoreValue(key));
+    }
+
+    /**
+     * Reads the value as it is stored, i.e. with its write time if the cache refreshes its entries.
+     */
+    private Object lookupStoreValue(Object key) {
         Assert.notNull(key, "key parameter is mandatory");
         // Assert.isAssignable(String.class, key.getClass());
-        Object value = this.memcachedClientIF.get(String.valueOf(key));
+        Object value = doGet(String.valueOf(key));
 
         if (isRecordingStats) {
             if (value != null) {
@@ -101,36 +168,238 @@ public class MemcachedCache implements Cache {
         return type.cast(result);
     }
 
+    /**
+     * Reads the values of all keys with a single multi-key get. The keys are converted to strings as by
+     * {@link #get(Object)}; each requested key counts as a hit or a miss.
+     */
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<String, Object> cacheKeys = new LinkedHashMap<>(Math.max(16, (int) (keys.size() / .75f) + 1));
+        for (Object key : keys) {
+            Assert.notNull(key, "key parameter is mandatory");
+            cacheKeys.put(String.valueOf(key), key);
+        }
+
+        Map<String, Object> values = doGetBulk(cacheKeys.keySet());
+        Map<Object, Object> result = new HashMap<>(Math.max(16, (int) (values.size() / .75f) + 1));
+        values.forEach((cacheKey, value) -> result.put(cacheKeys.get(cacheKey), unwrap(value)));
+
+        if (isRecordingStats) {
+            statsCounter.recordHits(result.size());
+            statsCounter.recordMisses(cacheKeys.size() - result.size());
+        }
+        return result;
+    }
+
+    /**
+     * Writes all entries, sending every write before waiting for the acknowledgements so that the client
+     * pipelines them. With asynchronous writes enabled, each entry is written as by {@link #put}.
+     */
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        if (pendingWrites != null) {
+            entries.forEach(this::put);
+            return;
+        }
+
+        List<Future<Boolean>> futures = new ArrayList<>(entries.size());
+        for (Map.Entry<?, ?> entry : entries.entrySet()) {
+            Assert.notNull(entry.getKey(), "key parameter is mandatory");
+            futures.add(doSet(String.valueOf(entry.getKey()), entry.getValue()));
+        }
+        try {
+            for (Future<Boolean> future : futures) {
+                future.get();
+            }
+            if (isRecordingStats) {
+                statsCounter.recordLoads(futures.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalArgumentException("Error writing keys" + entries.keySet(), e);
+        }
+    }
+
+    /**
+     * Returns the cached value or loads it. Concurrent calls for the same key within this JVM are coalesced,
+     * so that only one of them runs its loader while the others wait for its result. If a lease is
+     * configured, the loading call additionally takes a lease on the key in memcached, so that only one node
+     * loads the value at a time. If the cache refreshes its entries, a value that is due is returned as well
+     * and reloaded asynchronously with the given loader, at most once at a time per key within this JVM.
+     */
     @SuppressWarnings("unchecked")
     @Override
     public <T> T get(Object key, Callable<T> valueLoader) {
-        ValueWrapper valueWrapper = get(key);
-        if (valueWrapper != null) {
-            return (T) valueWrapper.get();
-        } else {
-            T newValue = statsAware(() -> {
-                try {
-                    return valueLoader.call();
-                } catch (Throwable ex) {
-                    throw new ValueRetrievalException(key, valueLoader, ex);
-                }
-            }).get();
+        Object storeValue = lookupStoreValue(key);
+        if (storeValue != null) {
+            if ((refresher != null) && refresher.isDue(storeValue)) {
+                refresher.refresh(key, valueLoader, value -> put(key, value));
+            }
+            return (T) unwrap(storeValue);
+        }
 
-            put(key, newValue);
+        String cacheKey = String.valueOf(key);
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = loading.putIfAbsent(cacheKey, future);
+        if (inFlight != null) {
+            return (T) join(inFlight);
+        }
+
+        try {
+            T newValue = (lease == ElastiCache.UNSET_INT)
+                    ? load(key, valueLoader)
+                    : loadUnderLease(key, cacheKey, valueLoader);
+            future.complete(newValue);
             return newValue;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(cacheKey, future);
+        }
+    }
+
+    /**
+     * Waits for the load of another thread and returns its value, or rethrows its exception.
+     */
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Runs the loader and stores its value.
+     */
+    private <T> T load(Object key, Callable<T> valueLoader) {
+        T newValue = call(key, valueLoader);
+        put(key, newValue);
+        return newValue;
+    }
+
+    private <T> T call(Object key, Callable<T> valueLoader) {
+        return statsAware(() -> {
+            try {
+                return valueLoader.call();
+            } catch (Throwable ex) {
+                throw new ValueRetrievalException(key, valueLoader, ex);
+            }
+        }).get();
+    }
+
+    /**
+     * Runs the loader once a lease on the key is taken. While another node holds the lease, polls for the
+     * value it loads, backing off exponentially. If the holder releases the lease without storing a value,
+     * or the lease expires, the lease is taken over. Each call holds the lease under its own token, so that
+     * a loader outliving its lease does not release the lease another node has taken over since.
+     *
+     * <p>Once the lease is taken, the key is read again, as its holder may have stored the value after the
+     * last poll. The lease is released only once the write of the loaded value is acknowledged, even with
+     * asynchronous writes, so that the next holder finds the value.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T loadUnderLease(Object key, String cacheKey, Callable<T> valueLoader) {
+        String leaseKey = cacheKey + LEASE_SUFFIX;
+        String token = UUID.randomUUID().toString();
+        long pause = MIN_LEASE_PAUSE_MILLIS;
+        while (!acquireLease(leaseKey, token)) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(pause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            Object value = doGet(cacheKey);
+            if (value != null) {
+                return (T) unwrap(value);
+            }
+            pause = Math.min(2 * pause, MAX_LEASE_PAUSE_MILLIS);
+        }
+
+        try {
+            Object value = doGet(cacheKey);
+            if (value != null) {
+                return (T) unwrap(value);
+            }
+            T newValue = call(key, valueLoader);
+            if (pendingWrites == null) {
+                put(key, newValue);
+            } else {
+                awaitWrite(putAsync(cacheKey, newValue, pendingWrites));
+            }
+            return newValue;
+        } finally {
+            releaseLease(leaseKey, token);
+        }
+    }
+
+    /**
+     * Takes the lease by adding its key, which fails if another node holds it. If memcached cannot be
+     * reached, the lease is considered taken so that the value is loaded nevertheless.
+     */
+    private boolean acquireLease(String leaseKey, String token) {
+        try {
+            return client().add(leaseKey, this.lease, token).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return true;
+        } catch (ExecutionException | RuntimeException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Releases the lease if it still holds the token it was taken with. A lease that expired and was taken
+     * over by another node is left in place. The text protocol does not support deleting by CAS value, so
+     * the lease is compared before it is deleted.
+     */
+    private void releaseLease(String leaseKey, String token) {
+        try {
+            if (token.equals(client().get(leaseKey))) {
+                client().delete(leaseKey);
+            }
+        } catch (RuntimeException e) {
+            // the lease expires on its own
         }
     }
 
     /**
-     * Decorates the remapping function to record statistics if enabled.
+     * Decorates the loading function to record its load time if enabled. The miss has already been
+     * recorded by the lookup; a load that throws or returns null is recorded as a failure.
      */
     <T, R> Supplier<? extends R> statsAware(Supplier<? extends R> mappingFunction) {
         if (!isRecordingStats) {
             return mappingFunction;
         }
         return () -> {
-            statsCounter.recordMisses(1);
-            return mappingFunction.get();
+            long startTime = System.nanoTime();
+            R value;
+            try {
+                value = mappingFunction.get();
+            } catch (RuntimeException | Error e) {
+                long loadTime = System.nanoTime() - startTime;
+                statsCounter.recordLoadFailure(loadTime);
+                loadTimeListeners.loaded(loadTime);
+                throw e;
+            }
+
+            long loadTime = System.nanoTime() - startTime;
+            if (value == null) {
+                statsCounter.recordLoadFailure(loadTime);
+            } else {
+                statsCounter.recordLoadSuccess(loadTime);
+            }
+            loadTimeListeners.loaded(loadTime);
+            return value;
         };
     }
 
@@ -138,8 +407,12 @@ public class MemcachedCache implements Cache {
     public void put(Object key, Object value) {
         Assert.notNull(key, "key parameter is mandatory");
         // Assert.isAssignable(String.class, key.getClass());
+        if (pendingWrites != null) {
+            putAsync(String.valueOf(key), value, pendingWrites);
+            return;
+        }
         try {
-            this.memcachedClientIF.set(String.valueOf(key), this.expiration, value).get();
+            doSet(String.valueOf(key), value).get();
             if (isRecordingStats) {
                 statsCounter.recordLoads(1);
             }
@@ -150,6 +423,176 @@ public class MemcachedCache implements Cache {
         }
     }
 
+    /**
+     * Issues the write and returns without waiting for its acknowledgement, once fewer than the maximum
+     * number of writes are pending. The acknowledgement is recorded by a listener on the client's I/O thread.
+     * A write dropped because the caller is interrupted while waiting is recorded as a failure, and
+     * {@code null} is returned instead of the write.
+     */
+    private @Nullable Future<Boolean> putAsync(String key, Object value, Semaphore pendingWrites) {
+        try {
+            pendingWrites.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            onWriteCompleted(false);
+            return null;
+        }
+
+        Future<Boolean> future;
+        try {
+            future = doSet(key, value);
+        } catch (RuntimeException e) {
+            pendingWrites.release();
+            throw new IllegalArgumentException("Error writing key" + key, e);
+        }
+
+        if (future instanceof OperationFuture) {
+            ((OperationFuture<?>) future).addListener(completed -> {
+                onWriteCompleted(completed.getStatus().isSuccess());
+                pendingWrites.release();
+            });
+        } else {
+            try {
+                onWriteCompleted(Boolean.TRUE.equals(future.get()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                onWriteCompleted(false);
+            } finally {
+                pendingWrites.release();
+            }
+        }
+        return future;
+    }
+
+    /**
+     * Waits for the acknowledgement of an asynchronous write, whose outcome its listener records.
+     */
+    private static void awaitWrite(@Nullable Future<Boolean> future) {
+        if (future == null) {
+            return;
+        }
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RuntimeException e) {
+            // recorded as a write failure
+        }
+    }
+
+    private void onWriteCompleted(boolean success) {
+        if (isRecordingStats) {
+            if (success) {
+                statsCounter.recordLoads(1);
+            } else {
+                statsCounter.recordWriteFailures(1);
+            }
+        }
+    }
+
+    /**
+     * Returns a transcoder if a codec or compression is configured. Compression alone serializes values with
+     * Java serialization, like the client's default transcoder.
+     */
+    private static @Nullable CodecTranscoder createTranscoder(ElastiCache settings) {
+        Codec codec = settings.codec();
+        if ((codec == null) && !settings.hasCompression()) {
+            return null;
+        }
+        return new CodecTranscoder((codec == null) ? new JavaCodec() : codec, settings.compression(),
+                name -> Codecs.forName(name, settings.codecAllowedTypes()));
+    }
+
+    /**
+     * Reads the value. A value that the transcoder cannot decode is read as absent, but left in place for the
+     * instances that can decode it.
+     */
+    private Object doGet(String key) {
+        if (transcoder == null) {
+            return client().get(key);
+        }
+        Object value = client().get(key, transcoder);
+        return (value == CodecTranscoder.UNDECODABLE) ? null : value;
+    }
+
+    private Map<String, Object> doGetBulk(Collection<String> keys) {
+        if (transcoder == null) {
+            return client().getBulk(keys);
+        }
+        Map<String, Object> values = new HashMap<>(client().getBulk(keys, transcoder));
+        values.values().removeIf(value -> value == CodecTranscoder.UNDECODABLE);
+        return values;
+    }
+
+    private Future<Boolean> doSet(String key, Object value) {
+        Object storeValue = wrap(value);
+        return (transcoder == null)
+                ? client().set(key, this.expiration, storeValue)
+                : client().set(key, this.expiration, storeValue, transcoder);
+    }
+
+    private Future<Boolean> doAdd(String key, Object value) {
+        Object storeValue = wrap(value);
+        return (transcoder == null)
+                ? client().add(key, this.expiration, storeValue)
+                : client().add(key, this.expiration, storeValue, transcoder);
+    }
+
+    /**
+     * Dates the value with its write time if the cache refreshes its entries.
+     */
+    private Object wrap(Object value) {
+        return (refresher == null) ? value : refresher.wrap(value);
+    }
+
+    /**
+     * Returns the value held by a stored value. Values that were stored before refreshing was enabled are
+     * returned as they are, and values dated by a refreshing cache remain readable once refreshing is disabled.
+     */
+    private static @Nullable Object unwrap(@Nullable Object storeValue) {
+        return (storeValue instanceof RefreshableValue) ? ((RefreshableValue) storeValue).getValue() : storeValue;
+    }
+
+    /**
+     * Returns the client of the current thread.
+     */
+    private MemcachedClientIF client() {
+        MemcachedClientIF[] clients = this.memcachedClients;
+        if (clients.length == 1) {
+            return clients[0];
+        }
+        return clients[(int) (Thread.currentThread().getId() % clients.length)];
+    }
+
+    /**
+     * Returns the transcoder that serializes values with the configured codec, if any.
+     */
+    public @Nullable CodecTranscoder transcoder() {
+        return transcoder;
+    }
+
+    /**
+     * Returns the refresher of the entries, if the cache refreshes them.
+     */
+    public @Nullable Refresher refresher() {
+        return refresher;
+    }
+
+    /**
+     * Returns the listeners of the load times, which are only called while statistics are recorded.
+     */
+    LoadTimeListeners loadTimeListeners() {
+        return loadTimeListeners;
+    }
+
+    /**
+     * Returns the number of asynchronous writes that await their acknowledgement.
+     */
+    public int pendingWrites() {
+        return (pendingWrites == null) ? 0 : (maxPendingWrites - pendingWrites.availablePermits());
+    }
+
     /**
      * <b>IMPORTANT:</b> This operation is not atomic as the underlying implementation
      * (memcached) does not provide a way to do it.
@@ -162,7 +605,7 @@ public class MemcachedCache implements Cache {
         ValueWrapper valueWrapper = get(key);
         if (valueWrapper == null) {
             try {
-                this.memcachedClientIF.add((String) key, this.expiration, value).get();
+                doAdd((String) key, value).get();
                 if (isRecordingStats) {
                     statsCounter.recordLoads(1);
                 }
@@ -182,7 +625,7 @@ public class MemcachedCache implements Cache {
         Assert.notNull(key, "key parameter is mandatory");
         Assert.isAssignable(String.class, key.getClass());
         try {
-            this.memcachedClientIF.delete((String) key).get();
+            client().delete((String) key).get();
             if (isRecordingStats) {
                 statsCounter.recordEviction(1);
             }
@@ -195,7 +638,7 @@ public class MemcachedCache implements Cache {
 
     @Override
     public void clear() {
-        this.memcachedClientIF.flush();
+        client().flush();
     }
 
     public CacheStats stats() {
@@ -1,18 +1,35 @@
 package spring.caches.backend.elasticache.engines.memcached;
 
+import net.spy.memcached.ClientMode;
+import net.spy.memcached.ConnectionFactory;
+import net.spy.memcached.ConnectionFactoryBuilder;
+import net.spy.memcached.DefaultHashAlgorithm;
+import net.spy.memcached.FailureMode;
 import net.spy.memcached.MemcachedClient;
+import net.spy.memcached.ops.ArrayOperationQueueFactory;
 import spring.caches.backend.elasticache.ElastiCache;
 import spring.caches.backend.elasticache.engines.AbstractCacheFactory;
+import spring.caches.backend.elasticache.engines.ClusterTopology;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
- * tbd.
+ * Creates memcached caches whose keys are distributed across the nodes of a cluster by ketama consistent
+ * hashing, so that adding or removing a node only remaps the keys of its neighbours on the ring.
+ *
+ * <p>A cluster that is reached through an ElastiCache configuration endpoint is auto-discovered: the client
+ * polls the endpoint for the current nodes and updates the ring as nodes are added or removed. Any other
+ * cluster is connected to the nodes that were described when the cache was created.
+ *
+ * <p>The connection client of a cluster is a list of clients, one per configured connection to each node.
  */
-public class MemcachedCacheFactory extends AbstractCacheFactory<MemcachedClient> {
+public class MemcachedCacheFactory extends AbstractCacheFactory<List<MemcachedClient>> {
 
     public MemcachedCacheFactory() {
     }
@@ -28,17 +45,104 @@ public class MemcachedCacheFactory extends AbstractCacheFactory<MemcachedClient>
 
     @Override
     public MemcachedCache createCache(String cacheName, String host, int port) throws Exception {
-        return new MemcachedCache(getConnectionFactory(host, port), cacheName, getSettingsPerCache(cacheName));
+        return createCache(cacheName, ClusterTopology.single(host, port));
     }
 
     @Override
-    protected MemcachedClient createConnectionClient(String hostName, int port) throws IOException {
-        return new MemcachedClient(new InetSocketAddress(hostName, port));
+    public MemcachedCache createCache(String cacheName, ClusterTopology topology) throws Exception {
+        return new MemcachedCache(
+                getConnectionFactory(cacheName, topology), cacheName, getSettingsPerCache(cacheName));
     }
 
     @Override
-    protected void destroyConnectionClient(MemcachedClient connectionClient) {
-        connectionClient.shutdown(10, TimeUnit.SECONDS);
+    protected List<MemcachedClient> createConnectionClient(String hostName, int port) throws IOException {
+        return createConnectionClient(ClusterTopology.single(hostName, port), ElastiCache.newBuilder());
+    }
+
+    @Override
+    protected List<MemcachedClient> createConnectionClient(ClusterTopology topology, ElastiCache settings)
+            throws IOException {
+        ConnectionFactory connectionFactory = connectionFactory(topology, settings);
+        List<InetSocketAddress> addresses = isAutoDiscovering(topology)
+                ? Collections.singletonList(new InetSocketAddress(topology.host(), topology.port()))
+                : addresses(topology);
+        List<MemcachedClient> clients = new ArrayList<>(settings.connectionsPerNode());
+        try {
+            for (int i = 0; i < settings.connectionsPerNode(); i++) {
+                clients.add(new MemcachedClient(connectionFactory, addresses));
+            }
+        } catch (IOException | RuntimeException e) {
+            destroyConnectionClient(clients);
+            throw e;
+        }
+        return clients;
+    }
+
+    /**
+     * Builds the connection factory of the clients of a cluster from the settings of its cache. The locator
+     * and hash algorithm are always ketama's, because a cluster is shared by all caches that use it.
+     */
+    static ConnectionFactory connectionFactory(ClusterTopology topology, ElastiCache settings) {
+        ConnectionFactoryBuilder builder = new ConnectionFactoryBuilder()
+                .setClientMode(isAutoDiscovering(topology) ? ClientMode.Dynamic : ClientMode.Static)
+                .setLocatorType(ConnectionFactoryBuilder.Locator.CONSISTENT)
+                .setHashAlg(DefaultHashAlgorithm.KETAMA_HASH);
+        if (settings.isBinaryProtocol()) {
+            builder.setProtocol(ConnectionFactoryBuilder.Protocol.BINARY);
+        }
+        if (settings.commandTimeout() != ElastiCache.UNSET_INT) {
+            builder.setOpTimeout(settings.commandTimeout());
+        }
+        if (settings.opQueueSize() != ElastiCache.UNSET_INT) {
+            builder.setOpQueueFactory(new ArrayOperationQueueFactory(settings.opQueueSize()));
+        }
+        if (settings.opQueueMaxBlockTime() != ElastiCache.UNSET_INT) {
+            builder.setOpQueueMaxBlockTime(settings.opQueueMaxBlockTime());
+        }
+        if (settings.readBufferSize() != ElastiCache.UNSET_INT) {
+            builder.setReadBufferSize(settings.readBufferSize());
+        }
+        if (settings.failureMode() != null) {
+            builder.setFailureMode(failureMode(settings.failureMode()));
+        }
+        return builder.build();
+    }
+
+    private static FailureMode failureMode(String failureMode) {
+        switch (failureMode) {
+            case "retry":
+                return FailureMode.Retry;
+            case "cancel":
+                return FailureMode.Cancel;
+            default:
+                return FailureMode.Redistribute;
+        }
+    }
+
+    /**
+     * Returns whether the endpoint of a topology is an ElastiCache configuration endpoint, whose host names
+     * contain {@code .cfg.}. Only such an endpoint answers the {@code config get cluster} command.
+     */
+    static boolean isAutoDiscovering(ClusterTopology topology) {
+        return topology.isSharded() && topology.host().contains(".cfg.");
+    }
+
+    private static List<InetSocketAddress> addresses(ClusterTopology topology) {
+        if (topology.nodes().isEmpty()) {
+            return Collections.singletonList(new InetSocketAddress(topology.host(), topology.port()));
+        }
+        List<InetSocketAddress> addresses = new ArrayList<>(topology.nodes().size());
+        for (InetSocketAddress node : topology.nodes()) {
+            addresses.add(new InetSocketAddress(node.getHostString(), node.getPort()));
+        }
+        return addresses;
+    }
+
+    @Override
+    protected void destroyConnectionClient(List<MemcachedClient> connectionClient) {
+        for (MemcachedClient client : connectionClient) {
+            client.shutdown(10, TimeUnit.SECONDS);
+        }
     }
 
 }
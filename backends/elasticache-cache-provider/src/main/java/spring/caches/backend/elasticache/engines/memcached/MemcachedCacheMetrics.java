@@ -1,15 +1,25 @@
 package spring.caches.backend.elasticache.engines.memcached;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
 import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import net.spy.memcached.MemcachedClientIF;
+import spring.caches.backend.elasticache.compression.Compression;
+import spring.caches.backend.elasticache.compression.CompressionMetrics;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * Collect metrics on Memcached caches.
  */
 public class MemcachedCacheMetrics extends CacheMeterBinder {
+    private static final double[] LOAD_LATENCY_PERCENTILES = {0.5, 0.99, 0.999};
+
     private final MemcachedCache cache;
 
     /**
@@ -51,10 +61,73 @@ public class MemcachedCacheMetrics extends CacheMeterBinder {
 
     @Override
     protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("cache.load", cache, c -> c.stats().loadSuccessCount())
+                .tags(getTagsWithCacheName()).tags("result", "success")
+                .description("The number of times cache lookup methods have successfully loaded a new value")
+                .register(registry);
+        FunctionCounter.builder("cache.load", cache, c -> c.stats().loadFailureCount())
+                .tags(getTagsWithCacheName()).tags("result", "failure")
+                .description("The number of times cache lookup methods failed to load a new value, either "
+                        + "because no value was found or an exception was thrown while loading")
+                .register(registry);
+        FunctionTimer.builder("cache.load.duration", cache,
+                c -> c.stats().loadSuccessCount() + c.stats().loadFailureCount(),
+                c -> c.stats().totalLoadTime(), TimeUnit.NANOSECONDS)
+                .tags(getTagsWithCacheName()).description("The time the cache has spent loading new values")
+                .register(registry);
+        Timer loadLatency = Timer.builder("cache.load.latency")
+                .tags(getTagsWithCacheName())
+                .publishPercentiles(LOAD_LATENCY_PERCENTILES)
+                .description("The time spent loading a new value, with percentiles over a sliding window")
+                .register(registry);
+        cache.loadTimeListeners().add(loadTime -> loadLatency.record(loadTime, TimeUnit.NANOSECONDS));
+        FunctionCounter.builder("cache.puts.failed", cache, c -> c.stats().writeFailureCount())
+                .tags(getTagsWithCacheName())
+                .description("The number of asynchronous puts that memcached did not acknowledge")
+                .register(registry);
+        Gauge.builder("cache.puts.pending", cache, MemcachedCache::pendingWrites)
+                .tags(getTagsWithCacheName())
+                .description("The number of asynchronous puts awaiting acknowledgement")
+                .register(registry);
+
+        CodecTranscoder transcoder = cache.transcoder();
+        if (transcoder != null) {
+            bindCodecMetrics(registry, transcoder);
+        }
+
         if (cache.getNativeCache() instanceof MemcachedClientIF) {
             final MemcachedClientIF memcachedClient = (MemcachedClientIF) cache.getNativeCache();
 
             registry.gauge("available_servers_count", memcachedClient.getAvailableServers().size());
         }
     }
+
+    private void bindCodecMetrics(MeterRegistry registry, CodecTranscoder transcoder) {
+        String codec = transcoder.codec().name();
+        FunctionTimer.builder("cache.codec", transcoder, CodecTranscoder::encodeCount,
+                CodecTranscoder::encodeTime, TimeUnit.NANOSECONDS)
+                .tags(getTagsWithCacheName()).tags("codec", codec, "operation", "encode")
+                .description("The time spent serializing values")
+                .register(registry);
+        FunctionTimer.builder("cache.codec", transcoder, CodecTranscoder::decodeCount,
+                CodecTranscoder::decodeTime, TimeUnit.NANOSECONDS)
+                .tags(getTagsWithCacheName()).tags("codec", codec, "operation", "decode")
+                .description("The time spent deserializing values")
+                .register(registry);
+        FunctionCounter.builder("cache.codec.bytes", transcoder, CodecTranscoder::encodedBytes)
+                .tags(getTagsWithCacheName()).tags("codec", codec, "operation", "encode")
+                .description("The size of the serialized values written to the cache")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("cache.codec.bytes", transcoder, CodecTranscoder::decodedBytes)
+                .tags(getTagsWithCacheName()).tags("codec", codec, "operation", "decode")
+                .description("The size of the serialized values read from the cache")
+                .baseUnit("bytes")
+                .register(registry);
+
+        Compression compression = transcoder.compression();
+        if (compression != null) {
+            new CompressionMetrics(compression, getTagsWithCacheName()).bindTo(registry);
+        }
+    }
 }
@@ -34,20 +34,35 @@ public final class CacheStats {
     private final long missCount;
     private final long loadCount;
     private final long evictionCount;
+    private final long loadSuccessCount;
+    private final long loadFailureCount;
+    private final long totalLoadTime;
+    private final long writeFailureCount;
 
+    @SuppressWarnings("ParameterNumber")
     private CacheStats(
             @NonNegative long hitCount,
             @NonNegative long missCount,
             @NonNegative long loadCount,
-            @NonNegative long evictionCount
+            @NonNegative long evictionCount,
+            @NonNegative long loadSuccessCount,
+            @NonNegative long loadFailureCount,
+            @NonNegative long totalLoadTime,
+            @NonNegative long writeFailureCount
     ) {
-        if ((hitCount < 0) || (missCount < 0) || (evictionCount < 0) || (loadCount < 0)) {
+        if ((hitCount < 0) || (missCount < 0) || (evictionCount < 0) || (loadCount < 0)
+                || (loadSuccessCount < 0) || (loadFailureCount < 0) || (totalLoadTime < 0)
+                || (writeFailureCount < 0)) {
             throw new IllegalArgumentException();
         }
         this.hitCount = hitCount;
         this.missCount = missCount;
         this.loadCount = loadCount;
         this.evictionCount = evictionCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadTime = totalLoadTime;
+        this.writeFailureCount = writeFailureCount;
     }
 
     /**
@@ -66,7 +81,62 @@ public final class CacheStats {
     ) {
         // Many parameters of the same type in a row is a bad thing, but this class is not constructed
         // by end users and is too fine-grained for a builder.
-        return new CacheStats(hitCount, missCount, loadCount, evictionCount);
+        return of(hitCount, missCount, loadCount, evictionCount, 0L, 0L, 0L);
+    }
+
+    /**
+     * Returns a {@code CacheStats} representing the specified statistics, including those of the loads.
+     *
+     * @param hitCount         the number of cache hits
+     * @param missCount        the number of cache misses
+     * @param loadCount        the number of entries put into the cache
+     * @param evictionCount    the number of entries evicted from the cache
+     * @param loadSuccessCount the number of successful cache loads
+     * @param loadFailureCount the number of failed cache loads
+     * @param totalLoadTime    the total load time (success and failure), in nanoseconds
+     * @return a {@code CacheStats} representing the specified statistics
+     */
+    @SuppressWarnings("ParameterNumber")
+    public static CacheStats of(
+            @NonNegative long hitCount,
+            @NonNegative long missCount,
+            @NonNegative long loadCount,
+            @NonNegative long evictionCount,
+            @NonNegative long loadSuccessCount,
+            @NonNegative long loadFailureCount,
+            @NonNegative long totalLoadTime
+    ) {
+        return of(hitCount, missCount, loadCount, evictionCount,
+                loadSuccessCount, loadFailureCount, totalLoadTime, 0L);
+    }
+
+    /**
+     * Returns a {@code CacheStats} representing the specified statistics, including those of the loads and
+     * of the writes that failed after returning to the caller.
+     *
+     * @param hitCount          the number of cache hits
+     * @param missCount         the number of cache misses
+     * @param loadCount         the number of entries put into the cache
+     * @param evictionCount     the number of entries evicted from the cache
+     * @param loadSuccessCount  the number of successful cache loads
+     * @param loadFailureCount  the number of failed cache loads
+     * @param totalLoadTime     the total load time (success and failure), in nanoseconds
+     * @param writeFailureCount the number of failed writes
+     * @return a {@code CacheStats} representing the specified statistics
+     */
+    @SuppressWarnings("ParameterNumber")
+    public static CacheStats of(
+            @NonNegative long hitCount,
+            @NonNegative long missCount,
+            @NonNegative long loadCount,
+            @NonNegative long evictionCount,
+            @NonNegative long loadSuccessCount,
+            @NonNegative long loadFailureCount,
+            @NonNegative long totalLoadTime,
+            @NonNegative long writeFailureCount
+    ) {
+        return new CacheStats(hitCount, missCount, loadCount, evictionCount,
+                loadSuccessCount, loadFailureCount, totalLoadTime, writeFailureCount);
     }
 
     /**
@@ -178,6 +248,72 @@ public final class CacheStats {
         return (requestCount == 0) ? 0.0 : (double) missCount / requestCount;
     }
 
+    /**
+     * Returns the number of times {@link Cache} lookup methods have successfully loaded a new value.
+     * This is usually incremented in conjunction with {@link #missCount}, though not always (see
+     * {@link #missCount} for an explanation).
+     *
+     * @return the number of times {@link Cache} lookup methods have successfully loaded a new value
+     */
+    public @NonNegative long loadSuccessCount() {
+        return loadSuccessCount;
+    }
+
+    /**
+     * Returns the number of times {@link Cache} lookup methods failed to load a new value, either
+     * because no value was found or an exception was thrown while loading.
+     *
+     * @return the number of times {@link Cache} lookup methods failed to load a new value
+     */
+    public @NonNegative long loadFailureCount() {
+        return loadFailureCount;
+    }
+
+    /**
+     * Returns the ratio of cache loading attempts which threw exceptions or returned null. This is
+     * defined as {@code loadFailureCount / (loadSuccessCount + loadFailureCount)}, or {@code 0.0}
+     * when {@code loadSuccessCount + loadFailureCount == 0}.
+     *
+     * @return the ratio of cache loading attempts which failed
+     */
+    public @NonNegative double loadFailureRate() {
+        long totalLoadCount = saturatedAdd(loadSuccessCount, loadFailureCount);
+        return (totalLoadCount == 0) ? 0.0 : (double) loadFailureCount / totalLoadCount;
+    }
+
+    /**
+     * Returns the total number of nanoseconds the cache has spent loading new values. This can be
+     * used to calculate the miss penalty. This value is increased every time {@code loadSuccessCount}
+     * or {@code loadFailureCount} is incremented.
+     *
+     * @return the total number of nanoseconds the cache has spent loading new values
+     */
+    public @NonNegative long totalLoadTime() {
+        return totalLoadTime;
+    }
+
+    /**
+     * Returns the average number of nanoseconds spent loading new values. This is defined as
+     * {@code totalLoadTime / (loadSuccessCount + loadFailureCount)}, or {@code 0.0} when
+     * {@code loadSuccessCount + loadFailureCount == 0}.
+     *
+     * @return the average number of nanoseconds spent loading new values
+     */
+    public @NonNegative double averageLoadPenalty() {
+        long totalLoadCount = saturatedAdd(loadSuccessCount, loadFailureCount);
+        return (totalLoadCount == 0) ? 0.0 : (double) totalLoadTime / totalLoadCount;
+    }
+
+    /**
+     * Returns the number of writes that failed after the cache had returned to the caller, such as
+     * asynchronous puts that memcached did not acknowledge.
+     *
+     * @return the number of failed writes
+     */
+    public @NonNegative long writeFailureCount() {
+        return writeFailureCount;
+    }
+
     /**
      * Returns the number of times an entry has been evicted. This count does not include manual
      * {@linkplain Cache#invalidate invalidations}.
@@ -201,7 +337,11 @@ public final class CacheStats {
                 Math.max(0L, saturatedSubtract(hitCount, other.hitCount)),
                 Math.max(0L, saturatedSubtract(missCount, other.missCount)),
                 Math.max(0L, saturatedSubtract(loadCount, other.loadCount)),
-                Math.max(0L, saturatedSubtract(evictionCount, other.evictionCount)));
+                Math.max(0L, saturatedSubtract(evictionCount, other.evictionCount)),
+                Math.max(0L, saturatedSubtract(loadSuccessCount, other.loadSuccessCount)),
+                Math.max(0L, saturatedSubtract(loadFailureCount, other.loadFailureCount)),
+                Math.max(0L, saturatedSubtract(totalLoadTime, other.totalLoadTime)),
+                Math.max(0L, saturatedSubtract(writeFailureCount, other.writeFailureCount)));
     }
 
     /**
@@ -216,12 +356,17 @@ public final class CacheStats {
                 saturatedAdd(hitCount, other.hitCount),
                 saturatedAdd(missCount, other.missCount),
                 saturatedAdd(loadCount, other.loadCount),
-                saturatedAdd(evictionCount, other.evictionCount));
+                saturatedAdd(evictionCount, other.evictionCount),
+                saturatedAdd(loadSuccessCount, other.loadSuccessCount),
+                saturatedAdd(loadFailureCount, other.loadFailureCount),
+                saturatedAdd(totalLoadTime, other.totalLoadTime),
+                saturatedAdd(writeFailureCount, other.writeFailureCount));
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(hitCount, missCount, loadCount, evictionCount);
+        return Objects.hash(hitCount, missCount, loadCount, evictionCount,
+                loadSuccessCount, loadFailureCount, totalLoadTime, writeFailureCount);
     }
 
     @Override
@@ -235,7 +380,11 @@ public final class CacheStats {
         return hitCount == other.hitCount
                 && missCount == other.missCount
                 && loadCount == other.loadCount
-                && evictionCount == other.evictionCount;
+                && evictionCount == other.evictionCount
+                && loadSuccessCount == other.loadSuccessCount
+                && loadFailureCount == other.loadFailureCount
+                && totalLoadTime == other.totalLoadTime
+                && writeFailureCount == other.writeFailureCount;
     }
 
     @SuppressWarnings("MultipleStringLiterals")
@@ -246,6 +395,10 @@ public final class CacheStats {
                 + "missCount=" + missCount + ", "
                 + "loadCount=" + loadCount + ", "
                 + "evictionCount=" + evictionCount + ", "
+                + "loadSuccessCount=" + loadSuccessCount + ", "
+                + "loadFailureCount=" + loadFailureCount + ", "
+                + "totalLoadTime=" + totalLoadTime + ", "
+                + "writeFailureCount=" + writeFailureCount + ", "
                 + '}';
     }
 }
@@ -32,6 +32,10 @@ public final class ConcurrentStatsCounter implements StatsCounter {
     private final LongAdder missCount;
     private final LongAdder loadCount;
     private final LongAdder evictionCount;
+    private final LongAdder loadSuccessCount;
+    private final LongAdder loadFailureCount;
+    private final LongAdder totalLoadTime;
+    private final LongAdder writeFailureCount;
 
     /**
      * Constructs an instance with all counts initialized to zero.
@@ -41,6 +45,10 @@ public final class ConcurrentStatsCounter implements StatsCounter {
         missCount = new LongAdder();
         loadCount = new LongAdder();
         evictionCount = new LongAdder();
+        loadSuccessCount = new LongAdder();
+        loadFailureCount = new LongAdder();
+        totalLoadTime = new LongAdder();
+        writeFailureCount = new LongAdder();
     }
 
     /**
@@ -65,6 +73,23 @@ public final class ConcurrentStatsCounter implements StatsCounter {
         loadCount.add(count);
     }
 
+    @Override
+    public void recordLoadSuccess(@NonNegative long loadTime) {
+        loadSuccessCount.increment();
+        totalLoadTime.add(loadTime);
+    }
+
+    @Override
+    public void recordLoadFailure(@NonNegative long loadTime) {
+        loadFailureCount.increment();
+        totalLoadTime.add(loadTime);
+    }
+
+    @Override
+    public void recordWriteFailures(@NonNegative int count) {
+        writeFailureCount.add(count);
+    }
+
     @Override
     public void recordEviction(int count) {
         evictionCount.add(count);
@@ -76,7 +101,11 @@ public final class ConcurrentStatsCounter implements StatsCounter {
                 negativeToMaxValue(hitCount.sum()),
                 negativeToMaxValue(missCount.sum()),
                 negativeToMaxValue(loadCount.sum()),
-                negativeToMaxValue(evictionCount.sum()));
+                negativeToMaxValue(evictionCount.sum()),
+                negativeToMaxValue(loadSuccessCount.sum()),
+                negativeToMaxValue(loadFailureCount.sum()),
+                negativeToMaxValue(totalLoadTime.sum()),
+                negativeToMaxValue(writeFailureCount.sum()));
     }
 
     /**
@@ -89,6 +118,10 @@ public final class ConcurrentStatsCounter implements StatsCounter {
         hitCount.add(otherStats.hitCount());
         missCount.add(otherStats.missCount());
         evictionCount.add(otherStats.evictionCount());
+        loadSuccessCount.add(otherStats.loadSuccessCount());
+        loadFailureCount.add(otherStats.loadFailureCount());
+        totalLoadTime.add(otherStats.totalLoadTime());
+        writeFailureCount.add(otherStats.writeFailureCount());
     }
 
     @Override
@@ -39,6 +39,21 @@ enum DisabledStatsCounter implements StatsCounter {
         // Intentionally left blank.
     }
 
+    @Override
+    public void recordLoadSuccess(long loadTime) {
+        // Intentionally left blank.
+    }
+
+    @Override
+    public void recordLoadFailure(long loadTime) {
+        // Intentionally left blank.
+    }
+
+    @Override
+    public void recordWriteFailures(int count) {
+        // Intentionally left blank.
+    }
+
     @Override
     public void recordEviction(int count) {
         // Intentionally left blank.
@@ -68,6 +68,33 @@ final class GuardedStatsCounter implements StatsCounter {
         }
     }
 
+    @Override
+    public void recordLoadSuccess(@NonNegative long loadTime) {
+        try {
+            delegate.recordLoadSuccess(loadTime);
+        } catch (Throwable t) {
+            LOGGER.log(Level.WARNING, MSG_WARN, t);
+        }
+    }
+
+    @Override
+    public void recordLoadFailure(@NonNegative long loadTime) {
+        try {
+            delegate.recordLoadFailure(loadTime);
+        } catch (Throwable t) {
+            LOGGER.log(Level.WARNING, MSG_WARN, t);
+        }
+    }
+
+    @Override
+    public void recordWriteFailures(@NonNegative int count) {
+        try {
+            delegate.recordWriteFailures(count);
+        } catch (Throwable t) {
+            LOGGER.log(Level.WARNING, MSG_WARN, t);
+        }
+    }
+
     @Override
     public void recordEviction(int count) {
         try {
@@ -69,6 +69,41 @@ public interface StatsCounter {
 
     void recordLoads(@NonNegative int count);
 
+    /**
+     * Records the successful load of a new entry. This should be called when a cache request causes an
+     * entry to be loaded, such as by {@link Cache#get(Object, java.util.concurrent.Callable)}, and the
+     * loading completes successfully. In contrast to {@link #recordMisses}, this method should only be
+     * called by the loading thread. Does nothing by default.
+     *
+     * @param loadTime the number of nanoseconds the cache spent computing or retrieving the new value
+     */
+    default void recordLoadSuccess(@NonNegative long loadTime) {
+        // Intentionally left blank.
+    }
+
+    /**
+     * Records the failed load of a new entry. This should be called when a cache request causes an entry
+     * to be loaded, but an exception is thrown while loading the entry or the loaded value is null. In
+     * contrast to {@link #recordMisses}, this method should only be called by the loading thread. Does
+     * nothing by default.
+     *
+     * @param loadTime the number of nanoseconds the cache spent computing or retrieving the new value
+     *                 prior to discovering the value doesn't exist or an exception being thrown
+     */
+    default void recordLoadFailure(@NonNegative long loadTime) {
+        // Intentionally left blank.
+    }
+
+    /**
+     * Records writes that failed after the cache had returned to the caller, such as asynchronous puts
+     * that memcached did not acknowledge. Does nothing by default.
+     *
+     * @param count the number of failed writes to record
+     */
+    default void recordWriteFailures(@NonNegative int count) {
+        // Intentionally left blank.
+    }
+
     /**
      * Records the eviction of an entry from the cache.
      */
@@ -0,0 +1,144 @@
+package spring.caches.backend.elasticache.engines.memcached.stats;
+
+import org.checkerframework.checker.index.qual.NonNegative;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A thread-safe {@link StatsCounter} implementation for use by
+ * {@link spring.caches.backend.elasticache.engines.memcached.MemcachedCache} instances that are shared by many
+ * threads.
+ *
+ * <p>Unlike {@link ConcurrentStatsCounter}, which keeps a {@link java.util.concurrent.atomic.LongAdder} per
+ * counter, all counters are kept in a single array of stripes, one per available processor. A stripe holds
+ * the counters side by side and is padded to 128 bytes, so that stripes never share a cache line, nor
+ * the adjacent line that is prefetched along with it. A thread always updates the stripe selected by its
+ * id, and a {@link #snapshot()} sums the stripes in one pass over the array.
+ */
+public final class StripedStatsCounter implements StatsCounter {
+    private static final VarHandle COUNTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    /**
+     * The number of longs per stripe, i.e. 128 bytes.
+     */
+    private static final int STRIDE = 16;
+    private static final int MAX_STRIPES = 1 << 10;
+
+    private static final int HITS = 0;
+    private static final int MISSES = 1;
+    private static final int LOADS = 2;
+    private static final int EVICTIONS = 3;
+    private static final int LOAD_SUCCESSES = 4;
+    private static final int LOAD_FAILURES = 5;
+    private static final int TOTAL_LOAD_TIME = 6;
+    private static final int WRITE_FAILURES = 7;
+
+    private final long[] counts;
+    private final int mask;
+
+    /**
+     * Constructs an instance with a stripe per available processor and all counts initialized to zero.
+     */
+    public StripedStatsCounter() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    StripedStatsCounter(int parallelism) {
+        int stripes = Integer.highestOneBit(Math.max(1, Math.min(MAX_STRIPES, parallelism)) * 2 - 1);
+        mask = stripes - 1;
+        // the first stripe is left empty to pad the array header
+        counts = new long[(stripes + 1) * STRIDE];
+    }
+
+    /**
+     * Returns {@code value}, if non-negative. Otherwise, returns {@link Long#MAX_VALUE}.
+     */
+    private static long negativeToMaxValue(long value) {
+        return (value >= 0) ? value : Long.MAX_VALUE;
+    }
+
+    /**
+     * Returns the index of the current thread's stripe. The thread id is spread with the golden ratio, so
+     * that threads created in sequence are assigned to different stripes.
+     */
+    private int stripe() {
+        int hash = (int) ((Thread.currentThread().getId() * 0x9E3779B97F4A7C15L) >>> 32);
+        return ((hash & mask) + 1) * STRIDE;
+    }
+
+    @Override
+    public void recordHits(@NonNegative int count) {
+        COUNTS.getAndAdd(counts, stripe() + HITS, (long) count);
+    }
+
+    @Override
+    public void recordMisses(@NonNegative int count) {
+        COUNTS.getAndAdd(counts, stripe() + MISSES, (long) count);
+    }
+
+    @Override
+    public void recordLoads(@NonNegative int count) {
+        COUNTS.getAndAdd(counts, stripe() + LOADS, (long) count);
+    }
+
+    @Override
+    public void recordLoadSuccess(@NonNegative long loadTime) {
+        int stripe = stripe();
+        COUNTS.getAndAdd(counts, stripe + LOAD_SUCCESSES, 1L);
+        COUNTS.getAndAdd(counts, stripe + TOTAL_LOAD_TIME, loadTime);
+    }
+
+    @Override
+    public void recordLoadFailure(@NonNegative long loadTime) {
+        int stripe = stripe();
+        COUNTS.getAndAdd(counts, stripe + LOAD_FAILURES, 1L);
+        COUNTS.getAndAdd(counts, stripe + TOTAL_LOAD_TIME, loadTime);
+    }
+
+    @Override
+    public void recordWriteFailures(@NonNegative int count) {
+        COUNTS.getAndAdd(counts, stripe() + WRITE_FAILURES, (long) count);
+    }
+
+    @Override
+    public void recordEviction(int count) {
+        COUNTS.getAndAdd(counts, stripe() + EVICTIONS, (long) count);
+    }
+
+    @Override
+    public CacheStats snapshot() {
+        long hitCount = 0;
+        long missCount = 0;
+        long loadCount = 0;
+        long evictionCount = 0;
+        long loadSuccessCount = 0;
+        long loadFailureCount = 0;
+        long totalLoadTime = 0;
+        long writeFailureCount = 0;
+        for (int i = STRIDE; i < counts.length; i += STRIDE) {
+            hitCount += (long) COUNTS.getOpaque(counts, i + HITS);
+            missCount += (long) COUNTS.getOpaque(counts, i + MISSES);
+            loadCount += (long) COUNTS.getOpaque(counts, i + LOADS);
+            evictionCount += (long) COUNTS.getOpaque(counts, i + EVICTIONS);
+            loadSuccessCount += (long) COUNTS.getOpaque(counts, i + LOAD_SUCCESSES);
+            loadFailureCount += (long) COUNTS.getOpaque(counts, i + LOAD_FAILURES);
+            totalLoadTime += (long) COUNTS.getOpaque(counts, i + TOTAL_LOAD_TIME);
+            writeFailureCount += (long) COUNTS.getOpaque(counts, i + WRITE_FAILURES);
+        }
+        return CacheStats.of(
+                negativeToMaxValue(hitCount),
+                negativeToMaxValue(missCount),
+                negativeToMaxValue(loadCount),
+                negativeToMaxValue(evictionCount),
+                negativeToMaxValue(loadSuccessCount),
+                negativeToMaxValue(loadFailureCount),
+                negativeToMaxValue(totalLoadTime),
+                negativeToMaxValue(writeFailureCount));
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+}
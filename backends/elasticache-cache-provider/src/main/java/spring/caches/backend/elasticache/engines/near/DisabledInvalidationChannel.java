@@ -0,0 +1,20 @@
+package spring.caches.backend.elasticache.engines.near;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.function.Consumer;
+
+/**
+ * An {@link InvalidationChannel} that neither announces nor receives changes.
+ */
+enum DisabledInvalidationChannel implements InvalidationChannel {
+    INSTANCE;
+
+    @Override
+    public void publish(@Nullable Object key) {
+    }
+
+    @Override
+    public void subscribe(Consumer<@Nullable Object> listener) {
+    }
+}
@@ -0,0 +1,33 @@
+package spring.caches.backend.elasticache.engines.near;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.function.Consumer;
+
+/**
+ * A channel on which {@link NearCache near caches} announce the keys they change, so that the near caches
+ * of other nodes drop their copies. A {@code null} key stands for all keys, i.e. a cleared cache.
+ */
+public interface InvalidationChannel {
+
+    /**
+     * Announces that the value of the key has changed.
+     *
+     * @param key the changed key, or {@code null} if the cache was cleared
+     */
+    void publish(@Nullable Object key);
+
+    /**
+     * Registers a listener for the changes announced by other nodes.
+     *
+     * @param listener receives the changed key, or {@code null} if the cache was cleared
+     */
+    void subscribe(Consumer<@Nullable Object> listener);
+
+    /**
+     * Returns a channel that neither announces nor receives changes.
+     */
+    static InvalidationChannel none() {
+        return DisabledInvalidationChannel.INSTANCE;
+    }
+}
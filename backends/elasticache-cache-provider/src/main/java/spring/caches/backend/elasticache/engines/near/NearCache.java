@@ -0,0 +1,257 @@
+package spring.caches.backend.elasticache.engines.near;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.util.Assert;
+import spring.caches.backend.BatchCache;
+import spring.caches.backend.elasticache.ElastiCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A two-tiered cache that keeps a bounded in-process copy (L1) of the entries of an ElastiCache cluster (L2).
+ * Reads are served by the L1 if possible and otherwise read through to the L2; writes go through to the L2
+ * and update the L1. Changes are announced on an {@link InvalidationChannel}, so that other nodes drop their
+ * copies, and the L1 entries expire so that staleness is bounded even if changes are not announced. Batches
+ * read the keys missing from the L1 with a single bulk read if the L2 is a {@link BatchCache}.
+ */
+public class NearCache implements BatchCache {
+    private final Cache cache;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> nearCache;
+    private final InvalidationChannel invalidationChannel;
+    private final boolean isRecordingStats;
+
+    private final LongAdder l1Hits = new LongAdder();
+    private final LongAdder l1Misses = new LongAdder();
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder l2Misses = new LongAdder();
+
+    public NearCache(Cache cache, ElastiCache settings, InvalidationChannel invalidationChannel) {
+        Assert.notNull(cache, "cache is mandatory");
+        Assert.notNull(invalidationChannel, "invalidationChannel is mandatory");
+        Assert.isTrue(settings.hasNearCache(), "near cache is not configured");
+        this.cache = cache;
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(settings.nearMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(settings.nearExpiration()))
+                .build();
+        this.invalidationChannel = invalidationChannel;
+        this.isRecordingStats = settings.isRecordingStats();
+        invalidationChannel.subscribe(this::invalidate);
+    }
+
+    @Override
+    public String getName() {
+        return cache.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return cache.getNativeCache();
+    }
+
+    /**
+     * Returns the cluster's cache that backs the near cache.
+     */
+    public Cache getFarCache() {
+        return cache;
+    }
+
+    @Override
+    public @Nullable ValueWrapper get(Object key) {
+        Object value = nearCache.getIfPresent(key);
+        if (value != null) {
+            record(l1Hits);
+            return new SimpleValueWrapper(fromStoreValue(value));
+        }
+        record(l1Misses);
+
+        ValueWrapper valueWrapper = cache.get(key);
+        if (valueWrapper == null) {
+            record(l2Misses);
+        } else {
+            record(l2Hits);
+            nearCache.put(key, toStoreValue(valueWrapper.get()));
+        }
+        return valueWrapper;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> @Nullable T get(Object key, @Nullable Class<T> type) {
+        ValueWrapper valueWrapper = get(key);
+        Object value = (valueWrapper == null) ? null : valueWrapper.get();
+        if ((value != null) && (type != null) && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object nearValue = nearCache.getIfPresent(key);
+        if (nearValue != null) {
+            record(l1Hits);
+            return (T) fromStoreValue(nearValue);
+        }
+        record(l1Misses);
+
+        AtomicBoolean loaded = new AtomicBoolean();
+        T value = cache.get(key, () -> {
+            loaded.set(true);
+            return valueLoader.call();
+        });
+        record(loaded.get() ? l2Misses : l2Hits);
+        nearCache.put(key, toStoreValue(value));
+        return value;
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> result = new HashMap<>();
+        List<Object> farKeys = new ArrayList<>();
+        for (Object key : keys) {
+            Object value = nearCache.getIfPresent(key);
+            if (value == null) {
+                record(l1Misses);
+                farKeys.add(key);
+            } else {
+                record(l1Hits);
+                result.put(key, fromStoreValue(value));
+            }
+        }
+        if (farKeys.isEmpty()) {
+            return result;
+        }
+
+        Map<Object, Object> farValues = getAllFar(farKeys);
+        for (Object key : farKeys) {
+            if (farValues.containsKey(key)) {
+                record(l2Hits);
+                Object value = farValues.get(key);
+                nearCache.put(key, toStoreValue(value));
+                result.put(key, value);
+            } else {
+                record(l2Misses);
+            }
+        }
+        return result;
+    }
+
+    private Map<Object, Object> getAllFar(List<Object> keys) {
+        if (cache instanceof BatchCache) {
+            return ((BatchCache) cache).getAll(keys);
+        }
+        Map<Object, Object> values = new HashMap<>();
+        for (Object key : keys) {
+            ValueWrapper valueWrapper = cache.get(key);
+            if (valueWrapper != null) {
+                values.put(key, valueWrapper.get());
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        if (cache instanceof BatchCache) {
+            ((BatchCache) cache).putAll(entries);
+        } else {
+            entries.forEach(cache::put);
+        }
+        entries.forEach((key, value) -> {
+            nearCache.put(key, toStoreValue(value));
+            invalidationChannel.publish(key);
+        });
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        cache.put(key, value);
+        nearCache.put(key, toStoreValue(value));
+        invalidationChannel.publish(key);
+    }
+
+    @Override
+    public @Nullable ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        ValueWrapper existing = cache.putIfAbsent(key, value);
+        nearCache.invalidate(key);
+        invalidationChannel.publish(key);
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        cache.evict(key);
+        nearCache.invalidate(key);
+        invalidationChannel.publish(key);
+    }
+
+    @Override
+    public void clear() {
+        cache.clear();
+        nearCache.invalidateAll();
+        invalidationChannel.publish(null);
+    }
+
+    /**
+     * Drops the near copy of a key that was changed on another node, or all copies if the key is null.
+     */
+    void invalidate(@Nullable Object key) {
+        if (key == null) {
+            nearCache.invalidateAll();
+        } else {
+            nearCache.invalidate(key);
+        }
+    }
+
+    /**
+     * Returns the approximate number of entries held in the near cache.
+     */
+    public long nearSize() {
+        return nearCache.estimatedSize();
+    }
+
+    public long l1HitCount() {
+        return l1Hits.sum();
+    }
+
+    public long l1MissCount() {
+        return l1Misses.sum();
+    }
+
+    public long l2HitCount() {
+        return l2Hits.sum();
+    }
+
+    public long l2MissCount() {
+        return l2Misses.sum();
+    }
+
+    private void record(LongAdder counter) {
+        if (isRecordingStats) {
+            counter.increment();
+        }
+    }
+
+    private static Object toStoreValue(@Nullable Object value) {
+        return (value == null) ? NullValue.INSTANCE : value;
+    }
+
+    private static @Nullable Object fromStoreValue(Object value) {
+        return (value == NullValue.INSTANCE) ? null : value;
+    }
+}
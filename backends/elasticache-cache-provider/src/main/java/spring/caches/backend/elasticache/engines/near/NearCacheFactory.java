@@ -0,0 +1,69 @@
+package spring.caches.backend.elasticache.engines.near;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import spring.caches.backend.elasticache.ElastiCache;
+import spring.caches.backend.elasticache.engines.CacheFactory;
+import spring.caches.backend.elasticache.engines.ClusterTopology;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link CacheFactory} that puts a {@link NearCache} in front of the caches of another factory, if the
+ * settings of a cache configure one.
+ */
+public class NearCacheFactory implements CacheFactory, DisposableBean {
+
+    private final CacheFactory cacheFactory;
+
+    private final Map<String, ElastiCache> settings = new HashMap<>();
+
+    public NearCacheFactory(CacheFactory cacheFactory, Map<String, ElastiCache> settings) {
+        this.cacheFactory = cacheFactory;
+        this.settings.putAll(settings);
+    }
+
+    @Override
+    public boolean isSupportingCacheArchitecture(String architecture) {
+        return cacheFactory.isSupportingCacheArchitecture(architecture);
+    }
+
+    @Override
+    public Cache createCache(String cacheName, String host, int port) throws Exception {
+        Cache cache = cacheFactory.createCache(cacheName, host, port);
+        ElastiCache cacheSettings = settings.get(cacheName);
+        if ((cacheSettings == null) || !cacheSettings.hasNearCache()) {
+            return cache;
+        }
+        return new NearCache(cache, cacheSettings, createInvalidationChannel(cacheName, host, port));
+    }
+
+    @Override
+    public Cache createCache(String cacheName, ClusterTopology topology) throws Exception {
+        Cache cache = cacheFactory.createCache(cacheName, topology);
+        ElastiCache cacheSettings = settings.get(cacheName);
+        if ((cacheSettings == null) || !cacheSettings.hasNearCache()) {
+            return cache;
+        }
+        return new NearCache(cache, cacheSettings, createInvalidationChannel(cacheName, topology));
+    }
+
+    @Override
+    public InvalidationChannel createInvalidationChannel(String cacheName, String host, int port) throws Exception {
+        return cacheFactory.createInvalidationChannel(cacheName, host, port);
+    }
+
+    @Override
+    public InvalidationChannel createInvalidationChannel(String cacheName, ClusterTopology topology)
+            throws Exception {
+        return cacheFactory.createInvalidationChannel(cacheName, topology);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (cacheFactory instanceof DisposableBean) {
+            ((DisposableBean) cacheFactory).destroy();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package spring.caches.backend.elasticache.engines.near;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Collect metrics on near caches. The hits and misses of the near cache as a whole are reported as
+ * {@code cache.gets}, whereas those of each tier are reported as {@code cache.tier.gets} and
+ * {@code cache.tier.hit.ratio} with the tag {@code tier=l1} or {@code tier=l2}.
+ */
+public class NearCacheMetrics extends CacheMeterBinder {
+    private static final String TIER = "tier";
+    private static final String RESULT = "result";
+
+    private final NearCache cache;
+
+    /**
+     * Creates a new {@link NearCacheMetrics} instance.
+     *
+     * @param cache The near cache to be instrumented.
+     * @param tags  tags to apply to all recorded metrics.
+     */
+    public NearCacheMetrics(NearCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+        this.cache = cache;
+    }
+
+    @Override
+    protected Long size() {
+        return cache.nearSize();
+    }
+
+    @Override
+    protected long hitCount() {
+        return cache.l1HitCount() + cache.l2HitCount();
+    }
+
+    @Override
+    protected Long missCount() {
+        return cache.l2MissCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return null;
+    }
+
+    @Override
+    protected long putCount() {
+        return 0;
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        tier(registry, "l1", NearCache::l1HitCount, NearCache::l1MissCount);
+        tier(registry, "l2", NearCache::l2HitCount, NearCache::l2MissCount);
+    }
+
+    private void tier(
+            MeterRegistry registry,
+            String tier,
+            ToDoubleFunction<NearCache> hits,
+            ToDoubleFunction<NearCache> misses
+    ) {
+        FunctionCounter.builder("cache.tier.gets", cache, hits)
+                .tags(getTagsWithCacheName()).tags(TIER, tier, RESULT, "hit")
+                .description("The number of times lookups in the tier have returned a cached value")
+                .register(registry);
+        FunctionCounter.builder("cache.tier.gets", cache, misses)
+                .tags(getTagsWithCacheName()).tags(TIER, tier, RESULT, "miss")
+                .description("The number of times lookups in the tier have returned nothing")
+                .register(registry);
+        Gauge.builder("cache.tier.hit.ratio", cache, c -> {
+            double hitCount = hits.applyAsDouble(c);
+            double requestCount = hitCount + misses.applyAsDouble(c);
+            return (requestCount == 0) ? 1.0 : (hitCount / requestCount);
+        }).tags(getTagsWithCacheName()).tags(TIER, tier)
+                .description("The ratio of lookups in the tier that have returned a cached value")
+                .register(registry);
+    }
+}
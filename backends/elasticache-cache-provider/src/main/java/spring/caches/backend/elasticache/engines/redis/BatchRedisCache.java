@@ -0,0 +1,133 @@
+package spring.caches.backend.elasticache.engines.redis;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.util.Assert;
+import spring.caches.backend.BatchCache;
+import spring.caches.backend.elasticache.compression.Compression;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link RedisCache} that reads many keys with a single {@code MGET} and writes them with pipelined
+ * {@code SET}s. Redis' {@code MSET} cannot set an expiry, so the writes are pipelined instead to honour the
+ * time-to-live of the cache configuration. Cluster connections do not support pipelines with every client,
+ * e.g. Jedis, so in cluster mode the keys are set one by one.
+ */
+public class BatchRedisCache extends RedisCache implements BatchCache {
+    private final RedisConnectionFactory connectionFactory;
+    private final CacheStatisticsCollector statistics;
+    private final @Nullable Compression compression;
+
+    public BatchRedisCache(
+            String name,
+            RedisCacheWriter cacheWriter,
+            RedisCacheConfiguration cacheConfig,
+            RedisConnectionFactory connectionFactory,
+            CacheStatisticsCollector statistics
+    ) {
+        this(name, cacheWriter, cacheConfig, connectionFactory, statistics, null);
+    }
+
+    /**
+     * Creates a cache whose values are compressed by the serializer of the configuration. The compression
+     * is only kept to expose its metrics.
+     */
+    public BatchRedisCache(
+            String name,
+            RedisCacheWriter cacheWriter,
+            RedisCacheConfiguration cacheConfig,
+            RedisConnectionFactory connectionFactory,
+            CacheStatisticsCollector statistics,
+            @Nullable Compression compression
+    ) {
+        super(name, cacheWriter, cacheConfig);
+        Assert.notNull(connectionFactory, "connectionFactory is mandatory");
+        Assert.notNull(statistics, "statistics is mandatory");
+        this.connectionFactory = connectionFactory;
+        this.statistics = statistics;
+        this.compression = compression;
+    }
+
+    public @Nullable Compression compression() {
+        return compression;
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        List<Object> requested = new ArrayList<>(keys);
+        byte[][] cacheKeys = new byte[requested.size()][];
+        for (int i = 0; i < cacheKeys.length; i++) {
+            cacheKeys[i] = serializeCacheKey(createCacheKey(requested.get(i)));
+        }
+
+        List<byte[]> values;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            values = connection.stringCommands().mGet(cacheKeys);
+        }
+
+        Map<Object, Object> result = new HashMap<>(Math.max(16, (int) (cacheKeys.length / .75f) + 1));
+        for (int i = 0; i < cacheKeys.length; i++) {
+            byte[] value = (values == null) ? null : values.get(i);
+            statistics.incGets(getName());
+            if (value == null) {
+                statistics.incMisses(getName());
+            } else {
+                statistics.incHits(getName());
+                result.put(requested.get(i), fromStoreValue(deserializeCacheValue(value)));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        Map<byte[], byte[]> serialized = new HashMap<>(Math.max(16, (int) (entries.size() / .75f) + 1));
+        entries.forEach((key, value) -> {
+            Object cacheValue = preProcessCacheValue(value);
+            if (!isAllowNullValues() && (cacheValue == null)) {
+                throw new IllegalArgumentException(String.format(
+                        "Cache '%s' does not allow 'null' values. Avoid storing null via '@Cacheable(unless=\"#result "
+                                + "== null\")' or configure RedisCache to allow 'null' via RedisCacheConfiguration.",
+                        getName()));
+            }
+            serialized.put(serializeCacheKey(createCacheKey(key)), serializeCacheValue(cacheValue));
+        });
+
+        Duration ttl = getCacheConfiguration().getTtl();
+        Expiration expiration = (ttl.isZero() || ttl.isNegative()) ? Expiration.persistent() : Expiration.from(ttl);
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            if (connection instanceof RedisClusterConnection) {
+                set(connection, serialized, expiration);
+            } else {
+                connection.openPipeline();
+                try {
+                    set(connection, serialized, expiration);
+                } finally {
+                    connection.closePipeline();
+                }
+            }
+        }
+        for (int i = 0; i < serialized.size(); i++) {
+            statistics.incPuts(getName());
+        }
+    }
+
+    private static void set(RedisConnection connection, Map<byte[], byte[]> entries, Expiration expiration) {
+        entries.forEach((key, value) -> connection.stringCommands()
+                .set(key, value, expiration, RedisStringCommands.SetOption.upsert()));
+    }
+}
@@ -0,0 +1,32 @@
+package spring.caches.backend.elasticache.engines.redis;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import spring.caches.backend.elasticache.compression.Compression;
+
+/**
+ * A {@link RedisSerializer} that compresses the values of another serializer. Values that were written
+ * without compression can still be read, as the serializers of Spring Data Redis never write a leading byte
+ * that is taken for a compression header.
+ */
+public class CompressingRedisSerializer implements RedisSerializer<Object> {
+    private final RedisSerializer<Object> serializer;
+    private final Compression compression;
+
+    public CompressingRedisSerializer(RedisSerializer<Object> serializer, Compression compression) {
+        this.serializer = serializer;
+        this.compression = compression;
+    }
+
+    @Override
+    public byte @Nullable [] serialize(@Nullable Object value) throws SerializationException {
+        byte[] bytes = serializer.serialize(value);
+        return (bytes == null) ? null : compression.compress(bytes);
+    }
+
+    @Override
+    public @Nullable Object deserialize(byte @Nullable [] bytes) throws SerializationException {
+        return (bytes == null) ? null : serializer.deserialize(compression.decompress(bytes));
+    }
+}
@@ -16,16 +16,39 @@
 
 package spring.caches.backend.elasticache.engines.redis;
 
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.cache.Cache;
-import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisConfiguration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.RedisStaticMasterReplicaConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisClientConfiguration;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.util.ClassUtils;
 import spring.caches.backend.elasticache.ElastiCache;
+import spring.caches.backend.elasticache.compression.Compression;
 import spring.caches.backend.elasticache.engines.AbstractCacheFactory;
+import spring.caches.backend.elasticache.engines.ClusterTopology;
+import spring.caches.backend.elasticache.engines.near.InvalidationChannel;
 
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -39,6 +62,15 @@ public class RedisCacheFactory extends AbstractCacheFactory<RedisConnectionFacto
     private static final boolean LETTUCE_AVAILABLE = ClassUtils.isPresent("io.lettuce.core.RedisClient",
             ClassUtils.getDefaultClassLoader());
 
+    private static final boolean POOL_AVAILABLE = ClassUtils.isPresent(
+            "org.apache.commons.pool2.impl.GenericObjectPool", ClassUtils.getDefaultClassLoader());
+
+    private final List<DisposableBean> channels = new ArrayList<>();
+
+    private final List<ClientResources> clientResources = new ArrayList<>();
+
+    private @Nullable ClientResources sharedClientResources;
+
     public RedisCacheFactory() {
     }
 
@@ -54,34 +86,221 @@ public class RedisCacheFactory extends AbstractCacheFactory<RedisConnectionFacto
 
     @Override
     public Cache createCache(String cacheName, String host, int port) throws Exception {
-        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager
-                .builder(getConnectionFactory(host, port));
+        return createCache(cacheName, ClusterTopology.single(host, port));
+    }
 
+    @Override
+    public Cache createCache(String cacheName, ClusterTopology topology) throws Exception {
+        RedisConnectionFactory connectionFactory = getConnectionFactory(cacheName, topology);
+        RedisCacheWriter cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory);
+        CacheStatisticsCollector statistics = CacheStatisticsCollector.none();
         if (getSettingsPerCache(cacheName).isRecordingStats()) {
-            builder.enableStatistics();
+            statistics = CacheStatisticsCollector.create();
+            cacheWriter = cacheWriter.withStatisticsCollector(statistics);
+        }
+
+        RedisCacheConfiguration cacheConfig = RedisCacheConfiguration.defaultCacheConfig();
+        Compression compression = getSettingsPerCache(cacheName).compression();
+        if (compression != null) {
+            cacheConfig = cacheConfig.serializeValuesWith(RedisSerializationContext.SerializationPair
+                    .fromSerializer(new CompressingRedisSerializer(RedisSerializer.java(), compression)));
         }
 
-        return builder.build().getCache(cacheName);
+        return new BatchRedisCache(cacheName, cacheWriter, cacheConfig, connectionFactory, statistics, compression);
     }
 
     @Override
-    protected void destroyConnectionClient(RedisConnectionFactory connectionClient) throws Exception {
+    public InvalidationChannel createInvalidationChannel(String cacheName, String host, int port) throws Exception {
+        return createInvalidationChannel(cacheName, ClusterTopology.single(host, port));
+    }
+
+    /**
+     * Returns a channel on the connections of the cache. Lettuce cannot subscribe on the connections that
+     * read from replicas, so such a cache gets a channel on a dedicated connection to its primary.
+     */
+    @Override
+    public InvalidationChannel createInvalidationChannel(String cacheName, ClusterTopology topology)
+            throws Exception {
+        ElastiCache settings = getSettingsPerCache(cacheName);
+        RedisConnectionFactory connectionFactory;
+        if (isStaticReplicaTopology(topology, settings)) {
+            RedisStandaloneConfiguration primary = new RedisStandaloneConfiguration(topology.host(), topology.port());
+            LettuceConnectionFactory primaryConnectionFactory =
+                    new LettuceConnectionFactory(primary, lettuceConfiguration(ElastiCache.newBuilder()));
+            primaryConnectionFactory.afterPropertiesSet();
+            synchronized (channels) {
+                channels.add(primaryConnectionFactory);
+            }
+            connectionFactory = primaryConnectionFactory;
+        } else {
+            connectionFactory = getConnectionFactory(cacheName, topology);
+        }
+        RedisInvalidationChannel channel = new RedisInvalidationChannel(connectionFactory, cacheName);
+        synchronized (channels) {
+            channels.add(channel);
+        }
+        return channel;
+    }
 
+    /**
+     * Stops the invalidation channels before their connection factories are destroyed, and shuts down the
+     * client resources of Lettuce last, because the connections still use them until they are closed.
+     */
+    @Override
+    public void destroy() throws Exception {
+        synchronized (channels) {
+            for (int i = channels.size() - 1; i >= 0; i--) {
+                channels.get(i).destroy();
+            }
+            channels.clear();
+        }
+        super.destroy();
+        synchronized (this) {
+            for (ClientResources resources : clientResources) {
+                resources.shutdown();
+            }
+            clientResources.clear();
+            sharedClientResources = null;
+        }
+    }
+
+    @Override
+    protected void destroyConnectionClient(RedisConnectionFactory connectionClient) throws Exception {
+        if (connectionClient instanceof DisposableBean) {
+            ((DisposableBean) connectionClient).destroy();
+        }
     }
 
     @Override
     protected RedisConnectionFactory createConnectionClient(String hostName, int port) {
-        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration();
-        configuration.setHostName(hostName);
-        configuration.setPort(port);
-        if (JEDIS_AVAILABLE) {
-            return new JedisConnectionFactory(configuration);
-        } else if (LETTUCE_AVAILABLE) {
-            return new LettuceConnectionFactory(configuration);
+        return createConnectionClient(hostName, port, ElastiCache.newBuilder());
+    }
+
+    @Override
+    protected RedisConnectionFactory createConnectionClient(String hostName, int port, ElastiCache settings) {
+        return createConnectionClient(ClusterTopology.single(hostName, port), settings);
+    }
+
+    /**
+     * Creates a cluster connection for a sharded topology and a standalone connection otherwise. Caches that
+     * read from replicas require Lettuce, which is then preferred over Jedis.
+     */
+    @Override
+    protected RedisConnectionFactory createConnectionClient(ClusterTopology topology, ElastiCache settings) {
+        if (LETTUCE_AVAILABLE && (!JEDIS_AVAILABLE || settings.isReadingFromReplica())) {
+            RedisConfiguration configuration = isStaticReplicaTopology(topology, settings)
+                    ? staticReplicaConfiguration(topology)
+                    : redisConfiguration(topology);
+            return new LettuceConnectionFactory(configuration, lettuceConfiguration(settings));
+        } else if (JEDIS_AVAILABLE) {
+            if (settings.isReadingFromReplica()) {
+                throw new IllegalStateException("Reading from replicas requires the Lettuce client. "
+                        + "Please add it to your classpath");
+            }
+            return topology.isSharded()
+                    ? new JedisConnectionFactory(clusterConfiguration(topology), jedisConfiguration(settings))
+                    : new JedisConnectionFactory(standaloneConfiguration(topology), jedisConfiguration(settings));
         } else {
             throw new IllegalArgumentException("No Jedis or lettuce client on classpath. "
                     + "Please add one of the implementation to your classpath");
         }
     }
 
+    private static boolean isStaticReplicaTopology(ClusterTopology topology, ElastiCache settings) {
+        return settings.isReadingFromReplica() && !topology.isSharded() && topology.hasReplicas();
+    }
+
+    private static RedisConfiguration redisConfiguration(ClusterTopology topology) {
+        return topology.isSharded() ? clusterConfiguration(topology) : standaloneConfiguration(topology);
+    }
+
+    private static RedisStandaloneConfiguration standaloneConfiguration(ClusterTopology topology) {
+        return new RedisStandaloneConfiguration(topology.host(), topology.port());
+    }
+
+    /**
+     * Seeds the cluster connection with the described nodes, from which the client discovers the slots.
+     */
+    static RedisClusterConfiguration clusterConfiguration(ClusterTopology topology) {
+        RedisClusterConfiguration configuration = new RedisClusterConfiguration();
+        configuration.clusterNode(topology.host(), topology.port());
+        for (InetSocketAddress node : topology.nodes()) {
+            configuration.clusterNode(node.getHostString(), node.getPort());
+        }
+        return configuration;
+    }
+
+    static RedisStaticMasterReplicaConfiguration staticReplicaConfiguration(ClusterTopology topology) {
+        RedisStaticMasterReplicaConfiguration configuration =
+                new RedisStaticMasterReplicaConfiguration(topology.host(), topology.port());
+        for (InetSocketAddress replica : topology.replicas()) {
+            configuration.node(replica.getHostString(), replica.getPort());
+        }
+        return configuration;
+    }
+
+    static JedisClientConfiguration jedisConfiguration(ElastiCache settings) {
+        JedisClientConfiguration.JedisClientConfigurationBuilder builder = JedisClientConfiguration.builder();
+        if (settings.commandTimeout() != ElastiCache.UNSET_INT) {
+            builder.readTimeout(Duration.ofMillis(settings.commandTimeout()));
+        }
+        return builder.usePooling().poolConfig(poolConfig(settings)).build();
+    }
+
+    LettuceClientConfiguration lettuceConfiguration(ElastiCache settings) {
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder builder;
+        if (settings.isPooling()) {
+            if (!POOL_AVAILABLE) {
+                throw new IllegalStateException("Pooling Lettuce connections requires commons-pool2. "
+                        + "Please add it to your classpath");
+            }
+            builder = LettucePoolingClientConfiguration.builder().poolConfig(poolConfig(settings));
+        } else {
+            builder = LettuceClientConfiguration.builder();
+        }
+        if (settings.commandTimeout() != ElastiCache.UNSET_INT) {
+            builder.commandTimeout(Duration.ofMillis(settings.commandTimeout()));
+        }
+        if (settings.isReadingFromReplica()) {
+            builder.readFrom(ReadFrom.REPLICA_PREFERRED);
+        }
+        return builder.clientResources(clientResources(settings)).build();
+    }
+
+    private static <T> GenericObjectPoolConfig<T> poolConfig(ElastiCache settings) {
+        GenericObjectPoolConfig<T> poolConfig = new GenericObjectPoolConfig<>();
+        if (settings.poolMaxTotal() != ElastiCache.UNSET_INT) {
+            poolConfig.setMaxTotal(settings.poolMaxTotal());
+            poolConfig.setMaxIdle(settings.poolMaxTotal());
+        }
+        if (settings.poolMinIdle() != ElastiCache.UNSET_INT) {
+            poolConfig.setMinIdle(settings.poolMinIdle());
+        }
+        return poolConfig;
+    }
+
+    /**
+     * Returns dedicated client resources for clusters that tune the threads of Lettuce, and otherwise the
+     * resources shared by all clusters of this factory.
+     */
+    private synchronized ClientResources clientResources(ElastiCache settings) {
+        if (settings.hasThreads()) {
+            DefaultClientResources.Builder builder = DefaultClientResources.builder();
+            if (settings.ioThreads() != ElastiCache.UNSET_INT) {
+                builder.ioThreadPoolSize(settings.ioThreads());
+            }
+            if (settings.computationThreads() != ElastiCache.UNSET_INT) {
+                builder.computationThreadPoolSize(settings.computationThreads());
+            }
+            ClientResources resources = builder.build();
+            clientResources.add(resources);
+            return resources;
+        }
+        if (sharedClientResources == null) {
+            sharedClientResources = DefaultClientResources.create();
+            clientResources.add(sharedClientResources);
+        }
+        return sharedClientResources;
+    }
+
 }
@@ -6,6 +6,8 @@ import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.TimeGauge;
 import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
 import org.springframework.data.redis.cache.RedisCache;
+import spring.caches.backend.elasticache.compression.Compression;
+import spring.caches.backend.elasticache.compression.CompressionMetrics;
 
 import java.util.concurrent.TimeUnit;
 
@@ -63,6 +65,12 @@ public class RedisCacheMetrics extends CacheMeterBinder {
                         (cache) -> cache.getStatistics().getLockWaitDuration(TimeUnit.NANOSECONDS))
                 .tags(getTagsWithCacheName()).description("The time the cache has spent waiting on a lock")
                 .register(registry);
+        if (this.cache instanceof BatchRedisCache) {
+            Compression compression = ((BatchRedisCache) this.cache).compression();
+            if (compression != null) {
+                new CompressionMetrics(compression, getTagsWithCacheName()).bindTo(registry);
+            }
+        }
     }
 
 }
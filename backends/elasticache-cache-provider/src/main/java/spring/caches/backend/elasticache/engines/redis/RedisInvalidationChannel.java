@@ -0,0 +1,109 @@
+package spring.caches.backend.elasticache.engines.redis;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import spring.caches.backend.elasticache.engines.near.InvalidationChannel;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * An {@link InvalidationChannel} on Redis pub/sub. A message consists of the id of the publishing node,
+ * so that a node ignores its own announcements, followed by the serialized key. A message without a key
+ * announces a cleared cache. Keys that cannot be serialized or deserialized are announced as a cleared cache
+ * too, which costs the near caches their entries but never leaves a stale one.
+ *
+ * <p>Each subscription listens on its own container, which is stopped when the channel is destroyed.
+ */
+public class RedisInvalidationChannel implements InvalidationChannel, DisposableBean {
+    private static final String CHANNEL_PREFIX = "spring-caches:invalidations:";
+    private static final int ORIGIN_LENGTH = 16;
+
+    private final RedisConnectionFactory connectionFactory;
+    private final byte[] channel;
+    private final byte[] origin;
+    private final RedisSerializer<Object> serializer = new JdkSerializationRedisSerializer();
+    private final List<RedisMessageListenerContainer> containers = new ArrayList<>();
+
+    public RedisInvalidationChannel(RedisConnectionFactory connectionFactory, String cacheName) {
+        this.connectionFactory = connectionFactory;
+        this.channel = (CHANNEL_PREFIX + cacheName).getBytes(StandardCharsets.UTF_8);
+        UUID id = UUID.randomUUID();
+        this.origin = ByteBuffer.allocate(ORIGIN_LENGTH)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    @Override
+    public void publish(@Nullable Object key) {
+        byte[] serializedKey = serialize(key);
+        byte[] message = Arrays.copyOf(origin, ORIGIN_LENGTH + serializedKey.length);
+        System.arraycopy(serializedKey, 0, message, ORIGIN_LENGTH, serializedKey.length);
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.publish(channel, message);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<@Nullable Object> listener) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> {
+            byte[] body = message.getBody();
+            if ((body.length >= ORIGIN_LENGTH)
+                    && !Arrays.equals(body, 0, ORIGIN_LENGTH, origin, 0, ORIGIN_LENGTH)) {
+                listener.accept(deserialize(Arrays.copyOfRange(body, ORIGIN_LENGTH, body.length)));
+            }
+        }, new ChannelTopic(new String(channel, StandardCharsets.UTF_8)));
+        container.afterPropertiesSet();
+        container.start();
+        synchronized (containers) {
+            containers.add(container);
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        synchronized (containers) {
+            for (RedisMessageListenerContainer container : containers) {
+                container.destroy();
+            }
+            containers.clear();
+        }
+    }
+
+    private byte[] serialize(@Nullable Object key) {
+        if (key == null) {
+            return new byte[0];
+        }
+        try {
+            return serializer.serialize(key);
+        } catch (SerializationException e) {
+            return new byte[0];
+        }
+    }
+
+    private @Nullable Object deserialize(byte[] key) {
+        if (key.length == 0) {
+            return null;
+        }
+        try {
+            return serializer.deserialize(key);
+        } catch (SerializationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package spring.caches.backend.elasticache;
+
+import com.amazonaws.services.elasticache.AmazonElastiCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.support.StaticApplicationContext;
+import spring.caches.backend.CacheBackend;
+import spring.caches.backend.elasticache.engines.CacheFactory;
+import spring.caches.backend.elasticache.engines.LazyCache;
+import spring.caches.backend.properties.tree.CachesProperties;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class ElastiCacheBackendFactoryTest {
+    private static final CachesProperties PROPERTIES = CachesProperties.resolve(() -> Map.of(
+            "caches.elasticache.clusters[0].name", "products",
+            "caches.elasticache.clusters[1].name", "users",
+            "caches.elasticache.clusters[2].name", "orders"));
+
+    @Test
+    void clustersShouldBeCreatedConcurrentlyOnTheExecutor() throws Exception {
+        CountDownLatch started = new CountDownLatch(3);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        ElastiCacheBackendFactory factory = factory((name) -> {
+            threads.add(Thread.currentThread().getName());
+            started.countDown();
+            if (!started.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("clusters are created one after the other");
+            }
+            return new ConcurrentMapCache(name);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            CacheBackend backend = factory.create(PROPERTIES, executor);
+
+            assertThat(backend.getCacheManager().getCacheNames()).containsExactlyInAnyOrder("products", "users",
+                    "orders");
+            assertThat(threads).hasSize(3);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failuresOfAllClustersShouldBeReported() {
+        ElastiCacheBackendFactory factory = factory((name) -> {
+            if ("products".equals(name)) {
+                return new ConcurrentMapCache(name);
+            }
+            throw new IllegalStateException(name + " unavailable");
+        });
+
+        assertThatThrownBy(() -> factory.create(PROPERTIES))
+                .isInstanceOf(IllegalStateException.class)
+                .satisfies(e -> assertThat(e.getSuppressed()).hasSize(1));
+    }
+
+    @Test
+    void lazyClustersShouldBeCreatedOnFirstUse() {
+        Set<String> created = ConcurrentHashMap.newKeySet();
+        ElastiCacheBackendFactory factory = factory((name) -> {
+            created.add(name);
+            return new ConcurrentMapCache(name);
+        });
+
+        CacheBackend backend = factory.create(CachesProperties.resolve(() -> Map.of(
+                "caches.elasticache.clusters[0].name", "products",
+                "caches.elasticache.clusters[0].config.spec", "lazy",
+                "caches.elasticache.clusters[1].name", "users")));
+
+        assertThat(created).containsExactly("users");
+        Cache products = backend.getCacheManager().getCache("products");
+        assertThat(products).isInstanceOf(LazyCache.class);
+        products.put("key", "value");
+        assertThat(created).containsExactlyInAnyOrder("products", "users");
+        assertThat(((LazyCache) products).getTarget()).isInstanceOf(ConcurrentMapCache.class);
+    }
+
+    private static ElastiCacheBackendFactory factory(ClusterCreation creation) {
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.getBeanFactory().registerSingleton("amazonElastiCache", mock(AmazonElastiCache.class));
+        ElastiCacheBackendFactory factory = new ElastiCacheBackendFactory() {
+            @Override
+            protected Cache clusterCache(
+                    String cacheName,
+                    AmazonElastiCache amazonElastiCache,
+                    List<CacheFactory> cacheFactories
+            ) {
+                try {
+                    return creation.create(cacheName);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+        factory.setApplicationContext(context);
+        return factory;
+    }
+
+    @FunctionalInterface
+    private interface ClusterCreation {
+        Cache create(String name) throws InterruptedException;
+    }
+}
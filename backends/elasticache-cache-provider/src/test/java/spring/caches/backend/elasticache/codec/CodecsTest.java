@@ -0,0 +1,81 @@
+package spring.caches.backend.elasticache.codec;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CodecsTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"java", "cbor", "spring.caches.backend.elasticache.codec.JavaCodec"})
+    void valuesShouldRoundTripWithTheirTypes(String name) {
+        Codec codec = Codecs.forName(name, List.of(Product.class.getName()));
+        Map<String, Object> map = new HashMap<>();
+        map.put("long", 1L);
+        map.put("list", Arrays.asList("a", "b"));
+
+        for (Object value : List.of("value", 42L, 4.2d, map, new Product("p1", 3))) {
+            Object decoded = codec.decode(codec.encode(value));
+            assertThat(decoded).as(name).isEqualTo(value).hasSameClassAs(value);
+        }
+    }
+
+    @Test
+    void jacksonCodecsShouldRequireAllowedTypes() {
+        assertThatThrownBy(() -> Codecs.forName("cbor"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("codecAllowedTypes");
+    }
+
+    @Test
+    void jacksonCodecsShouldNotReadTypesOutsideTheAllowList() {
+        byte[] bytes = Codecs.forName("cbor", List.of(Product.class.getName())).encode(new Product("p1", 3));
+        Codec codec = Codecs.forName("cbor", List.of("com.example."));
+
+        assertThat(codec.decode(codec.encode(List.of(1L, "a")))).isEqualTo(List.of(1L, "a"));
+        assertThatThrownBy(() -> codec.decode(bytes)).hasMessageContaining(Product.class.getName());
+    }
+
+    static final class Product implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String id;
+        private int quantity;
+
+        Product() {
+        }
+
+        Product(String id, int quantity) {
+            this.id = id;
+            this.quantity = quantity;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return (o instanceof Product) && id.equals(((Product) o).id) && (quantity == ((Product) o).quantity);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, quantity);
+        }
+    }
+}
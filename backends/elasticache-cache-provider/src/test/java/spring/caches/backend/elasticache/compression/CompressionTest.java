@@ -0,0 +1,40 @@
+package spring.caches.backend.elasticache.compression;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressionTest {
+
+    @Test
+    void valuesAboveTheThresholdShouldBeCompressed() {
+        Compression compression = Compression.forName("zstd", 64);
+        byte[] small = "small".getBytes(StandardCharsets.UTF_8);
+        byte[] large = "large".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        byte[] storedSmall = compression.compress(small);
+        byte[] storedLarge = compression.compress(large);
+
+        assertThat(storedSmall[0]).isEqualTo(Compression.UNCOMPRESSED);
+        assertThat(storedSmall).hasSize(small.length + 1);
+        assertThat(storedLarge[0]).isEqualTo(compression.compressor().id());
+        assertThat(storedLarge.length).isLessThan(large.length / 10);
+        assertThat(compression.decompress(storedSmall)).isEqualTo(small);
+        assertThat(compression.decompress(storedLarge)).isEqualTo(large);
+        assertThat(Compression.decompressAny(storedLarge)).isEqualTo(large);
+        assertThat(compression.compressionRatio()).isLessThan(0.1);
+        assertThat(compression.compressCount()).isEqualTo(1);
+        assertThat(compression.decompressCount()).isEqualTo(1);
+    }
+
+    @Test
+    void valuesWrittenWithoutCompressionShouldBeReadAsIs() {
+        Compression compression = Compression.forName("zstd", 0);
+        byte[] serialized = RedisSerializer.java().serialize("value");
+
+        assertThat(compression.decompress(serialized)).isEqualTo(serialized);
+    }
+}
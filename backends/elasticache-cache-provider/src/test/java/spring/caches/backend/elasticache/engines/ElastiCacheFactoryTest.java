@@ -0,0 +1,110 @@
+package spring.caches.backend.elasticache.engines;
+
+import com.amazonaws.services.elasticache.AmazonElastiCache;
+import com.amazonaws.services.elasticache.model.CacheCluster;
+import com.amazonaws.services.elasticache.model.CacheNode;
+import com.amazonaws.services.elasticache.model.DescribeCacheClustersRequest;
+import com.amazonaws.services.elasticache.model.DescribeCacheClustersResult;
+import com.amazonaws.services.elasticache.model.DescribeReplicationGroupsRequest;
+import com.amazonaws.services.elasticache.model.DescribeReplicationGroupsResult;
+import com.amazonaws.services.elasticache.model.Endpoint;
+import com.amazonaws.services.elasticache.model.NodeGroup;
+import com.amazonaws.services.elasticache.model.NodeGroupMember;
+import com.amazonaws.services.elasticache.model.ReplicationGroup;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.Cache;
+
+import java.net.InetSocketAddress;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ElastiCacheFactoryTest {
+    private final AmazonElastiCache amazonElastiCache = mock(AmazonElastiCache.class);
+    private final CacheFactory cacheFactory = mock(CacheFactory.class);
+
+    @Test
+    void shardedReplicationGroupsShouldBeReachedThroughTheirConfigurationEndpoint() throws Exception {
+        describe(new CacheCluster().withCacheClusterId("test").withEngine("redis").withReplicationGroupId("group"),
+                new ReplicationGroup()
+                        .withClusterEnabled(true)
+                        .withConfigurationEndpoint(new Endpoint().withAddress("configuration").withPort(6379))
+                        .withNodeGroups(
+                                new NodeGroup().withNodeGroupMembers(member("node-1", "primary")),
+                                new NodeGroup().withNodeGroupMembers(member("node-2", "primary"))));
+
+        ClusterTopology topology = createInstance();
+
+        assertThat(topology.isSharded()).isTrue();
+        assertThat(topology.host()).isEqualTo("configuration");
+        assertThat(topology.nodes()).containsExactly(
+                InetSocketAddress.createUnresolved("node-1", 6379),
+                InetSocketAddress.createUnresolved("node-2", 6379));
+    }
+
+    @Test
+    void replicatedReplicationGroupsShouldBeReachedThroughTheirPrimaryEndpoint() throws Exception {
+        describe(new CacheCluster().withCacheClusterId("test").withEngine("redis").withReplicationGroupId("group")
+                        .withCacheNodes(new CacheNode().withEndpoint(
+                                new Endpoint().withAddress("node-2").withPort(6379))),
+                new ReplicationGroup()
+                        .withClusterEnabled(false)
+                        .withNodeGroups(new NodeGroup()
+                                .withPrimaryEndpoint(new Endpoint().withAddress("primary").withPort(6379))
+                                .withNodeGroupMembers(member("node-1", "primary"), member("node-2", "replica"))));
+
+        ClusterTopology topology = createInstance();
+
+        assertThat(topology.isSharded()).isFalse();
+        assertThat(topology.host()).isEqualTo("primary");
+        assertThat(topology.replicas()).containsExactly(InetSocketAddress.createUnresolved("node-2", 6379));
+    }
+
+    @Test
+    void memcachedClustersShouldBeShardedAcrossTheirCacheNodes() throws Exception {
+        when(amazonElastiCache.describeCacheClusters(any(DescribeCacheClustersRequest.class)))
+                .thenReturn(new DescribeCacheClustersResult().withCacheClusters(new CacheCluster()
+                        .withCacheClusterId("test")
+                        .withEngine("memcached")
+                        .withConfigurationEndpoint(new Endpoint().withAddress("test.cfg").withPort(11211))
+                        .withCacheNodes(
+                                new CacheNode().withEndpoint(new Endpoint().withAddress("node-1").withPort(11211)),
+                                new CacheNode().withEndpoint(new Endpoint().withAddress("node-2").withPort(11211)))));
+        when(cacheFactory.isSupportingCacheArchitecture("memcached")).thenReturn(true);
+
+        ClusterTopology topology = createInstance();
+
+        assertThat(topology.isSharded()).isTrue();
+        assertThat(topology.host()).isEqualTo("test.cfg");
+        assertThat(topology.nodes()).containsExactly(
+                InetSocketAddress.createUnresolved("node-1", 11211),
+                InetSocketAddress.createUnresolved("node-2", 11211));
+    }
+
+    private void describe(CacheCluster cacheCluster, ReplicationGroup replicationGroup) {
+        when(amazonElastiCache.describeCacheClusters(any(DescribeCacheClustersRequest.class)))
+                .thenReturn(new DescribeCacheClustersResult().withCacheClusters(cacheCluster));
+        when(amazonElastiCache.describeReplicationGroups(any(DescribeReplicationGroupsRequest.class)))
+                .thenReturn(new DescribeReplicationGroupsResult().withReplicationGroups(replicationGroup));
+        when(cacheFactory.isSupportingCacheArchitecture("redis")).thenReturn(true);
+    }
+
+    private ClusterTopology createInstance() throws Exception {
+        new ElastiCacheFactory(amazonElastiCache, "test", Collections.singletonList(cacheFactory)).createInstance();
+        ArgumentCaptor<ClusterTopology> topology = ArgumentCaptor.forClass(ClusterTopology.class);
+        verify(cacheFactory).createCache(eq("test"), topology.capture());
+        return topology.getValue();
+    }
+
+    private static NodeGroupMember member(String host, String role) {
+        return new NodeGroupMember()
+                .withCurrentRole(role)
+                .withReadEndpoint(new Endpoint().withAddress(host).withPort(6379));
+    }
+}
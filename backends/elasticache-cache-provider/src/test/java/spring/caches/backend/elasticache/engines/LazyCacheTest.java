@@ -0,0 +1,145 @@
+package spring.caches.backend.elasticache.engines;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LazyCacheTest {
+
+    @Test
+    void cacheShouldBeCreatedOnFirstUse() {
+        AtomicInteger connects = new AtomicInteger();
+        LazyCache cache = new LazyCache("test", () -> {
+            connects.incrementAndGet();
+            return new ConcurrentMapCache("test");
+        });
+
+        assertThat(cache.getName()).isEqualTo("test");
+        assertThat(cache.isConnected()).isFalse();
+        assertThat(connects).hasValue(0);
+
+        cache.put("key", "value");
+        assertThat(cache.get("key", String.class)).isEqualTo("value");
+        assertThat(cache.isConnected()).isTrue();
+        assertThat(connects).hasValue(1);
+    }
+
+    @Test
+    void concurrentFirstUsesShouldCreateTheCacheOnce() throws Exception {
+        AtomicInteger connects = new AtomicInteger();
+        CountDownLatch connecting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        LazyCache cache = new LazyCache("test", () -> {
+            connects.incrementAndGet();
+            connecting.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return new ConcurrentMapCache("test");
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<CompletableFuture<Object>> gets = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                gets.add(CompletableFuture.supplyAsync(() -> cache.get("key", () -> "value"), executor));
+            }
+            assertThat(connecting.await(10, TimeUnit.SECONDS)).isTrue();
+            release.countDown();
+
+            for (CompletableFuture<Object> get : gets) {
+                assertThat(get.get(10, TimeUnit.SECONDS)).isEqualTo("value");
+            }
+            assertThat(connects).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedCreationShouldFailFastUntilTheRetryDelayElapsed() throws Exception {
+        AtomicInteger connects = new AtomicInteger();
+        LazyCache cache = new LazyCache("test", () -> {
+            if (connects.incrementAndGet() == 1) {
+                throw new IllegalStateException("cluster unavailable");
+            }
+            return new ConcurrentMapCache("test");
+        }, Duration.ofMillis(200));
+
+        assertThatThrownBy(() -> cache.get("key")).hasRootCauseMessage("cluster unavailable");
+        assertThatThrownBy(() -> cache.get("key")).hasRootCauseMessage("cluster unavailable");
+        assertThat(connects).hasValue(1);
+
+        Thread.sleep(300);
+
+        assertThat(cache.get("key")).isNull();
+        assertThat(cache.isConnected()).isTrue();
+        assertThat(connects).hasValue(2);
+    }
+
+    @Test
+    void metersShouldBeBoundOnceConnected() {
+        LazyCache cache = new LazyCache("test", () -> new ConcurrentMapCache("test"));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new LazyCacheMetrics(cache, Tags.of("app", "test"), (target, tags) -> new TestCacheMetrics(target, tags))
+                .bindTo(registry);
+
+        assertThat(registry.find("cache.gets").meters()).isEmpty();
+
+        cache.get("key");
+
+        assertThat(registry.get("cache.gets").tags("cache", "test", "app", "test").meters()).isNotEmpty();
+    }
+
+    private static final class TestCacheMetrics extends CacheMeterBinder {
+
+        TestCacheMetrics(Cache cache, Iterable<Tag> tags) {
+            super(cache, cache.getName(), tags);
+        }
+
+        @Override
+        protected Long size() {
+            return null;
+        }
+
+        @Override
+        protected long hitCount() {
+            return 0;
+        }
+
+        @Override
+        protected Long missCount() {
+            return 0L;
+        }
+
+        @Override
+        protected Long evictionCount() {
+            return null;
+        }
+
+        @Override
+        protected long putCount() {
+            return 0;
+        }
+
+        @Override
+        protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        }
+    }
+}
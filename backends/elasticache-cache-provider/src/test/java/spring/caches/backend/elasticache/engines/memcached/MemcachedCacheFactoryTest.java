@@ -0,0 +1,128 @@
+package spring.caches.backend.elasticache.engines.memcached;
+
+import com.thimbleware.jmemcached.CacheImpl;
+import com.thimbleware.jmemcached.Key;
+import com.thimbleware.jmemcached.LocalCacheElement;
+import com.thimbleware.jmemcached.MemCacheDaemon;
+import com.thimbleware.jmemcached.storage.CacheStorage;
+import com.thimbleware.jmemcached.storage.hash.ConcurrentLinkedHashMap;
+import net.spy.memcached.ConnectionFactory;
+import net.spy.memcached.FailureMode;
+import net.spy.memcached.KetamaNodeLocator;
+import net.spy.memcached.MemcachedClient;
+import net.spy.memcached.protocol.binary.BinaryOperationFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.SocketUtils;
+import spring.caches.backend.elasticache.ElastiCache;
+import spring.caches.backend.elasticache.engines.ClusterTopology;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemcachedCacheFactoryTest {
+    private final int port1 = SocketUtils.findAvailableTcpPort();
+    private final int port2 = SocketUtils.findAvailableTcpPort();
+    private MemCacheDaemon<LocalCacheElement> node1;
+    private MemCacheDaemon<LocalCacheElement> node2;
+    private MemcachedCacheFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        node1 = startDaemon(port1);
+        node2 = startDaemon(port2);
+        factory = new MemcachedCacheFactory(Collections.singletonMap("test", ElastiCache.newBuilder()));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        factory.destroy();
+        node1.stop();
+        node2.stop();
+    }
+
+    @Test
+    void keysShouldBeDistributedAcrossAllNodesOfTheCluster() throws Exception {
+        List<InetSocketAddress> nodes = Arrays.asList(
+                InetSocketAddress.createUnresolved("localhost", port1),
+                InetSocketAddress.createUnresolved("localhost", port2));
+        MemcachedCache cache = factory.createCache(
+                "test", ClusterTopology.sharded("localhost", port1, nodes));
+
+        for (int i = 0; i < 100; i++) {
+            cache.put("key" + i, "value" + i);
+        }
+
+        assertThat(((MemcachedClient) cache.getNativeCache()).getNodeLocator()).isInstanceOf(KetamaNodeLocator.class);
+        assertThat(node1.getCache().getCurrentItems()).isPositive();
+        assertThat(node2.getCache().getCurrentItems()).isPositive();
+        assertThat(node1.getCache().getCurrentItems() + node2.getCache().getCurrentItems()).isEqualTo(100);
+        for (int i = 0; i < 100; i++) {
+            assertThat(cache.get("key" + i, String.class)).isEqualTo("value" + i);
+        }
+    }
+
+    @Test
+    void clientsShouldBeTunedByTheSpec() {
+        ConnectionFactory connectionFactory = MemcachedCacheFactory.connectionFactory(
+                ClusterTopology.single("localhost", port1),
+                ElastiCache.from("binaryProtocol,commandTimeout=500,opQueueSize=128,readBufferSize=4096,"
+                        + "failureMode=cancel"));
+
+        assertThat(connectionFactory.getOperationFactory()).isInstanceOf(BinaryOperationFactory.class);
+        assertThat(connectionFactory.getOperationTimeout()).isEqualTo(500);
+        assertThat(connectionFactory.createOperationQueue().remainingCapacity()).isEqualTo(128);
+        assertThat(connectionFactory.getReadBufSize()).isEqualTo(4096);
+        assertThat(connectionFactory.getFailureMode()).isEqualTo(FailureMode.Cancel);
+    }
+
+    @Test
+    void operationsShouldBeSpreadOverTheConnectionsPerNode() throws Exception {
+        ElastiCache settings = ElastiCache.from("connectionsPerNode=3");
+        List<MemcachedClient> clients =
+                factory.createConnectionClient(ClusterTopology.single("localhost", port1), settings);
+        MemcachedCache cache = new MemcachedCache(clients, "test", settings);
+
+        Thread[] threads = new Thread[6];
+        for (int i = 0; i < threads.length; i++) {
+            String key = "key" + i;
+            threads[i] = new Thread(() -> cache.put(key, "value"));
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(clients).hasSize(3);
+        assertThat(node1.getCache().getCurrentItems()).isEqualTo(6);
+        for (int i = 0; i < threads.length; i++) {
+            assertThat(cache.get("key" + i, String.class)).isEqualTo("value");
+        }
+        factory.destroyConnectionClient(clients);
+    }
+
+    @Test
+    void onlyConfigurationEndpointsShouldBeAutoDiscovered() {
+        assertThat(MemcachedCacheFactory.isAutoDiscovering(ClusterTopology.sharded(
+                "test.abc123.cfg.use1.cache.amazonaws.com", 11211, Collections.emptyList()))).isTrue();
+        assertThat(MemcachedCacheFactory.isAutoDiscovering(ClusterTopology.sharded(
+                "localhost", 11211, Collections.emptyList()))).isFalse();
+        assertThat(MemcachedCacheFactory.isAutoDiscovering(ClusterTopology.single(
+                "test.abc123.0001.use1.cache.amazonaws.com", 11211))).isFalse();
+    }
+
+    private static MemCacheDaemon<LocalCacheElement> startDaemon(int port) {
+        MemCacheDaemon<LocalCacheElement> daemon = new MemCacheDaemon<>();
+        CacheStorage<Key, LocalCacheElement> storage = ConcurrentLinkedHashMap.create(
+                ConcurrentLinkedHashMap.EvictionPolicy.FIFO, 1024, 1024 * 1024);
+        daemon.setCache(new CacheImpl(storage));
+        daemon.setAddr(new InetSocketAddress(port));
+        daemon.start();
+        return daemon;
+    }
+}
@@ -0,0 +1,389 @@
+package spring.caches.backend.elasticache.engines.memcached;
+
+import com.thimbleware.jmemcached.CacheImpl;
+import com.thimbleware.jmemcached.Key;
+import com.thimbleware.jmemcached.LocalCacheElement;
+import com.thimbleware.jmemcached.MemCacheDaemon;
+import com.thimbleware.jmemcached.storage.CacheStorage;
+import com.thimbleware.jmemcached.storage.hash.ConcurrentLinkedHashMap;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.spy.memcached.MemcachedClient;
+import net.spy.memcached.MemcachedClientIF;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.util.SocketUtils;
+import spring.caches.backend.elasticache.ElastiCache;
+import spring.caches.backend.elasticache.codec.Codec;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MemcachedCacheTest {
+    private MemCacheDaemon<LocalCacheElement> daemon;
+    private MemcachedClient client;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        int port = SocketUtils.findAvailableTcpPort();
+        daemon = new MemCacheDaemon<>();
+        CacheStorage<Key, LocalCacheElement> storage = ConcurrentLinkedHashMap.create(
+                ConcurrentLinkedHashMap.EvictionPolicy.FIFO, 1024, 1024 * 1024);
+        daemon.setCache(new CacheImpl(storage));
+        daemon.setAddr(new InetSocketAddress(port));
+        daemon.start();
+        client = new MemcachedClient(new InetSocketAddress("localhost", port));
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        client.shutdown(1, TimeUnit.SECONDS);
+        daemon.stop();
+    }
+
+    @Test
+    void concurrentLoadsOfAKeyShouldRunTheLoaderOnce() throws Exception {
+        MemcachedCache cache = new MemcachedCache(client, "test", ElastiCache.from("recordStats"));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> cache.get("key", () -> {
+                loads.incrementAndGet();
+                release.await();
+                return "value";
+            })));
+        }
+        TimeUnit.MILLISECONDS.sleep(200);
+        release.countDown();
+
+        for (Future<String> future : futures) {
+            assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().loadSuccessCount()).isEqualTo(1);
+    }
+
+    @Test
+    void waitingCallersShouldReceiveTheLoaderFailure() throws Exception {
+        MemcachedCache cache = new MemcachedCache(client, "test", ElastiCache.from(""));
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> loader = executor.submit(() -> cache.get("key", () -> {
+            release.await();
+            throw new IllegalStateException("failed");
+        }));
+        TimeUnit.MILLISECONDS.sleep(100);
+        Future<String> waiter = executor.submit(() -> cache.get("key", () -> "value"));
+        TimeUnit.MILLISECONDS.sleep(100);
+        release.countDown();
+
+        assertThatThrownBy(() -> loader.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(Cache.ValueRetrievalException.class);
+        assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(Cache.ValueRetrievalException.class);
+        assertThat(cache.get("key", () -> "value")).isEqualTo("value");
+    }
+
+    @Test
+    void leaseShouldLetOnlyOneNodeLoad() throws Exception {
+        MemcachedCache node1 = new MemcachedCache(client, "test", ElastiCache.from("lease=5"));
+        MemcachedCache node2 = new MemcachedCache(client, "test", ElastiCache.from("lease=5"));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> first = executor.submit(() -> node1.get("key", () -> {
+            loads.incrementAndGet();
+            release.await();
+            return "value";
+        }));
+        TimeUnit.MILLISECONDS.sleep(200);
+        Future<String> second = executor.submit(() -> node2.get("key", () -> {
+            loads.incrementAndGet();
+            return "other";
+        }));
+        TimeUnit.MILLISECONDS.sleep(200);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        assertThat(loads).hasValue(1);
+        assertThat(client.get("key:lease")).isNull();
+    }
+
+    @Test
+    void leaseTakenAfterTheValueWasStoredShouldNotReload() {
+        MemcachedClientIF racingClient = mock(MemcachedClientIF.class);
+        // the value is stored and the lease released between the lookup and the taking of the lease
+        when(racingClient.get("key")).thenReturn(null, "stored");
+        when(racingClient.add(anyString(), anyInt(), any())).thenReturn(CompletableFuture.completedFuture(true));
+        MemcachedCache cache = new MemcachedCache(racingClient, "test", ElastiCache.from("lease=5"));
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get("key", () -> {
+            loads.incrementAndGet();
+            return "other";
+        })).isEqualTo("stored");
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void expiredLeaseShouldNotBeReleasedByItsFormerHolder() throws Exception {
+        MemcachedCache node1 = new MemcachedCache(client, "test", ElastiCache.from("lease=5"));
+        MemcachedCache node2 = new MemcachedCache(client, "test", ElastiCache.from("lease=5"));
+        CountDownLatch takenOver = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        CountDownLatch releaseSecond = new CountDownLatch(1);
+
+        Future<String> first = executor.submit(() -> node1.get("key", () -> {
+            releaseFirst.await();
+            return "value";
+        }));
+        TimeUnit.MILLISECONDS.sleep(200);
+        Future<String> second = executor.submit(() -> node2.get("key", () -> {
+            takenOver.countDown();
+            releaseSecond.await();
+            return "other";
+        }));
+        TimeUnit.MILLISECONDS.sleep(200);
+        // jmemcached refuses to add over an expired entry, so the expiry is simulated by removing the lease
+        client.delete("key:lease").get();
+
+        assertThat(takenOver.await(5, TimeUnit.SECONDS)).isTrue();
+        releaseFirst.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        assertThat(client.get("key:lease")).isNotNull();
+
+        releaseSecond.countDown();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("other");
+        assertThat(client.get("key:lease")).isNull();
+    }
+
+    @Test
+    void asyncPutsShouldBeAcknowledgedInTheBackground() throws Exception {
+        MemcachedCache cache = new MemcachedCache(client, "test", ElastiCache.from("recordStats,asyncWrites=2"));
+
+        for (int i = 0; i < 100; i++) {
+            cache.put("key" + i, "value" + i);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((cache.pendingWrites() > 0) && (System.nanoTime() < deadline)) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertThat(cache.pendingWrites()).isZero();
+        assertThat(cache.stats().loadCount()).isEqualTo(100);
+        assertThat(client.get("key99")).isEqualTo("value99");
+    }
+
+    @Test
+    void unacknowledgedAsyncPutsShouldBeRecordedAsWriteFailures() {
+        MemcachedClientIF failingClient = mock(MemcachedClientIF.class);
+        when(failingClient.set(anyString(), anyInt(), any())).thenReturn(CompletableFuture.completedFuture(false));
+        MemcachedCache cache = new MemcachedCache(
+                failingClient, "test", ElastiCache.from("recordStats,asyncWrites"));
+
+        cache.put("key", "value");
+
+        assertThat(cache.stats().writeFailureCount()).isEqualTo(1);
+        assertThat(cache.stats().loadCount()).isZero();
+        assertThat(cache.pendingWrites()).isZero();
+    }
+
+    @Test
+    void asyncPutsDroppedOnInterruptShouldBeRecordedAsWriteFailures() {
+        MemcachedCache cache = new MemcachedCache(client, "test", ElastiCache.from("recordStats,asyncWrites"));
+
+        Thread.currentThread().interrupt();
+        try {
+            cache.put("key", "value");
+        } finally {
+            assertThat(Thread.interrupted()).isTrue();
+        }
+
+        assertThat(cache.stats().writeFailureCount()).isEqualTo(1);
+        assertThat(cache.stats().loadCount()).isZero();
+        assertThat(cache.pendingWrites()).isZero();
+    }
+
+    @Test
+    void bulkOperationsShouldReadAndWriteAllKeys() {
+        MemcachedCache cache = new MemcachedCache(client, "test", ElastiCache.from("recordStats"));
+
+        cache.putAll(Map.of(1, "one", 2, "two"));
+
+        assertThat(cache.getAll(Arrays.asList(1, 2, 3))).containsOnly(entry(1, "one"), entry(2, "two"));
+        assertThat(cache.stats().loadCount()).isEqualTo(2);
+        assertThat(cache.stats().hitCount()).isEqualTo(2);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void codecShouldReadValuesWrittenWithoutIt() {
+        client.set("old", 60, "value");
+        MemcachedCache cache = new MemcachedCache(
+                client, "test", ElastiCache.from("codec=cbor,codecAllowedTypes=spring.caches."));
+
+        cache.put("new", Map.of("a", 1L));
+
+        assertThat(cache.get("old", String.class)).isEqualTo("value");
+        Map<?, ?> value = cache.get("new", Map.class);
+        assertThat(value).isEqualTo(Map.of("a", 1L));
+        assertThat(cache.getAll(Arrays.asList("old", "new"))).containsOnlyKeys("old", "new");
+    }
+
+    @Test
+    void valuesOfAnotherCodecShouldBeReadWithIt() {
+        MemcachedCache cbor = new MemcachedCache(
+                client, "test", ElastiCache.from("codec=cbor,codecAllowedTypes=spring.caches."));
+        MemcachedCache java = new MemcachedCache(
+                client, "test", ElastiCache.from("codec=java,codecAllowedTypes=spring.caches."));
+
+        cbor.put("cbor", Map.of("a", 1L));
+        java.put("java", "value");
+
+        assertThat(java.get("cbor", Map.class)).isEqualTo(Map.of("a", 1L));
+        assertThat(cbor.get("java", String.class)).isEqualTo("value");
+        assertThat(java.getAll(Arrays.asList("cbor", "java"))).containsOnlyKeys("cbor", "java");
+    }
+
+    @Test
+    void undecodableValuesShouldBeMissesWithoutBeingDeleted() {
+        MemcachedCache java = new MemcachedCache(client, "test", ElastiCache.from("recordStats,codec=java"));
+        CodecTranscoder corrupting = new CodecTranscoder(new CorruptingCodec());
+        client.set("corrupt", 60, "value", corrupting);
+
+        assertThat(java.get("corrupt")).isNull();
+        assertThat(java.getAll(Collections.singleton("corrupt"))).isEmpty();
+        assertThat(java.stats().missCount()).isEqualTo(2);
+        assertThat(client.get("corrupt", corrupting)).isSameAs(CodecTranscoder.UNDECODABLE);
+    }
+
+    @Test
+    void codecMetricsShouldReportSizeAndTime() {
+        MemcachedCache cache = new MemcachedCache(client, "test", ElastiCache.from("codec=java"));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new MemcachedCacheMetrics(cache, Collections.emptyList()).bindTo(registry);
+
+        cache.put("key", "value");
+        cache.get("key");
+
+        double encoded = registry.get("cache.codec.bytes").tag("operation", "encode").functionCounter().count();
+        assertThat(encoded).isPositive();
+        assertThat(registry.get("cache.codec.bytes").tag("operation", "decode").functionCounter().count())
+                .isEqualTo(encoded);
+        assertThat(registry.get("cache.codec").tags("codec", "java", "operation", "decode").functionTimer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void compressedAndUncompressedValuesShouldCoexist() {
+        MemcachedCache plain = new MemcachedCache(client, "test", ElastiCache.from("codec=java"));
+        MemcachedCache compressing = new MemcachedCache(
+                client, "test", ElastiCache.from("compression=zstd,compressionThreshold=64"));
+        String large = "value".repeat(100);
+
+        plain.put("old", large);
+        compressing.put("new", large);
+        compressing.put("small", "value");
+
+        assertThat(compressing.get("old", String.class)).isEqualTo(large);
+        assertThat(compressing.get("new", String.class)).isEqualTo(large);
+        assertThat(plain.get("new", String.class)).isEqualTo(large);
+        assertThat(compressing.getAll(Arrays.asList("new", "small"))).containsOnly(
+                entry("new", large), entry("small", "value"));
+        assertThat(compressing.transcoder().compression().compressionRatio()).isLessThan(0.5);
+    }
+
+    @Test
+    void dueValueShouldBeReturnedWhileItIsReloadedOnce() throws Exception {
+        MemcachedCache cache = new MemcachedCache(client, "test", ElastiCache.from("refreshAfterWrite=0"));
+        assertThat(cache.get("key", () -> "first")).isEqualTo("first");
+
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger reloads = new AtomicInteger();
+        Callable<String> reload = () -> {
+            reloads.incrementAndGet();
+            release.await();
+            return "second";
+        };
+        assertThat(cache.get("key", reload)).isEqualTo("first");
+        assertThat(cache.get("key", reload)).isEqualTo("first");
+        assertThat(cache.refresher().refreshing()).isEqualTo(1);
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((cache.refresher().refreshing() > 0) && (System.nanoTime() < deadline)) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+
+        assertThat(reloads).hasValue(1);
+        assertThat(cache.get("key", String.class)).isEqualTo("second");
+    }
+
+    @Test
+    void refreshedValuesShouldBeReadableWithCodecsAndWithoutRefreshing() {
+        for (String codec : Arrays.asList("java", "smile")) {
+            MemcachedCache refreshing = new MemcachedCache(client, "test",
+                    ElastiCache.from("refreshAfterWrite=60,codecAllowedTypes=spring.caches.,codec=" + codec));
+            MemcachedCache plain = new MemcachedCache(
+                    client, "test", ElastiCache.from("codecAllowedTypes=spring.caches.,codec=" + codec));
+
+            refreshing.put("key", Map.of("a", 1L));
+
+            assertThat(refreshing.get("key", () -> Map.of())).isEqualTo(Map.of("a", 1L));
+            assertThat(refreshing.getAll(Collections.singleton("key"))).containsOnly(entry("key", Map.of("a", 1L)));
+            Map<?, ?> value = plain.get("key", Map.class);
+            assertThat(value).isEqualTo(Map.of("a", 1L));
+            assertThat(refreshing.refresher().refreshing()).isZero();
+        }
+    }
+
+    /**
+     * Writes bytes under the id of the Java codec that it cannot read back.
+     */
+    private static final class CorruptingCodec implements Codec {
+
+        @Override
+        public String name() {
+            return "java";
+        }
+
+        @Override
+        public byte[] encode(Object value) {
+            return new byte[] {1, 2, 3};
+        }
+
+        @Override
+        public Object decode(byte[] bytes) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
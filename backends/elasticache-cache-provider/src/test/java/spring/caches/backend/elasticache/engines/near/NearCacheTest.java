@@ -0,0 +1,153 @@
+package spring.caches.backend.elasticache.engines.near;
+
+import com.thimbleware.jmemcached.CacheImpl;
+import com.thimbleware.jmemcached.Key;
+import com.thimbleware.jmemcached.LocalCacheElement;
+import com.thimbleware.jmemcached.MemCacheDaemon;
+import com.thimbleware.jmemcached.storage.CacheStorage;
+import com.thimbleware.jmemcached.storage.hash.ConcurrentLinkedHashMap;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.spy.memcached.MemcachedClient;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.SocketUtils;
+import spring.caches.backend.elasticache.ElastiCache;
+import spring.caches.backend.elasticache.engines.memcached.MemcachedCache;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.assertj.core.api.Assertions.within;
+
+class NearCacheTest {
+    private MemCacheDaemon<LocalCacheElement> daemon;
+    private MemcachedClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        int port = SocketUtils.findAvailableTcpPort();
+        daemon = new MemCacheDaemon<>();
+        CacheStorage<Key, LocalCacheElement> storage = ConcurrentLinkedHashMap.create(
+                ConcurrentLinkedHashMap.EvictionPolicy.FIFO, 1024, 1024 * 1024);
+        daemon.setCache(new CacheImpl(storage));
+        daemon.setAddr(new InetSocketAddress(port));
+        daemon.start();
+        client = new MemcachedClient(new InetSocketAddress("localhost", port));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown(1, TimeUnit.SECONDS);
+        daemon.stop();
+    }
+
+    @Test
+    void readsShouldBeServedByTheNearCacheOnceLoaded() {
+        NearCache cache = nearCache("recordStats,nearMaximumSize=100", InvalidationChannel.none());
+
+        assertThat(cache.get("key", () -> "value")).isEqualTo("value");
+        assertThat(cache.get("key", String.class)).isEqualTo("value");
+        assertThat(cache.get("key", String.class)).isEqualTo("value");
+        client.delete("key");
+
+        assertThat(cache.get("key", String.class)).isEqualTo("value");
+        assertThat(cache.l1HitCount()).isEqualTo(3);
+        assertThat(cache.l1MissCount()).isEqualTo(1);
+        assertThat(cache.l2MissCount()).isEqualTo(1);
+        assertThat(cache.l2HitCount()).isZero();
+    }
+
+    @Test
+    void batchesShouldReadThroughToTheFarCacheAndFillTheNearCache() {
+        NearCache cache = nearCache("recordStats,nearMaximumSize=100", InvalidationChannel.none());
+
+        cache.putAll(Map.of(1, "one"));
+        client.set("2", 60, "two");
+
+        assertThat(cache.getAll(Arrays.asList(1, 2, 3))).containsOnly(entry(1, "one"), entry(2, "two"));
+        client.delete("2");
+        assertThat(cache.getAll(Arrays.asList(1, 2))).containsOnly(entry(1, "one"), entry(2, "two"));
+        assertThat(cache.l1HitCount()).isEqualTo(3);
+        assertThat(cache.l1MissCount()).isEqualTo(2);
+        assertThat(cache.l2HitCount()).isEqualTo(1);
+        assertThat(cache.l2MissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void loadsShouldGoStraightToTheFarCacheOnANearMiss() {
+        NearCache cache = nearCache("recordStats,nearMaximumSize=100", InvalidationChannel.none());
+        client.set("key", 60, "value");
+
+        assertThat(cache.get("key", () -> "other")).isEqualTo("value");
+        assertThat(cache.get("key", () -> "other")).isEqualTo("value");
+        assertThat(cache.l1HitCount()).isEqualTo(1);
+        assertThat(cache.l1MissCount()).isEqualTo(1);
+        assertThat(cache.l2HitCount()).isEqualTo(1);
+        assertThat(cache.l2MissCount()).isZero();
+    }
+
+    @Test
+    void changesShouldInvalidateTheNearCachesOfOtherNodes() {
+        LocalInvalidationChannel channel = new LocalInvalidationChannel();
+        NearCache node1 = nearCache("nearMaximumSize=100", channel);
+        NearCache node2 = nearCache("nearMaximumSize=100", channel);
+
+        node1.put("key", "value");
+        assertThat(node2.get("key", String.class)).isEqualTo("value");
+        node1.put("key", "other");
+        assertThat(node2.get("key", String.class)).isEqualTo("other");
+
+        node1.evict("key");
+        assertThat(node2.get("key")).isNull();
+    }
+
+    @Test
+    void metricsShouldReportTheHitRatioOfEachTier() {
+        NearCache cache = nearCache("recordStats,nearMaximumSize=100", InvalidationChannel.none());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new NearCacheMetrics(cache, List.of()).bindTo(registry);
+
+        client.set("key", 60, "value");
+        cache.get("key");
+        cache.get("key");
+        cache.get("key");
+        cache.get("absent");
+
+        assertThat(registry.get("cache.tier.hit.ratio").tag("tier", "l1").gauge().value()).isCloseTo(0.5, within(0.01));
+        assertThat(registry.get("cache.tier.hit.ratio").tag("tier", "l2").gauge().value()).isCloseTo(0.5, within(0.01));
+        assertThat(registry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(3);
+        assertThat(registry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    private NearCache nearCache(String spec, InvalidationChannel channel) {
+        ElastiCache settings = ElastiCache.from(spec);
+        return new NearCache(new MemcachedCache(client, "test", settings), settings, channel);
+    }
+
+    /**
+     * Delivers the changes to all subscribing caches, including the publishing one.
+     */
+    private static final class LocalInvalidationChannel implements InvalidationChannel {
+        private final List<Consumer<@Nullable Object>> listeners = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void publish(@Nullable Object key) {
+            listeners.forEach(listener -> listener.accept(key));
+        }
+
+        @Override
+        public void subscribe(Consumer<@Nullable Object> listener) {
+            listeners.add(listener);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package spring.caches.backend.elasticache.engines.redis;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BatchRedisCacheTest {
+    private final RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+    private final CacheStatisticsCollector statistics = CacheStatisticsCollector.create();
+
+    @Test
+    void putAllShouldPipelineTheWritesOfAStandaloneConnection() {
+        RedisConnection connection = mock(RedisConnection.class);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+
+        cache(connection).putAll(Map.of("a", "1", "b", "2"));
+
+        verify(connection).openPipeline();
+        verify(stringCommands, times(2)).set(any(), any(),
+                argThat(expiration -> expiration.getExpirationTimeInSeconds() == 60),
+                eq(RedisStringCommands.SetOption.upsert()));
+        verify(connection).closePipeline();
+        assertThat(statistics.getCacheStatistics("test").getPuts()).isEqualTo(2);
+    }
+
+    @Test
+    void putAllShouldSetEachKeyOfAShardedClusterWithoutPipeline() {
+        RedisClusterConnection connection = mock(RedisClusterConnection.class);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        doThrow(new UnsupportedOperationException("Pipeline is currently not supported for JedisClusterConnection."))
+                .when(connection).openPipeline();
+
+        cache(connection).putAll(Map.of("a", "1", "b", "2"));
+
+        verify(connection, never()).openPipeline();
+        verify(stringCommands).set(eq("test::a".getBytes(StandardCharsets.UTF_8)), any(), any(), any());
+        verify(stringCommands).set(eq("test::b".getBytes(StandardCharsets.UTF_8)), any(), any(), any());
+        assertThat(statistics.getCacheStatistics("test").getPuts()).isEqualTo(2);
+    }
+
+    private BatchRedisCache cache(RedisConnection connection) {
+        RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        return new BatchRedisCache("test", mock(RedisCacheWriter.class),
+                RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(1)),
+                connectionFactory, statistics);
+    }
+}
@@ -0,0 +1,88 @@
+package spring.caches.backend.elasticache.engines.redis;
+
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.resource.ClientResources;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisNode;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
+import spring.caches.backend.elasticache.ElastiCache;
+import spring.caches.backend.elasticache.engines.ClusterTopology;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisCacheFactoryTest {
+    private final RedisCacheFactory factory = new RedisCacheFactory(Collections.emptyMap());
+
+    @Test
+    void jedisClientsShouldBePooledWithTheConfiguredLimits() {
+        JedisClientConfiguration configuration = RedisCacheFactory.jedisConfiguration(
+                ElastiCache.from("poolMaxTotal=32,poolMinIdle=4,commandTimeout=250"));
+
+        assertThat(configuration.isUsePooling()).isTrue();
+        assertThat(configuration.getPoolConfig()).hasValueSatisfying(pool -> {
+            assertThat(pool.getMaxTotal()).isEqualTo(32);
+            assertThat(pool.getMinIdle()).isEqualTo(4);
+        });
+        assertThat(configuration.getReadTimeout()).isEqualTo(Duration.ofMillis(250));
+    }
+
+    @Test
+    void lettuceClientsShouldShareClientResourcesUnlessThreadsAreConfigured() throws Exception {
+        LettuceClientConfiguration pooled = factory.lettuceConfiguration(
+                ElastiCache.from("poolMaxTotal=16,commandTimeout=250"));
+        LettuceClientConfiguration shared = factory.lettuceConfiguration(ElastiCache.newBuilder());
+        LettuceClientConfiguration dedicated = factory.lettuceConfiguration(
+                ElastiCache.from("ioThreads=2,computationThreads=2"));
+
+        assertThat(pooled).isInstanceOf(LettucePoolingClientConfiguration.class);
+        assertThat(((LettucePoolingClientConfiguration) pooled).getPoolConfig().getMaxTotal()).isEqualTo(16);
+        assertThat(pooled.getCommandTimeout()).isEqualTo(Duration.ofMillis(250));
+        assertThat(shared).isNotInstanceOf(LettucePoolingClientConfiguration.class);
+        assertThat(shared.getClientResources()).isEqualTo(pooled.getClientResources());
+        assertThat(dedicated.getClientResources()).isNotEqualTo(shared.getClientResources());
+
+        factory.destroy();
+
+        assertThat(shared.getClientResources().map(ClientResources::eventExecutorGroup))
+                .hasValueSatisfying(group -> assertThat(group.isShuttingDown()).isTrue());
+        assertThat(dedicated.getClientResources().map(ClientResources::eventExecutorGroup))
+                .hasValueSatisfying(group -> assertThat(group.isShuttingDown()).isTrue());
+    }
+
+    @Test
+    void shardedClustersShouldBeSeededWithTheirEndpointAndNodes() {
+        RedisClusterConfiguration configuration = RedisCacheFactory.clusterConfiguration(ClusterTopology.sharded(
+                "configuration", 6379, Collections.singletonList(InetSocketAddress.createUnresolved("node", 6380))));
+
+        assertThat(configuration.getClusterNodes())
+                .containsExactlyInAnyOrder(new RedisNode("configuration", 6379), new RedisNode("node", 6380));
+    }
+
+    @Test
+    void replicaReadsShouldUseLettuceWithTheReplicasOfTheTopology() throws Exception {
+        ClusterTopology topology = ClusterTopology.replicated(
+                "primary", 6379, Collections.singletonList(InetSocketAddress.createUnresolved("replica", 6379)));
+
+        RedisConnectionFactory connectionFactory =
+                factory.createConnectionClient(topology, ElastiCache.from("readFromReplica"));
+
+        assertThat(connectionFactory).isInstanceOf(LettuceConnectionFactory.class);
+        LettuceConnectionFactory lettuceConnectionFactory = (LettuceConnectionFactory) connectionFactory;
+        assertThat(lettuceConnectionFactory.getClientConfiguration().getReadFrom())
+                .contains(ReadFrom.REPLICA_PREFERRED);
+        assertThat(RedisCacheFactory.staticReplicaConfiguration(topology).getNodes())
+                .extracting(RedisStandaloneConfiguration::getHostName)
+                .containsExactly("primary", "replica");
+        factory.destroy();
+    }
+}
@@ -0,0 +1,109 @@
+package spring.caches.backend.simple;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import spring.caches.backend.simple.stats.StatsCounter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Compares the stats-recording read path of {@link UnboundedSimpleCache#computeIfAbsent} with the previous
+ * implementation, which probed the map twice on a hit and allocated a capturing lambda on every call.
+ *
+ * <pre>{@code
+ *   ./gradlew :backends:simple-cache-provider:jmh -PincludePattern=ComputeIfAbsentBenchmark
+ * }</pre>
+ *
+ * <p>Run with {@code -prof gc} to compare the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+public class ComputeIfAbsentBenchmark {
+    private static final int SIZE = 1 << 14;
+    private static final int MASK = SIZE - 1;
+
+    private static final Function<Object, Object> ABSENT = key -> null;
+
+    @Param({"current", "previous"})
+    String implementation;
+
+    ConcurrentHashMap<Object, Object> cache;
+    Integer[] present;
+    Integer[] absent;
+
+    @Setup
+    public void setup() {
+        Simple builder = Simple.newBuilder().recordStats();
+        cache = "current".equals(implementation)
+                ? new UnboundedSimpleCache(builder)
+                : new PreviousUnboundedSimpleCache(builder);
+
+        present = new Integer[SIZE];
+        absent = new Integer[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            present[i] = i;
+            absent[i] = -i - 1;
+            cache.put(present[i], Boolean.TRUE);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        int index;
+
+        @Setup(Level.Iteration)
+        public void setup() {
+            index = (int) (Thread.currentThread().getId() * 0x9E3779B9L);
+        }
+    }
+
+    @Benchmark
+    public Object computeIfAbsent_hit(ThreadState threadState) {
+        return cache.computeIfAbsent(present[threadState.index++ & MASK], ABSENT);
+    }
+
+    @Benchmark
+    public Object computeIfAbsent_miss(ThreadState threadState) {
+        return cache.computeIfAbsent(absent[threadState.index++ & MASK], ABSENT);
+    }
+
+    /**
+     * The previous implementation of the stats-recording read path.
+     */
+    static final class PreviousUnboundedSimpleCache extends ConcurrentHashMap<Object, Object> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient StatsCounter statsCounter;
+        private final boolean isRecordingStats;
+
+        PreviousUnboundedSimpleCache(Simple builder) {
+            super(builder.getInitialCapacity());
+            statsCounter = builder.getStatsCounterSupplier().get();
+            isRecordingStats = builder.isRecordingStats();
+        }
+
+        @Override
+        public Object computeIfAbsent(Object key, Function<? super Object, ?> mappingFunction) {
+            if (isRecordingStats && containsKey(key)) {
+                statsCounter.recordHits(1);
+            }
+            return super.computeIfAbsent(key, statsAware(mappingFunction));
+        }
+
+        <T, R> Function<? super T, ? extends R> statsAware(Function<? super T, ? extends R> mappingFunction) {
+            if (!isRecordingStats) {
+                return mappingFunction;
+            }
+            return key -> {
+                statsCounter.recordMisses(1);
+                return mappingFunction.apply(key);
+            };
+        }
+    }
+}
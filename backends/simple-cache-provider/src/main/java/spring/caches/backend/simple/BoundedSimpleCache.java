@@ -0,0 +1,935 @@
+package spring.caches.backend.simple;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import spring.caches.backend.simple.stats.CacheStats;
+import spring.caches.backend.simple.stats.StatsCounter;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+import static spring.caches.backend.simple.Simple.requireArgument;
+
+/**
+ * A {@link Cache} that is bounded by the number of its entries, by their total weight and/or by the
+ * time elapsed since an entry was written or last accessed.
+ *
+ * <p>Entries are evicted following the CLOCK (second chance) policy. A read only sets the referenced
+ * bit of the entry it returns, so reads neither take a lock nor allocate. New entries are appended to
+ * a lock-free queue that represents the clock. Whenever a write pushes the cache over its bound, the
+ * writing thread acquires the eviction lock and advances the clock hand: referenced entries get their
+ * bit cleared and a second chance at the tail, the first unreferenced entry is evicted.
+ *
+ * <p>Expired entries are removed by a {@link TimerWheel} that is advanced by writes under the eviction
+ * lock. Reads never touch the wheel; an access only updates the entry's timestamp and the wheel
+ * reschedules the entry when its bucket fires early. Expired entries that have not been swept yet are
+ * treated as absent.
+ *
+ * <p>With a {@link DiskOverflow}, entries evicted for size are serialized to disk rather than dropped. A read
+ * that misses memory looks the key up on disk and promotes the entry back to memory, keeping its write time;
+ * such a read is recorded as a hit and as a disk hit. Only reads and invalidations see the entries on disk,
+ * the {@link #asMap() map view} holds the entries in memory.
+ */
+final class BoundedSimpleCache extends AbstractMap<Object, Object> implements ConcurrentMap<Object, Object>, Cache {
+
+    /**
+     * The minimum number of removed entries that have to pile up in the clock before it is purged.
+     */
+    private static final int PURGE_THRESHOLD = 64;
+
+    private final ConcurrentHashMap<Object, Node> data;
+    private final Queue<Node> clock = new ConcurrentLinkedQueue<>();
+    private final Queue<Node> pendingTimers = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final AtomicLong weightedSize = new AtomicLong();
+    private final AtomicInteger retiredInClock = new AtomicInteger();
+
+    private final StatsCounter statsCounter;
+    private final boolean isRecordingStats;
+    private final boolean evicts;
+    private final long maximum;
+    private final Weigher weigher;
+    private final boolean expiresAfterWrite;
+    private final boolean expiresAfterAccess;
+    private final long expireAfterWriteNanos;
+    private final long expireAfterAccessNanos;
+    private final Ticker ticker;
+    private final LoadTimeListeners loadTimeListeners = new LoadTimeListeners();
+    private final @Nullable TimerWheel timerWheel;
+    private final @Nullable DiskOverflow overflow;
+    private final Converter<Object, byte[]> serializer = new SerializingConverter();
+    private final Converter<byte[], Object> deserializer = new DeserializingConverter();
+
+    private @Nullable Set<Map.Entry<Object, Object>> entrySet;
+
+    BoundedSimpleCache(Simple builder) {
+        data = new ConcurrentHashMap<>(builder.getInitialCapacity());
+        statsCounter = builder.getStatsCounterSupplier().get();
+        isRecordingStats = builder.isRecordingStats();
+        evicts = builder.isBounded();
+        maximum = builder.getMaximum();
+        weigher = builder.getWeigher();
+        expiresAfterWrite = builder.expiresAfterWrite();
+        expiresAfterAccess = builder.expiresAfterAccess();
+        expireAfterWriteNanos = builder.getExpiresAfterWriteNanos();
+        expireAfterAccessNanos = builder.getExpiresAfterAccessNanos();
+        ticker = builder.getTicker();
+        timerWheel = expires() ? new TimerWheel(this, ticker.read()) : null;
+        overflow = builder.overflowsToDisk()
+                ? new DiskOverflow(builder.getDiskOverflowDirectory(), builder.getDiskOverflowCapacity(), ticker,
+                        this::hasExpired, statsCounter, isRecordingStats)
+                : null;
+    }
+
+    @Override
+    public Object get(Object key) {
+        Node node = data.get(key);
+        if (node == null) {
+            Object value = (overflow == null) ? null : promote(overflow, key);
+            if (isRecordingStats) {
+                recordLookup(value != null);
+            }
+            return value;
+        }
+
+        if (expires()) {
+            long now = ticker.read();
+            if (hasExpired(node, now)) {
+                if (isRecordingStats) {
+                    statsCounter.recordMisses(1);
+                }
+                expireOnRead(node);
+                return null;
+            }
+            onAccess(node, now);
+        }
+
+        node.markReferenced();
+        if (isRecordingStats) {
+            statsCounter.recordHits(1);
+        }
+        return node.value;
+    }
+
+    @Override
+    public Object get(Object key, Callable<Object> valueLoader) {
+        return computeIfAbsent(key, k -> {
+            try {
+                return valueLoader.call();
+            } catch (Exception ex) {
+                throw new org.springframework.cache.Cache.ValueRetrievalException(key, valueLoader, ex);
+            }
+        });
+    }
+
+    @Override
+    public Object computeIfAbsent(Object key, Function<? super Object, ?> mappingFunction) {
+        requireNonNull(mappingFunction);
+        long now = expires() ? ticker.read() : 0L;
+        Node node = data.get(key);
+        if ((node != null) && !hasExpired(node, now)) {
+            onAccess(node, now);
+            node.markReferenced();
+            if (isRecordingStats) {
+                statsCounter.recordHits(1);
+            }
+            return node.value;
+        }
+        if (overflow != null) {
+            Object promoted = promote(overflow, key);
+            if (promoted != null) {
+                if (isRecordingStats) {
+                    recordLookup(true);
+                }
+                return promoted;
+            }
+        }
+
+        Function<? super Object, ?> loader = isRecordingStats
+                ? new StatsAwareFunction(mappingFunction, statsCounter, ticker, loadTimeListeners)
+                : mappingFunction;
+        Node[] created = new Node[1];
+        Node[] expired = new Node[1];
+        node = data.compute(key, (k, current) -> {
+            if ((current != null) && !hasExpired(current, now)) {
+                return current;
+            }
+            if (isRecordingStats) {
+                statsCounter.recordMisses(1);
+            }
+            Object value = loader.apply(k);
+            expired[0] = current;
+            if (value == null) {
+                return null;
+            }
+            created[0] = newNode(k, value, weigh(k, value), now);
+            return created[0];
+        });
+
+        if (expired[0] != null) {
+            retireExpired(expired[0]);
+        }
+        if (created[0] == null) {
+            if (isRecordingStats && (node != null)) {
+                statsCounter.recordHits(1);
+            }
+            return (node == null) ? null : node.value;
+        }
+
+        discardFromDisk(key);
+        afterWrite(created[0]);
+        return created[0].value;
+    }
+
+    @Override
+    public Object put(Object key, Object value) {
+        return put(key, value, false);
+    }
+
+    @Override
+    public Object putIfAbsent(Object key, Object value) {
+        Node node = data.get(key);
+        if ((node != null) && !expires()) {
+            node.markReferenced();
+            return node.value;
+        }
+        return put(key, value, true);
+    }
+
+    /**
+     * Adds or updates the mapping; an expired mapping is replaced as if it was absent.
+     */
+    private Object put(Object key, Object value, boolean onlyIfAbsent) {
+        requireNonNull(key);
+        requireNonNull(value);
+        if (onlyIfAbsent && (overflow != null) && !data.containsKey(key)) {
+            Object promoted = promote(overflow, key);
+            if (promoted != null) {
+                return promoted;
+            }
+        }
+        int weight = weigh(key, value);
+        long now = expires() ? ticker.read() : 0L;
+
+        Object[] oldValue = new Object[1];
+        Node[] created = new Node[1];
+        Node[] expired = new Node[1];
+        data.compute(key, (k, node) -> {
+            if ((node == null) || hasExpired(node, now)) {
+                expired[0] = node;
+                created[0] = newNode(k, value, weight, now);
+                return created[0];
+            }
+            oldValue[0] = node.value;
+            if (!onlyIfAbsent) {
+                weightedSize.addAndGet((long) weight - node.weight);
+                node.value = value;
+                node.weight = weight;
+                node.writeTime = now;
+                node.accessTime = now;
+            }
+            node.markReferenced();
+            return node;
+        });
+
+        if (expired[0] != null) {
+            retireExpired(expired[0]);
+        }
+        if (isRecordingStats && (!onlyIfAbsent || created[0] != null)) {
+            statsCounter.recordLoads(1);
+        }
+        if (created[0] != null) {
+            discardFromDisk(key);
+        }
+        afterWrite(created[0]);
+        return oldValue[0];
+    }
+
+    @Override
+    public Object remove(Object key) {
+        Node node = data.remove(key);
+        discardFromDisk(key);
+        if (node == null) {
+            return null;
+        }
+
+        retire(node);
+        if (isRecordingStats) {
+            statsCounter.recordEviction(1);
+        }
+        return (expires() && hasExpired(node, ticker.read())) ? null : node.value;
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        if (value == null) {
+            return false;
+        }
+        long now = expires() ? ticker.read() : 0L;
+
+        boolean[] removed = new boolean[1];
+        Node[] retired = new Node[1];
+        data.computeIfPresent(key, (k, node) -> {
+            if (hasExpired(node, now)) {
+                retired[0] = node;
+                return null;
+            }
+            if (node.value.equals(value)) {
+                removed[0] = true;
+                retired[0] = node;
+                return null;
+            }
+            return node;
+        });
+
+        if (retired[0] != null) {
+            if (removed[0]) {
+                retire(retired[0]);
+            } else {
+                retireExpired(retired[0]);
+            }
+        }
+        return removed[0];
+    }
+
+    @Override
+    public boolean replace(Object key, Object oldValue, Object newValue) {
+        requireNonNull(oldValue);
+        requireNonNull(newValue);
+        int weight = weigh(key, newValue);
+        long now = expires() ? ticker.read() : 0L;
+
+        boolean[] replaced = new boolean[1];
+        Node[] expired = new Node[1];
+        data.computeIfPresent(key, (k, node) -> {
+            if (hasExpired(node, now)) {
+                expired[0] = node;
+                return null;
+            }
+            if (node.value.equals(oldValue)) {
+                weightedSize.addAndGet((long) weight - node.weight);
+                node.value = newValue;
+                node.weight = weight;
+                node.writeTime = now;
+                node.accessTime = now;
+                replaced[0] = true;
+            }
+            return node;
+        });
+
+        if (expired[0] != null) {
+            retireExpired(expired[0]);
+        }
+        afterWrite(null);
+        return replaced[0];
+    }
+
+    @Override
+    public Object replace(Object key, Object value) {
+        requireNonNull(value);
+        int weight = weigh(key, value);
+        long now = expires() ? ticker.read() : 0L;
+
+        Object[] oldValue = new Object[1];
+        Node[] expired = new Node[1];
+        data.computeIfPresent(key, (k, node) -> {
+            if (hasExpired(node, now)) {
+                expired[0] = node;
+                return null;
+            }
+            weightedSize.addAndGet((long) weight - node.weight);
+            oldValue[0] = node.value;
+            node.value = value;
+            node.weight = weight;
+            node.writeTime = now;
+            node.accessTime = now;
+            return node;
+        });
+
+        if (expired[0] != null) {
+            retireExpired(expired[0]);
+        }
+        afterWrite(null);
+        return oldValue[0];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Node node = data.get(key);
+        return (node != null) && !(expires() && hasExpired(node, ticker.read()));
+    }
+
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return data.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        for (Node node : data.values()) {
+            if (data.remove(node.key, node)) {
+                retire(node);
+            }
+        }
+        if (overflow != null) {
+            overflow.clear();
+        }
+        afterWrite(null);
+    }
+
+    @Override
+    public Set<Map.Entry<Object, Object>> entrySet() {
+        Set<Map.Entry<Object, Object>> es = entrySet;
+        if (es == null) {
+            es = new EntrySetView();
+            entrySet = es;
+        }
+        return es;
+    }
+
+    @Override
+    public void forEachEntry(EntryVisitor visitor) throws IOException {
+        boolean expires = expires();
+        long now = expires ? ticker.read() : 0L;
+        for (Node node : data.values()) {
+            if (!hasExpired(node, now)) {
+                visitor.visit(node.key, node.value, expires ? (expirationTime(node) - now) : Long.MAX_VALUE);
+            }
+        }
+    }
+
+    /**
+     * Returns the listeners of the load times, which are only called while statistics are recorded.
+     */
+    LoadTimeListeners loadTimeListeners() {
+        return loadTimeListeners;
+    }
+
+    @Override
+    public CacheStats stats() {
+        return statsCounter.snapshot();
+    }
+
+    @Override
+    public long estimatedSize() {
+        return data.mappingCount();
+    }
+
+    @Override
+    public ConcurrentMap<Object, Object> asMap() {
+        return this;
+    }
+
+    @Override
+    public void invalidate(Object key) {
+        remove(key);
+    }
+
+    @Override
+    public void invalidateAll() {
+        for (Object key : data.keySet()) {
+            remove(key);
+        }
+        if (overflow != null) {
+            overflow.clear();
+        }
+    }
+
+    @Override
+    public void invalidateAll(Iterable<?> keys) {
+        for (Object key : keys) {
+            remove(key);
+        }
+    }
+
+    /**
+     * Returns the current weighted size of the cache, which is the number of entries if the cache is
+     * bounded by {@code maximumSize}.
+     */
+    long weightedSize() {
+        return weightedSize.get();
+    }
+
+    /**
+     * Returns the disk tier of the cache, or {@code null} if it does not overflow to disk.
+     */
+    @Nullable DiskOverflow diskOverflow() {
+        return overflow;
+    }
+
+    /**
+     * Performs the pending maintenance work, i.e. sweeps expired entries and evicts entries if the cache
+     * exceeds its maximum.
+     */
+    void cleanUp() {
+        evictionLock.lock();
+        try {
+            maintenance();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Evicts the entry if it has expired, otherwise updates the time it is due. Called by the
+     * {@link TimerWheel} under the eviction lock.
+     *
+     * @return {@code true} if the entry was removed and must not be rescheduled
+     */
+    boolean expireEntry(Node node, long now) {
+        if (node.retired) {
+            return true;
+        }
+
+        long expirationTime = expirationTime(node);
+        if ((expirationTime - now) > 0) {
+            node.variableTime = expirationTime;
+            return false;
+        }
+
+        if (data.remove(node.key, node)) {
+            release(node);
+            if (evicts) {
+                retiredInClock.incrementAndGet();
+            }
+            if (isRecordingStats) {
+                statsCounter.recordEviction(1);
+            }
+        }
+        return true;
+    }
+
+    private boolean expires() {
+        return expiresAfterWrite || expiresAfterAccess;
+    }
+
+    private boolean hasExpired(Node node, long now) {
+        return hasExpired(node.writeTime, node.accessTime, now);
+    }
+
+    private boolean hasExpired(long writeTime, long accessTime, long now) {
+        return (expiresAfterWrite && ((now - writeTime) >= expireAfterWriteNanos))
+                || (expiresAfterAccess && ((now - accessTime) >= expireAfterAccessNanos));
+    }
+
+    private long expirationTime(Node node) {
+        if (expiresAfterWrite && expiresAfterAccess) {
+            return Math.min(node.writeTime + expireAfterWriteNanos, node.accessTime + expireAfterAccessNanos);
+        }
+        return expiresAfterWrite
+                ? node.writeTime + expireAfterWriteNanos
+                : node.accessTime + expireAfterAccessNanos;
+    }
+
+    private void onAccess(Node node, long now) {
+        if (expiresAfterAccess) {
+            node.accessTime = now;
+        }
+    }
+
+    private void recordLookup(boolean hit) {
+        if (!hit) {
+            statsCounter.recordMisses(1);
+            return;
+        }
+        statsCounter.recordHits(1);
+        statsCounter.recordDiskHits(1);
+    }
+
+    private int weigh(Object key, Object value) {
+        int weight = weigher.weigh(key, value);
+        requireArgument(weight >= 0, "weight of key %s must not be negative", key);
+        return weight;
+    }
+
+    /**
+     * Creates a new node and accounts for its weight. Must be called while the node is being mapped.
+     */
+    private Node newNode(Object key, Object value, int weight, long now) {
+        weightedSize.addAndGet(weight);
+        Node node = new Node(key, value, weight);
+        node.writeTime = now;
+        node.accessTime = now;
+        return node;
+    }
+
+    /**
+     * Marks a node that was removed from the map as retired and releases its weight.
+     */
+    private void release(Node node) {
+        node.retired = true;
+        weightedSize.addAndGet(-node.weight);
+    }
+
+    /**
+     * Releases a node that was removed from the map. The node remains in the clock until the hand
+     * passes it or the clock is purged, and is descheduled from the timer wheel by the next maintenance.
+     */
+    private void retire(Node node) {
+        release(node);
+        if (evicts) {
+            retiredInClock.incrementAndGet();
+        }
+        if (expires()) {
+            pendingTimers.offer(node);
+        }
+    }
+
+    /**
+     * Retires an expired node that was replaced or removed while being accessed.
+     */
+    private void retireExpired(Node node) {
+        retire(node);
+        if (isRecordingStats) {
+            statsCounter.recordEviction(1);
+        }
+    }
+
+    /**
+     * Removes an expired node that was found by a read.
+     */
+    private void expireOnRead(Node node) {
+        if (data.remove(node.key, node)) {
+            retireExpired(node);
+            tryMaintenance();
+        }
+    }
+
+    /**
+     * Adds a newly created node to the clock and timer wheel, and performs the pending maintenance
+     * work. Only a cache that exceeds its maximum blocks on the eviction lock.
+     */
+    private void afterWrite(@Nullable Node created) {
+        if (created != null) {
+            if (evicts) {
+                clock.offer(created);
+            }
+            if (expires()) {
+                pendingTimers.offer(created);
+            }
+        }
+
+        if (evicts && weightedSize.get() > maximum) {
+            cleanUp();
+        } else if (expires() || retiredInClock.get() > purgeThreshold()) {
+            tryMaintenance();
+        }
+    }
+
+    private void tryMaintenance() {
+        if (evictionLock.tryLock()) {
+            try {
+                maintenance();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Must be called under the eviction lock.
+     */
+    private void maintenance() {
+        if (timerWheel != null) {
+            drainPendingTimers(timerWheel);
+            timerWheel.advance(ticker.read());
+        }
+        if (evicts) {
+            evictEntries();
+            if (retiredInClock.get() > purgeThreshold()) {
+                retiredInClock.set(0);
+                clock.removeIf(node -> node.retired);
+            }
+        }
+    }
+
+    private int purgeThreshold() {
+        return Math.max(PURGE_THRESHOLD, data.size());
+    }
+
+    /**
+     * Schedules new nodes in the timer wheel and deschedules retired ones.
+     */
+    private void drainPendingTimers(TimerWheel wheel) {
+        Node node;
+        while ((node = pendingTimers.poll()) != null) {
+            if (node.retired) {
+                wheel.deschedule(node);
+            } else if (node.nextInTimer == null) {
+                node.variableTime = expirationTime(node);
+                wheel.schedule(node);
+            }
+        }
+    }
+
+    /**
+     * Advances the clock hand until the cache is within its bound. Must be called under the eviction lock.
+     */
+    private void evictEntries() {
+        while (weightedSize.get() > maximum) {
+            Node node = clock.poll();
+            if (node == null) {
+                return;
+            }
+            if (node.retired) {
+                retiredInClock.decrementAndGet();
+                continue;
+            }
+            if (node.referenced) {
+                node.referenced = false;
+                clock.offer(node);
+                continue;
+            }
+            if (data.remove(node.key, node)) {
+                release(node);
+                if (timerWheel != null) {
+                    timerWheel.deschedule(node);
+                }
+                if (!spill(node) && isRecordingStats) {
+                    statsCounter.recordEviction(1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes an entry evicted for size to disk, unless it has expired or cannot be serialized. Must be
+     * called under the eviction lock, after the node was removed from the map.
+     *
+     * @return whether the entry was written to disk
+     */
+    private boolean spill(Node node) {
+        DiskOverflow disk = overflow;
+        if ((disk == null) || (expires() && hasExpired(node, ticker.read()))) {
+            return false;
+        }
+        byte[] keyBytes = trySerialize(node.key);
+        byte[] valueBytes = trySerialize(node.value);
+        if ((keyBytes == null) || (valueBytes == null)
+                || !disk.put(keyBytes, valueBytes, node.writeTime, node.accessTime)) {
+            return false;
+        }
+        if (data.containsKey(node.key)) {
+            // the key was written again while it was spilled, which may have missed the disk copy
+            disk.remove(keyBytes);
+        }
+        return true;
+    }
+
+    /**
+     * Moves the entry of the key from disk back to memory, keeping its write time, unless the key was
+     * written again in the meantime.
+     *
+     * @return the value of the entry in memory, or {@code null} if the key is not on disk or has expired
+     */
+    private @Nullable Object promote(DiskOverflow disk, Object key) {
+        if (disk.isEmpty()) {
+            return null;
+        }
+        byte[] keyBytes = trySerialize(key);
+        DiskOverflow.Record record = (keyBytes == null) ? null : disk.find(keyBytes);
+        if ((keyBytes == null) || (record == null)) {
+            return null;
+        }
+        long now = expires() ? ticker.read() : 0L;
+        if (hasExpired(record.writeTime, record.accessTime, now)) {
+            if (disk.remove(keyBytes, record) && isRecordingStats) {
+                statsCounter.recordEviction(1);
+            }
+            return null;
+        }
+
+        Object value;
+        try {
+            value = requireNonNull(deserializer.convert(record.value));
+        } catch (RuntimeException e) {
+            // e.g. the class of the value changed; the entry is dropped like an expired one
+            if (disk.remove(keyBytes, record) && isRecordingStats) {
+                statsCounter.recordEviction(1);
+            }
+            return null;
+        }
+        int weight = weigh(key, value);
+        Node[] created = new Node[1];
+        Node[] expired = new Node[1];
+        Node node = data.compute(key, (k, current) -> {
+            if ((current != null) && !hasExpired(current, now)) {
+                return current;
+            }
+            expired[0] = current;
+            created[0] = newNode(k, value, weight, record.writeTime);
+            created[0].accessTime = now;
+            return created[0];
+        });
+        disk.remove(keyBytes, record);
+
+        if (expired[0] != null) {
+            retireExpired(expired[0]);
+        }
+        afterWrite(created[0]);
+        return requireNonNull(node).value;
+    }
+
+    /**
+     * Removes a stale copy of the key from disk after the key was written or removed in memory.
+     */
+    private void discardFromDisk(Object key) {
+        if ((overflow != null) && !overflow.isEmpty()) {
+            byte[] keyBytes = trySerialize(key);
+            if (keyBytes != null) {
+                overflow.remove(keyBytes);
+            }
+        }
+    }
+
+    private byte @Nullable [] trySerialize(Object object) {
+        try {
+            return serializer.convert(object);
+        } catch (RuntimeException e) {
+            // not serializable, so it cannot be on disk
+            return null;
+        }
+    }
+
+    /**
+     * A mapping in the cache. The value, weight and write time are only modified while the map holds the
+     * lock of the node's bin, the timer fields only under the eviction lock.
+     */
+    static final class Node {
+        private static final Object SENTINEL = new Object();
+
+        final Object key;
+        volatile Object value;
+        volatile int weight;
+        volatile boolean referenced;
+        volatile boolean retired;
+        volatile long writeTime;
+        volatile long accessTime;
+
+        long variableTime;
+        @Nullable Node previousInTimer;
+        @Nullable Node nextInTimer;
+
+        Node(Object key, Object value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+
+        /**
+         * Returns the head of an empty, circular timer wheel bucket.
+         */
+        static Node sentinel() {
+            Node sentinel = new Node(SENTINEL, SENTINEL, 0);
+            sentinel.previousInTimer = sentinel;
+            sentinel.nextInTimer = sentinel;
+            return sentinel;
+        }
+
+        /**
+         * Sets the referenced bit, avoiding the write if it is already set to keep the cache line shared.
+         */
+        void markReferenced() {
+            if (!referenced) {
+                referenced = true;
+            }
+        }
+    }
+
+    /**
+     * A live view of the cache's unexpired entries, writing modifications through to the cache.
+     */
+    private final class EntrySetView extends AbstractSet<Map.Entry<Object, Object>> {
+
+        @Override
+        public Iterator<Map.Entry<Object, Object>> iterator() {
+            Iterator<Node> nodes = data.values().iterator();
+            long now = expires() ? ticker.read() : 0L;
+            return new Iterator<>() {
+                private @Nullable Node next;
+                private @Nullable Node current;
+
+                @Override
+                public boolean hasNext() {
+                    while ((next == null) && nodes.hasNext()) {
+                        Node node = nodes.next();
+                        if (!hasExpired(node, now)) {
+                            next = node;
+                        }
+                    }
+                    return next != null;
+                }
+
+                @Override
+                public Map.Entry<Object, Object> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Node node = requireNonNull(next);
+                    current = node;
+                    next = null;
+                    return new WriteThroughEntry(node.key, node.value);
+                }
+
+                @Override
+                public void remove() {
+                    Node node = current;
+                    if (node == null) {
+                        throw new IllegalStateException();
+                    }
+                    BoundedSimpleCache.this.remove(node.key, node.value);
+                    current = null;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return BoundedSimpleCache.this.size();
+        }
+
+        @Override
+        public void clear() {
+            BoundedSimpleCache.this.clear();
+        }
+    }
+
+    /**
+     * An entry that writes {@link #setValue} through to the cache.
+     */
+    private final class WriteThroughEntry extends AbstractMap.SimpleEntry<Object, Object> {
+        private static final long serialVersionUID = 1L;
+
+        WriteThroughEntry(Object key, Object value) {
+            super(key, value);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            BoundedSimpleCache.this.put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package spring.caches.backend.simple;
 
 import spring.caches.backend.simple.stats.CacheStats;
 
+import java.io.IOException;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentMap;
 
@@ -35,4 +37,30 @@ public interface Cache {
      * Discards all entries in the cache.
      */
     void invalidateAll(Iterable<?> keys);
+
+    /**
+     * Passes each entry that has not expired to the visitor, along with the nanoseconds it has left to live.
+     */
+    default void forEachEntry(EntryVisitor visitor) throws IOException {
+        for (Map.Entry<Object, Object> entry : asMap().entrySet()) {
+            visitor.visit(entry.getKey(), entry.getValue(), Long.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Receives the entries of a cache.
+     */
+    @FunctionalInterface
+    interface EntryVisitor {
+
+        /**
+         * Visits an entry.
+         *
+         * @param key             the key of the entry
+         * @param value           the value of the entry
+         * @param timeToLiveNanos the nanoseconds the entry has left to live, or {@link Long#MAX_VALUE} if it
+         *                        does not expire
+         */
+        void visit(Object key, Object value, long timeToLiveNanos) throws IOException;
+    }
 }
@@ -0,0 +1,564 @@
+package spring.caches.backend.simple;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import spring.caches.backend.simple.stats.StatsCounter;
+
+import java.io.IOException;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static spring.caches.backend.simple.LongLongHashMap.NO_VALUE;
+
+/**
+ * The disk tier of a {@link BoundedSimpleCache}, which holds the serialized entries the cache evicts from
+ * memory until they are read again, and are promoted back to memory, or dropped.
+ *
+ * <p>Entries are appended to a log of fixed-size segments, i.e. files that are mapped into memory, so that
+ * the operating system pages them in and out. An index maps a 64-bit hash of each serialized key to the
+ * address of its latest record, that is the number of its segment and its position in the segment. Two keys
+ * with the same hash displace each other. A record that is replaced, removed or promoted is dead; once most
+ * of the bytes of a full segment are dead, the segment is compacted in the background by copying its live
+ * records to the head of the log. When the log reaches its capacity, a segment without live records, if
+ * any, or else the oldest segment is dropped along with its entries.
+ *
+ * <p>Segment files are deleted as soon as they are mapped, so that a process that dies leaves nothing behind;
+ * their space is reclaimed once their mapping is garbage collected.
+ */
+final class DiskOverflow {
+
+    static final long MIN_CAPACITY = 1024 * 1024;
+
+    private static final Logger LOGGER = System.getLogger(DiskOverflow.class.getName());
+
+    private static final int MIN_SEGMENT_SIZE = 128 * 1024;
+    private static final int MAX_SEGMENT_SIZE = 256 * 1024 * 1024;
+    private static final int MIN_SEGMENTS = 8;
+
+    /**
+     * The hash, write time and access time of the entry, and the lengths of its key and value.
+     */
+    private static final int HEADER = Long.BYTES * 3 + Integer.BYTES * 2;
+    private static final int WRITE_TIME = Long.BYTES;
+    private static final int ACCESS_TIME = Long.BYTES * 2;
+    private static final int KEY_LENGTH = Long.BYTES * 3;
+    private static final int VALUE_LENGTH = KEY_LENGTH + Integer.BYTES;
+
+    /**
+     * The share of dead bytes above which a full segment is compacted.
+     */
+    private static final double COMPACTION_THRESHOLD = 0.5;
+
+    private static final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "spring-caches-disk-compaction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final Ticker ticker;
+    private final Expiry expiry;
+    private final StatsCounter statsCounter;
+    private final boolean isRecordingStats;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final LongLongHashMap index = new LongLongHashMap(1024);
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private final Map<Integer, Segment> segmentsById = new HashMap<>();
+    private @Nullable Segment head;
+    private int nextSegmentId;
+    private volatile int entries;
+
+    DiskOverflow(Path directory, long capacity, Ticker ticker, Expiry expiry, StatsCounter statsCounter,
+                 boolean isRecordingStats) {
+        this.directory = directory;
+        this.segmentSize = (int) Math.max(MIN_SEGMENT_SIZE, Math.min(MAX_SEGMENT_SIZE, capacity / MIN_SEGMENTS));
+        this.maxSegments = (int) Math.max(2L, capacity / segmentSize);
+        this.ticker = ticker;
+        this.expiry = expiry;
+        this.statsCounter = statsCounter;
+        this.isRecordingStats = isRecordingStats;
+    }
+
+    /**
+     * Returns the number of entries on disk.
+     */
+    int size() {
+        return entries;
+    }
+
+    boolean isEmpty() {
+        return entries == 0;
+    }
+
+    /**
+     * Returns the number of bytes written to the segments, live or dead.
+     */
+    long usedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (Segment segment : segments) {
+                bytes += segment.position;
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of bytes of the live records.
+     */
+    long liveBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (Segment segment : segments) {
+                bytes += segment.liveBytes;
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Appends an entry, replacing the previous record of its key.
+     *
+     * @return {@code false} if the entry cannot be stored, i.e. it is larger than a segment or the disk is full
+     */
+    boolean put(byte[] key, byte[] value, long writeTime, long accessTime) {
+        long length = (long) HEADER + key.length + value.length;
+        if (length > segmentSize) {
+            return false;
+        }
+        long hash = hash(key);
+        lock.writeLock().lock();
+        try {
+            Segment segment = headFor((int) length, false);
+            int position = segment.append(hash, writeTime, accessTime, key, value);
+            long previous = index.put(hash, address(segment.id, position));
+            if (previous != NO_VALUE) {
+                markDead(previous);
+            }
+            entries = index.size();
+            return true;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not map a segment of the disk overflow in " + directory, e);
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the record of the key, or {@code null} if the key is not on disk.
+     */
+    @Nullable Record find(byte[] key) {
+        long hash = hash(key);
+        lock.readLock().lock();
+        try {
+            long address = index.get(hash);
+            if (address == NO_VALUE) {
+                return null;
+            }
+            Segment segment = segmentsById.get(segmentOf(address));
+            if (segment == null) {
+                return null;
+            }
+            ByteBuffer buffer = segment.buffer.duplicate();
+            int position = positionOf(address);
+            int keyLength = buffer.getInt(position + KEY_LENGTH);
+            if (keyLength != key.length) {
+                return null;
+            }
+            int keyStart = position + HEADER;
+            for (int i = 0; i < keyLength; i++) {
+                if (buffer.get(keyStart + i) != key[i]) {
+                    return null;
+                }
+            }
+            byte[] value = new byte[buffer.getInt(position + VALUE_LENGTH)];
+            buffer.position(keyStart + keyLength);
+            buffer.get(value);
+            return new Record(address, buffer.getLong(position + WRITE_TIME), buffer.getLong(position + ACCESS_TIME),
+                    value);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the record of the key.
+     *
+     * @return whether the key was on disk
+     */
+    boolean remove(byte[] key) {
+        long hash = hash(key);
+        lock.writeLock().lock();
+        try {
+            long address = index.remove(hash);
+            if (address == NO_VALUE) {
+                return false;
+            }
+            markDead(address);
+            entries = index.size();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the record of the key if it is still the given one.
+     *
+     * @return whether the record was removed
+     */
+    boolean remove(byte[] key, Record record) {
+        long hash = hash(key);
+        lock.writeLock().lock();
+        try {
+            if (!index.remove(hash, record.address)) {
+                return false;
+            }
+            markDead(record.address);
+            entries = index.size();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops all entries.
+     */
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            index.clear();
+            segments.clear();
+            segmentsById.clear();
+            head = null;
+            entries = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Compacts the segments that are due, one after the other. Runs on the compaction thread.
+     */
+    void compact() {
+        try {
+            Segment segment;
+            while ((segment = nextToCompact()) != null) {
+                compact(segment);
+            }
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    /**
+     * Returns the head of the log once it has room for the given number of bytes, rolling over to a new
+     * segment if it has not. Must be called under the write lock.
+     *
+     * @param compaction whether the bytes are relocated by the compaction, which may exceed the capacity by a
+     *                   segment until the compacted segment is released, rather than drop live entries
+     */
+    private Segment headFor(int length, boolean compaction) throws IOException {
+        Segment segment = head;
+        if ((segment != null) && (segment.remaining() >= length)) {
+            return segment;
+        }
+        if (segment != null) {
+            segment.sealed = true;
+            if (segment.isDue()) {
+                scheduleCompaction();
+            }
+        }
+        while (!compaction && (segments.size() >= maxSegments)) {
+            dropSegment();
+        }
+        segment = new Segment(nextSegmentId++, map());
+        segments.addLast(segment);
+        segmentsById.put(segment.id, segment);
+        head = segment;
+        return segment;
+    }
+
+    /**
+     * Drops a segment without live records, if any, or else the oldest segment. Must be called under the
+     * write lock.
+     */
+    private void dropSegment() {
+        Segment dropped = null;
+        for (Segment segment : segments) {
+            if (segment.liveBytes == 0L) {
+                dropped = segment;
+                break;
+            }
+        }
+        if (dropped == null) {
+            dropped = segments.getFirst();
+        }
+        segments.remove(dropped);
+        segmentsById.remove(dropped.id);
+        if (head == dropped) {
+            head = null;
+        }
+
+        ByteBuffer buffer = dropped.buffer.duplicate();
+        int evicted = 0;
+        for (int position = 0; position < dropped.position; position += length(buffer, position)) {
+            if (index.remove(buffer.getLong(position), address(dropped.id, position))) {
+                evicted++;
+            }
+        }
+        entries = index.size();
+        if (isRecordingStats && (evicted > 0)) {
+            statsCounter.recordEviction(evicted);
+        }
+    }
+
+    /**
+     * Accounts for a record that is no longer indexed. Must be called under the write lock.
+     */
+    private void markDead(long address) {
+        Segment segment = segmentsById.get(segmentOf(address));
+        if (segment == null) {
+            return;
+        }
+        segment.liveBytes -= length(segment.buffer, positionOf(address));
+        if (segment.sealed && segment.isDue()) {
+            scheduleCompaction();
+        }
+    }
+
+    private void scheduleCompaction() {
+        if (compacting.compareAndSet(false, true)) {
+            COMPACTOR.execute(this::compact);
+        }
+    }
+
+    /**
+     * Returns the full segment with the smallest share of live bytes among those that are due.
+     */
+    private @Nullable Segment nextToCompact() {
+        lock.readLock().lock();
+        try {
+            Segment next = null;
+            for (Segment segment : segments) {
+                if (!segment.sealed || !segment.isDue()) {
+                    continue;
+                }
+                if ((next == null) || ((segment.liveBytes * next.position) < (next.liveBytes * segment.position))) {
+                    next = segment;
+                }
+            }
+            return next;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copies the live records of the segment to the head of the log, drops its expired records and releases
+     * it. The records are read without the lock, as a full segment is not written to anymore, and each one is
+     * relocated under the write lock if the index still points to it.
+     */
+    private void compact(Segment segment) {
+        ByteBuffer buffer = segment.buffer.duplicate();
+        long now = ticker.read();
+        int expired = 0;
+        for (int position = 0; position < segment.position; ) {
+            int length = length(buffer, position);
+            long hash = buffer.getLong(position);
+            long address = address(segment.id, position);
+            boolean hasExpired = expiry.hasExpired(
+                    buffer.getLong(position + WRITE_TIME), buffer.getLong(position + ACCESS_TIME), now);
+            byte[] record = null;
+            if (!hasExpired) {
+                record = new byte[length];
+                buffer.position(position);
+                buffer.get(record);
+            }
+
+            lock.writeLock().lock();
+            try {
+                if (index.get(hash) == address) {
+                    if (record == null) {
+                        index.remove(hash);
+                        expired++;
+                    } else {
+                        Segment target = headFor(length, true);
+                        index.put(hash, address(target.id, target.append(record)));
+                    }
+                    segment.liveBytes -= length;
+                }
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Could not compact a segment of the disk overflow in " + directory, e);
+                return;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            position += length;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (segmentsById.remove(segment.id) != null) {
+                segments.remove(segment);
+            }
+            entries = index.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (isRecordingStats && (expired > 0)) {
+            statsCounter.recordEviction(expired);
+        }
+    }
+
+    /**
+     * Creates a segment file, maps it into memory and deletes it.
+     */
+    private MappedByteBuffer map() throws IOException {
+        Files.createDirectories(directory);
+        Path file = Files.createTempFile(directory, "simple-cache-", ".segment");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        } finally {
+            try {
+                Files.delete(file);
+            } catch (IOException e) {
+                // the file cannot be deleted while it is mapped on some platforms
+                file.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    private static int length(ByteBuffer buffer, int position) {
+        return HEADER + buffer.getInt(position + KEY_LENGTH) + buffer.getInt(position + VALUE_LENGTH);
+    }
+
+    private static long address(int segmentId, int position) {
+        return ((long) segmentId << Integer.SIZE) | position;
+    }
+
+    private static int segmentOf(long address) {
+        return (int) (address >>> Integer.SIZE);
+    }
+
+    private static int positionOf(long address) {
+        return (int) address;
+    }
+
+    /**
+     * Returns a 64-bit hash of the serialized key: FNV-1a, followed by the finalizer of MurmurHash3 to spread
+     * the bits. The hash is never 0, which the index reserves.
+     */
+    static long hash(byte[] key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53ec5a9L;
+        h ^= h >>> 33;
+        return (h == 0L) ? 1L : h;
+    }
+
+    /**
+     * Decides whether an entry on disk has expired, by the times it was written and last accessed in memory.
+     */
+    @FunctionalInterface
+    interface Expiry {
+
+        boolean hasExpired(long writeTime, long accessTime, long now);
+    }
+
+    /**
+     * An entry read from disk.
+     */
+    static final class Record {
+        final long address;
+        final long writeTime;
+        final long accessTime;
+        final byte[] value;
+
+        Record(long address, long writeTime, long accessTime, byte[] value) {
+            this.address = address;
+            this.writeTime = writeTime;
+            this.accessTime = accessTime;
+            this.value = value;
+        }
+    }
+
+    /**
+     * A mapped segment of the log. Its fields are guarded by the write lock; once it is full, its bytes are
+     * not modified anymore.
+     */
+    private final class Segment {
+        final int id;
+        final MappedByteBuffer buffer;
+        int position;
+        long liveBytes;
+        boolean sealed;
+
+        Segment(int id, MappedByteBuffer buffer) {
+            this.id = id;
+            this.buffer = buffer;
+        }
+
+        int remaining() {
+            return buffer.capacity() - position;
+        }
+
+        /**
+         * Returns whether most of the bytes of the segment are dead.
+         */
+        boolean isDue() {
+            return liveBytes < (position * COMPACTION_THRESHOLD);
+        }
+
+        int append(long hash, long writeTime, long accessTime, byte[] key, byte[] value) {
+            int start = position;
+            buffer.position(start);
+            buffer.putLong(hash).putLong(writeTime).putLong(accessTime).putInt(key.length).putInt(value.length)
+                    .put(key).put(value);
+            return advance(start);
+        }
+
+        int append(byte[] record) {
+            int start = position;
+            buffer.position(start);
+            buffer.put(record);
+            return advance(start);
+        }
+
+        private int advance(int start) {
+            position = buffer.position();
+            liveBytes += position - start;
+            return start;
+        }
+    }
+}
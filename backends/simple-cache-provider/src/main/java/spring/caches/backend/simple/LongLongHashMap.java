@@ -0,0 +1,189 @@
+package spring.caches.backend.simple;
+
+import static spring.caches.backend.simple.Simple.requireArgument;
+
+/**
+ * A hash map of primitive {@code long} keys to {@code long} values, so that an index of millions of entries
+ * costs two arrays rather than millions of boxed entries.
+ *
+ * <p>The map uses open addressing with linear probing and removes entries by shifting the following entries
+ * of their cluster back, so it needs no tombstones. The key 0 marks an empty slot and cannot be mapped. The
+ * map is not thread-safe.
+ */
+final class LongLongHashMap {
+
+    /**
+     * The value returned for an absent key.
+     */
+    static final long NO_VALUE = -1L;
+
+    private static final int MIN_CAPACITY = 16;
+    private static final double LOAD_FACTOR = 0.6;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    LongLongHashMap(int expectedSize) {
+        int capacity = capacityFor(expectedSize);
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Returns the number of mappings.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the value of the key, or {@link #NO_VALUE} if it is absent.
+     */
+    long get(long key) {
+        requireArgument(key != 0L, "key cannot be 0");
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                return values[slot];
+            }
+            if (current == 0L) {
+                return NO_VALUE;
+            }
+        }
+    }
+
+    /**
+     * Maps the key to the value.
+     *
+     * @return the previous value of the key, or {@link #NO_VALUE} if it was absent
+     */
+    long put(long key, long value) {
+        requireArgument(key != 0L, "key cannot be 0");
+        int slot = slot(key);
+        while (keys[slot] != 0L) {
+            if (keys[slot] == key) {
+                long previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeAt) {
+            resize();
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * Removes the mapping of the key.
+     *
+     * @return the value of the key, or {@link #NO_VALUE} if it was absent
+     */
+    long remove(long key) {
+        requireArgument(key != 0L, "key cannot be 0");
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                long value = values[slot];
+                removeAt(slot);
+                return value;
+            }
+            if (current == 0L) {
+                return NO_VALUE;
+            }
+        }
+    }
+
+    /**
+     * Removes the mapping of the key if it is mapped to the value.
+     *
+     * @return whether the mapping was removed
+     */
+    boolean remove(long key, long value) {
+        requireArgument(key != 0L, "key cannot be 0");
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                if (values[slot] != value) {
+                    return false;
+                }
+                removeAt(slot);
+                return true;
+            }
+            if (current == 0L) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Removes all mappings and releases the arrays of a grown map.
+     */
+    void clear() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Empties the slot and shifts the following entries of its cluster back, unless that would move an
+     * entry before the slot it hashes to.
+     */
+    private void removeAt(int slot) {
+        int gap = slot;
+        for (int i = (slot + 1) & mask; keys[i] != 0L; i = (i + 1) & mask) {
+            int home = slot(keys[i]);
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = 0L;
+        values[gap] = 0L;
+        size--;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != 0L) {
+                int slot = slot(key);
+                while (keys[slot] != 0L) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        size = 0;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long capacity = Math.max(MIN_CAPACITY, (long) Math.ceil(Math.max(0, expectedSize) / LOAD_FACTOR));
+        return (int) Math.min(1 << 30, Long.highestOneBit(capacity - 1) << 1);
+    }
+
+    /**
+     * Spreads the key with the golden ratio, as the keys may be e.g. offsets rather than hashes.
+     */
+    private int slot(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+}
@@ -0,0 +1,477 @@
+package spring.caches.backend.simple;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import spring.caches.backend.simple.stats.CacheStats;
+import spring.caches.backend.simple.stats.StatsCounter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link Cache} that keeps its entries outside of the Java heap, bounded by a number of bytes.
+ *
+ * <p>Keys and values are serialized with Java serialization and stored in direct memory, see
+ * {@link SlabSegment}. The cache is split into segments that are each guarded by a lock and own an equal
+ * share of the capacity. Because the entries are serialized, a read returns a copy of the value, and
+ * keys are compared by their serialized form.
+ *
+ * <p>An entry that is larger than a slab, i.e. a 64th of a segment's capacity but at most 1 MiB, is not
+ * stored.
+ */
+final class OffHeapSimpleCache extends AbstractMap<Object, Object> implements ConcurrentMap<Object, Object>, Cache {
+
+    static final long MIN_CAPACITY = 64 * 1024;
+
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_SLAB_SIZE = 16 * 1024;
+    private static final int MAX_SLAB_SIZE = 1024 * 1024;
+
+    /**
+     * The minimum number of slabs per segment, so that the size classes can share the capacity.
+     */
+    private static final int MIN_SLABS = 64;
+
+    private final SlabSegment[] segments;
+    private final int segmentShift;
+    private final Converter<Object, byte[]> serializer = new SerializingConverter();
+    private final Converter<byte[], Object> deserializer = new DeserializingConverter();
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    private final StatsCounter statsCounter;
+    private final boolean isRecordingStats;
+    private final Ticker ticker;
+    private final LoadTimeListeners loadTimeListeners = new LoadTimeListeners();
+
+    private @Nullable Set<Map.Entry<Object, Object>> entrySet;
+
+    OffHeapSimpleCache(Simple builder) {
+        statsCounter = builder.getStatsCounterSupplier().get();
+        isRecordingStats = builder.isRecordingStats();
+        ticker = builder.getTicker();
+
+        long capacity = builder.getOffHeapCapacity();
+        int segmentCount = 1;
+        while ((segmentCount < MAX_SEGMENTS)
+                && (capacity / (2L * segmentCount) >= (long) MIN_SLABS * MIN_SLAB_SIZE)) {
+            segmentCount <<= 1;
+        }
+        long segmentCapacity = capacity / segmentCount;
+        int slabSize = (int) Math.min(MAX_SLAB_SIZE, segmentCapacity / MIN_SLABS);
+
+        segments = new SlabSegment[segmentCount];
+        segmentShift = Integer.SIZE - Integer.numberOfTrailingZeros(segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new SlabSegment(segmentCapacity, slabSize, statsCounter, isRecordingStats);
+        }
+    }
+
+    @Override
+    public Object get(Object key) {
+        byte[] keyBytes = serialize(key);
+        int hash = hash(keyBytes);
+        byte[] value = segmentFor(hash).get(hash, keyBytes);
+
+        if (isRecordingStats) {
+            if (value != null) {
+                statsCounter.recordHits(1);
+            } else {
+                statsCounter.recordMisses(1);
+            }
+        }
+        return (value == null) ? null : deserialize(value);
+    }
+
+    @Override
+    public Object get(Object key, Callable<Object> valueLoader) {
+        return computeIfAbsent(key, k -> {
+            try {
+                return valueLoader.call();
+            } catch (Exception ex) {
+                throw new org.springframework.cache.Cache.ValueRetrievalException(key, valueLoader, ex);
+            }
+        });
+    }
+
+    /**
+     * Loads an absent value at most once at a time per key. The loading caller registers a future in an
+     * on-heap map of the keys that are currently being loaded and runs the function outside of the map's
+     * locks, so that it may read other keys of the cache; concurrent callers wait for the future.
+     */
+    @Override
+    public Object computeIfAbsent(Object key, Function<? super Object, ?> mappingFunction) {
+        requireNonNull(mappingFunction);
+        byte[] keyBytes = serialize(key);
+        int hash = hash(keyBytes);
+        SlabSegment segment = segmentFor(hash);
+
+        byte[] present = segment.get(hash, keyBytes);
+        if (present != null) {
+            if (isRecordingStats) {
+                statsCounter.recordHits(1);
+            }
+            return deserialize(present);
+        }
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = loading.putIfAbsent(key, future);
+        if (inFlight != null) {
+            Object value = join(inFlight);
+            if (isRecordingStats) {
+                if (value != null) {
+                    statsCounter.recordHits(1);
+                } else {
+                    statsCounter.recordMisses(1);
+                }
+            }
+            return value;
+        }
+
+        try {
+            Object value;
+            byte[] current = segment.get(hash, keyBytes);
+            if (current != null) {
+                if (isRecordingStats) {
+                    statsCounter.recordHits(1);
+                }
+                value = deserialize(current);
+            } else if (!isRecordingStats) {
+                value = store(segment, hash, keyBytes, mappingFunction.apply(key));
+            } else {
+                statsCounter.recordMisses(1);
+                value = store(segment, hash, keyBytes,
+                        new StatsAwareFunction(mappingFunction, statsCounter, ticker, loadTimeListeners).apply(key));
+            }
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    /**
+     * Waits for the load of another thread and returns its value, or rethrows its exception.
+     */
+    private static @Nullable Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Stores the loaded value, if any, and returns it.
+     */
+    private @Nullable Object store(SlabSegment segment, int hash, byte[] keyBytes, @Nullable Object loaded) {
+        if (loaded != null) {
+            segment.put(hash, keyBytes, serialize(loaded), false);
+        }
+        return loaded;
+    }
+
+    @Override
+    public Object put(Object key, Object value) {
+        requireNonNull(value);
+        byte[] keyBytes = serialize(key);
+        int hash = hash(keyBytes);
+        byte[] previous = segmentFor(hash).put(hash, keyBytes, serialize(value), false);
+
+        if (isRecordingStats) {
+            statsCounter.recordLoads(1);
+        }
+        return (previous == null) ? null : deserialize(previous);
+    }
+
+    @Override
+    public Object putIfAbsent(Object key, Object value) {
+        requireNonNull(value);
+        byte[] keyBytes = serialize(key);
+        int hash = hash(keyBytes);
+        byte[] previous = segmentFor(hash).put(hash, keyBytes, serialize(value), true);
+
+        if (previous != null) {
+            return deserialize(previous);
+        }
+        if (isRecordingStats) {
+            statsCounter.recordLoads(1);
+        }
+        return null;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        byte[] keyBytes = serialize(key);
+        int hash = hash(keyBytes);
+        byte[] previous = segmentFor(hash).remove(hash, keyBytes, null);
+        if (previous == null) {
+            return null;
+        }
+
+        if (isRecordingStats) {
+            statsCounter.recordEviction(1);
+        }
+        return deserialize(previous);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        if (value == null) {
+            return false;
+        }
+        byte[] keyBytes = serialize(key);
+        int hash = hash(keyBytes);
+        if (segmentFor(hash).remove(hash, keyBytes, serialize(value)) == null) {
+            return false;
+        }
+
+        if (isRecordingStats) {
+            statsCounter.recordEviction(1);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean replace(Object key, Object oldValue, Object newValue) {
+        requireNonNull(oldValue);
+        requireNonNull(newValue);
+        byte[] keyBytes = serialize(key);
+        int hash = hash(keyBytes);
+        return segmentFor(hash).replace(hash, keyBytes, serialize(oldValue), serialize(newValue)) != null;
+    }
+
+    @Override
+    public Object replace(Object key, Object value) {
+        requireNonNull(value);
+        byte[] keyBytes = serialize(key);
+        int hash = hash(keyBytes);
+        byte[] previous = segmentFor(hash).replace(hash, keyBytes, null, serialize(value));
+        return (previous == null) ? null : deserialize(previous);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        byte[] keyBytes = serialize(key);
+        int hash = hash(keyBytes);
+        return segmentFor(hash).containsKey(hash, keyBytes);
+    }
+
+    @Override
+    public int size() {
+        long size = estimatedSize();
+        return (size > Integer.MAX_VALUE) ? Integer.MAX_VALUE : (int) size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return estimatedSize() == 0;
+    }
+
+    @Override
+    public void clear() {
+        for (SlabSegment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<Object, Object>> entrySet() {
+        Set<Map.Entry<Object, Object>> es = entrySet;
+        if (es == null) {
+            es = new EntrySetView();
+            entrySet = es;
+        }
+        return es;
+    }
+
+    /**
+     * Visits the entries one segment at a time, deserializing each entry only when it is visited, so that
+     * the entries are not copied to the heap all at once. Each segment is locked while it is visited.
+     */
+    @Override
+    public void forEachEntry(EntryVisitor visitor) throws IOException {
+        try {
+            for (SlabSegment segment : segments) {
+                segment.forEach((key, value) -> {
+                    try {
+                        visitor.visit(deserialize(key), deserialize(value), Long.MAX_VALUE);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Returns the listeners of the load times, which are only called while statistics are recorded.
+     */
+    LoadTimeListeners loadTimeListeners() {
+        return loadTimeListeners;
+    }
+
+    @Override
+    public CacheStats stats() {
+        return statsCounter.snapshot();
+    }
+
+    @Override
+    public long estimatedSize() {
+        long size = 0;
+        for (SlabSegment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    @Override
+    public ConcurrentMap<Object, Object> asMap() {
+        return this;
+    }
+
+    @Override
+    public void invalidate(Object key) {
+        remove(key);
+    }
+
+    @Override
+    public void invalidateAll() {
+        clear();
+    }
+
+    @Override
+    public void invalidateAll(Iterable<?> keys) {
+        for (Object key : keys) {
+            remove(key);
+        }
+    }
+
+    /**
+     * Returns the number of off-heap bytes that hold entries, including the unused tail of their chunks.
+     */
+    long offHeapUsedBytes() {
+        long bytes = 0;
+        for (SlabSegment segment : segments) {
+            bytes += segment.usedBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the number of bytes of direct memory allocated by the cache.
+     */
+    long offHeapAllocatedBytes() {
+        long bytes = 0;
+        for (SlabSegment segment : segments) {
+            bytes += segment.allocatedBytes();
+        }
+        return bytes;
+    }
+
+    private SlabSegment segmentFor(int hash) {
+        return (segments.length == 1) ? segments[0] : segments[hash >>> segmentShift];
+    }
+
+    private byte[] serialize(Object object) {
+        return requireNonNull(serializer.convert(requireNonNull(object)));
+    }
+
+    private Object deserialize(byte[] bytes) {
+        return requireNonNull(deserializer.convert(bytes));
+    }
+
+    /**
+     * Applies a supplemental hash function (the finalizer of MurmurHash3) to the serialized key, as the
+     * index uses the low bits and the segments the high bits.
+     */
+    private static int hash(byte[] keyBytes) {
+        int h = Arrays.hashCode(keyBytes);
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * A view of the cache's entries that deserializes a snapshot of each segment when iterated, and
+     * writes removals through to the cache.
+     */
+    private final class EntrySetView extends AbstractSet<Map.Entry<Object, Object>> {
+
+        @Override
+        public Iterator<Map.Entry<Object, Object>> iterator() {
+            List<Map.Entry<Object, Object>> entries = new ArrayList<>();
+            for (SlabSegment segment : segments) {
+                segment.forEach((key, value) ->
+                        entries.add(new AbstractMap.SimpleImmutableEntry<>(deserialize(key), deserialize(value))));
+            }
+
+            Iterator<Map.Entry<Object, Object>> iterator = entries.iterator();
+            return new Iterator<>() {
+                private Map.@Nullable Entry<Object, Object> current;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Map.Entry<Object, Object> next() {
+                    current = iterator.next();
+                    return current;
+                }
+
+                @Override
+                public void remove() {
+                    Map.Entry<Object, Object> entry = current;
+                    if (entry == null) {
+                        throw new IllegalStateException();
+                    }
+                    OffHeapSimpleCache.this.remove(entry.getKey(), entry.getValue());
+                    current = null;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return OffHeapSimpleCache.this.size();
+        }
+
+        @Override
+        public void clear() {
+            OffHeapSimpleCache.this.clear();
+        }
+    }
+}
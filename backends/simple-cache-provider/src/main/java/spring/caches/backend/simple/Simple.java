@@ -5,23 +5,43 @@ import com.google.errorprone.annotations.FormatMethod;
 import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.springframework.cache.support.NullValue;
+import spring.caches.backend.Refresher;
 import spring.caches.backend.simple.stats.CacheStats;
 import spring.caches.backend.simple.stats.ConcurrentStatsCounter;
 import spring.caches.backend.simple.stats.StatsCounter;
+import spring.caches.backend.simple.stats.StripedStatsCounter;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import static java.util.Objects.requireNonNull;
 
 /**
- * Simple builder for creating instances of {@link UnboundedSimpleCache}.
+ * Simple builder for creating instances of {@link UnboundedSimpleCache}, {@link BoundedSimpleCache} when a
+ * maximum size, weight or an expiration is configured, or {@link OffHeapSimpleCache} when an off-heap
+ * capacity is configured.
  */
 final class Simple {
 
     public static final int UNSET_INT = -1;
     private static final int DEFAULT_INITIAL_CAPACITY = 16;
     private static final Supplier<StatsCounter> ENABLED_STATS_COUNTER_SUPPLIER = ConcurrentStatsCounter::new;
+    private static final Supplier<StatsCounter> STRIPED_STATS_COUNTER_SUPPLIER = StripedStatsCounter::new;
     private int initialCapacity = UNSET_INT;
+    private long maximumSize = UNSET_INT;
+    private long maximumWeight = UNSET_INT;
+    private @Nullable Weigher weigher;
+    private long expireAfterWriteNanos = UNSET_INT;
+    private long expireAfterAccessNanos = UNSET_INT;
+    private long refreshAfterWriteNanos = UNSET_INT;
+    private @Nullable Executor executor;
+    private @Nullable Ticker ticker;
+    private long offHeapCapacity = UNSET_INT;
+    private @Nullable Path diskOverflowDirectory;
+    private long diskOverflowCapacity = UNSET_INT;
 
     private boolean allowNullValues = true;
     private @Nullable Supplier<StatsCounter> statsCounterSupplier;
@@ -42,6 +62,16 @@ final class Simple {
         }
     }
 
+    /**
+     * Ensures that the state expression is true.
+     */
+    @FormatMethod
+    static void requireState(boolean expression, String template, @Nullable Object... args) {
+        if (!expression) {
+            throw new IllegalStateException(String.format(template, args));
+        }
+    }
+
     public static Simple newBuilder() {
         return new Simple();
     }
@@ -100,8 +130,301 @@ final class Simple {
         return hasInitialCapacity() ? initialCapacity : DEFAULT_INITIAL_CAPACITY;
     }
 
+    /**
+     * Specifies the maximum number of entries the cache may contain. When the size is exceeded, the
+     * cache evicts an entry that has not been used recently, following the CLOCK policy. Note that
+     * the cache may briefly exceed the maximum while a concurrent write performs the eviction.
+     *
+     * <p>This feature cannot be used in conjunction with {@link #maximumWeight}.
+     *
+     * @param maximumSize the maximum size of the cache
+     * @return this {@code Simple} instance (for chaining)
+     * @throws IllegalArgumentException if {@code maximumSize} is negative
+     * @throws IllegalStateException    if a maximum size or weight was already set
+     */
+    public Simple maximumSize(@NonNegative long maximumSize) {
+        requireState(this.maximumSize == UNSET_INT, "maximum size was already set to %s", this.maximumSize);
+        requireState(this.maximumWeight == UNSET_INT, "maximum weight was already set to %s", this.maximumWeight);
+        requireState(this.weigher == null, "maximum size can not be combined with weigher");
+        requireArgument(maximumSize >= 0, "maximum size must not be negative");
+        this.maximumSize = maximumSize;
+        return this;
+    }
+
+    /**
+     * Specifies the maximum weight of entries the cache may contain. Weight is determined using the
+     * {@link Weigher} specified with {@link #weigher}, or one per entry if none was specified. When the
+     * weight is exceeded, the cache evicts entries that have not been used recently, following the
+     * CLOCK policy.
+     *
+     * <p>This feature cannot be used in conjunction with {@link #maximumSize}.
+     *
+     * @param maximumWeight the maximum total weight of entries the cache may contain
+     * @return this {@code Simple} instance (for chaining)
+     * @throws IllegalArgumentException if {@code maximumWeight} is negative
+     * @throws IllegalStateException    if a maximum size or weight was already set
+     */
+    public Simple maximumWeight(@NonNegative long maximumWeight) {
+        requireState(this.maximumWeight == UNSET_INT, "maximum weight was already set to %s", this.maximumWeight);
+        requireState(this.maximumSize == UNSET_INT, "maximum size was already set to %s", this.maximumSize);
+        requireArgument(maximumWeight >= 0, "maximum weight must not be negative");
+        this.maximumWeight = maximumWeight;
+        return this;
+    }
+
+    /**
+     * Specifies the weigher to use in determining the weight of entries. Entry weight is taken into
+     * consideration by {@link #maximumWeight(long)} when determining which entries to evict.
+     *
+     * @param weigher the weigher to use in calculating the weight of cache entries
+     * @return this {@code Simple} instance (for chaining)
+     * @throws IllegalStateException if a weigher was already set or {@link #maximumSize} was previously called
+     */
+    public Simple weigher(Weigher weigher) {
+        requireNonNull(weigher);
+        requireState(this.weigher == null, "weigher was already set to %s", this.weigher);
+        requireState(this.maximumSize == UNSET_INT, "weigher can not be combined with maximum size");
+        this.weigher = weigher;
+        return this;
+    }
+
+    /**
+     * Returns the number of nanoseconds of the given duration without throwing or overflowing.
+     */
+    private static long saturatedToNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException tooBig) {
+            return duration.isNegative() ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    boolean isBounded() {
+        return (maximumSize != UNSET_INT) || (maximumWeight != UNSET_INT);
+    }
+
+    long getMaximum() {
+        if (!isBounded()) {
+            return Long.MAX_VALUE;
+        }
+        return (maximumWeight == UNSET_INT) ? maximumSize : maximumWeight;
+    }
+
+    Weigher getWeigher() {
+        return (weigher == null) ? Weigher.singletonWeigher() : weigher;
+    }
+
+    /**
+     * Specifies that each entry should be automatically removed from the cache once a fixed duration
+     * has elapsed after the entry's creation, or the most recent replacement of its value. Expired
+     * entries are reported as misses and are removed by the next write that advances the timer wheel.
+     *
+     * @param duration the length of time after an entry is created that it should be automatically removed
+     * @return this {@code Simple} instance (for chaining)
+     * @throws IllegalArgumentException if {@code duration} is negative
+     * @throws IllegalStateException    if the time to live was already set
+     */
+    public Simple expireAfterWrite(Duration duration) {
+        requireState(expireAfterWriteNanos == UNSET_INT,
+                "expireAfterWrite was already set to %s ns", expireAfterWriteNanos);
+        requireArgument(!duration.isNegative(), "duration cannot be negative: %s", duration);
+        this.expireAfterWriteNanos = saturatedToNanos(duration);
+        return this;
+    }
+
+    /**
+     * Specifies that each entry should be automatically removed from the cache once a fixed duration
+     * has elapsed after the entry's creation, the most recent replacement of its value, or its last
+     * read. Expired entries are reported as misses and are removed by the next write that advances
+     * the timer wheel.
+     *
+     * @param duration the length of time after an entry is last accessed that it should be automatically removed
+     * @return this {@code Simple} instance (for chaining)
+     * @throws IllegalArgumentException if {@code duration} is negative
+     * @throws IllegalStateException    if the time to idle was already set
+     */
+    public Simple expireAfterAccess(Duration duration) {
+        requireState(expireAfterAccessNanos == UNSET_INT,
+                "expireAfterAccess was already set to %s ns", expireAfterAccessNanos);
+        requireArgument(!duration.isNegative(), "duration cannot be negative: %s", duration);
+        this.expireAfterAccessNanos = saturatedToNanos(duration);
+        return this;
+    }
+
+    /**
+     * Specifies that an entry should be reloaded once a fixed duration has elapsed after its creation, or
+     * the most recent replacement of its value. {@code get(key, valueLoader)} keeps returning the current
+     * value of such an entry and reloads it asynchronously with the given loader, at most once at a time.
+     * Refreshing can be combined with {@link #expireAfterWrite}, in which case the refresh duration should
+     * be the shorter one, so that entries are reloaded before they expire.
+     *
+     * @param duration the length of time after an entry is created that it should be reloaded
+     * @return this {@code Simple} instance (for chaining)
+     * @throws IllegalArgumentException if {@code duration} is negative
+     * @throws IllegalStateException    if the refresh interval was already set
+     */
+    public Simple refreshAfterWrite(Duration duration) {
+        requireState(refreshAfterWriteNanos == UNSET_INT,
+                "refreshAfterWrite was already set to %s ns", refreshAfterWriteNanos);
+        requireArgument(!duration.isNegative(), "duration cannot be negative: %s", duration);
+        this.refreshAfterWriteNanos = saturatedToNanos(duration);
+        return this;
+    }
+
+    /**
+     * Specifies the executor that reloads entries that are due for a refresh. By default, the executor
+     * shared by all caches is used, see {@link Refresher#defaultExecutor()}.
+     *
+     * @param executor the executor that runs asynchronous reloads
+     * @return this {@code Simple} instance (for chaining)
+     * @throws IllegalStateException if an executor was already set
+     */
+    public Simple executor(Executor executor) {
+        requireNonNull(executor);
+        requireState(this.executor == null, "executor was already set to %s", this.executor);
+        this.executor = executor;
+        return this;
+    }
+
+    boolean refreshesAfterWrite() {
+        return (refreshAfterWriteNanos != UNSET_INT);
+    }
+
+    /**
+     * Returns the refresher of the cache, which dates entries with the ticker, or {@code null} if entries
+     * are not refreshed.
+     */
+    @Nullable Refresher buildRefresher() {
+        if (!refreshesAfterWrite()) {
+            return null;
+        }
+        Ticker source = getTicker();
+        return new Refresher(Duration.ofNanos(refreshAfterWriteNanos),
+                (executor == null) ? Refresher.defaultExecutor() : executor,
+                () -> TimeUnit.NANOSECONDS.toMillis(source.read()));
+    }
+
+    /**
+     * Specifies a nanosecond-precision time source for use in determining when entries should be
+     * expired. By default, {@link System#nanoTime} is used.
+     *
+     * @param ticker a nanosecond-precision time source
+     * @return this {@code Simple} instance (for chaining)
+     * @throws IllegalStateException if a ticker was already set
+     */
+    public Simple ticker(Ticker ticker) {
+        requireNonNull(ticker);
+        requireState(this.ticker == null, "Ticker was already set to %s", this.ticker);
+        this.ticker = ticker;
+        return this;
+    }
+
+    boolean expiresAfterWrite() {
+        return (expireAfterWriteNanos != UNSET_INT);
+    }
+
+    boolean expiresAfterAccess() {
+        return (expireAfterAccessNanos != UNSET_INT);
+    }
+
+    boolean expires() {
+        return expiresAfterWrite() || expiresAfterAccess();
+    }
+
+    long getExpiresAfterWriteNanos() {
+        return expiresAfterWrite() ? expireAfterWriteNanos : 0L;
+    }
+
+    long getExpiresAfterAccessNanos() {
+        return expiresAfterAccess() ? expireAfterAccessNanos : 0L;
+    }
+
+    Ticker getTicker() {
+        return (ticker == null) ? Ticker.systemTicker() : ticker;
+    }
+
+    /**
+     * Specifies that the entries are stored outside of the Java heap, in direct memory of at most the
+     * given number of bytes. Keys and values are serialized and must therefore implement
+     * {@link java.io.Serializable}. When the capacity is exhausted, the cache evicts entries of a similar
+     * size that have not been used recently, following the CLOCK policy.
+     *
+     * <p>This feature cannot be used in conjunction with {@link #maximumSize}, {@link #maximumWeight},
+     * {@link #expireAfterWrite} or {@link #expireAfterAccess}.
+     *
+     * @param bytes the maximum number of bytes of direct memory the cache may allocate
+     * @return this {@code Simple} instance (for chaining)
+     * @throws IllegalArgumentException if {@code bytes} is less than 64 KiB
+     * @throws IllegalStateException    if the off-heap capacity was already set
+     */
+    public Simple offHeap(long bytes) {
+        requireState(offHeapCapacity == UNSET_INT, "off-heap capacity was already set to %s", offHeapCapacity);
+        requireArgument(bytes >= OffHeapSimpleCache.MIN_CAPACITY,
+                "off-heap capacity must be at least %s bytes", OffHeapSimpleCache.MIN_CAPACITY);
+        this.offHeapCapacity = bytes;
+        return this;
+    }
+
+    boolean isOffHeap() {
+        return (offHeapCapacity != UNSET_INT);
+    }
+
+    long getOffHeapCapacity() {
+        return offHeapCapacity;
+    }
+
+    /**
+     * Specifies that entries evicted because the cache exceeds its {@link #maximumSize} or
+     * {@link #maximumWeight} are written to disk, in memory-mapped segment files of at most the given
+     * total number of bytes, rather than dropped. A read that misses memory but finds the entry on disk
+     * moves it back to memory and is recorded as a {@link CacheStats#diskHitCount() disk hit}. Keys and
+     * values are serialized and must therefore implement {@link java.io.Serializable}; entries that do not
+     * are dropped when evicted.
+     *
+     * <p>This feature requires {@link #maximumSize} or {@link #maximumWeight} and cannot be used in
+     * conjunction with {@link #offHeap}.
+     *
+     * @param directory the directory of the segment files, which are deleted as soon as they are mapped
+     * @param bytes     the maximum number of bytes the segment files may take
+     * @return this {@code Simple} instance (for chaining)
+     * @throws IllegalArgumentException if {@code bytes} is less than 1 MiB
+     * @throws IllegalStateException    if the disk overflow was already set
+     */
+    public Simple overflowToDisk(Path directory, long bytes) {
+        requireNonNull(directory);
+        requireState(diskOverflowCapacity == UNSET_INT, "disk overflow was already set to %s bytes in %s",
+                diskOverflowCapacity, diskOverflowDirectory);
+        requireArgument(bytes >= DiskOverflow.MIN_CAPACITY,
+                "disk overflow capacity must be at least %s bytes", DiskOverflow.MIN_CAPACITY);
+        this.diskOverflowDirectory = directory;
+        this.diskOverflowCapacity = bytes;
+        return this;
+    }
+
+    boolean overflowsToDisk() {
+        return (diskOverflowCapacity != UNSET_INT);
+    }
+
+    Path getDiskOverflowDirectory() {
+        return requireNonNull(diskOverflowDirectory);
+    }
+
+    long getDiskOverflowCapacity() {
+        return diskOverflowCapacity;
+    }
+
     public Cache build() {
-        return new UnboundedSimpleCache(this);
+        if (isOffHeap()) {
+            requireState(!isBounded() && (weigher == null),
+                    "off-heap can not be combined with a maximum size or weight");
+            requireState(!expires(), "off-heap can not be combined with expiration");
+            requireState(!overflowsToDisk(), "off-heap can not be combined with a disk overflow");
+            return new OffHeapSimpleCache(this);
+        }
+        if (overflowsToDisk()) {
+            requireState(isBounded(), "disk overflow requires a maximum size or weight");
+        }
+        return (isBounded() || expires()) ? new BoundedSimpleCache(this) : new UnboundedSimpleCache(this);
     }
 
     /**
@@ -117,6 +440,19 @@ final class Simple {
         return this;
     }
 
+    /**
+     * Enables the accumulation of {@link CacheStats} during the operation of the cache, like
+     * {@link #recordStats()}, but into a {@link StripedStatsCounter}. The striped counter avoids
+     * contention between threads that read the cache concurrently at the cost of a larger footprint,
+     * and should be preferred for caches that are hot on many cores.
+     *
+     * @return this {@code Simple} instance (for chaining)
+     */
+    public Simple recordStripedStats() {
+        statsCounterSupplier = STRIPED_STATS_COUNTER_SUPPLIER;
+        return this;
+    }
+
     /**
      * Enables the accumulation of {@link CacheStats} during the operation of the cache. Without this
      * {@link Cache#stats} will return zero for all statistics. Note that recording statistics
@@ -46,7 +46,10 @@ public class SimpleBackendFactory extends BackendFactory {
     public CacheBackend create(CachesProperties properties) {
         Map<String, Simple> settings = new ConcurrentHashMap<>(16);
         properties.consume(data -> {
-            Simple builder = findSpec(data).recordStats();
+            Simple builder = findSpec(data);
+            if (!builder.isRecordingStats()) {
+                builder.recordStats();
+            }
             for (String name : findNames(data)) {
                 settings.put(name, builder);
             }
@@ -3,14 +3,24 @@ package spring.caches.backend.simple;
 import org.springframework.cache.support.AbstractValueAdaptingCache;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
-
+import spring.caches.backend.BatchCache;
+import spring.caches.backend.Refresher;
+import spring.caches.backend.SnapshotCache;
+import spring.caches.backend.snapshot.SnapshotWriter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
 
-class SimpleCache extends AbstractValueAdaptingCache {
+class SimpleCache extends AbstractValueAdaptingCache implements BatchCache, SnapshotCache {
     private final String name;
 
     private final Cache cache;
 
+    private final @Nullable Refresher refresher;
+
     /**
      * Create a {@link SimpleCache} instance with the specified name and the
      * given internal {@link Cache} to use.
@@ -35,23 +45,56 @@ class SimpleCache extends AbstractValueAdaptingCache {
             String name,
             Cache cache,
             boolean allowNullValues
+    ) {
+        this(name, cache, allowNullValues, null);
+    }
+
+    /**
+     * Create a {@link SimpleCache} instance with the specified name and the
+     * given internal {@link Cache} to use, whose entries are reloaded by the
+     * given refresher once they are due.
+     *
+     * @param name            the name of the cache
+     * @param cache           the backing Caffeine Cache instance
+     * @param allowNullValues whether to accept and convert {@code null}
+     *                        values for this cache
+     * @param refresher       the refresher of the entries, or {@code null}
+     *                        if entries are not refreshed
+     */
+    SimpleCache(
+            String name,
+            Cache cache,
+            boolean allowNullValues,
+            @Nullable Refresher refresher
     ) {
         super(allowNullValues);
         Assert.notNull(name, "Name must not be null");
         Assert.notNull(cache, "Cache must not be null");
         this.name = name;
         this.cache = cache;
+        this.refresher = refresher;
     }
 
+    /**
+     * Returns the cached value or loads it. If the cache refreshes its entries, a value that is due is
+     * returned as well and reloaded asynchronously with the given loader.
+     */
     @SuppressWarnings("unchecked")
     @Override
     public <T> T get(Object key, Callable<T> valueLoader) {
-        return (T) cache.get(key, (Callable<Object>) valueLoader);
+        if (refresher == null) {
+            return (T) cache.get(key, (Callable<Object>) valueLoader);
+        }
+        Object storeValue = cache.get(key, () -> toStoreValue(valueLoader.call()));
+        if (refresher.isDue(storeValue)) {
+            refresher.refresh(key, valueLoader, value -> put(key, value));
+        }
+        return (T) fromStoreValue(storeValue);
     }
 
     @Override
     public ValueWrapper putIfAbsent(Object key, Object value) {
-        return toValueWrapper(cache.putIfAbsent(key, value));
+        return toValueWrapper(cache.putIfAbsent(key, toStoreValue(value)));
     }
 
     @Override
@@ -75,6 +118,51 @@ class SimpleCache extends AbstractValueAdaptingCache {
         this.cache.put(key, toStoreValue(value));
     }
 
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> result = new HashMap<>(Math.max(16, (int) (keys.size() / .75f) + 1));
+        for (Object key : keys) {
+            Object value = this.cache.get(key);
+            if (value != null) {
+                result.put(key, fromStoreValue(value));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        Map<Object, Object> storeValues = new HashMap<>(Math.max(16, (int) (entries.size() / .75f) + 1));
+        entries.forEach((key, value) -> storeValues.put(key, toStoreValue(value)));
+        this.cache.asMap().putAll(storeValues);
+    }
+
+    @Override
+    public void writeSnapshot(SnapshotWriter writer) throws IOException {
+        this.cache.forEachEntry((key, value, timeToLiveNanos) ->
+                writer.write(key, fromStoreValue(value), timeToLiveNanos));
+    }
+
+    @Override
+    protected Object toStoreValue(@Nullable Object userValue) {
+        Object storeValue = super.toStoreValue(userValue);
+        return (refresher == null) ? storeValue : refresher.wrap(storeValue);
+    }
+
+    @Override
+    @Nullable
+    protected Object fromStoreValue(@Nullable Object storeValue) {
+        return super.fromStoreValue((refresher == null) ? storeValue : refresher.unwrap(storeValue));
+    }
+
+    /**
+     * Returns the refresher of the entries, or {@code null} if entries are not refreshed.
+     */
+    @Nullable
+    Refresher refresher() {
+        return refresher;
+    }
+
     @Override
     public void evict(Object key) {
         this.cache.invalidate(key);
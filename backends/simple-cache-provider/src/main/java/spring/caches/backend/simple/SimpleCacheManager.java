@@ -63,7 +63,8 @@ public class SimpleCacheManager implements CacheManager {
     SimpleCacheManager(Map<String, Simple> namedCacheBuilders) {
         this.namedCacheBuilders.putAll(namedCacheBuilders);
         for (Map.Entry<String, Simple> e : namedCacheBuilders.entrySet()) {
-            this.cacheMap.put(e.getKey(), new SimpleCache(e.getKey(), e.getValue().build()));
+            Simple builder = e.getValue();
+            this.cacheMap.put(e.getKey(), new SimpleCache(e.getKey(), builder.build(), true, builder.buildRefresher()));
         }
         this.dynamic = false;
     }
@@ -1,19 +1,29 @@
 package spring.caches.backend.simple;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
 import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
 import io.micrometer.core.lang.NonNullApi;
 import io.micrometer.core.lang.NonNullFields;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import spring.caches.backend.simple.stats.CacheStats;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Explain.
  */
 @NonNullApi
 @NonNullFields
 class SimpleCacheMetrics extends CacheMeterBinder {
+    private static final double[] LOAD_LATENCY_PERCENTILES = {0.5, 0.99, 0.999};
+
     private final Cache cache;
 
     /**
@@ -94,6 +104,69 @@ class SimpleCacheMetrics extends CacheMeterBinder {
 
     @Override
     protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
-        // Intentionally left empty.
+        FunctionCounter.builder("cache.load", cache, c -> c.stats().loadSuccessCount())
+                .tags(getTagsWithCacheName()).tags("result", "success")
+                .description("The number of times cache lookup methods have successfully loaded a new value")
+                .register(registry);
+        FunctionCounter.builder("cache.load", cache, c -> c.stats().loadFailureCount())
+                .tags(getTagsWithCacheName()).tags("result", "failure")
+                .description("The number of times cache lookup methods failed to load a new value, either "
+                        + "because no value was found or an exception was thrown while loading")
+                .register(registry);
+        FunctionTimer.builder("cache.load.duration", cache,
+                c -> c.stats().loadSuccessCount() + c.stats().loadFailureCount(),
+                c -> c.stats().totalLoadTime(), TimeUnit.NANOSECONDS)
+                .tags(getTagsWithCacheName()).description("The time the cache has spent loading new values")
+                .register(registry);
+
+        LoadTimeListeners loadTimeListeners = loadTimeListeners(cache);
+        if (loadTimeListeners != null) {
+            Timer loadLatency = Timer.builder("cache.load.latency")
+                    .tags(getTagsWithCacheName())
+                    .publishPercentiles(LOAD_LATENCY_PERCENTILES)
+                    .description("The time spent loading a new value, with percentiles over a sliding window")
+                    .register(registry);
+            loadTimeListeners.add(loadTime -> loadLatency.record(loadTime, TimeUnit.NANOSECONDS));
+        }
+
+        if (cache instanceof OffHeapSimpleCache) {
+            OffHeapSimpleCache offHeapCache = (OffHeapSimpleCache) cache;
+            Gauge.builder("cache.offheap.used", offHeapCache, OffHeapSimpleCache::offHeapUsedBytes)
+                    .tags(getTagsWithCacheName()).description("The number of off-heap bytes holding entries")
+                    .baseUnit(BaseUnits.BYTES).register(registry);
+            Gauge.builder("cache.offheap.allocated", offHeapCache, OffHeapSimpleCache::offHeapAllocatedBytes)
+                    .tags(getTagsWithCacheName()).description("The number of bytes of direct memory allocated")
+                    .baseUnit(BaseUnits.BYTES).register(registry);
+        }
+
+        DiskOverflow overflow = (cache instanceof BoundedSimpleCache)
+                ? ((BoundedSimpleCache) cache).diskOverflow()
+                : null;
+        if (overflow != null) {
+            FunctionCounter.builder("cache.disk.hits", cache, c -> c.stats().diskHitCount())
+                    .tags(getTagsWithCacheName())
+                    .description("The number of times cache lookup methods missed memory and found the entry on disk")
+                    .register(registry);
+            Gauge.builder("cache.disk.size", overflow, DiskOverflow::size)
+                    .tags(getTagsWithCacheName()).description("The number of entries on disk")
+                    .register(registry);
+            Gauge.builder("cache.disk.used", overflow, DiskOverflow::usedBytes)
+                    .tags(getTagsWithCacheName()).description("The number of bytes written to disk segments")
+                    .baseUnit(BaseUnits.BYTES).register(registry);
+            Gauge.builder("cache.disk.live", overflow, DiskOverflow::liveBytes)
+                    .tags(getTagsWithCacheName()).description("The number of bytes of the entries on disk")
+                    .baseUnit(BaseUnits.BYTES).register(registry);
+        }
+    }
+
+    private static @Nullable LoadTimeListeners loadTimeListeners(Cache cache) {
+        if (cache instanceof UnboundedSimpleCache) {
+            return ((UnboundedSimpleCache) cache).loadTimeListeners();
+        } else if (cache instanceof BoundedSimpleCache) {
+            return ((BoundedSimpleCache) cache).loadTimeListeners();
+        } else if (cache instanceof OffHeapSimpleCache) {
+            return ((OffHeapSimpleCache) cache).loadTimeListeners();
+        }
+        return null;
     }
 }
@@ -2,6 +2,13 @@ package spring.caches.backend.simple;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
 import static java.util.Objects.requireNonNull;
 import static spring.caches.backend.simple.Simple.UNSET_INT;
 import static spring.caches.backend.simple.Simple.requireArgument;
@@ -13,7 +20,16 @@ final class SimpleSpec {
     private final String specification;
 
     private int initialCapacity = UNSET_INT;
+    private long maximumSize = UNSET_INT;
+    private long maximumWeight = UNSET_INT;
+    private @Nullable Duration expireAfterWrite;
+    private @Nullable Duration expireAfterAccess;
+    private @Nullable Duration refreshAfterWrite;
+    private long offHeap = UNSET_INT;
+    private long diskOverflow = UNSET_INT;
+    private @Nullable Path diskDirectory;
     private boolean recordStats;
+    private boolean stripedStats;
 
     private SimpleSpec(String specification) {
         this.specification = requireNonNull(specification);
@@ -44,12 +60,95 @@ final class SimpleSpec {
         }
     }
 
+    static long parseLong(String key, @Nullable String value) {
+        requireArgument((value != null) && !value.isEmpty(), "value of key %s was omitted", key);
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format(
+                    "key %s value was set to %s, must be a long", key, value), e);
+        }
+    }
+
+    /**
+     * Returns a parsed duration using the simple time unit format (e.g. {@code 10m}) or the ISO-8601
+     * duration format (e.g. {@code PT10M}).
+     */
+    static Duration parseDuration(String key, @Nullable String value) {
+        requireArgument((value != null) && !value.isEmpty(), "value of key %s omitted", key);
+
+        @SuppressWarnings("NullAway")
+        boolean isIsoFormat = value.contains("p") || value.contains("P");
+        if (isIsoFormat) {
+            try {
+                Duration duration = Duration.parse(value);
+                requireArgument(!duration.isNegative(),
+                        "key %s invalid format; was %s, but the duration cannot be negative", key, value);
+                return duration;
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException(String.format(
+                        "key %s invalid format; was %s, must be ISO-8601 duration", key, value), e);
+            }
+        }
+
+        long duration = parseLong(key, value.substring(0, value.length() - 1));
+        TimeUnit unit = parseTimeUnit(key, value);
+        requireArgument(duration >= 0, "key %s value was set to %s, but the duration cannot be negative", key, value);
+        return Duration.ofNanos(unit.toNanos(duration));
+    }
+
+    /**
+     * Returns a parsed {@link TimeUnit} value.
+     */
+    static TimeUnit parseTimeUnit(String key, @Nullable String value) {
+        requireArgument((value != null) && !value.isEmpty(), "value of key %s omitted", key);
+        @SuppressWarnings("NullAway")
+        char lastChar = Character.toLowerCase(value.charAt(value.length() - 1));
+        switch (lastChar) {
+            case 'd':
+                return TimeUnit.DAYS;
+            case 'h':
+                return TimeUnit.HOURS;
+            case 'm':
+                return TimeUnit.MINUTES;
+            case 's':
+                return TimeUnit.SECONDS;
+            default:
+                throw new IllegalArgumentException(String.format(Locale.US,
+                        "key %s invalid unit; was %s, must end with one of [dDhHmMsS]", key, value));
+        }
+    }
+
     Simple toBuilder() {
         Simple builder = Simple.newBuilder();
         if (initialCapacity != UNSET_INT) {
             builder.initialCapacity(initialCapacity);
         }
-        if (recordStats) {
+        if (maximumSize != UNSET_INT) {
+            builder.maximumSize(maximumSize);
+        }
+        if (maximumWeight != UNSET_INT) {
+            builder.maximumWeight(maximumWeight);
+        }
+        if (expireAfterWrite != null) {
+            builder.expireAfterWrite(expireAfterWrite);
+        }
+        if (expireAfterAccess != null) {
+            builder.expireAfterAccess(expireAfterAccess);
+        }
+        if (refreshAfterWrite != null) {
+            builder.refreshAfterWrite(refreshAfterWrite);
+        }
+        if (offHeap != UNSET_INT) {
+            builder.offHeap(offHeap);
+        }
+        if (diskOverflow != UNSET_INT) {
+            builder.overflowToDisk((diskDirectory == null)
+                    ? Paths.get(System.getProperty("java.io.tmpdir")) : diskDirectory, diskOverflow);
+        }
+        if (stripedStats) {
+            builder.recordStripedStats();
+        } else if (recordStats) {
             builder.recordStats();
         }
         return builder;
@@ -82,6 +181,30 @@ final class SimpleSpec {
             case "initialCapacity":
                 initialCapacity(key, value);
                 return;
+            case "maximumSize":
+                maximumSize(key, value);
+                return;
+            case "maximumWeight":
+                maximumWeight(key, value);
+                return;
+            case "expireAfterWrite":
+                expireAfterWrite(key, value);
+                return;
+            case "expireAfterAccess":
+                expireAfterAccess(key, value);
+                return;
+            case "refreshAfterWrite":
+                refreshAfterWrite(key, value);
+                return;
+            case "offHeap":
+                offHeap(key, value);
+                return;
+            case "diskOverflow":
+                diskOverflow(key, value);
+                return;
+            case "diskDirectory":
+                diskDirectory(key, value);
+                return;
             case "recordStats":
                 recordStats(value);
                 return;
@@ -100,12 +223,87 @@ final class SimpleSpec {
     }
 
     /**
-     * Configures the value as weak or soft references.
+     * Configures the maximum size.
+     */
+    void maximumSize(String key, @Nullable String value) {
+        requireArgument(maximumSize == UNSET_INT,
+                "maximum size was already set to %,d", maximumSize);
+        requireArgument(maximumWeight == UNSET_INT,
+                "maximum weight was already set to %,d", maximumWeight);
+        maximumSize = parseLong(key, value);
+    }
+
+    /**
+     * Configures the maximum weight.
+     */
+    void maximumWeight(String key, @Nullable String value) {
+        requireArgument(maximumWeight == UNSET_INT,
+                "maximum weight was already set to %,d", maximumWeight);
+        requireArgument(maximumSize == UNSET_INT,
+                "maximum size was already set to %,d", maximumSize);
+        maximumWeight = parseLong(key, value);
+    }
+
+    /**
+     * Configures expire after write.
+     */
+    void expireAfterWrite(String key, @Nullable String value) {
+        requireArgument(expireAfterWrite == null, "expireAfterWrite was already set");
+        expireAfterWrite = parseDuration(key, value);
+    }
+
+    /**
+     * Configures expire after access.
+     */
+    void expireAfterAccess(String key, @Nullable String value) {
+        requireArgument(expireAfterAccess == null, "expireAfterAccess was already set");
+        expireAfterAccess = parseDuration(key, value);
+    }
+
+    /**
+     * Configures refresh after write.
+     */
+    void refreshAfterWrite(String key, @Nullable String value) {
+        requireArgument(refreshAfterWrite == null, "refreshAfterWrite was already set");
+        refreshAfterWrite = parseDuration(key, value);
+    }
+
+    /**
+     * Configures the off-heap capacity.
+     */
+    void offHeap(String key, @Nullable String value) {
+        requireArgument(offHeap == UNSET_INT, "off-heap capacity was already set to %,d", offHeap);
+        offHeap = parseLong(key, value);
+    }
+
+    /**
+     * Configures the disk overflow capacity.
+     */
+    void diskOverflow(String key, @Nullable String value) {
+        requireArgument(diskOverflow == UNSET_INT, "disk overflow capacity was already set to %,d", diskOverflow);
+        diskOverflow = parseLong(key, value);
+    }
+
+    /**
+     * Configures the directory of the disk overflow, which defaults to the temporary directory.
+     */
+    void diskDirectory(String key, @Nullable String value) {
+        requireArgument((value != null) && !value.isEmpty(), "value of key %s was omitted", key);
+        requireArgument(diskDirectory == null, "disk directory was already set to %s", diskDirectory);
+        @SuppressWarnings("NullAway")
+        Path directory = Paths.get(value);
+        diskDirectory = directory;
+    }
+
+    /**
+     * Configures the recording of statistics, optionally into a {@code striped} counter.
      */
     void recordStats(@Nullable String value) {
-        requireArgument(value == null, "record stats does not take a value");
+        requireArgument((value == null) || "concurrent".equals(value) || "striped".equals(value),
+                "record stats was set to %s, must be concurrent or striped", value);
         requireArgument(!recordStats, "record stats was already set");
         recordStats = true;
+        stripedStats = "striped".equals(value);
     }
 
     /**
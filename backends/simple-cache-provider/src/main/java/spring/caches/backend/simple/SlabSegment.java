@@ -0,0 +1,621 @@
+package spring.caches.backend.simple;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import spring.caches.backend.simple.stats.StatsCounter;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * A segment of an {@link OffHeapSimpleCache} that stores serialized entries in direct memory.
+ *
+ * <p>Direct memory is allocated in slabs of a fixed size, and each slab is carved into chunks of one
+ * size class, as in memcached. An entry occupies the smallest chunk that fits its header, key and value.
+ * Entries are found through an open-addressing index with linear probing, which only consists of two
+ * primitive arrays. Neither the index nor the slabs contain references, so the garbage collector never
+ * has to trace the entries.
+ *
+ * <p>When a size class runs out of chunks and the segment may not allocate another slab, an entry of
+ * that class is evicted following the CLOCK policy. A size class that does not own a slab yet takes one
+ * over from another class, evicting all of the slab's entries.
+ *
+ * <p>All operations are guarded by the segment's lock.
+ */
+final class SlabSegment {
+
+    /**
+     * The chunk header consists of the entry's hash, the key length, the value length and its flags.
+     */
+    static final int HEADER_SIZE = 16;
+    static final int MIN_CHUNK_SIZE = 64;
+
+    private static final int HASH_OFFSET = 0;
+    private static final int KEY_LENGTH_OFFSET = 4;
+    private static final int VALUE_LENGTH_OFFSET = 8;
+    private static final int FLAGS_OFFSET = 12;
+    private static final byte USED = 1;
+    private static final byte REFERENCED = 2;
+
+    private static final double GROWTH_FACTOR = 1.25;
+    private static final int INITIAL_INDEX_CAPACITY = 64;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final StatsCounter statsCounter;
+    private final boolean isRecordingStats;
+    private final long capacity;
+    private final int slabSize;
+    private final int[] chunkSizes;
+    private final SizeClass[] sizeClasses;
+    private final List<Slab> slabs = new ArrayList<>();
+    private int reassignHand;
+
+    private long[] addresses = new long[INITIAL_INDEX_CAPACITY];
+    private int[] hashes = new int[INITIAL_INDEX_CAPACITY];
+
+    private volatile int size;
+    private volatile long usedBytes;
+    private volatile long allocatedBytes;
+
+    SlabSegment(long capacity, int slabSize, StatsCounter statsCounter, boolean isRecordingStats) {
+        this.capacity = capacity;
+        this.slabSize = slabSize;
+        this.statsCounter = statsCounter;
+        this.isRecordingStats = isRecordingStats;
+        this.chunkSizes = chunkSizes(slabSize);
+        this.sizeClasses = new SizeClass[chunkSizes.length];
+        for (int i = 0; i < chunkSizes.length; i++) {
+            sizeClasses[i] = new SizeClass(i, chunkSizes[i]);
+        }
+    }
+
+    /**
+     * Returns the chunk sizes, growing by {@link #GROWTH_FACTOR} and aligned to eight bytes, up to the
+     * size of a slab.
+     */
+    private static int[] chunkSizes(int slabSize) {
+        int[] sizes = new int[16];
+        int count = 0;
+        int chunkSize = MIN_CHUNK_SIZE;
+        while (chunkSize < slabSize) {
+            if (count == sizes.length) {
+                sizes = Arrays.copyOf(sizes, 2 * count);
+            }
+            sizes[count++] = chunkSize;
+            chunkSize = (int) Math.min(slabSize, ((long) (chunkSize * GROWTH_FACTOR) + 7) & ~7L);
+        }
+        sizes = Arrays.copyOf(sizes, count + 1);
+        sizes[count] = slabSize;
+        return sizes;
+    }
+
+    /**
+     * Returns a copy of the value mapped to the key, marking the entry as referenced.
+     */
+    byte @Nullable [] get(int hash, byte[] key) {
+        lock.lock();
+        try {
+            int slot = find(hash, key);
+            if (slot < 0) {
+                return null;
+            }
+            long address = addresses[slot];
+            markReferenced(address);
+            return readValue(address);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean containsKey(int hash, byte[] key) {
+        lock.lock();
+        try {
+            return find(hash, key) >= 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Maps the key to the value. An entry that does not fit into a slab is not stored, and replaces
+     * any previous mapping of its key.
+     *
+     * @return the previous value, or {@code null} if there was no mapping
+     */
+    byte @Nullable [] put(int hash, byte[] key, byte[] value, boolean onlyIfAbsent) {
+        lock.lock();
+        try {
+            int slot = find(hash, key);
+            if (slot < 0) {
+                store(-1, hash, key, value);
+                return null;
+            }
+
+            long address = addresses[slot];
+            byte[] previous = readValue(address);
+            if (onlyIfAbsent) {
+                markReferenced(address);
+            } else {
+                store(slot, hash, key, value);
+            }
+            return previous;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the value of an existing mapping if it is currently mapped to {@code expected}, or to
+     * any value if {@code expected} is {@code null}.
+     *
+     * @return the previous value, or {@code null} if no value was replaced
+     */
+    byte @Nullable [] replace(int hash, byte[] key, byte @Nullable [] expected, byte[] value) {
+        lock.lock();
+        try {
+            int slot = find(hash, key);
+            if (slot < 0) {
+                return null;
+            }
+            byte[] previous = readValue(addresses[slot]);
+            if ((expected != null) && !Arrays.equals(expected, previous)) {
+                return null;
+            }
+            store(slot, hash, key, value);
+            return previous;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the mapping if it is currently mapped to {@code expected}, or to any value if
+     * {@code expected} is {@code null}.
+     *
+     * @return the removed value, or {@code null} if no mapping was removed
+     */
+    byte @Nullable [] remove(int hash, byte[] key, byte @Nullable [] expected) {
+        lock.lock();
+        try {
+            int slot = find(hash, key);
+            if (slot < 0) {
+                return null;
+            }
+            byte[] previous = readValue(addresses[slot]);
+            if ((expected != null) && !Arrays.equals(expected, previous)) {
+                return null;
+            }
+            removeAt(slot);
+            return previous;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all entries. The slabs are retained and their chunks become available again.
+     */
+    void clear() {
+        lock.lock();
+        try {
+            for (SizeClass sizeClass : sizeClasses) {
+                sizeClass.freeCount = 0;
+                sizeClass.handSlab = 0;
+                sizeClass.handChunk = 0;
+            }
+            for (Slab slab : slabs) {
+                SizeClass sizeClass = sizeClasses[slab.sizeClass];
+                for (int offset = 0; offset + sizeClass.chunkSize <= slabSize; offset += sizeClass.chunkSize) {
+                    slab.buffer.put(offset + FLAGS_OFFSET, (byte) 0);
+                    sizeClass.push(address(slab.id, offset));
+                }
+            }
+            Arrays.fill(addresses, 0L);
+            Arrays.fill(hashes, 0);
+            size = 0;
+            usedBytes = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Performs the action for a copy of each entry's serialized key and value.
+     */
+    void forEach(BiConsumer<byte[], byte[]> action) {
+        lock.lock();
+        try {
+            for (long address : addresses) {
+                if (address != 0L) {
+                    action.accept(readKey(address), readValue(address));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of bytes of the chunks that hold entries.
+     */
+    long usedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * Returns the number of bytes of direct memory allocated for slabs.
+     */
+    long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Returns the index of the smallest size class whose chunks fit the entry, or {@code -1} if it
+     * does not fit into a slab.
+     */
+    private int sizeClassOf(int entrySize) {
+        int index = Arrays.binarySearch(chunkSizes, entrySize);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return (index < chunkSizes.length) ? index : -1;
+    }
+
+    /**
+     * Writes the entry into the chunk of the index slot, or into a new chunk if the slot is negative or
+     * the entry no longer fits into the slot's chunk.
+     */
+    private void store(int slot, int hash, byte[] key, byte[] value) {
+        long entrySize = (long) HEADER_SIZE + key.length + value.length;
+        int sizeClass = (entrySize > slabSize) ? -1 : sizeClassOf((int) entrySize);
+        if (slot >= 0) {
+            long address = addresses[slot];
+            if (slabOf(address).sizeClass == sizeClass) {
+                write(address, hash, key, value);
+                return;
+            }
+            removeAt(slot);
+        }
+        if (sizeClass < 0) {
+            return;
+        }
+
+        long address = allocate(sizeClasses[sizeClass]);
+        write(address, hash, key, value);
+        insert(hash, address);
+    }
+
+    private void write(long address, int hash, byte[] key, byte[] value) {
+        ByteBuffer buffer = slabOf(address).buffer;
+        int offset = offset(address);
+        buffer.putInt(offset + HASH_OFFSET, hash);
+        buffer.putInt(offset + KEY_LENGTH_OFFSET, key.length);
+        buffer.putInt(offset + VALUE_LENGTH_OFFSET, value.length);
+        buffer.put(offset + FLAGS_OFFSET, (byte) (USED | REFERENCED));
+        buffer.position(offset + HEADER_SIZE);
+        buffer.put(key);
+        buffer.put(value);
+    }
+
+    private byte[] readKey(long address) {
+        ByteBuffer buffer = slabOf(address).buffer;
+        int offset = offset(address);
+        byte[] key = new byte[buffer.getInt(offset + KEY_LENGTH_OFFSET)];
+        buffer.position(offset + HEADER_SIZE);
+        buffer.get(key);
+        return key;
+    }
+
+    private byte[] readValue(long address) {
+        ByteBuffer buffer = slabOf(address).buffer;
+        int offset = offset(address);
+        int keyLength = buffer.getInt(offset + KEY_LENGTH_OFFSET);
+        byte[] value = new byte[buffer.getInt(offset + VALUE_LENGTH_OFFSET)];
+        buffer.position(offset + HEADER_SIZE + keyLength);
+        buffer.get(value);
+        return value;
+    }
+
+    private void markReferenced(long address) {
+        ByteBuffer buffer = slabOf(address).buffer;
+        int index = offset(address) + FLAGS_OFFSET;
+        byte flags = buffer.get(index);
+        if ((flags & REFERENCED) == 0) {
+            buffer.put(index, (byte) (flags | REFERENCED));
+        }
+    }
+
+    private boolean keyEquals(long address, byte[] key) {
+        ByteBuffer buffer = slabOf(address).buffer;
+        int offset = offset(address);
+        if (buffer.getInt(offset + KEY_LENGTH_OFFSET) != key.length) {
+            return false;
+        }
+        int start = offset + HEADER_SIZE;
+        for (int i = 0; i < key.length; i++) {
+            if (buffer.get(start + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the index slot of the key, or {@code -1} if it is absent.
+     */
+    private int find(int hash, byte[] key) {
+        int mask = addresses.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            long address = addresses[slot];
+            if (address == 0L) {
+                return -1;
+            }
+            if ((hashes[slot] == hash) && keyEquals(address, key)) {
+                return slot;
+            }
+        }
+    }
+
+    private void insert(int hash, long address) {
+        if (2 * (size + 1) > addresses.length) {
+            resize();
+        }
+        int mask = addresses.length - 1;
+        int slot = hash & mask;
+        while (addresses[slot] != 0L) {
+            slot = (slot + 1) & mask;
+        }
+        addresses[slot] = address;
+        hashes[slot] = hash;
+        size++;
+        usedBytes += sizeClasses[slabOf(address).sizeClass].chunkSize;
+    }
+
+    private void resize() {
+        long[] oldAddresses = addresses;
+        int[] oldHashes = hashes;
+        addresses = new long[2 * oldAddresses.length];
+        hashes = new int[addresses.length];
+
+        int mask = addresses.length - 1;
+        for (int i = 0; i < oldAddresses.length; i++) {
+            if (oldAddresses[i] != 0L) {
+                int slot = oldHashes[i] & mask;
+                while (addresses[slot] != 0L) {
+                    slot = (slot + 1) & mask;
+                }
+                addresses[slot] = oldAddresses[i];
+                hashes[slot] = oldHashes[i];
+            }
+        }
+    }
+
+    /**
+     * Frees the chunk of the slot and closes the gap in the probe sequence by shifting subsequent
+     * entries back, so that the index never needs tombstones.
+     */
+    private void removeAt(int slot) {
+        long address = addresses[slot];
+        Slab slab = slabOf(address);
+        SizeClass sizeClass = sizeClasses[slab.sizeClass];
+        slab.buffer.put(offset(address) + FLAGS_OFFSET, (byte) 0);
+        sizeClass.push(address);
+        size--;
+        usedBytes -= sizeClass.chunkSize;
+
+        int mask = addresses.length - 1;
+        int gap = slot;
+        for (int next = (gap + 1) & mask; addresses[next] != 0L; next = (next + 1) & mask) {
+            int home = hashes[next] & mask;
+            boolean movable = (gap <= next)
+                    ? ((home <= gap) || (home > next))
+                    : ((home <= gap) && (home > next));
+            if (movable) {
+                addresses[gap] = addresses[next];
+                hashes[gap] = hashes[next];
+                gap = next;
+            }
+        }
+        addresses[gap] = 0L;
+        hashes[gap] = 0;
+    }
+
+    /**
+     * Returns a free chunk of the size class, allocating a slab or evicting an entry if necessary.
+     */
+    private long allocate(SizeClass sizeClass) {
+        if ((sizeClass.freeCount == 0) && !allocateSlab(sizeClass)) {
+            if (sizeClass.slabCount == 0) {
+                reassignSlab(sizeClass);
+            } else {
+                evict(sizeClass);
+            }
+        }
+        return sizeClass.pop();
+    }
+
+    private boolean allocateSlab(SizeClass sizeClass) {
+        if (allocatedBytes + slabSize > capacity) {
+            return false;
+        }
+        Slab slab = new Slab(slabs.size(), ByteBuffer.allocateDirect(slabSize));
+        slabs.add(slab);
+        allocatedBytes += slabSize;
+        carve(slab, sizeClass);
+        return true;
+    }
+
+    /**
+     * Assigns the slab to the size class and makes its chunks available.
+     */
+    private void carve(Slab slab, SizeClass sizeClass) {
+        slab.sizeClass = sizeClass.index;
+        sizeClass.addSlab(slab.id);
+        for (int offset = 0; offset + sizeClass.chunkSize <= slabSize; offset += sizeClass.chunkSize) {
+            slab.buffer.put(offset + FLAGS_OFFSET, (byte) 0);
+            sizeClass.push(address(slab.id, offset));
+        }
+    }
+
+    /**
+     * Advances the clock hand of the size class until it finds an entry that was not referenced since
+     * the hand passed it last, and evicts it.
+     */
+    private void evict(SizeClass sizeClass) {
+        int chunksPerSlab = slabSize / sizeClass.chunkSize;
+        for (int i = 2 * chunksPerSlab * sizeClass.slabCount; i > 0; i--) {
+            if (sizeClass.handChunk >= chunksPerSlab) {
+                sizeClass.handChunk = 0;
+                sizeClass.handSlab = (sizeClass.handSlab + 1) % sizeClass.slabCount;
+            }
+            Slab slab = slabs.get(sizeClass.slabIds[sizeClass.handSlab]);
+            int offset = sizeClass.handChunk++ * sizeClass.chunkSize;
+            byte flags = slab.buffer.get(offset + FLAGS_OFFSET);
+            if ((flags & USED) == 0) {
+                continue;
+            }
+            if ((flags & REFERENCED) != 0) {
+                slab.buffer.put(offset + FLAGS_OFFSET, USED);
+                continue;
+            }
+            evictChunk(address(slab.id, offset));
+            return;
+        }
+    }
+
+    /**
+     * Takes over a slab from another size class, evicting all of its entries. Classes that own more
+     * than one slab are preferred, so that a class does not lose its last slab to a class it will
+     * take it back from.
+     */
+    private void reassignSlab(SizeClass sizeClass) {
+        Slab slab = slabs.get(reassignHand);
+        for (int i = 0; i < slabs.size(); i++) {
+            slab = slabs.get((reassignHand + i) % slabs.size());
+            if (sizeClasses[slab.sizeClass].slabCount > 1) {
+                break;
+            }
+        }
+        reassignHand = (slab.id + 1) % slabs.size();
+
+        SizeClass previous = sizeClasses[slab.sizeClass];
+        for (int offset = 0; offset + previous.chunkSize <= slabSize; offset += previous.chunkSize) {
+            if ((slab.buffer.get(offset + FLAGS_OFFSET) & USED) != 0) {
+                evictChunk(address(slab.id, offset));
+            }
+        }
+        previous.removeSlab(slab.id);
+        carve(slab, sizeClass);
+    }
+
+    private void evictChunk(long address) {
+        int hash = slabOf(address).buffer.getInt(offset(address) + HASH_OFFSET);
+        int mask = addresses.length - 1;
+        int slot = hash & mask;
+        while (addresses[slot] != address) {
+            slot = (slot + 1) & mask;
+        }
+        removeAt(slot);
+        if (isRecordingStats) {
+            statsCounter.recordEviction(1);
+        }
+    }
+
+    /**
+     * Encodes the chunk's location, offsetting the slab id so that {@code 0} denotes an empty slot.
+     */
+    private static long address(int slabId, int offset) {
+        return ((long) (slabId + 1) << 32) | offset;
+    }
+
+    private static int offset(long address) {
+        return (int) address;
+    }
+
+    private Slab slabOf(long address) {
+        return slabs.get((int) (address >>> 32) - 1);
+    }
+
+    /**
+     * A region of direct memory that is divided into chunks of one size class.
+     */
+    private static final class Slab {
+        final int id;
+        final ByteBuffer buffer;
+        int sizeClass;
+
+        Slab(int id, ByteBuffer buffer) {
+            this.id = id;
+            this.buffer = buffer;
+        }
+    }
+
+    /**
+     * The slabs of one chunk size, the addresses of their free chunks and the clock hand over their
+     * chunks.
+     */
+    private static final class SizeClass {
+        final int index;
+        final int chunkSize;
+
+        int[] slabIds = new int[4];
+        int slabCount;
+        long[] freeChunks = new long[16];
+        int freeCount;
+        int handSlab;
+        int handChunk;
+
+        SizeClass(int index, int chunkSize) {
+            this.index = index;
+            this.chunkSize = chunkSize;
+        }
+
+        void push(long address) {
+            if (freeCount == freeChunks.length) {
+                freeChunks = Arrays.copyOf(freeChunks, 2 * freeCount);
+            }
+            freeChunks[freeCount++] = address;
+        }
+
+        long pop() {
+            return freeChunks[--freeCount];
+        }
+
+        void addSlab(int slabId) {
+            if (slabCount == slabIds.length) {
+                slabIds = Arrays.copyOf(slabIds, 2 * slabCount);
+            }
+            slabIds[slabCount++] = slabId;
+        }
+
+        /**
+         * Removes the slab and its free chunks, and resets the clock hand.
+         */
+        void removeSlab(int slabId) {
+            int remaining = 0;
+            for (int i = 0; i < slabCount; i++) {
+                if (slabIds[i] != slabId) {
+                    slabIds[remaining++] = slabIds[i];
+                }
+            }
+            slabCount = remaining;
+
+            remaining = 0;
+            for (int i = 0; i < freeCount; i++) {
+                if ((int) (freeChunks[i] >>> 32) - 1 != slabId) {
+                    freeChunks[remaining++] = freeChunks[i];
+                }
+            }
+            freeCount = remaining;
+            handSlab = 0;
+            handChunk = 0;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package spring.caches.backend.simple;
+
+import spring.caches.backend.simple.stats.StatsCounter;
+
+import java.util.function.Function;
+
+/**
+ * A mapping function that records its load time as a success or failure, and passes it to the listeners of
+ * the cache, and remembers whether it was invoked. A load that throws or returns null is a failure.
+ */
+final class StatsAwareFunction implements Function<Object, Object> {
+    private final Function<? super Object, ?> delegate;
+    private final StatsCounter statsCounter;
+    private final Ticker ticker;
+    private final LoadTimeListeners listeners;
+    boolean invoked;
+
+    StatsAwareFunction(Function<? super Object, ?> delegate, StatsCounter statsCounter, Ticker ticker,
+                       LoadTimeListeners listeners) {
+        this.delegate = delegate;
+        this.statsCounter = statsCounter;
+        this.ticker = ticker;
+        this.listeners = listeners;
+    }
+
+    @Override
+    public Object apply(Object key) {
+        invoked = true;
+        long startTime = ticker.read();
+        Object value;
+        try {
+            value = delegate.apply(key);
+        } catch (RuntimeException | Error e) {
+            long loadTime = ticker.read() - startTime;
+            statsCounter.recordLoadFailure(loadTime);
+            listeners.loaded(loadTime);
+            throw e;
+        }
+
+        long loadTime = ticker.read() - startTime;
+        if (value == null) {
+            statsCounter.recordLoadFailure(loadTime);
+        } else {
+            statsCounter.recordLoadSuccess(loadTime);
+        }
+        listeners.loaded(loadTime);
+        return value;
+    }
+}
@@ -0,0 +1,25 @@
+package spring.caches.backend.simple;
+
+/**
+ * A time source that returns a time value representing the number of nanoseconds elapsed since some
+ * fixed but arbitrary point in time.
+ */
+@FunctionalInterface
+public interface Ticker {
+
+    /**
+     * Returns a ticker that reads the current time using {@link System#nanoTime}.
+     *
+     * @return a ticker that reads the current time using {@link System#nanoTime}
+     */
+    static Ticker systemTicker() {
+        return System::nanoTime;
+    }
+
+    /**
+     * Returns the number of nanoseconds elapsed since this ticker's fixed point of reference.
+     *
+     * @return the number of nanoseconds elapsed since this ticker's fixed point of reference
+     */
+    long read();
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2017 Ben Manes. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package spring.caches.backend.simple;
+
+import spring.caches.backend.simple.BoundedSimpleCache.Node;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A hierarchical timer wheel to add, remove, and fire expiration events in amortized O(1) time. The
+ * expiration events are deferred until the timer is advanced, which is performed as part of the
+ * cache's maintenance cycle.
+ *
+ * <p>Each wheel covers a coarser time span than the one before it. An entry is kept in the bucket of
+ * the finest wheel whose span covers its remaining lifetime, and is cascaded down into a finer wheel
+ * when the coarse bucket is reached. This class is not thread-safe, all operations must be performed
+ * under the cache's eviction lock.
+ *
+ * Modified for the purpose of this project.
+ *
+ * @author ben.manes@gmail.com (Ben Manes)
+ */
+final class TimerWheel {
+
+    static final int[] BUCKETS = {64, 64, 32, 4, 1};
+    static final long[] SPANS = {
+            ceilingPowerOfTwo(TimeUnit.SECONDS.toNanos(1)), // 1.07s
+            ceilingPowerOfTwo(TimeUnit.MINUTES.toNanos(1)), // 1.14m
+            ceilingPowerOfTwo(TimeUnit.HOURS.toNanos(1)),   // 1.22h
+            ceilingPowerOfTwo(TimeUnit.DAYS.toNanos(1)),    // 1.63d
+            BUCKETS[3] * ceilingPowerOfTwo(TimeUnit.DAYS.toNanos(1)), // 6.5d
+            BUCKETS[3] * ceilingPowerOfTwo(TimeUnit.DAYS.toNanos(1)), // 6.5d
+    };
+    static final long[] SHIFT = {
+            Long.numberOfTrailingZeros(SPANS[0]),
+            Long.numberOfTrailingZeros(SPANS[1]),
+            Long.numberOfTrailingZeros(SPANS[2]),
+            Long.numberOfTrailingZeros(SPANS[3]),
+            Long.numberOfTrailingZeros(SPANS[4]),
+    };
+
+    private final BoundedSimpleCache cache;
+    private final Node[][] wheel;
+
+    private long nanos;
+
+    TimerWheel(BoundedSimpleCache cache, long nanos) {
+        this.cache = cache;
+        this.nanos = nanos;
+        this.wheel = new Node[BUCKETS.length][];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Node[BUCKETS[i]];
+            for (int j = 0; j < wheel[i].length; j++) {
+                wheel[i][j] = Node.sentinel();
+            }
+        }
+    }
+
+    /**
+     * Returns the smallest power of two greater than or equal to {@code x}.
+     */
+    static long ceilingPowerOfTwo(long x) {
+        // From Hacker's Delight, Chapter 3, Harry S. Warren Jr.
+        return 1L << -Long.numberOfLeadingZeros(x - 1);
+    }
+
+    /**
+     * Advances the timer and evicts entries that have expired.
+     *
+     * @param currentTimeNanos the current time, in nanoseconds
+     */
+    void advance(long currentTimeNanos) {
+        long previousTimeNanos = nanos;
+        nanos = currentTimeNanos;
+
+        // If wrapping then temporarily shift the clock for a positive comparison. We assume that the
+        // advancements never exceed a total running time of Long.MAX_VALUE nanoseconds (292 years)
+        // so that an overflow only occurs due to using an arbitrary origin time (System.nanoTime()).
+        long previous = previousTimeNanos;
+        long current = currentTimeNanos;
+        if ((previous < 0) && (current > 0)) {
+            previous += Long.MAX_VALUE;
+            current += Long.MAX_VALUE;
+        }
+
+        try {
+            for (int i = 0; i < SHIFT.length; i++) {
+                long previousTicks = (previous >>> SHIFT[i]);
+                long currentTicks = (current >>> SHIFT[i]);
+                long delta = (currentTicks - previousTicks);
+                if (delta <= 0L) {
+                    break;
+                }
+                expire(i, previousTicks, delta);
+            }
+        } catch (RuntimeException | Error t) {
+            nanos = previousTimeNanos;
+            throw t;
+        }
+    }
+
+    /**
+     * Expires entries or reschedules into the proper bucket if still active.
+     *
+     * @param index         the wheel being operated on
+     * @param previousTicks the previous number of ticks
+     * @param delta         the number of additional ticks
+     */
+    private void expire(int index, long previousTicks, long delta) {
+        Node[] timerWheel = wheel[index];
+        int mask = timerWheel.length - 1;
+
+        // We assume that the delta does not overflow an integer and cause negative steps. This can
+        // occur only if the advancement exceeds 2^61 nanoseconds (73 years).
+        int steps = Math.min(1 + (int) delta, timerWheel.length);
+        int start = (int) (previousTicks & mask);
+        int end = start + steps;
+
+        for (int i = start; i < end; i++) {
+            Node sentinel = timerWheel[i & mask];
+            Node node = sentinel.nextInTimer;
+            sentinel.previousInTimer = sentinel;
+            sentinel.nextInTimer = sentinel;
+
+            while (node != sentinel) {
+                Node next = node.nextInTimer;
+                node.previousInTimer = null;
+                node.nextInTimer = null;
+
+                if (((node.variableTime - nanos) > 0) || !cache.expireEntry(node, nanos)) {
+                    schedule(node);
+                }
+                node = next;
+            }
+        }
+    }
+
+    /**
+     * Schedules a timer event for the node.
+     *
+     * @param node the entry in the cache
+     */
+    void schedule(Node node) {
+        Node sentinel = findBucket(node.variableTime);
+        link(sentinel, node);
+    }
+
+    /**
+     * Removes a timer event for this entry if present.
+     *
+     * @param node the entry in the cache
+     */
+    void deschedule(Node node) {
+        unlink(node);
+        node.nextInTimer = null;
+        node.previousInTimer = null;
+    }
+
+    /**
+     * Determines the bucket that the timer event should be added to.
+     *
+     * @param time the time when the event fires
+     * @return the sentinel at the head of the bucket
+     */
+    private Node findBucket(long time) {
+        long duration = time - nanos;
+        int length = wheel.length - 1;
+        for (int i = 0; i < length; i++) {
+            if (duration < SPANS[i + 1]) {
+                long ticks = (time >>> SHIFT[i]);
+                int index = (int) (ticks & (wheel[i].length - 1));
+                return wheel[i][index];
+            }
+        }
+        return wheel[length][0];
+    }
+
+    /**
+     * Adds the entry at the tail of the bucket's list.
+     */
+    private static void link(Node sentinel, Node node) {
+        node.previousInTimer = sentinel.previousInTimer;
+        node.nextInTimer = sentinel;
+
+        sentinel.previousInTimer.nextInTimer = node;
+        sentinel.previousInTimer = node;
+    }
+
+    /**
+     * Removes the entry from its bucket, if scheduled.
+     */
+    private static void unlink(Node node) {
+        Node next = node.nextInTimer;
+        if (next != null) {
+            Node prev = node.previousInTimer;
+            next.previousInTimer = prev;
+            prev.nextInTimer = next;
+        }
+    }
+}
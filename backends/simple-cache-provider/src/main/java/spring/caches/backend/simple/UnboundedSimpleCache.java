@@ -15,11 +15,14 @@ class UnboundedSimpleCache extends ConcurrentHashMap<Object, Object> implements
 
     private final StatsCounter statsCounter;
     private final boolean isRecordingStats;
+    private final Ticker ticker;
+    private final LoadTimeListeners loadTimeListeners = new LoadTimeListeners();
 
     UnboundedSimpleCache(Simple builder) {
         super(builder.getInitialCapacity());
         statsCounter = builder.getStatsCounterSupplier().get();
         isRecordingStats = builder.isRecordingStats();
+        ticker = builder.getTicker();
     }
 
     @Override
@@ -39,7 +42,11 @@ class UnboundedSimpleCache extends ConcurrentHashMap<Object, Object> implements
 
     @Override
     public Object get(Object key, Callable<Object> valueLoader) {
-        return computeIfAbsent(key, k -> {
+        Object value = getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        return load(key, k -> {
             try {
                 return valueLoader.call();
             } catch (Exception ex) {
@@ -50,26 +57,66 @@ class UnboundedSimpleCache extends ConcurrentHashMap<Object, Object> implements
 
     @Override
     public Object computeIfAbsent(Object key, Function<? super Object, ?> mappingFunction) {
-        if (isRecordingStats && containsKey(key)) {
+        Object value = getIfPresent(key);
+        return (value != null) ? value : load(key, mappingFunction);
+    }
+
+    /**
+     * Returns the present value after a single probe of the map, recording a hit. An absent value is not
+     * recorded, as the caller proceeds to {@link #load}.
+     */
+    private Object getIfPresent(Object key) {
+        Object value = super.get(key);
+        if (isRecordingStats && (value != null)) {
+            statsCounter.recordHits(1);
+        }
+        return value;
+    }
+
+    /**
+     * Atomically computes the absent value, recording a miss and the load time if the mapping function
+     * ran, or a hit if another thread loaded the value in the meantime. The miss is recorded before the
+     * mapping function runs, so that it is counted even if the function throws.
+     */
+    private Object load(Object key, Function<? super Object, ?> mappingFunction) {
+        if (!isRecordingStats) {
+            return super.computeIfAbsent(key, mappingFunction);
+        }
+
+        StatsAwareFunction statsAware =
+                new StatsAwareFunction(mappingFunction, statsCounter, ticker, loadTimeListeners);
+        Object value = super.computeIfAbsent(key, k -> {
+            statsCounter.recordMisses(1);
+            return statsAware.apply(k);
+        });
+        if (!statsAware.invoked) {
             statsCounter.recordHits(1);
         }
-        return super.computeIfAbsent(key, statsAware(mappingFunction));
+        return value;
     }
 
     @Override
     public Object compute(Object key, BiFunction<? super Object, ? super Object, ?> remappingFunction) {
-        if (isRecordingStats && containsKey(key)) {
-            statsCounter.recordHits(1);
+        if (!isRecordingStats) {
+            return super.compute(key, remappingFunction);
         }
-        return super.compute(key, statsAware(remappingFunction));
+        return super.compute(key, (k, v) -> {
+            if (v == null) {
+                statsCounter.recordMisses(1);
+            } else {
+                statsCounter.recordHits(1);
+            }
+            return remappingFunction.apply(k, v);
+        });
     }
 
     @Override
     public Object putIfAbsent(Object key, Object value) {
-        if (isRecordingStats && !containsKey(key)) {
+        Object previous = super.putIfAbsent(key, value);
+        if (isRecordingStats && (previous == null)) {
             statsCounter.recordLoads(1);
         }
-        return super.putIfAbsent(key, value);
+        return previous;
     }
 
     @Override
@@ -92,13 +139,19 @@ class UnboundedSimpleCache extends ConcurrentHashMap<Object, Object> implements
 
     @Override
     public void putAll(Map<?, ?> m) {
-        int size = size();
-        if (isRecordingStats && size > 0) {
-            statsCounter.recordLoads(size);
+        if (isRecordingStats && !m.isEmpty()) {
+            statsCounter.recordLoads(m.size());
         }
         super.putAll(m);
     }
 
+    /**
+     * Returns the listeners of the load times, which are only called while statistics are recorded.
+     */
+    LoadTimeListeners loadTimeListeners() {
+        return loadTimeListeners;
+    }
+
     @Override
     public CacheStats stats() {
         return statsCounter.snapshot();
@@ -133,34 +186,6 @@ class UnboundedSimpleCache extends ConcurrentHashMap<Object, Object> implements
         }
     }
 
-    /**
-     * Decorates the remapping function to record statistics if enabled.
-     */
-    <T, R> Function<? super T, ? extends R> statsAware(Function<? super T, ? extends R> mappingFunction) {
-        if (!isRecordingStats) {
-            return mappingFunction;
-        }
-        return key -> {
-            statsCounter.recordMisses(1);
-            return mappingFunction.apply(key);
-        };
-    }
-
-    /**
-     * Decorates the remapping function to record statistics if enabled.
-     */
-    <K, V> BiFunction<? super K, ? super V, ? extends V> statsAware(
-            BiFunction<? super K, ? super V, ? extends V> mappingFunction
-    ) {
-        if (!isRecordingStats) {
-            return mappingFunction;
-        }
-        return (k, v) -> {
-            statsCounter.recordMisses(1);
-            return mappingFunction.apply(k, v);
-        };
-    }
-
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,31 @@
+package spring.caches.backend.simple;
+
+import org.checkerframework.checker.index.qual.NonNegative;
+
+/**
+ * Calculates the weights of cache entries. The total weight threshold is used to determine when an
+ * eviction is required.
+ */
+@FunctionalInterface
+public interface Weigher {
+
+    /**
+     * Returns a weigher where an entry has a weight of {@code 1}.
+     *
+     * @return a weigher where an entry has a weight of {@code 1}
+     */
+    static Weigher singletonWeigher() {
+        return (key, value) -> 1;
+    }
+
+    /**
+     * Returns the weight of a cache entry. There is no unit for entry weights; rather they are simply
+     * relative to each other.
+     *
+     * @param key   the key to weigh
+     * @param value the value to weigh
+     * @return the weight of the entry; must be non-negative
+     */
+    @NonNegative
+    int weigh(Object key, Object value);
+}
@@ -34,20 +34,34 @@ public final class CacheStats {
     private final long missCount;
     private final long loadCount;
     private final long evictionCount;
+    private final long loadSuccessCount;
+    private final long loadFailureCount;
+    private final long totalLoadTime;
+    private final long diskHitCount;
 
+    @SuppressWarnings("ParameterNumber")
     private CacheStats(
             @NonNegative long hitCount,
             @NonNegative long missCount,
             @NonNegative long loadCount,
-            @NonNegative long evictionCount
+            @NonNegative long evictionCount,
+            @NonNegative long loadSuccessCount,
+            @NonNegative long loadFailureCount,
+            @NonNegative long totalLoadTime,
+            @NonNegative long diskHitCount
     ) {
-        if ((hitCount < 0) || (missCount < 0) || (evictionCount < 0) || (loadCount < 0)) {
+        if ((hitCount < 0) || (missCount < 0) || (evictionCount < 0) || (loadCount < 0)
+                || (loadSuccessCount < 0) || (loadFailureCount < 0) || (totalLoadTime < 0) || (diskHitCount < 0)) {
             throw new IllegalArgumentException();
         }
         this.hitCount = hitCount;
         this.missCount = missCount;
         this.loadCount = loadCount;
         this.evictionCount = evictionCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadTime = totalLoadTime;
+        this.diskHitCount = diskHitCount;
     }
 
     /**
@@ -66,7 +80,62 @@ public final class CacheStats {
     ) {
         // Many parameters of the same type in a row is a bad thing, but this class is not constructed
         // by end users and is too fine-grained for a builder.
-        return new CacheStats(hitCount, missCount, loadCount, evictionCount);
+        return of(hitCount, missCount, loadCount, evictionCount, 0L, 0L, 0L);
+    }
+
+    /**
+     * Returns a {@code CacheStats} representing the specified statistics, including those of the loads.
+     *
+     * @param hitCount         the number of cache hits
+     * @param missCount        the number of cache misses
+     * @param loadCount        the number of entries put into the cache
+     * @param evictionCount    the number of entries evicted from the cache
+     * @param loadSuccessCount the number of successful cache loads
+     * @param loadFailureCount the number of failed cache loads
+     * @param totalLoadTime    the total load time (success and failure), in nanoseconds
+     * @return a {@code CacheStats} representing the specified statistics
+     */
+    @SuppressWarnings("ParameterNumber")
+    public static CacheStats of(
+            @NonNegative long hitCount,
+            @NonNegative long missCount,
+            @NonNegative long loadCount,
+            @NonNegative long evictionCount,
+            @NonNegative long loadSuccessCount,
+            @NonNegative long loadFailureCount,
+            @NonNegative long totalLoadTime
+    ) {
+        return of(hitCount, missCount, loadCount, evictionCount,
+                loadSuccessCount, loadFailureCount, totalLoadTime, 0L);
+    }
+
+    /**
+     * Returns a {@code CacheStats} representing the specified statistics, including those of the loads and
+     * the hits served by the disk overflow of the cache.
+     *
+     * @param hitCount         the number of cache hits, including the disk hits
+     * @param missCount        the number of cache misses
+     * @param loadCount        the number of entries put into the cache
+     * @param evictionCount    the number of entries evicted from the cache
+     * @param loadSuccessCount the number of successful cache loads
+     * @param loadFailureCount the number of failed cache loads
+     * @param totalLoadTime    the total load time (success and failure), in nanoseconds
+     * @param diskHitCount     the number of cache hits served by the disk overflow
+     * @return a {@code CacheStats} representing the specified statistics
+     */
+    @SuppressWarnings("ParameterNumber")
+    public static CacheStats of(
+            @NonNegative long hitCount,
+            @NonNegative long missCount,
+            @NonNegative long loadCount,
+            @NonNegative long evictionCount,
+            @NonNegative long loadSuccessCount,
+            @NonNegative long loadFailureCount,
+            @NonNegative long totalLoadTime,
+            @NonNegative long diskHitCount
+    ) {
+        return new CacheStats(hitCount, missCount, loadCount, evictionCount,
+                loadSuccessCount, loadFailureCount, totalLoadTime, diskHitCount);
     }
 
     /**
@@ -158,6 +227,16 @@ public final class CacheStats {
         return missCount;
     }
 
+    /**
+     * Returns the number of times {@link Cache} lookup methods have returned a value that was not held
+     * in memory but in the disk overflow of the cache. These hits are included in {@link #hitCount}.
+     *
+     * @return the number of hits served by the disk overflow
+     */
+    public @NonNegative long diskHitCount() {
+        return diskHitCount;
+    }
+
     public @NonNegative long loadCount() {
         return loadCount;
     }
@@ -178,6 +257,62 @@ public final class CacheStats {
         return (requestCount == 0) ? 0.0 : (double) missCount / requestCount;
     }
 
+    /**
+     * Returns the number of times {@link Cache} lookup methods have successfully loaded a new value.
+     * This is usually incremented in conjunction with {@link #missCount}, though not always (see
+     * {@link #missCount} for an explanation).
+     *
+     * @return the number of times {@link Cache} lookup methods have successfully loaded a new value
+     */
+    public @NonNegative long loadSuccessCount() {
+        return loadSuccessCount;
+    }
+
+    /**
+     * Returns the number of times {@link Cache} lookup methods failed to load a new value, either
+     * because no value was found or an exception was thrown while loading.
+     *
+     * @return the number of times {@link Cache} lookup methods failed to load a new value
+     */
+    public @NonNegative long loadFailureCount() {
+        return loadFailureCount;
+    }
+
+    /**
+     * Returns the ratio of cache loading attempts which threw exceptions or returned null. This is
+     * defined as {@code loadFailureCount / (loadSuccessCount + loadFailureCount)}, or {@code 0.0}
+     * when {@code loadSuccessCount + loadFailureCount == 0}.
+     *
+     * @return the ratio of cache loading attempts which failed
+     */
+    public @NonNegative double loadFailureRate() {
+        long totalLoadCount = saturatedAdd(loadSuccessCount, loadFailureCount);
+        return (totalLoadCount == 0) ? 0.0 : (double) loadFailureCount / totalLoadCount;
+    }
+
+    /**
+     * Returns the total number of nanoseconds the cache has spent loading new values. This can be
+     * used to calculate the miss penalty. This value is increased every time {@code loadSuccessCount}
+     * or {@code loadFailureCount} is incremented.
+     *
+     * @return the total number of nanoseconds the cache has spent loading new values
+     */
+    public @NonNegative long totalLoadTime() {
+        return totalLoadTime;
+    }
+
+    /**
+     * Returns the average number of nanoseconds spent loading new values. This is defined as
+     * {@code totalLoadTime / (loadSuccessCount + loadFailureCount)}, or {@code 0.0} when
+     * {@code loadSuccessCount + loadFailureCount == 0}.
+     *
+     * @return the average number of nanoseconds spent loading new values
+     */
+    public @NonNegative double averageLoadPenalty() {
+        long totalLoadCount = saturatedAdd(loadSuccessCount, loadFailureCount);
+        return (totalLoadCount == 0) ? 0.0 : (double) totalLoadTime / totalLoadCount;
+    }
+
     /**
      * Returns the number of times an entry has been evicted. This count does not include manual
      * {@linkplain Cache#invalidate invalidations}.
@@ -201,7 +336,11 @@ public final class CacheStats {
                 Math.max(0L, saturatedSubtract(hitCount, other.hitCount)),
                 Math.max(0L, saturatedSubtract(missCount, other.missCount)),
                 Math.max(0L, saturatedSubtract(loadCount, other.loadCount)),
-                Math.max(0L, saturatedSubtract(evictionCount, other.evictionCount)));
+                Math.max(0L, saturatedSubtract(evictionCount, other.evictionCount)),
+                Math.max(0L, saturatedSubtract(loadSuccessCount, other.loadSuccessCount)),
+                Math.max(0L, saturatedSubtract(loadFailureCount, other.loadFailureCount)),
+                Math.max(0L, saturatedSubtract(totalLoadTime, other.totalLoadTime)),
+                Math.max(0L, saturatedSubtract(diskHitCount, other.diskHitCount)));
     }
 
     /**
@@ -216,12 +355,17 @@ public final class CacheStats {
                 saturatedAdd(hitCount, other.hitCount),
                 saturatedAdd(missCount, other.missCount),
                 saturatedAdd(loadCount, other.loadCount),
-                saturatedAdd(evictionCount, other.evictionCount));
+                saturatedAdd(evictionCount, other.evictionCount),
+                saturatedAdd(loadSuccessCount, other.loadSuccessCount),
+                saturatedAdd(loadFailureCount, other.loadFailureCount),
+                saturatedAdd(totalLoadTime, other.totalLoadTime),
+                saturatedAdd(diskHitCount, other.diskHitCount));
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(hitCount, missCount, loadCount, evictionCount);
+        return Objects.hash(hitCount, missCount, loadCount, evictionCount,
+                loadSuccessCount, loadFailureCount, totalLoadTime, diskHitCount);
     }
 
     @Override
@@ -235,7 +379,11 @@ public final class CacheStats {
         return hitCount == other.hitCount
                 && missCount == other.missCount
                 && loadCount == other.loadCount
-                && evictionCount == other.evictionCount;
+                && evictionCount == other.evictionCount
+                && loadSuccessCount == other.loadSuccessCount
+                && loadFailureCount == other.loadFailureCount
+                && totalLoadTime == other.totalLoadTime
+                && diskHitCount == other.diskHitCount;
     }
 
     @SuppressWarnings("MultipleStringLiterals")
@@ -246,6 +394,10 @@ public final class CacheStats {
                 + "missCount=" + missCount + ", "
                 + "loadCount=" + loadCount + ", "
                 + "evictionCount=" + evictionCount + ", "
+                + "loadSuccessCount=" + loadSuccessCount + ", "
+                + "loadFailureCount=" + loadFailureCount + ", "
+                + "totalLoadTime=" + totalLoadTime + ", "
+                + "diskHitCount=" + diskHitCount + ", "
                 + '}';
     }
 }
@@ -30,8 +30,12 @@ import java.util.concurrent.atomic.LongAdder;
 public final class ConcurrentStatsCounter implements StatsCounter {
     private final LongAdder hitCount;
     private final LongAdder missCount;
+    private final LongAdder diskHitCount;
     private final LongAdder loadCount;
     private final LongAdder evictionCount;
+    private final LongAdder loadSuccessCount;
+    private final LongAdder loadFailureCount;
+    private final LongAdder totalLoadTime;
 
     /**
      * Constructs an instance with all counts initialized to zero.
@@ -39,8 +43,12 @@ public final class ConcurrentStatsCounter implements StatsCounter {
     public ConcurrentStatsCounter() {
         hitCount = new LongAdder();
         missCount = new LongAdder();
+        diskHitCount = new LongAdder();
         loadCount = new LongAdder();
         evictionCount = new LongAdder();
+        loadSuccessCount = new LongAdder();
+        loadFailureCount = new LongAdder();
+        totalLoadTime = new LongAdder();
     }
 
     /**
@@ -60,11 +68,28 @@ public final class ConcurrentStatsCounter implements StatsCounter {
         missCount.add(count);
     }
 
+    @Override
+    public void recordDiskHits(@NonNegative int count) {
+        diskHitCount.add(count);
+    }
+
     @Override
     public void recordLoads(@NonNegative int count) {
         loadCount.add(count);
     }
 
+    @Override
+    public void recordLoadSuccess(@NonNegative long loadTime) {
+        loadSuccessCount.increment();
+        totalLoadTime.add(loadTime);
+    }
+
+    @Override
+    public void recordLoadFailure(@NonNegative long loadTime) {
+        loadFailureCount.increment();
+        totalLoadTime.add(loadTime);
+    }
+
     @Override
     public void recordEviction(int count) {
         evictionCount.add(count);
@@ -76,7 +101,11 @@ public final class ConcurrentStatsCounter implements StatsCounter {
                 negativeToMaxValue(hitCount.sum()),
                 negativeToMaxValue(missCount.sum()),
                 negativeToMaxValue(loadCount.sum()),
-                negativeToMaxValue(evictionCount.sum()));
+                negativeToMaxValue(evictionCount.sum()),
+                negativeToMaxValue(loadSuccessCount.sum()),
+                negativeToMaxValue(loadFailureCount.sum()),
+                negativeToMaxValue(totalLoadTime.sum()),
+                negativeToMaxValue(diskHitCount.sum()));
     }
 
     /**
@@ -88,7 +117,11 @@ public final class ConcurrentStatsCounter implements StatsCounter {
         CacheStats otherStats = other.snapshot();
         hitCount.add(otherStats.hitCount());
         missCount.add(otherStats.missCount());
+        diskHitCount.add(otherStats.diskHitCount());
         evictionCount.add(otherStats.evictionCount());
+        loadSuccessCount.add(otherStats.loadSuccessCount());
+        loadFailureCount.add(otherStats.loadFailureCount());
+        totalLoadTime.add(otherStats.totalLoadTime());
     }
 
     @Override
@@ -34,11 +34,26 @@ enum DisabledStatsCounter implements StatsCounter {
         // Intentionally left blank.
     }
 
+    @Override
+    public void recordDiskHits(int count) {
+        // Intentionally left blank.
+    }
+
     @Override
     public void recordLoads(int count) {
         // Intentionally left blank.
     }
 
+    @Override
+    public void recordLoadSuccess(long loadTime) {
+        // Intentionally left blank.
+    }
+
+    @Override
+    public void recordLoadFailure(long loadTime) {
+        // Intentionally left blank.
+    }
+
     @Override
     public void recordEviction(int count) {
         // Intentionally left blank.
@@ -59,6 +59,15 @@ final class GuardedStatsCounter implements StatsCounter {
         }
     }
 
+    @Override
+    public void recordDiskHits(@NonNegative int count) {
+        try {
+            delegate.recordDiskHits(count);
+        } catch (Throwable t) {
+            LOGGER.log(Level.WARNING, MSG_WARN, t);
+        }
+    }
+
     @Override
     public void recordLoads(@NonNegative int count) {
         try {
@@ -68,6 +77,24 @@ final class GuardedStatsCounter implements StatsCounter {
         }
     }
 
+    @Override
+    public void recordLoadSuccess(@NonNegative long loadTime) {
+        try {
+            delegate.recordLoadSuccess(loadTime);
+        } catch (Throwable t) {
+            LOGGER.log(Level.WARNING, MSG_WARN, t);
+        }
+    }
+
+    @Override
+    public void recordLoadFailure(@NonNegative long loadTime) {
+        try {
+            delegate.recordLoadFailure(loadTime);
+        } catch (Throwable t) {
+            LOGGER.log(Level.WARNING, MSG_WARN, t);
+        }
+    }
+
     @Override
     public void recordEviction(int count) {
         try {
@@ -0,0 +1,99 @@
+package spring.caches.backend.simple;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache.ValueRetrievalException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedSimpleCacheTest {
+
+    @Test
+    void specWithMaximumSizeShouldBuildBoundedCache() {
+        assertThat(Simple.from("maximumSize=10").build()).isInstanceOf(BoundedSimpleCache.class);
+        assertThat(Simple.from("maximumWeight=10").build()).isInstanceOf(BoundedSimpleCache.class);
+        assertThat(Simple.from("recordStats").build()).isInstanceOf(UnboundedSimpleCache.class);
+    }
+
+    @Test
+    void specShouldRejectMaximumSizeAndWeight() {
+        assertThatThrownBy(() -> Simple.from("maximumSize=10,maximumWeight=10"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void throwingLoaderShouldRecordAMiss() {
+        Cache cache = Simple.from("maximumSize=10,recordStats").build();
+
+        assertThatThrownBy(() -> cache.get("key", () -> {
+            throw new IllegalStateException("unavailable");
+        })).isInstanceOf(ValueRetrievalException.class);
+
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+        assertThat(cache.stats().hitCount()).isZero();
+        assertThat(cache.stats().loadFailureCount()).isEqualTo(1);
+    }
+
+    @Test
+    void putShouldEvictWhenMaximumSizeIsExceeded() {
+        Cache cache = Simple.from("maximumSize=10,recordStats").build();
+
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, i);
+        }
+
+        assertThat(cache.estimatedSize()).isEqualTo(10);
+        assertThat(cache.stats().evictionCount()).isEqualTo(90);
+    }
+
+    @Test
+    void referencedEntriesShouldGetASecondChance() {
+        Cache cache = Simple.from("maximumSize=3").build();
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+
+        assertThat(cache.get("a")).isEqualTo(1);
+        cache.put("d", 4);
+
+        assertThat(cache.asMap()).containsOnlyKeys("a", "c", "d");
+    }
+
+    @Test
+    void maximumWeightShouldUseWeigher() {
+        Cache cache = Simple.newBuilder()
+                .maximumWeight(10)
+                .weigher((key, value) -> ((String) value).length())
+                .build();
+
+        cache.put(1, "12345");
+        cache.put(2, "12345");
+        assertThat(cache.estimatedSize()).isEqualTo(2);
+
+        cache.put(3, "1");
+        assertThat(cache.estimatedSize()).isEqualTo(2);
+        assertThat(((BoundedSimpleCache) cache).weightedSize()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void getWithLoaderShouldRecordMissOnceAndHitAfterwards() {
+        Cache cache = Simple.from("maximumSize=10,recordStats").build();
+
+        assertThat(cache.get("key", () -> "value")).isEqualTo("value");
+        assertThat(cache.get("key", () -> "other")).isEqualTo("value");
+
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidateShouldReleaseWeight() {
+        Cache cache = Simple.from("maximumSize=2").build();
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.invalidate("a");
+        cache.put("c", 3);
+
+        assertThat(cache.asMap()).containsOnlyKeys("b", "c");
+    }
+}
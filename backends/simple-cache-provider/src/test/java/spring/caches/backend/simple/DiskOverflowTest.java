@@ -0,0 +1,179 @@
+package spring.caches.backend.simple;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DiskOverflowTest {
+
+    private static final long CAPACITY = 1024 * 1024;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+
+    @TempDir
+    Path directory;
+
+    private BoundedSimpleCache newCache(int maximumSize) {
+        return (BoundedSimpleCache) Simple.newBuilder()
+                .maximumSize(maximumSize)
+                .overflowToDisk(directory, CAPACITY)
+                .recordStats()
+                .build();
+    }
+
+    private static DiskOverflow overflow(BoundedSimpleCache cache) {
+        DiskOverflow overflow = cache.diskOverflow();
+        assertThat(overflow).isNotNull();
+        return overflow;
+    }
+
+    @Test
+    void specWithDiskOverflowShouldBuildBoundedCache() {
+        Cache cache = Simple.from("maximumSize=10,diskOverflow=1048576,diskDirectory=" + directory).build();
+
+        assertThat(cache).isInstanceOf(BoundedSimpleCache.class);
+        assertThat(((BoundedSimpleCache) cache).diskOverflow()).isNotNull();
+    }
+
+    @Test
+    void diskOverflowShouldRequireABoundAndRejectOffHeap() {
+        assertThatThrownBy(() -> Simple.from("diskOverflow=1048576").build())
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> Simple.from("offHeap=1048576,diskOverflow=1048576").build())
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> Simple.from("maximumSize=10,diskOverflow=1024"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void evictedEntriesShouldBeReadFromDisk() {
+        BoundedSimpleCache cache = newCache(10);
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, "value-" + i);
+        }
+
+        assertThat(cache.estimatedSize()).isEqualTo(10);
+        assertThat(overflow(cache).size()).isEqualTo(90);
+        assertThat(cache.stats().evictionCount()).isZero();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(cache.get(i)).isEqualTo("value-" + i);
+        }
+        assertThat(cache.get("absent")).isNull();
+        assertThat(cache.stats().hitCount()).isEqualTo(100);
+        assertThat(cache.stats().diskHitCount()).isGreaterThanOrEqualTo(90);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+        assertThat(cache.estimatedSize()).isEqualTo(10);
+    }
+
+    @Test
+    void getWithLoaderShouldNotLoadAnEntryOnDisk() {
+        BoundedSimpleCache cache = newCache(1);
+        cache.put("a", "value-a");
+        cache.put("b", "value-b");
+
+        assertThat(cache.get("a", () -> "loaded")).isEqualTo("value-a");
+        assertThat(cache.putIfAbsent("b", "ignored")).isEqualTo("value-b");
+        assertThat(cache.stats().diskHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void writesAndInvalidationsShouldDiscardTheCopyOnDisk() {
+        BoundedSimpleCache cache = newCache(1);
+        cache.put("a", "old");
+        cache.put("b", "value-b");
+        cache.put("a", "new");
+        cache.put("c", "value-c");
+        assertThat(cache.get("a")).isEqualTo("new");
+
+        cache.invalidate("b");
+        assertThat(cache.get("b")).isNull();
+
+        cache.invalidateAll();
+        assertThat(overflow(cache).isEmpty()).isTrue();
+        assertThat(cache.get("c")).isNull();
+    }
+
+    @Test
+    void expiredEntriesShouldNotBeReadFromDisk() {
+        BoundedSimpleCache cache = (BoundedSimpleCache) Simple.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(Duration.ofMinutes(1))
+                .overflowToDisk(directory, CAPACITY)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        cache.put("a", "value-a");
+        nanos.addAndGet(Duration.ofSeconds(30).toNanos());
+        cache.put("b", "value-b");
+        assertThat(overflow(cache).size()).isEqualTo(1);
+
+        nanos.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThat(cache.get("a")).isNull();
+        assertThat(overflow(cache).isEmpty()).isTrue();
+        assertThat(cache.stats().diskHitCount()).isZero();
+    }
+
+    @Test
+    void compactionShouldReclaimDeadRecords() {
+        BoundedSimpleCache cache = newCache(1);
+        byte[] value = new byte[1_000];
+        for (int i = 0; i < 400; i++) {
+            cache.put(i, value);
+        }
+        DiskOverflow overflow = overflow(cache);
+        for (int i = 0; i < 300; i++) {
+            assertThat(cache.get(i)).isEqualTo(value);
+        }
+        // the promoted entries were spilled again as the cache holds a single entry
+        cache.invalidateAll(IntStream.range(0, 300).boxed().collect(Collectors.toList()));
+
+        overflow.compact();
+
+        assertThat(overflow.size()).isEqualTo(100);
+        assertThat(overflow.usedBytes()).isLessThan(500_000);
+        assertThat(overflow.liveBytes()).isLessThanOrEqualTo(overflow.usedBytes());
+        for (int i = 300; i < 400; i++) {
+            assertThat(cache.get(i)).isEqualTo(value);
+        }
+    }
+
+    @Test
+    void fullLogShouldDropTheOldestEntries() {
+        BoundedSimpleCache cache = newCache(1);
+        byte[] value = new byte[10_000];
+        for (int i = 0; i < 500; i++) {
+            cache.put(i, value);
+        }
+
+        assertThat(overflow(cache).usedBytes()).isLessThanOrEqualTo(CAPACITY);
+        assertThat(cache.stats().evictionCount()).isPositive();
+        assertThat(cache.get(0)).isNull();
+        assertThat(cache.get(498)).isEqualTo(value);
+    }
+
+    @Test
+    void metricsShouldReportTheDiskTier() {
+        BoundedSimpleCache cache = newCache(1);
+        cache.put("a", "value-a");
+        cache.put("b", "value-b");
+        cache.get("a");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        SimpleCacheMetrics.monitor(registry, cache, "test");
+
+        assertThat(registry.get("cache.disk.hits").tag("cache", "test").functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("cache.disk.size").gauge().value()).isEqualTo(1.0);
+        assertThat(registry.get("cache.disk.live").gauge().value()).isPositive();
+    }
+}
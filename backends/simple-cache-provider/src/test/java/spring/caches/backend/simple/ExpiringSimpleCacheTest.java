@@ -0,0 +1,122 @@
+package spring.caches.backend.simple;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExpiringSimpleCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+
+    @Test
+    void specWithExpirationShouldBuildBoundedCache() {
+        assertThat(Simple.from("expireAfterWrite=10s").build()).isInstanceOf(BoundedSimpleCache.class);
+        assertThat(Simple.from("expireAfterAccess=PT1M").build()).isInstanceOf(BoundedSimpleCache.class);
+    }
+
+    @Test
+    void specShouldRejectInvalidDuration() {
+        assertThatThrownBy(() -> Simple.from("expireAfterWrite=10x"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Simple.from("expireAfterWrite=10s,expireAfterWrite=20s"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void expiredEntryShouldBeAMiss() {
+        Cache cache = Simple.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(1))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        cache.put("key", "value");
+        assertThat(cache.get("key")).isEqualTo("value");
+
+        advance(Duration.ofMinutes(1));
+
+        assertThat(cache.get("key")).isNull();
+        assertThat(cache.asMap()).doesNotContainKey("key");
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+        assertThat(cache.stats().evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getWithLoaderShouldReloadExpiredEntry() {
+        Cache cache = Simple.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(1))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        assertThat(cache.get("key", () -> "first")).isEqualTo("first");
+
+        advance(Duration.ofMinutes(2));
+
+        assertThat(cache.get("key", () -> "second")).isEqualTo("second");
+        assertThat(cache.stats().missCount()).isEqualTo(2);
+        assertThat(cache.stats().hitCount()).isZero();
+    }
+
+    @Test
+    void accessShouldExtendExpireAfterAccess() {
+        Cache cache = Simple.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(1))
+                .ticker(ticker)
+                .build();
+        cache.put("key", "value");
+
+        for (int i = 0; i < 5; i++) {
+            advance(Duration.ofSeconds(30));
+            cache.put("other" + i, i);
+            assertThat(cache.get("key")).isEqualTo("value");
+        }
+
+        advance(Duration.ofMinutes(1));
+        assertThat(cache.get("key")).isNull();
+    }
+
+    @Test
+    void timerWheelShouldSweepExpiredEntriesOnWrite() {
+        BoundedSimpleCache cache = (BoundedSimpleCache) Simple.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(10))
+                .ticker(ticker)
+                .build();
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, i);
+        }
+
+        advance(Duration.ofMinutes(5));
+        cache.put("key", "value");
+
+        assertThat(cache.estimatedSize()).isEqualTo(1);
+        assertThat(cache.weightedSize()).isEqualTo(1);
+    }
+
+    @Test
+    void expirationShouldCombineWithMaximumSize() {
+        BoundedSimpleCache cache = (BoundedSimpleCache) Simple.newBuilder()
+                .maximumSize(10)
+                .expireAfterWrite(Duration.ofSeconds(10))
+                .ticker(ticker)
+                .build();
+        for (int i = 0; i < 20; i++) {
+            cache.put(i, i);
+        }
+        assertThat(cache.estimatedSize()).isEqualTo(10);
+
+        advance(Duration.ofMinutes(1));
+        cache.cleanUp();
+
+        assertThat(cache.estimatedSize()).isZero();
+        assertThat(cache.weightedSize()).isZero();
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,70 @@
+package spring.caches.backend.simple;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import spring.caches.backend.simple.stats.CacheStats;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class LoadStatsTest {
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+
+    @Test
+    void loadsShouldRecordSuccessFailureAndTime() {
+        for (String spec : new String[] {"recordStats", "recordStats,maximumSize=10", "recordStats=striped"}) {
+            Cache cache = Simple.from(spec).ticker(ticker).build();
+
+            cache.get("a", () -> {
+                nanos.addAndGet(100);
+                return "value";
+            });
+            cache.get("a", () -> "other");
+            assertThatThrownBy(() -> cache.get("b", () -> {
+                nanos.addAndGet(300);
+                throw new IllegalStateException();
+            })).isInstanceOf(org.springframework.cache.Cache.ValueRetrievalException.class);
+            cache.asMap().computeIfAbsent("c", key -> null);
+
+            CacheStats stats = cache.stats();
+            assertThat(stats.loadSuccessCount()).as(spec).isEqualTo(1);
+            assertThat(stats.loadFailureCount()).as(spec).isEqualTo(2);
+            assertThat(stats.totalLoadTime()).as(spec).isEqualTo(400);
+            nanos.set(0);
+        }
+    }
+
+    @Test
+    void metricsShouldExposeLoadTimeAndRecentPercentiles() {
+        Cache cache = Simple.from("recordStats").ticker(ticker).build();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SimpleCacheMetrics.monitor(registry, cache, "test");
+
+        cache.get("key", () -> {
+            nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(2));
+            return "value";
+        });
+
+        assertThat(registry.get("cache.load").tag("result", "success").functionCounter().count()).isEqualTo(1);
+        FunctionTimer duration = registry.get("cache.load.duration").functionTimer();
+        assertThat(duration.count()).isEqualTo(1);
+        assertThat(duration.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(2);
+
+        Timer latency = registry.get("cache.load.latency").timer();
+        assertThat(latency.count()).isEqualTo(1);
+        ValueAtPercentile p99 = Arrays.stream(latency.takeSnapshot().percentileValues())
+                .filter(value -> value.percentile() == 0.99)
+                .findFirst()
+                .orElseThrow();
+        assertThat(p99.value(TimeUnit.MILLISECONDS)).isCloseTo(2, within(2 / 8.0));
+    }
+}
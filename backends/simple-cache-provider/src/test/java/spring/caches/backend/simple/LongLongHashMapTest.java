@@ -0,0 +1,54 @@
+package spring.caches.backend.simple;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static spring.caches.backend.simple.LongLongHashMap.NO_VALUE;
+
+class LongLongHashMapTest {
+
+    @Test
+    void shouldMapKeysToValues() {
+        LongLongHashMap map = new LongLongHashMap(0);
+
+        assertThat(map.put(1L, 10L)).isEqualTo(NO_VALUE);
+        assertThat(map.put(1L, 11L)).isEqualTo(10L);
+        assertThat(map.get(1L)).isEqualTo(11L);
+        assertThat(map.get(2L)).isEqualTo(NO_VALUE);
+        assertThat(map.remove(1L, 10L)).isFalse();
+        assertThat(map.remove(1L, 11L)).isTrue();
+        assertThat(map.size()).isZero();
+        assertThatIllegalArgumentException().isThrownBy(() -> map.put(0L, 1L));
+    }
+
+    @Test
+    void shouldMatchAHashMapUnderRandomOperations() {
+        LongLongHashMap map = new LongLongHashMap(16);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            long key = 1 + random.nextInt(2_000);
+            if (random.nextBoolean()) {
+                long value = random.nextInt(Integer.MAX_VALUE);
+                Long previous = expected.put(key, value);
+                assertThat(map.put(key, value)).isEqualTo((previous == null) ? NO_VALUE : previous);
+            } else {
+                Long previous = expected.remove(key);
+                assertThat(map.remove(key)).isEqualTo((previous == null) ? NO_VALUE : previous);
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        expected.forEach((key, value) -> assertThat(map.get(key)).isEqualTo(value));
+
+        map.clear();
+        assertThat(map.size()).isZero();
+        assertThat(map.get(1L)).isEqualTo(NO_VALUE);
+    }
+}
@@ -0,0 +1,172 @@
+package spring.caches.backend.simple;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import spring.caches.backend.snapshot.JavaSnapshotCodec;
+import spring.caches.backend.snapshot.SnapshotReader;
+import spring.caches.backend.snapshot.SnapshotWriter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+class OffHeapSimpleCacheTest {
+
+    @Test
+    void specWithOffHeapShouldBuildOffHeapCache() {
+        assertThat(Simple.from("offHeap=1048576").build()).isInstanceOf(OffHeapSimpleCache.class);
+    }
+
+    @Test
+    void offHeapShouldRejectBoundsAndExpiration() {
+        assertThatThrownBy(() -> Simple.from("offHeap=1048576,maximumSize=10").build())
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> Simple.from("offHeap=1048576,expireAfterWrite=1m").build())
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> Simple.from("offHeap=1024"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldStoreSerializedCopies() {
+        Cache cache = Simple.from("offHeap=1048576,recordStats").build();
+        cache.put("key", "value");
+        cache.put("key", "other");
+
+        assertThat(cache.get("key")).isEqualTo("other");
+        assertThat(cache.get("absent")).isNull();
+        assertThat(cache.putIfAbsent("key", "ignored")).isEqualTo("other");
+        assertThat(cache.asMap()).isEqualTo(Collections.singletonMap("key", "other"));
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+
+        cache.invalidate("key");
+        assertThat(cache.estimatedSize()).isZero();
+        assertThat(((OffHeapSimpleCache) cache).offHeapUsedBytes()).isZero();
+    }
+
+    @Test
+    void getWithLoaderShouldLoadOnce() {
+        Cache cache = Simple.from("offHeap=1048576,recordStats").build();
+
+        assertThat(cache.get("key", () -> "value")).isEqualTo("value");
+        assertThat(cache.get("key", () -> "other")).isEqualTo("value");
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void loaderShouldBeAbleToLoadAnotherKey() {
+        Cache cache = Simple.from("offHeap=1048576").build();
+
+        // 1 and 65 share a bin of the map of the keys being loaded
+        assertThat(cache.get(1, () -> cache.get(65, () -> "inner") + "-outer")).isEqualTo("inner-outer");
+        assertThat(cache.get(65)).isEqualTo("inner");
+    }
+
+    @Test
+    void removeShouldRecordAnEvictionWhetherOrNotTheValueIsGiven() {
+        OffHeapSimpleCache cache = (OffHeapSimpleCache) Simple.from("offHeap=1048576,recordStats").build();
+        cache.put("a", "value");
+        cache.put("b", "value");
+
+        assertThat(cache.remove("a")).isEqualTo("value");
+        assertThat(cache.remove("b", "other")).isFalse();
+        assertThat(cache.remove("b", "value")).isTrue();
+        assertThat(cache.stats().evictionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldEvictWhenCapacityIsExhausted() {
+        OffHeapSimpleCache cache = (OffHeapSimpleCache) Simple.from("offHeap=65536,recordStats").build();
+
+        for (int i = 0; i < 10_000; i++) {
+            cache.put(i, "value-" + i);
+        }
+
+        assertThat(cache.offHeapAllocatedBytes()).isLessThanOrEqualTo(65536);
+        assertThat(cache.estimatedSize()).isPositive().isLessThan(10_000);
+        assertThat(cache.stats().evictionCount()).isEqualTo(10_000 - cache.estimatedSize());
+        assertThat(cache.get(9_999)).isEqualTo("value-9999");
+    }
+
+    @Test
+    void differentlySizedValuesShouldShareTheCapacity() {
+        OffHeapSimpleCache cache = (OffHeapSimpleCache) Simple.from("offHeap=65536").build();
+        for (int i = 0; i < 1_000; i++) {
+            cache.put(i, "small");
+        }
+        for (int i = 0; i < 100; i++) {
+            cache.put("large" + i, new byte[500]);
+        }
+
+        assertThat(cache.get("large99")).isEqualTo(new byte[500]);
+        assertThat(cache.get(999)).isEqualTo("small");
+        assertThat(cache.offHeapAllocatedBytes()).isLessThanOrEqualTo(65536);
+    }
+
+    @Test
+    void entryLargerThanASlabShouldNotBeStored() {
+        Cache cache = Simple.from("offHeap=65536").build();
+        cache.put("key", "value");
+        cache.put("key", new byte[2_000]);
+
+        assertThat(cache.get("key")).isNull();
+    }
+
+    @Test
+    void metricsShouldReportOffHeapBytes() {
+        OffHeapSimpleCache cache = (OffHeapSimpleCache) Simple.from("offHeap=1048576,recordStats").build();
+        cache.put("key", "value");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        SimpleCacheMetrics.monitor(registry, cache, "test");
+
+        assertThat(registry.get("cache.offheap.used").tag("cache", "test").gauge().value())
+                .isEqualTo(cache.offHeapUsedBytes())
+                .isPositive();
+        assertThat(registry.get("cache.offheap.allocated").gauge().value()).isPositive();
+    }
+
+    @Test
+    void snapshotShouldVisitEachEntryAndRestore(@TempDir Path directory) throws Exception {
+        SimpleCache cache = new SimpleCache("test", Simple.from("offHeap=4194304").build());
+        Map<Object, Object> entries = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            entries.put(i, "value-" + i);
+        }
+        cache.putAll(entries);
+
+        Path file = directory.resolve("test.snapshot");
+        try (SnapshotWriter writer = SnapshotWriter.create(file, new JavaSnapshotCodec())) {
+            cache.writeSnapshot(writer);
+            writer.commit();
+        }
+        SimpleCache restored = new SimpleCache("test", Simple.from("offHeap=4194304").build());
+        new SnapshotReader(file, new JavaSnapshotCodec()).read(restored::restore);
+
+        assertThat(restored.getNativeCache().asMap()).isEqualTo(entries);
+        assertThat(restored.get(999, String.class)).isEqualTo("value-999");
+    }
+
+    @Test
+    void forEachEntryShouldStopAtTheFirstFailedVisit() {
+        Cache cache = Simple.from("offHeap=1048576").build();
+        cache.put(1, "one");
+        cache.put(2, "two");
+
+        Map<Object, Object> visited = new HashMap<>();
+        assertThatThrownBy(() -> cache.forEachEntry((key, value, timeToLiveNanos) -> {
+            visited.put(key, value);
+            throw new IOException("disk full");
+        })).isInstanceOf(IOException.class).hasMessage("disk full");
+        assertThat(visited).hasSize(1).containsAnyOf(entry(1, "one"), entry(2, "two"));
+    }
+}
@@ -0,0 +1,86 @@
+package spring.caches.backend.simple;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RefreshingSimpleCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Queue<Runnable> reloads = new ArrayDeque<>();
+
+    private SimpleCache newCache() {
+        Simple builder = Simple.newBuilder()
+                .refreshAfterWrite(Duration.ofMinutes(1))
+                .ticker(nanos::get)
+                .executor(reloads::add);
+        return new SimpleCache("test", builder.build(), true, builder.buildRefresher());
+    }
+
+    @Test
+    void specShouldConfigureRefreshAfterWrite() {
+        assertThat(Simple.from("refreshAfterWrite=30s").buildRefresher())
+                .satisfies(refresher -> assertThat(refresher.refreshAfterWrite()).isEqualTo(Duration.ofSeconds(30)));
+        assertThat(Simple.from("maximumSize=10").buildRefresher()).isNull();
+        assertThatThrownBy(() -> Simple.from("refreshAfterWrite=10s,refreshAfterWrite=20s"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void dueEntryShouldBeReturnedAndReloadedOnce() {
+        SimpleCache cache = newCache();
+        AtomicInteger loads = new AtomicInteger();
+        assertThat(cache.get("key", () -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+        assertThat(reloads).isEmpty();
+
+        nanos.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        assertThat(cache.get("key", () -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+        assertThat(cache.get("key", () -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+        assertThat(reloads).hasSize(1);
+
+        reloads.remove().run();
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.get("key", () -> "v" + loads.incrementAndGet())).isEqualTo("v2");
+        assertThat(cache.get("key").get()).isEqualTo("v2");
+        assertThat(reloads).isEmpty();
+    }
+
+    @Test
+    void failedReloadShouldKeepValue() {
+        SimpleCache cache = newCache();
+        cache.put("key", "value");
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        Object value = cache.get("key", () -> {
+            throw new IllegalStateException("unavailable");
+        });
+        assertThat(value).isEqualTo("value");
+        reloads.remove().run();
+
+        assertThat(cache.get("key").get()).isEqualTo("value");
+        assertThat(cache.refresher().refreshing()).isZero();
+        assertThat(cache.get("key", () -> "reloaded")).isEqualTo("value");
+        assertThat(reloads).hasSize(1);
+    }
+
+    @Test
+    void valuesShouldBeUnwrapped() {
+        SimpleCache cache = newCache();
+        cache.put("a", 1);
+        cache.put("b", null);
+        assertThat(cache.putIfAbsent("a", 2).get()).isEqualTo(1);
+        assertThat(cache.get("a", Integer.class)).isEqualTo(1);
+        assertThat(cache.get("b").get()).isNull();
+        assertThat(cache.getAll(Arrays.asList("a", "b"))).containsEntry("a", 1).containsEntry("b", null);
+    }
+}
@@ -0,0 +1,63 @@
+package spring.caches.backend.simple;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import spring.caches.backend.snapshot.JavaSnapshotCodec;
+import spring.caches.backend.snapshot.SnapshotReader;
+import spring.caches.backend.snapshot.SnapshotWriter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class SimpleCacheTest {
+
+    @Test
+    void getAllShouldReturnPresentKeysOnly() {
+        SimpleCache cache = new SimpleCache("test", Simple.from("recordStats").build());
+        Map<String, Object> entries = new HashMap<>();
+        entries.put("a", 1);
+        entries.put("b", null);
+        cache.putAll(entries);
+
+        assertThat(cache.getAll(Arrays.asList("a", "b", "c"))).containsOnly(entry("a", 1), entry("b", null));
+        assertThat(cache.get("b")).isNotNull();
+        assertThat(cache.getNativeCache().stats().hitCount()).isEqualTo(3);
+        assertThat(cache.getNativeCache().stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void snapshotShouldHoldUnexpiredEntriesWithTheirTimeToLive(@TempDir Path directory) throws Exception {
+        AtomicLong nanos = new AtomicLong();
+        SimpleCache cache = new SimpleCache("test", Simple.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(1))
+                .ticker(nanos::get)
+                .build());
+        cache.put("expired", "value");
+        nanos.addAndGet(Duration.ofSeconds(30).toNanos());
+        cache.put("a", 1);
+        cache.put("b", null);
+        nanos.addAndGet(Duration.ofSeconds(40).toNanos());
+
+        Map<Object, Long> timeToLives = new HashMap<>();
+        cache.getNativeCache().forEachEntry((key, value, timeToLiveNanos) -> timeToLives.put(key, timeToLiveNanos));
+        assertThat(timeToLives).containsOnly(
+                entry("a", Duration.ofSeconds(20).toNanos()), entry("b", Duration.ofSeconds(20).toNanos()));
+
+        Path file = directory.resolve("test.snapshot");
+        try (SnapshotWriter writer = SnapshotWriter.create(file, new JavaSnapshotCodec())) {
+            cache.writeSnapshot(writer);
+            writer.commit();
+        }
+        SimpleCache restored = new SimpleCache("test", Simple.newBuilder().build());
+        new SnapshotReader(file, new JavaSnapshotCodec()).read(restored::restore);
+
+        assertThat(restored.getAll(Arrays.asList("expired", "a", "b"))).containsOnly(entry("a", 1), entry("b", null));
+    }
+}
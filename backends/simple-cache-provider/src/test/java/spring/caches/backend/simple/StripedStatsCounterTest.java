@@ -0,0 +1,62 @@
+package spring.caches.backend.simple;
+
+import org.junit.jupiter.api.Test;
+import spring.caches.backend.simple.stats.CacheStats;
+import spring.caches.backend.simple.stats.StatsCounter;
+import spring.caches.backend.simple.stats.StripedStatsCounter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class StripedStatsCounterTest {
+
+    @Test
+    void snapshotShouldSumTheUpdatesOfAllThreads() throws Exception {
+        StatsCounter counter = new StripedStatsCounter();
+        int threads = 8;
+        int updates = 10_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < updates; j++) {
+                        counter.recordHits(1);
+                        counter.recordMisses(2);
+                        counter.recordLoads(3);
+                        counter.recordEviction(4);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        long total = (long) threads * updates;
+        assertThat(counter.snapshot()).isEqualTo(CacheStats.of(total, 2 * total, 3 * total, 4 * total));
+    }
+
+    @Test
+    void specShouldSelectTheStripedCounter() {
+        Cache cache = Simple.from("recordStats=striped,maximumSize=10").build();
+
+        cache.put("key", "value");
+        cache.get("key");
+        cache.get("absent");
+
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+        assertThat(Simple.from("recordStats=concurrent").isRecordingStats()).isTrue();
+        assertThatIllegalArgumentException().isThrownBy(() -> Simple.from("recordStats=sharded"));
+    }
+}
@@ -0,0 +1,60 @@
+package spring.caches.backend.simple;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache.ValueRetrievalException;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UnboundedSimpleCacheTest {
+
+    @Test
+    void computeIfAbsentShouldRecordHitsAndMissesOnce() {
+        Cache cache = Simple.from("recordStats").build();
+
+        assertThat(cache.get("key", () -> "value")).isEqualTo("value");
+        assertThat(cache.get("key", () -> "other")).isEqualTo("value");
+        assertThat(cache.asMap().computeIfAbsent("absent", key -> null)).isNull();
+
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void throwingLoaderShouldRecordAMiss() {
+        Cache cache = Simple.from("recordStats").build();
+
+        assertThatThrownBy(() -> cache.get("key", () -> {
+            throw new IllegalStateException("unavailable");
+        })).isInstanceOf(ValueRetrievalException.class);
+
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+        assertThat(cache.stats().hitCount()).isZero();
+        assertThat(cache.stats().loadFailureCount()).isEqualTo(1);
+    }
+
+    @Test
+    void computeShouldRecordHitOrMissOnce() {
+        Cache cache = Simple.from("recordStats").build();
+
+        cache.asMap().compute("key", (key, value) -> "value");
+        cache.asMap().compute("key", (key, value) -> value + "!");
+
+        assertThat(cache.get("key")).isEqualTo("value!");
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+        assertThat(cache.stats().hitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void putAllShouldRecordLoadsOfTheGivenMap() {
+        Cache cache = Simple.from("recordStats").build();
+        cache.put("a", 1);
+
+        cache.asMap().putAll(Map.of("b", 2, "c", 3));
+        cache.putIfAbsent("a", 4);
+
+        assertThat(cache.stats().loadCount()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,136 @@
+package spring.caches.benchmarks;
+
+import com.thimbleware.jmemcached.CacheImpl;
+import com.thimbleware.jmemcached.Key;
+import com.thimbleware.jmemcached.LocalCacheElement;
+import com.thimbleware.jmemcached.MemCacheDaemon;
+import com.thimbleware.jmemcached.storage.CacheStorage;
+import com.thimbleware.jmemcached.storage.hash.ConcurrentLinkedHashMap;
+import net.spy.memcached.MemcachedClient;
+import org.springframework.cache.Cache;
+import org.springframework.util.SocketUtils;
+import spring.caches.backend.caffeine.CaffeineBackendFactory;
+import spring.caches.backend.elasticache.ElastiCache;
+import spring.caches.backend.elasticache.engines.memcached.MemcachedCache;
+import spring.caches.backend.properties.tree.CachesProperties;
+import spring.caches.backend.simple.SimpleBackendFactory;
+import spring.caches.backend.system.BackendFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The backends under benchmark. Each is configured with the given maximum size, where it supports
+ * one, and exposed as the {@link Cache} that {@code @Cacheable} methods would use. All backends record
+ * statistics, as they do when metrics are enabled, so that they do the same work per operation.
+ */
+public enum CacheType {
+    SIMPLE {
+        @Override
+        Fixture create(int maximumSize) {
+            return () -> fromFactory(new SimpleBackendFactory(), "recordStats");
+        }
+    },
+    SIMPLE_BOUNDED {
+        @Override
+        Fixture create(int maximumSize) {
+            return () -> fromFactory(new SimpleBackendFactory(), "recordStats,maximumSize=" + maximumSize);
+        }
+    },
+    SIMPLE_OFF_HEAP {
+        @Override
+        Fixture create(int maximumSize) {
+            return () -> fromFactory(new SimpleBackendFactory(),
+                    "recordStats,offHeap=" + (OFF_HEAP_BYTES_PER_ENTRY * maximumSize));
+        }
+    },
+    CAFFEINE {
+        @Override
+        Fixture create(int maximumSize) {
+            return () -> fromFactory(new CaffeineBackendFactory(), "recordStats,maximumSize=" + maximumSize);
+        }
+    },
+
+    /**
+     * A memcached cache talking to an in-process jmemcached server over the loopback interface.
+     */
+    MEMCACHED {
+        @Override
+        Fixture create(int maximumSize) {
+            int port = SocketUtils.findAvailableTcpPort();
+            MemCacheDaemon<LocalCacheElement> daemon = new MemCacheDaemon<>();
+            CacheStorage<Key, LocalCacheElement> storage = ConcurrentLinkedHashMap.create(
+                    ConcurrentLinkedHashMap.EvictionPolicy.LRU, maximumSize, MEMCACHED_MAX_BYTES);
+            daemon.setCache(new CacheImpl(storage));
+            daemon.setAddr(new InetSocketAddress(port));
+            daemon.start();
+
+            MemcachedClient client;
+            try {
+                client = new MemcachedClient(new InetSocketAddress("localhost", port));
+            } catch (IOException e) {
+                daemon.stop();
+                throw new UncheckedIOException(e);
+            }
+            Cache cache = new MemcachedCache(client, CACHE_NAME, ElastiCache.from("recordStats,expiration=0"));
+
+            return new Fixture() {
+                @Override
+                public Cache cache() {
+                    return cache;
+                }
+
+                @Override
+                public void close() {
+                    client.shutdown(1, TimeUnit.SECONDS);
+                    daemon.stop();
+                }
+            };
+        }
+    };
+
+    static final String CACHE_NAME = "benchmark";
+
+    private static final long OFF_HEAP_BYTES_PER_ENTRY = 256;
+    private static final long MEMCACHED_MAX_BYTES = 1024 * 1024 * 1024;
+
+    /**
+     * Creates the cache and any infrastructure it requires.
+     */
+    abstract Fixture create(int maximumSize);
+
+    /**
+     * Creates the cache the way the platform does, from the properties of a single cache.
+     */
+    static Cache fromFactory(BackendFactory factory, String spec) {
+        String prefix = "caches." + factory + "[0].";
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(prefix + "names", CACHE_NAME);
+        if (!spec.isEmpty()) {
+            properties.put(prefix + "config.spec", spec);
+        }
+
+        CachesProperties cachesProperties = CachesProperties.resolve(() -> properties)
+                .filterByFactoryName(factory.toString());
+        return requireNonNull(factory.create(cachesProperties).getCacheManager().getCache(CACHE_NAME));
+    }
+
+    /**
+     * A cache under benchmark and the resources to release after the trial.
+     */
+    interface Fixture extends AutoCloseable {
+
+        Cache cache();
+
+        @Override
+        default void close() {
+            // Intentionally left empty.
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package spring.caches.benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The access patterns a benchmark draws its keys from.
+ */
+public enum Distribution {
+
+    /**
+     * A skewed distribution where a few keys are hot, as observed for most caches. The popularity of the
+     * keys is scrambled so that the hot keys are spread over the key space.
+     */
+    ZIPFIAN {
+        @Override
+        int[] sample(int items, int samples, Random random) {
+            double[] cumulative = new double[items];
+            double sum = 0;
+            for (int i = 0; i < items; i++) {
+                sum += 1 / Math.pow(i + 1, ZIPF_EXPONENT);
+                cumulative[i] = sum;
+            }
+
+            int[] keys = new int[samples];
+            for (int i = 0; i < samples; i++) {
+                int rank = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+                rank = (rank < 0) ? Math.min(-rank - 1, items - 1) : rank;
+                keys[i] = scramble(rank, items);
+            }
+            return keys;
+        }
+    },
+
+    /**
+     * Every key is equally likely.
+     */
+    UNIFORM {
+        @Override
+        int[] sample(int items, int samples, Random random) {
+            int[] keys = new int[samples];
+            for (int i = 0; i < samples; i++) {
+                keys[i] = random.nextInt(items);
+            }
+            return keys;
+        }
+    },
+
+    /**
+     * The keys are accessed one after another, as in a batch job that walks a table. A scan defeats
+     * recency-based eviction when the key space exceeds the cache.
+     */
+    SCAN {
+        @Override
+        int[] sample(int items, int samples, Random random) {
+            int[] keys = new int[samples];
+            for (int i = 0; i < samples; i++) {
+                keys[i] = i % items;
+            }
+            return keys;
+        }
+    };
+
+    private static final double ZIPF_EXPONENT = 0.99;
+
+    /**
+     * Returns a sequence of keys in {@code [0, items)}.
+     */
+    abstract int[] sample(int items, int samples, Random random);
+
+    /**
+     * Maps the popularity rank to a key, using a multiplicative hash so that the mapping is a
+     * permutation of the key space if {@code items} is a power of two.
+     */
+    static int scramble(int rank, int items) {
+        return (int) ((rank * 0x9E3779B9L) & (items - 1));
+    }
+}
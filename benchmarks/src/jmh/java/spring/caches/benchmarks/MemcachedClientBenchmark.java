@@ -0,0 +1,100 @@
+package spring.caches.benchmarks;
+
+import com.thimbleware.jmemcached.CacheImpl;
+import com.thimbleware.jmemcached.Key;
+import com.thimbleware.jmemcached.LocalCacheElement;
+import com.thimbleware.jmemcached.MemCacheDaemon;
+import com.thimbleware.jmemcached.storage.CacheStorage;
+import com.thimbleware.jmemcached.storage.hash.ConcurrentLinkedHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.cache.Cache;
+import org.springframework.util.SocketUtils;
+import spring.caches.backend.elasticache.ElastiCache;
+import spring.caches.backend.elasticache.engines.ClusterTopology;
+import spring.caches.backend.elasticache.engines.memcached.MemcachedCacheFactory;
+
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compares the throughput of memcached caches whose client is tuned through the spec, e.g. the binary
+ * protocol and several connections per node, with the client's defaults. The caches talk to an in-process
+ * jmemcached server over the loopback interface, which speaks the protocol of the spec.
+ *
+ * <pre>{@code
+ *   ./gradlew :benchmarks:jmh -PincludePattern=MemcachedClientBenchmark
+ * }</pre>
+ */
+@State(Scope.Benchmark)
+@Threads(16)
+public class MemcachedClientBenchmark {
+    private static final int ITEMS = 1 << 14;
+    private static final int MASK = ITEMS - 1;
+    private static final String VALUE = "value";
+    private static final long MAX_BYTES = 256 * 1024 * 1024;
+
+    @Param({
+            "expiration=0",
+            "expiration=0,binaryProtocol",
+            "expiration=0,connectionsPerNode=4",
+            "expiration=0,binaryProtocol,connectionsPerNode=4,opQueueSize=65536,readBufferSize=65536"
+    })
+    String spec;
+
+    MemCacheDaemon<LocalCacheElement> daemon;
+    MemcachedCacheFactory factory;
+    Cache cache;
+    String[] keys;
+
+    @Setup
+    public void setup() throws Exception {
+        ElastiCache settings = ElastiCache.from(spec);
+        int port = SocketUtils.findAvailableTcpPort();
+        daemon = new MemCacheDaemon<>();
+        CacheStorage<Key, LocalCacheElement> storage = ConcurrentLinkedHashMap.create(
+                ConcurrentLinkedHashMap.EvictionPolicy.LRU, ITEMS, MAX_BYTES);
+        daemon.setCache(new CacheImpl(storage));
+        daemon.setBinary(settings.isBinaryProtocol());
+        daemon.setAddr(new InetSocketAddress(port));
+        daemon.start();
+
+        factory = new MemcachedCacheFactory(Collections.singletonMap(CacheType.CACHE_NAME, settings));
+        cache = factory.createCache(CacheType.CACHE_NAME, ClusterTopology.single("localhost", port));
+        keys = new String[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            keys[i] = "key" + i;
+            cache.put(keys[i], VALUE);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        factory.destroy();
+        daemon.stop();
+    }
+
+    /**
+     * The position of a thread in the sequence of keys, starting at a random offset.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        int index = ThreadLocalRandom.current().nextInt();
+    }
+
+    @Benchmark
+    public Cache.ValueWrapper get(ThreadState threadState) {
+        return cache.get(keys[threadState.index++ & MASK]);
+    }
+
+    @Benchmark
+    public void put(ThreadState threadState) {
+        cache.put(keys[threadState.index++ & MASK], VALUE);
+    }
+}
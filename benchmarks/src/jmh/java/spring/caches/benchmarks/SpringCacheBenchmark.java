@@ -0,0 +1,108 @@
+package spring.caches.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.cache.Cache;
+
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Drives every backend through the {@link Cache} abstraction, as {@code @Cacheable}, {@code @CachePut} and
+ * {@code @CacheEvict} methods do.
+ *
+ * <p>The key space is twice the maximum size of the bounded caches, so that the skew of the distribution
+ * determines the hit rate. The thread count is set with {@code -Pthreads=N}, e.g.
+ *
+ * <pre>{@code
+ *   for t in 1 2 4 8 16; do ./gradlew :benchmarks:jmh -PincludePattern=SpringCacheBenchmark -Pthreads=$t; done
+ * }</pre>
+ */
+@State(Scope.Benchmark)
+public class SpringCacheBenchmark {
+    private static final int MAXIMUM_SIZE = 1 << 15;
+    private static final int ITEMS = 2 * MAXIMUM_SIZE;
+    private static final int SAMPLES = 1 << 20;
+    private static final int MASK = SAMPLES - 1;
+    private static final String VALUE = "value";
+    private static final Callable<String> LOADER = () -> VALUE;
+
+    @Param
+    CacheType cacheType;
+
+    @Param
+    Distribution distribution;
+
+    CacheType.Fixture fixture;
+    Cache cache;
+    Integer[] keys;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        fixture = cacheType.create(MAXIMUM_SIZE);
+        cache = fixture.cache();
+
+        int[] sample = distribution.sample(ITEMS, SAMPLES, new Random(0));
+        keys = new Integer[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            keys[i] = sample[i];
+        }
+        populate();
+    }
+
+    @Setup(Level.Iteration)
+    public void populate() {
+        for (int i = 0; i < MAXIMUM_SIZE; i++) {
+            cache.put(keys[i], VALUE);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    /**
+     * The position of a thread in the sequence of keys. Each thread starts at a random offset so that
+     * the threads do not move in lockstep.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        int index = ThreadLocalRandom.current().nextInt();
+    }
+
+    @Benchmark
+    public Cache.ValueWrapper get(ThreadState threadState) {
+        return cache.get(keys[threadState.index++ & MASK]);
+    }
+
+    @Benchmark
+    public String get_loader(ThreadState threadState) {
+        return cache.get(keys[threadState.index++ & MASK], LOADER);
+    }
+
+    @Benchmark
+    public void put(ThreadState threadState) {
+        cache.put(keys[threadState.index++ & MASK], VALUE);
+    }
+
+    @Benchmark
+    public Cache.ValueWrapper putIfAbsent(ThreadState threadState) {
+        return cache.putIfAbsent(keys[threadState.index++ & MASK], VALUE);
+    }
+
+    /**
+     * Evicts keys from a cache that is repopulated before every iteration, so that the cost of
+     * removing a present entry is included.
+     */
+    @Benchmark
+    public void evict(ThreadState threadState) {
+        cache.evict(keys[threadState.index++ & MASK]);
+    }
+}
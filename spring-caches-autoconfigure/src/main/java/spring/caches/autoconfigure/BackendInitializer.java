@@ -0,0 +1,208 @@
+package spring.caches.autoconfigure;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.env.Environment;
+import org.springframework.util.Assert;
+import spring.caches.autoconfigure.CachesInitializationReport.Entry;
+import spring.caches.backend.CacheBackend;
+import spring.caches.backend.properties.tree.CachesProperties;
+import spring.caches.backend.system.BackendFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the cache backends, one after the other or in parallel, and reports how each of them did.
+ *
+ * <p>By default the backends are created one after the other on the calling thread. With
+ * {@code spring.caches.initialization.parallel=true} the backends are created on a pool of
+ * {@code spring.caches.initialization.threads} threads, and may create their parts, e.g. the caches of the
+ * clusters of a remote backend, on a shared executor of as many threads. A backend that is not created within
+ * {@code spring.caches.initialization.timeout} is reported as timed out and left out; if it is created later,
+ * its cache manager is destroyed. Both pools are shut down once every backend has been created or has failed,
+ * so that the backends that timed out can still use the shared executor. A backend that fails is left out as
+ * before.
+ */
+final class BackendInitializer {
+    private static final Log LOG = LogFactory.getLog(BackendInitializer.class);
+
+    static final String PREFIX = "spring.caches.initialization";
+    static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(60);
+    static final int DEFAULT_THREADS = 8;
+
+    private final boolean parallel;
+    private final Duration timeout;
+    private final int threads;
+
+    BackendInitializer(boolean parallel, Duration timeout, int threads) {
+        Assert.isTrue(!timeout.isNegative() && !timeout.isZero(), "timeout must be positive");
+        Assert.isTrue(threads > 0, "threads must be positive");
+        this.parallel = parallel;
+        this.timeout = timeout;
+        this.threads = threads;
+    }
+
+    static BackendInitializer from(Environment environment) {
+        Binder binder = Binder.get(environment);
+        return new BackendInitializer(
+                binder.bind(PREFIX + ".parallel", Boolean.class).orElse(Boolean.FALSE),
+                binder.bind(PREFIX + ".timeout", Duration.class).orElse(DEFAULT_TIMEOUT),
+                binder.bind(PREFIX + ".threads", Integer.class).orElse(DEFAULT_THREADS));
+    }
+
+    /**
+     * Creates the backends of the given tasks.
+     */
+    CachesInitializationReport initialize(List<Task> tasks) {
+        long start = System.nanoTime();
+        List<Entry> entries = parallel ? initializeInParallel(tasks, start) : initializeSerially(tasks);
+        CachesInitializationReport report = new CachesInitializationReport(entries, parallel, elapsedSince(start));
+        LOG.info("Initialized " + report.cacheBackends().size() + " of " + entries.size() + " cache backends in "
+                + report.getDuration().toMillis() + " ms" + (parallel ? " in parallel" : ""));
+        return report;
+    }
+
+    private static List<Entry> initializeSerially(List<Task> tasks) {
+        List<Entry> entries = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            try {
+                entries.add(created(task, task.create(Runnable::run)));
+            } catch (RuntimeException e) {
+                entries.add(failed(task, e));
+            }
+        }
+        return entries;
+    }
+
+    private List<Entry> initializeInParallel(List<Task> tasks, long start) {
+        ExecutorService backendThreads = Executors.newFixedThreadPool(threads, daemonThreads("spring-caches-backend-"));
+        ThreadPoolExecutor sharedThreads = new ThreadPoolExecutor(threads, threads, 1L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), daemonThreads("spring-caches-init-"));
+        List<CompletableFuture<CacheBackend>> backends = new ArrayList<>(tasks.size());
+        try {
+            for (Task task : tasks) {
+                backends.add(CompletableFuture.supplyAsync(() -> task.create(sharedThreads), backendThreads));
+            }
+        } finally {
+            CompletableFuture.allOf(backends.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, failure) -> {
+                backendThreads.shutdown();
+                sharedThreads.shutdown();
+            });
+        }
+        long deadline = start + timeout.toNanos();
+        List<Entry> entries = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            entries.add(await(tasks.get(i), backends.get(i), deadline));
+        }
+        return entries;
+    }
+
+    private Entry await(Task task, CompletableFuture<CacheBackend> backend, long deadline) {
+        try {
+            return created(task, backend.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+        } catch (ExecutionException e) {
+            return failed(task, e.getCause());
+        } catch (TimeoutException e) {
+            backend.thenAccept(BackendInitializer::discard);
+            LOG.warn("cache_backend=" + task.name + " not initialized within " + timeout.toMillis() + " ms");
+            return Entry.timedOut(task.name, timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            backend.thenAccept(BackendInitializer::discard);
+            return failed(task, e);
+        }
+    }
+
+    private static Entry created(Task task, CacheBackend backend) {
+        Duration duration = task.duration();
+        LOG.info("cache_backend=" + task.name + " initialized in " + duration.toMillis() + " ms");
+        return Entry.created(task.name, duration, backend);
+    }
+
+    private static Entry failed(Task task, Throwable failure) {
+        Duration duration = task.duration();
+        LOG.warn("Could not create a cache backend for backend_factory=" + task.factory
+                + " after " + duration.toMillis() + " ms", failure);
+        return Entry.failed(task.name, duration, failure);
+    }
+
+    /**
+     * Destroys a backend that was created after its timeout.
+     */
+    private static void discard(CacheBackend backend) {
+        CacheManager cacheManager = backend.getCacheManager();
+        LOG.warn("cache_backend=" + backend.getBackendName() + " initialized after the timeout, destroying it");
+        if (cacheManager instanceof DisposableBean) {
+            try {
+                ((DisposableBean) cacheManager).destroy();
+            } catch (Exception e) {
+                LOG.warn("Could not destroy cache_backend=" + backend.getBackendName(), e);
+            }
+        }
+    }
+
+    private static Duration elapsedSince(long start) {
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * The creation of a backend by its factory, which measures how long it takes.
+     */
+    static final class Task {
+        private final String name;
+        private final BackendFactory factory;
+        private final CachesProperties properties;
+        private volatile long started;
+        private volatile long finished;
+
+        Task(String name, BackendFactory factory, CachesProperties properties) {
+            this.name = name;
+            this.factory = factory;
+            this.properties = properties;
+        }
+
+        CacheBackend create(Executor executor) {
+            started = System.nanoTime();
+            try {
+                return factory.create(properties, executor);
+            } finally {
+                finished = System.nanoTime();
+            }
+        }
+
+        /**
+         * Returns how long the creation took, or has taken so far if it is still running.
+         */
+        Duration duration() {
+            if (started == 0L) {
+                return Duration.ZERO;
+            }
+            return Duration.ofNanos(((finished == 0L) ? System.nanoTime() : finished) - started);
+        }
+    }
+}
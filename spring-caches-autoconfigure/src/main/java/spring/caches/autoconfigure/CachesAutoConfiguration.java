@@ -7,6 +7,8 @@ import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import spring.caches.autoconfigure.snapshot.CacheSnapshotConfiguration;
+import spring.caches.autoconfigure.warmup.CacheWarmUpConfiguration;
 
 /**
  * {@link EnableAutoConfiguration Auto-configuration} for the caches abstraction. Creates a
@@ -18,7 +20,8 @@ import org.springframework.context.annotation.Import;
 @Configuration(proxyBeanMethods = false)
 @ConditionalOnClass(CacheManager.class)
 @ConditionalOnMissingBean(name = {"cacheManagers", "springCachesResolver"})
-@Import({CachesConfiguration.class, CacheResolverConfiguration.class})
+@Import({CachesConfiguration.class, CacheResolverConfiguration.class, CacheWarmUpConfiguration.class,
+        CacheSnapshotConfiguration.class})
 public class CachesAutoConfiguration {
 
 }
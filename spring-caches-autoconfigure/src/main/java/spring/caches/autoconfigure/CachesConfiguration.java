@@ -2,7 +2,9 @@ package spring.caches.autoconfigure;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.config.SingletonBeanRegistry;
+import org.springframework.beans.factory.support.DefaultSingletonBeanRegistry;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
 import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
@@ -35,6 +37,7 @@ class CachesConfiguration {
     @Configuration(proxyBeanMethods = false)
     static class PlatformConfiguration {
 
+        static final String REPORT_BEAN_NAME = "cachesInitializationReport";
         private static final String PREFIX_KEY = "spring.caches.";
         private static final int OFFSET = "spring.".length();
         private static final String[] SOURCES = {
@@ -48,11 +51,14 @@ class CachesConfiguration {
 
         PlatformConfiguration(Environment environment, ApplicationContext applicationContext) {
             CachesProperties properties = CachesProperties.resolve(new ConfigurationResolver(environment));
-            List<CacheBackend> cacheBackends = loadCacheBackends(properties, applicationContext);
+            CachesInitializationReport report = BackendInitializer.from(environment)
+                    .initialize(loadBackendTasks(properties, applicationContext));
+            List<CacheBackend> cacheBackends = report.cacheBackends();
             cacheMeterBinderProviderMap = loadBinderProviderMap(cacheBackends);
             configurableApplicationContext = (ConfigurableApplicationContext) applicationContext;
             cacheManagerMap = loadCacheManagerMap(cacheBackends);
 
+            registerSingleton(REPORT_BEAN_NAME, report);
             registerCacheMeterBinderProviders();
             registerCacheManagers();
         }
@@ -63,11 +69,11 @@ class CachesConfiguration {
             return cacheManagerMap;
         }
 
-        final List<CacheBackend> loadCacheBackends(
+        final List<BackendInitializer.Task> loadBackendTasks(
                 CachesProperties properties,
                 ApplicationContext applicationContext
         ) {
-            List<CacheBackend> cacheBackends = new LinkedList<>();
+            List<BackendInitializer.Task> tasks = new LinkedList<>();
             Platform.getBackendFactoryNames().forEach(factoryName -> {
                 CachesProperties filtered = properties.filterByFactoryName(factoryName);
                 if (filtered.isEmpty()) {
@@ -79,15 +85,11 @@ class CachesConfiguration {
                         ((ApplicationContextAware) backendFactory).setApplicationContext(applicationContext);
                     }
 
-                    try {
-                        cacheBackends.add(backendFactory.create(filtered));
-                    } catch (RuntimeException e) {
-                        LOG.warn("Could not create a cache backend for backend_factory=" + backendFactory, e);
-                    }
+                    tasks.add(new BackendInitializer.Task(factoryName, backendFactory, filtered));
                 }
             });
 
-            return cacheBackends;
+            return tasks;
         }
 
         final Map<String, Object> loadBinderProviderMap(List<CacheBackend> cacheBackends) {
@@ -115,12 +117,15 @@ class CachesConfiguration {
 
         /**
          * Register the given existing object as singleton in the bean registry,
-         * under the given bean name.
+         * under the given bean name. A disposable object is destroyed with the context.
          */
         final <T> void registerSingleton(String name, T object) {
             final SingletonBeanRegistry registry = configurableApplicationContext.getBeanFactory();
             if (!registry.containsSingleton(name)) {
                 registry.registerSingleton(name, object);
+                if ((object instanceof DisposableBean) && (registry instanceof DefaultSingletonBeanRegistry)) {
+                    ((DefaultSingletonBeanRegistry) registry).registerDisposableBean(name, (DisposableBean) object);
+                }
             }
         }
 
@@ -0,0 +1,170 @@
+package spring.caches.autoconfigure;
+
+import org.springframework.lang.Nullable;
+import spring.caches.backend.CacheBackend;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * The outcome of the initialization of the configured cache backends. There is one entry per backend, in the
+ * order of the backend factories, holding its status, how long it took and why it failed, if it did. The
+ * report is registered as the bean {@code cachesInitializationReport}.
+ */
+public final class CachesInitializationReport {
+    private final List<Entry> entries;
+    private final boolean parallel;
+    private final Duration duration;
+
+    CachesInitializationReport(List<Entry> entries, boolean parallel, Duration duration) {
+        this.entries = List.copyOf(entries);
+        this.parallel = parallel;
+        this.duration = duration;
+    }
+
+    /**
+     * Returns the entries of all backends.
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Returns the entry of the given backend, if it was initialized.
+     */
+    public Optional<Entry> getEntry(String backend) {
+        return entries.stream().filter(entry -> entry.getBackend().equals(backend)).findFirst();
+    }
+
+    /**
+     * Returns the entries of the backends that failed or timed out.
+     */
+    public List<Entry> getFailures() {
+        return entries.stream().filter(entry -> entry.getStatus() != Status.CREATED).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns whether a backend failed or timed out.
+     */
+    public boolean hasFailures() {
+        return entries.stream().anyMatch(entry -> entry.getStatus() != Status.CREATED);
+    }
+
+    /**
+     * Returns whether the backends were initialized in parallel.
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Returns how long the initialization of all backends took.
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    List<CacheBackend> cacheBackends() {
+        return entries.stream()
+                .filter(entry -> entry.cacheBackend != null)
+                .map(entry -> entry.cacheBackend)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public String toString() {
+        return "CachesInitializationReport{entries=" + entries + ", parallel=" + parallel
+                + ", duration=" + duration + '}';
+    }
+
+    /**
+     * The status of a backend.
+     */
+    public enum Status {
+        /**
+         * The backend was created.
+         */
+        CREATED,
+        /**
+         * The backend factory threw an exception.
+         */
+        FAILED,
+        /**
+         * The backend was not created within the timeout. If it is created later, it is destroyed.
+         */
+        TIMED_OUT
+    }
+
+    /**
+     * The outcome of the initialization of a single backend.
+     */
+    public static final class Entry {
+        private final String backend;
+        private final Status status;
+        private final Duration duration;
+        private final @Nullable Throwable failure;
+        private final @Nullable CacheBackend cacheBackend;
+
+        private Entry(
+                String backend,
+                Status status,
+                Duration duration,
+                @Nullable Throwable failure,
+                @Nullable CacheBackend cacheBackend
+        ) {
+            this.backend = backend;
+            this.status = status;
+            this.duration = duration;
+            this.failure = failure;
+            this.cacheBackend = cacheBackend;
+        }
+
+        static Entry created(String backend, Duration duration, CacheBackend cacheBackend) {
+            return new Entry(backend, Status.CREATED, duration, null, cacheBackend);
+        }
+
+        static Entry failed(String backend, Duration duration, Throwable failure) {
+            return new Entry(backend, Status.FAILED, duration, failure, null);
+        }
+
+        static Entry timedOut(String backend, Duration duration) {
+            return new Entry(backend, Status.TIMED_OUT, duration, null, null);
+        }
+
+        /**
+         * Returns the name of the backend factory.
+         */
+        public String getBackend() {
+            return backend;
+        }
+
+        /**
+         * Returns the status of the backend.
+         */
+        public Status getStatus() {
+            return status;
+        }
+
+        /**
+         * Returns how long the backend took to be created or to fail, or the time waited for it if it timed out.
+         */
+        public Duration getDuration() {
+            return duration;
+        }
+
+        /**
+         * Returns the exception the backend factory threw, or {@code null} if it did not.
+         */
+        public @Nullable Throwable getFailure() {
+            return failure;
+        }
+
+        @Override
+        public String toString() {
+            return "Entry{backend=" + backend + ", status=" + status + ", duration=" + duration
+                    + ((failure == null) ? "" : ", failure=" + failure) + '}';
+        }
+    }
+}
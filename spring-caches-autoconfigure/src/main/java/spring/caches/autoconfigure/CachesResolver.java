@@ -0,0 +1,28 @@
+package spring.caches.autoconfigure;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.CacheResolver;
+
+/**
+ * The {@link CacheResolver} of {@code @Cacheable} and related annotations, which resolves caches by name
+ * across all cache managers. Besides the caches of the cache managers, it resolves caches that are
+ * registered at runtime:
+ *
+ * <pre>{@code
+ * @Autowired
+ * CachesResolver cachesResolver;
+ *
+ * void addTenant(String tenant) {
+ *     cachesResolver.registerCache(new ConcurrentMapCache("products-" + tenant));
+ * }
+ * }</pre>
+ */
+public interface CachesResolver extends CacheResolver {
+
+    /**
+     * Makes the given cache resolvable by its name, replacing any cache of the same name.
+     *
+     * @param cache the cache to register
+     */
+    void registerCache(Cache cache);
+}
@@ -0,0 +1,120 @@
+package spring.caches.autoconfigure;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.BasicOperation;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the caches of an operation by their names across all cache managers. A name that is neither
+ * registered nor known at startup is looked up in the cache managers, so that caches they create on
+ * demand are found as well, and the cache found is registered.
+ *
+ * <p>The resolution runs on every invocation of a cached method, so the caches of an operation are resolved
+ * once and kept in an identity map. Spring keeps a single instance per operation of an annotated method, so
+ * later invocations return the same immutable collection without allocating or locking. The map is copied
+ * on write, which is cheap as there is one write per cached method.
+ */
+final class DefaultCachesResolver implements CachesResolver {
+
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>(16);
+
+    private final Collection<CacheManager> cacheManagers;
+
+    private volatile Map<BasicOperation, Collection<Cache>> resolutions = Collections.emptyMap();
+
+    DefaultCachesResolver(Map<String, Cache> caches) {
+        this(caches, Collections.emptyList());
+    }
+
+    DefaultCachesResolver(Map<String, Cache> caches, Collection<CacheManager> cacheManagers) {
+        this.caches.putAll(caches);
+        this.cacheManagers = List.copyOf(cacheManagers);
+    }
+
+    @Override
+    @NonNull
+    public Collection<? extends Cache> resolveCaches(CacheOperationInvocationContext<?> context) {
+        BasicOperation operation = context.getOperation();
+        Collection<Cache> resolved = resolutions.get(operation);
+        return (resolved == null) ? resolve(operation) : resolved;
+    }
+
+    /**
+     * Resolves the caches of an operation and remembers them. An operation that names an unknown cache
+     * fails every time, as the cache may not exist yet.
+     */
+    private synchronized Collection<Cache> resolve(BasicOperation operation) {
+        Collection<Cache> resolved = resolutions.get(operation);
+        if (resolved != null) {
+            return resolved;
+        }
+
+        final Set<String> cacheNames = operation.getCacheNames();
+        List<Cache> found = new ArrayList<>(cacheNames.size());
+        for (String name : cacheNames) {
+            final Cache cache = findCache(name);
+            if (cache == null) {
+                throw new IllegalArgumentException(
+                        String.format("Cannot find cache named '%s' for %s", name, operation)
+                );
+            }
+            found.add(cache);
+        }
+        resolved = List.copyOf(found);
+
+        Map<BasicOperation, Collection<Cache>> copy = new IdentityHashMap<>(resolutions);
+        copy.put(operation, resolved);
+        resolutions = copy;
+        return resolved;
+    }
+
+    /**
+     * Returns the cache of the given name, looking it up in the cache managers if it is not registered.
+     */
+    @Nullable
+    private Cache findCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        for (CacheManager cacheManager : cacheManagers) {
+            cache = cacheManager.getCache(name);
+            if (cache != null) {
+                caches.put(name, cache);
+                return cache;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Registers the cache and forgets the resolutions, as they may refer to a replaced cache of the same
+     * name. Operations are resolved again on their next invocation.
+     */
+    @Override
+    public synchronized void registerCache(Cache cache) {
+        Assert.notNull(cache, "cache is mandatory");
+        caches.put(cache.getName(), cache);
+        resolutions = Collections.emptyMap();
+    }
+
+    /**
+     * Returns the number of operations whose caches are resolved.
+     */
+    int resolutions() {
+        return resolutions.size();
+    }
+}
@@ -0,0 +1,92 @@
+package spring.caches.autoconfigure.snapshot;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.lang.Nullable;
+import spring.caches.backend.SnapshotCache;
+import spring.caches.backend.snapshot.JavaSnapshotCodec;
+import spring.caches.backend.snapshot.SnapshotCodec;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configures the {@link CacheSnapshots} of the caches listed in {@code spring.caches.snapshot.caches}.
+ */
+@Configuration(proxyBeanMethods = false)
+@Conditional(CacheSnapshotConfiguration.OnSnapshotCondition.class)
+public class CacheSnapshotConfiguration {
+    private static final Log LOG = LogFactory.getLog(CacheSnapshotConfiguration.class);
+
+    @Bean
+    CacheSnapshots cacheSnapshots(
+            Environment environment,
+            ListableBeanFactory beanFactory,
+            Map<String, CacheManager> cacheManagers
+    ) {
+        CacheSnapshotProperties properties = bind(environment);
+        List<CacheSnapshots.Target> targets = new ArrayList<>();
+        for (String cacheName : properties.getCaches()) {
+            Cache cache = findCache(cacheName, cacheManagers);
+            if (cache instanceof SnapshotCache) {
+                targets.add(new CacheSnapshots.Target(cacheName, (SnapshotCache) cache, properties.file(cacheName)));
+            } else if (cache == null) {
+                LOG.warn("cache=" + cacheName + " not snapshotted -> no cache manager has a cache of that name.");
+            } else {
+                LOG.warn("cache=" + cacheName + " not snapshotted -> " + cache.getClass().getName()
+                        + " is not held in memory.");
+            }
+        }
+        return new CacheSnapshots(targets, findCodec(properties, beanFactory));
+    }
+
+    static CacheSnapshotProperties bind(Environment environment) {
+        return Binder.get(environment)
+                .bind(CacheSnapshotProperties.PREFIX, CacheSnapshotProperties.class)
+                .orElseGet(CacheSnapshotProperties::new);
+    }
+
+    private static @Nullable Cache findCache(String cacheName, Map<String, CacheManager> cacheManagers) {
+        for (CacheManager cacheManager : cacheManagers.values()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                return cache;
+            }
+        }
+        return null;
+    }
+
+    private static SnapshotCodec findCodec(CacheSnapshotProperties properties, ListableBeanFactory beanFactory) {
+        if (properties.getCodec() != null) {
+            return beanFactory.getBean(properties.getCodec(), SnapshotCodec.class);
+        }
+        return beanFactory.getBeanProvider(SnapshotCodec.class).getIfUnique(JavaSnapshotCodec::new);
+    }
+
+    /**
+     * Matches if caches to snapshot are configured.
+     */
+    static class OnSnapshotCondition extends SpringBootCondition {
+
+        @Override
+        public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            if (bind(context.getEnvironment()).getCaches().isEmpty()) {
+                return ConditionOutcome.noMatch("no caches to snapshot in " + CacheSnapshotProperties.PREFIX);
+            }
+            return ConditionOutcome.match("caches to snapshot in " + CacheSnapshotProperties.PREFIX);
+        }
+    }
+}
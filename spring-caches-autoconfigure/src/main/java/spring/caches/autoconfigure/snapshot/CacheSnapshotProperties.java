@@ -0,0 +1,61 @@
+package spring.caches.autoconfigure.snapshot;
+
+import org.springframework.lang.Nullable;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The settings of the cache snapshots, bound from {@code spring.caches.snapshot}.
+ */
+public class CacheSnapshotProperties {
+    static final String PREFIX = "spring.caches.snapshot";
+
+    private String directory = Paths.get(System.getProperty("java.io.tmpdir"), "spring-caches").toString();
+    private List<String> caches = new ArrayList<>();
+    private @Nullable String codec;
+
+    /**
+     * Returns the directory of the snapshot files, {@code spring-caches} in the temporary directory by default.
+     * It must outlive the instance, e.g. a volume that the next instance mounts as well.
+     */
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the names of the caches to snapshot.
+     */
+    public List<String> getCaches() {
+        return caches;
+    }
+
+    public void setCaches(List<String> caches) {
+        this.caches = caches;
+    }
+
+    /**
+     * Returns the name of the {@link spring.caches.backend.snapshot.SnapshotCodec} bean of the keys and values,
+     * or {@code null} to use the unique codec bean, if any, or else Java serialization.
+     */
+    public @Nullable String getCodec() {
+        return codec;
+    }
+
+    public void setCodec(@Nullable String codec) {
+        this.codec = codec;
+    }
+
+    /**
+     * Returns the snapshot file of a cache.
+     */
+    Path file(String cacheName) {
+        return Paths.get(directory, cacheName + ".snapshot");
+    }
+}
@@ -0,0 +1,147 @@
+package spring.caches.autoconfigure.snapshot;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.util.Assert;
+import spring.caches.backend.SnapshotCache;
+import spring.caches.backend.snapshot.SnapshotCodec;
+import spring.caches.backend.snapshot.SnapshotReader;
+import spring.caches.backend.snapshot.SnapshotWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Restores caches from their snapshot when the application context starts, and writes their snapshot when it
+ * stops, so that a restarted instance, e.g. during a rolling restart, begins with the entries the previous one
+ * held. Entries that expired in between are not restored.
+ *
+ * <p>A snapshot is deleted once it is restored, so that an instance that crashes does not leave stale entries
+ * for the next one. A cache that cannot be restored or written is logged and left alone.
+ */
+public final class CacheSnapshots implements SmartLifecycle {
+    private static final Log LOG = LogFactory.getLog(CacheSnapshots.class);
+
+    private final List<Target> targets;
+    private final SnapshotCodec codec;
+    private volatile boolean running;
+
+    /**
+     * Creates the snapshots of caches.
+     *
+     * @param targets the caches to snapshot
+     * @param codec   the codec of the keys and values
+     */
+    public CacheSnapshots(List<Target> targets, SnapshotCodec codec) {
+        Assert.notNull(codec, "codec is mandatory");
+        this.targets = List.copyOf(targets);
+        this.codec = codec;
+    }
+
+    /**
+     * Returns the caches to snapshot.
+     */
+    public List<Target> getTargets() {
+        return targets;
+    }
+
+    @Override
+    public void start() {
+        for (Target target : targets) {
+            restore(target);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (Target target : targets) {
+            write(target);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts before the warm-up and stops after it, so that the snapshot holds the entries the warm-up loaded.
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 1;
+    }
+
+    private void restore(Target target) {
+        if (!Files.exists(target.file)) {
+            LOG.info("cache=" + target.name + " not restored -> no snapshot at " + target.file);
+            return;
+        }
+        long start = System.nanoTime();
+        SnapshotReader reader = new SnapshotReader(target.file, codec);
+        try {
+            reader.read(target.cache::restore);
+            Files.delete(target.file);
+            LOG.info("cache=" + target.name + " restored " + reader.getRestoredEntries() + " entries from "
+                    + target.file + " in " + ((System.nanoTime() - start) / 1_000_000L) + " ms, "
+                    + reader.getExpiredEntries() + " expired, " + reader.getFailedEntries() + " failed");
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Could not restore cache=" + target.name + " from " + target.file, e);
+        }
+    }
+
+    private void write(Target target) {
+        long start = System.nanoTime();
+        try (SnapshotWriter writer = SnapshotWriter.create(target.file, codec)) {
+            target.cache.writeSnapshot(writer);
+            writer.commit();
+            LOG.info("cache=" + target.name + " wrote " + writer.getEntries() + " entries to " + target.file
+                    + " in " + ((System.nanoTime() - start) / 1_000_000L) + " ms");
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Could not write the snapshot of cache=" + target.name + " to " + target.file, e);
+        }
+    }
+
+    /**
+     * A cache to snapshot, along with its snapshot file.
+     */
+    public static final class Target {
+        private final String name;
+        private final SnapshotCache cache;
+        private final Path file;
+
+        /**
+         * Creates a target.
+         *
+         * @param name  the name of the cache
+         * @param cache the cache
+         * @param file  the snapshot file of the cache
+         */
+        public Target(String name, SnapshotCache cache, Path file) {
+            Assert.notNull(cache, "cache is mandatory");
+            Assert.notNull(file, "file is mandatory");
+            this.name = name;
+            this.cache = cache;
+            this.file = file;
+        }
+
+        /**
+         * Returns the name of the cache.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the snapshot file of the cache.
+         */
+        public Path getFile() {
+            return file;
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package spring.caches.autoconfigure.warmup;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.cache.Cache;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import spring.caches.backend.BatchCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Warms up caches when the application context starts, so that a new instance does not send all its first
+ * requests to the source of the cached values. The keys of each cache are split into batches, which are loaded
+ * by the cache's {@link CacheWarmUpLoader} on a pool of {@code parallelism} threads and put into the cache, in
+ * bulk if it is a {@link BatchCache}. Batches are started no faster than the configured rate allows.
+ *
+ * <p>The warm-up runs in the background and {@link #isFinished() finishes} once all batches are loaded, or
+ * failed, or once the timeout has elapsed; batches that were not loaded by then are skipped. Until then,
+ * {@link CacheWarmUpReadiness} keeps the application's readiness state refusing traffic and the
+ * {@link CacheWarmUpHealthIndicator} reports the instance out of service.
+ */
+public final class CacheWarmUp implements SmartLifecycle {
+    private static final Log LOG = LogFactory.getLog(CacheWarmUp.class);
+
+    private final List<Target> targets;
+    private final int batchSize;
+    private final int parallelism;
+    private final @Nullable RateLimiter rateLimiter;
+    private final Duration timeout;
+    private final List<Runnable> finishActions = new ArrayList<>();
+
+    private volatile @Nullable Thread coordinator;
+    private volatile @Nullable ExecutorService executor;
+    private volatile State state = State.PENDING;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+
+    /**
+     * Creates a warm-up.
+     *
+     * @param targets     the caches to warm up
+     * @param batchSize   the number of keys loaded at once
+     * @param parallelism the number of batches loaded concurrently
+     * @param rate        the maximum number of keys loaded per second, or 0 if unlimited
+     * @param timeout     how long the warm-up may take
+     */
+    public CacheWarmUp(List<Target> targets, int batchSize, int parallelism, int rate, Duration timeout) {
+        Assert.isTrue(batchSize > 0, "batchSize must be positive");
+        Assert.isTrue(parallelism > 0, "parallelism must be positive");
+        Assert.isTrue(rate >= 0, "rate cannot be negative");
+        Assert.isTrue(!timeout.isNegative() && !timeout.isZero(), "timeout must be positive");
+        this.targets = List.copyOf(targets);
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.rateLimiter = (rate == 0) ? null : new RateLimiter(rate);
+        this.timeout = timeout;
+    }
+
+    /**
+     * Returns the caches that are warmed up.
+     */
+    public List<Target> getTargets() {
+        return targets;
+    }
+
+    /**
+     * Returns the state of the warm-up.
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Returns whether the warm-up has finished, whether all keys were loaded or not.
+     */
+    public boolean isFinished() {
+        State current = state;
+        return (current == State.COMPLETED) || (current == State.TIMED_OUT) || (current == State.STOPPED);
+    }
+
+    /**
+     * Runs the action once the warm-up has finished, on the thread that finishes it, or right away if it has
+     * finished already.
+     */
+    public void whenFinished(Runnable action) {
+        synchronized (finishActions) {
+            if (!isFinished()) {
+                finishActions.add(action);
+                return;
+            }
+        }
+        action.run();
+    }
+
+    /**
+     * Returns how long the warm-up has been running, or how long it took once finished.
+     */
+    public Duration getDuration() {
+        long started = startedAt;
+        if (started == 0L) {
+            return Duration.ZERO;
+        }
+        long finished = finishedAt;
+        return Duration.ofNanos(((finished == 0L) ? System.nanoTime() : finished) - started);
+    }
+
+    /**
+     * Returns the number of keys of all caches.
+     */
+    public long getTotalKeys() {
+        return targets.stream().mapToLong(Target::getTotalKeys).sum();
+    }
+
+    /**
+     * Returns the number of keys of all caches that were loaded or failed to load.
+     */
+    public long getProcessedKeys() {
+        return targets.stream().mapToLong(target -> target.getLoadedKeys() + target.getFailedKeys()).sum();
+    }
+
+    /**
+     * Returns the share of the keys of all caches that were loaded or failed to load, between 0 and 1.
+     */
+    public double getProgress() {
+        long total = getTotalKeys();
+        return (total == 0L) ? (isFinished() ? 1.0 : 0.0) : ((double) getProcessedKeys() / total);
+    }
+
+    /**
+     * Returns the number of keys processed per second so far.
+     */
+    public double getThroughput() {
+        double seconds = getDuration().toNanos() / 1e9;
+        return (seconds == 0.0) ? 0.0 : (getProcessedKeys() / seconds);
+    }
+
+    @Override
+    public void start() {
+        if (state != State.PENDING) {
+            return;
+        }
+        state = State.RUNNING;
+        startedAt = System.nanoTime();
+        Thread thread = new Thread(this::run, "spring-caches-warmup");
+        thread.setDaemon(true);
+        coordinator = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = coordinator;
+        if ((thread != null) && !isFinished()) {
+            thread.interrupt();
+        }
+        ExecutorService pool = executor;
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return state == State.RUNNING;
+    }
+
+    /**
+     * Starts after the other lifecycle beans, e.g. connections the loaders need, and stops before them.
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE;
+    }
+
+    private void run() {
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, daemonThreads());
+        executor = pool;
+        long deadline = startedAt + timeout.toNanos();
+        State outcome = State.COMPLETED;
+        try {
+            for (Target target : targets) {
+                target.resolveKeys();
+            }
+            Semaphore inFlight = new Semaphore(parallelism);
+            for (Target target : targets) {
+                if (!submitBatches(target, pool, inFlight, deadline)) {
+                    outcome = State.TIMED_OUT;
+                    break;
+                }
+            }
+            pool.shutdown();
+            if (!pool.awaitTermination(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                outcome = State.TIMED_OUT;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome = State.STOPPED;
+        } finally {
+            pool.shutdownNow();
+            finish(outcome);
+        }
+    }
+
+    /**
+     * Submits the batches of the target, waiting for a free thread and for the rate limit before each one.
+     * Returns {@code false} if the deadline passed, or would pass before the rate limit lets the next batch start.
+     */
+    private boolean submitBatches(Target target, ExecutorService pool, Semaphore inFlight, long deadline)
+            throws InterruptedException {
+        List<?> keys = target.keys;
+        for (int from = 0; from < keys.size(); from += batchSize) {
+            List<?> batch = keys.subList(from, Math.min(keys.size(), from + batchSize));
+            if ((rateLimiter != null) && !rateLimiter.tryAcquire(batch.size(), deadline)) {
+                return false;
+            }
+            if (!inFlight.tryAcquire(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+            pool.execute(() -> {
+                try {
+                    target.load(batch);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+        return true;
+    }
+
+    private void finish(State outcome) {
+        finishedAt = System.nanoTime();
+        state = outcome;
+        for (Target target : targets) {
+            LOG.info("cache=" + target.name + " warmed up with " + target.getLoadedKeys() + " of "
+                    + target.getTotalKeys() + " keys, " + target.getFailedKeys() + " failed");
+        }
+        LOG.info("Cache warm-up " + outcome.name().toLowerCase(Locale.ENGLISH) + " in " + getDuration().toMillis()
+                + " ms, " + getProcessedKeys() + " of " + getTotalKeys() + " keys processed");
+
+        List<Runnable> actions;
+        synchronized (finishActions) {
+            actions = new ArrayList<>(finishActions);
+            finishActions.clear();
+        }
+        actions.forEach(Runnable::run);
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "spring-caches-warmup-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * The state of the warm-up.
+     */
+    public enum State {
+        /**
+         * The warm-up has not started yet.
+         */
+        PENDING,
+        /**
+         * The batches are being loaded.
+         */
+        RUNNING,
+        /**
+         * All batches were loaded or failed.
+         */
+        COMPLETED,
+        /**
+         * The timeout elapsed before all batches were loaded.
+         */
+        TIMED_OUT,
+        /**
+         * The application context was closed before all batches were loaded.
+         */
+        STOPPED
+    }
+
+    /**
+     * A cache to warm up, along with its keys and loader, and its progress.
+     */
+    public static final class Target {
+        private final String name;
+        private final Cache cache;
+        private final Supplier<? extends Iterable<?>> keySource;
+        private final CacheWarmUpLoader loader;
+        private final LongAdder loadedKeys = new LongAdder();
+        private final LongAdder failedKeys = new LongAdder();
+        private volatile List<?> keys = Collections.emptyList();
+
+        /**
+         * Creates a target.
+         *
+         * @param name      the name of the cache
+         * @param cache     the cache
+         * @param keySource returns the keys to load; it is called when the warm-up starts, in the background
+         * @param loader    loads the entries of the keys
+         */
+        public Target(String name, Cache cache, Supplier<? extends Iterable<?>> keySource, CacheWarmUpLoader loader) {
+            Assert.notNull(cache, "cache is mandatory");
+            Assert.notNull(keySource, "keySource is mandatory");
+            Assert.notNull(loader, "loader is mandatory");
+            this.name = name;
+            this.cache = cache;
+            this.keySource = keySource;
+            this.loader = loader;
+        }
+
+        /**
+         * Returns the name of the cache.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the number of keys to load, once they are known.
+         */
+        public long getTotalKeys() {
+            return keys.size();
+        }
+
+        /**
+         * Returns the number of keys that were loaded. Keys the loader had no value for count as loaded.
+         */
+        public long getLoadedKeys() {
+            return loadedKeys.sum();
+        }
+
+        /**
+         * Returns the number of keys whose batch failed to load.
+         */
+        public long getFailedKeys() {
+            return failedKeys.sum();
+        }
+
+        List<?> resolveKeys() {
+            try {
+                List<Object> resolved = new ArrayList<>();
+                keySource.get().forEach(resolved::add);
+                keys = resolved;
+            } catch (RuntimeException e) {
+                LOG.warn("Could not resolve the keys to warm up cache=" + name + " with", e);
+            }
+            return keys;
+        }
+
+        void load(List<?> batch) {
+            try {
+                Map<?, ?> entries = loader.load(name, batch);
+                if (cache instanceof BatchCache) {
+                    ((BatchCache) cache).putAll(entries);
+                } else {
+                    entries.forEach(cache::put);
+                }
+                loadedKeys.add(batch.size());
+            } catch (Exception e) {
+                failedKeys.add(batch.size());
+                LOG.warn("Could not warm up cache=" + name + " with a batch of " + batch.size() + " keys", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package spring.caches.autoconfigure.warmup;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.lang.Nullable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Configures the {@link CacheWarmUp} of the caches listed in {@code spring.caches.warmup.caches}, along with its
+ * readiness, health indicator and metrics.
+ */
+@Configuration(proxyBeanMethods = false)
+@Conditional(CacheWarmUpConfiguration.OnWarmUpCondition.class)
+public class CacheWarmUpConfiguration {
+    private static final Log LOG = LogFactory.getLog(CacheWarmUpConfiguration.class);
+
+    @Bean
+    CacheWarmUp cacheWarmUp(
+            Environment environment,
+            ResourceLoader resourceLoader,
+            ListableBeanFactory beanFactory,
+            Map<String, CacheManager> cacheManagers
+    ) {
+        CacheWarmUpProperties properties = bind(environment);
+        List<CacheWarmUp.Target> targets = new ArrayList<>();
+        properties.getCaches().forEach((cacheName, settings) -> {
+            Cache cache = findCache(cacheName, cacheManagers);
+            if (cache == null) {
+                LOG.warn("cache=" + cacheName + " not warmed up -> no cache manager has a cache of that name.");
+            } else {
+                CacheWarmUpLoader loader = findLoader(cacheName, settings, beanFactory);
+                targets.add(new CacheWarmUp.Target(cacheName, cache,
+                        keySource(cacheName, settings, loader, resourceLoader), loader));
+            }
+        });
+        return new CacheWarmUp(targets, properties.getBatchSize(), properties.getParallelism(), properties.getRate(),
+                properties.getTimeout());
+    }
+
+    @Bean
+    CacheWarmUpHealthIndicator cacheWarmUpHealthIndicator(CacheWarmUp cacheWarmUp) {
+        return new CacheWarmUpHealthIndicator(cacheWarmUp);
+    }
+
+    /**
+     * Creates the readiness listener once the {@link ApplicationAvailability} is, so that it is notified of the
+     * readiness events after the availability has recorded them.
+     */
+    @Bean
+    CacheWarmUpReadiness cacheWarmUpReadiness(
+            CacheWarmUp cacheWarmUp,
+            ApplicationEventPublisher publisher,
+            ObjectProvider<ApplicationAvailability> availability
+    ) {
+        availability.getIfAvailable();
+        return new CacheWarmUpReadiness(cacheWarmUp, publisher);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class CacheWarmUpMetricsConfiguration {
+
+        @Bean
+        CacheWarmUpMetrics cacheWarmUpMetrics(CacheWarmUp cacheWarmUp) {
+            return new CacheWarmUpMetrics(cacheWarmUp);
+        }
+    }
+
+    static CacheWarmUpProperties bind(Environment environment) {
+        return Binder.get(environment)
+                .bind(CacheWarmUpProperties.PREFIX, CacheWarmUpProperties.class)
+                .orElseGet(CacheWarmUpProperties::new);
+    }
+
+    private static @Nullable Cache findCache(String cacheName, Map<String, CacheManager> cacheManagers) {
+        for (CacheManager cacheManager : cacheManagers.values()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                return cache;
+            }
+        }
+        return null;
+    }
+
+    private static CacheWarmUpLoader findLoader(
+            String cacheName,
+            CacheWarmUpProperties.CacheSettings settings,
+            ListableBeanFactory beanFactory
+    ) {
+        if (settings.getLoader() != null) {
+            return beanFactory.getBean(settings.getLoader(), CacheWarmUpLoader.class);
+        }
+        CacheWarmUpLoader loader = beanFactory.getBeanProvider(CacheWarmUpLoader.class).getIfUnique();
+        if (loader == null) {
+            throw new IllegalStateException("No unique CacheWarmUpLoader to warm up cache=" + cacheName
+                    + ", name one with " + CacheWarmUpProperties.PREFIX + ".caches." + cacheName + ".loader");
+        }
+        return loader;
+    }
+
+    private static Supplier<Iterable<?>> keySource(
+            String cacheName,
+            CacheWarmUpProperties.CacheSettings settings,
+            CacheWarmUpLoader loader,
+            ResourceLoader resourceLoader
+    ) {
+        if (!settings.getKeys().isEmpty()) {
+            List<String> keys = List.copyOf(settings.getKeys());
+            return () -> keys;
+        }
+        if (settings.getKeysLocation() != null) {
+            Resource resource = resourceLoader.getResource(settings.getKeysLocation());
+            return () -> readKeys(resource);
+        }
+        return () -> loader.keys(cacheName);
+    }
+
+    /**
+     * Reads the keys of a resource, one per line. Blank lines and lines starting with {@code #} are skipped.
+     */
+    static List<String> readKeys(Resource resource) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            return reader.lines()
+                    .map(String::strip)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the keys of " + resource, e);
+        }
+    }
+
+    /**
+     * Matches if caches to warm up are configured.
+     */
+    static class OnWarmUpCondition extends SpringBootCondition {
+
+        @Override
+        public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            if (bind(context.getEnvironment()).getCaches().isEmpty()) {
+                return ConditionOutcome.noMatch("no caches to warm up in " + CacheWarmUpProperties.PREFIX);
+            }
+            return ConditionOutcome.match("caches to warm up in " + CacheWarmUpProperties.PREFIX);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package spring.caches.autoconfigure.warmup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Reports the instance out of service until the {@link CacheWarmUp} has finished, so that it does not receive
+ * traffic with cold caches. The readiness state is held back by {@link CacheWarmUpReadiness} meanwhile, so the
+ * readiness group of the health endpoint does not need to include this indicator.
+ */
+public class CacheWarmUpHealthIndicator implements HealthIndicator {
+    private final CacheWarmUp warmUp;
+
+    public CacheWarmUpHealthIndicator(CacheWarmUp warmUp) {
+        this.warmUp = warmUp;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = warmUp.isFinished() ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("state", warmUp.getState())
+                .withDetail("processedKeys", warmUp.getProcessedKeys())
+                .withDetail("totalKeys", warmUp.getTotalKeys())
+                .withDetail("durationMillis", warmUp.getDuration().toMillis())
+                .build();
+    }
+}
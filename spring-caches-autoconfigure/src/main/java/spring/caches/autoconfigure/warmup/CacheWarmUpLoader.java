@@ -0,0 +1,39 @@
+package spring.caches.autoconfigure.warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads the entries a cache is warmed up with at startup. A loader is a bean that the warm-up of a cache names
+ * with {@code spring.caches.warmup.caches.<cache>.loader}; if there is only one loader, it need not be named.
+ *
+ * <p>The keys to load are listed in the configuration, with {@code keys} or {@code keys-location}, or else
+ * returned by {@link #keys(String)}. They are passed to {@link #load(String, List)} in batches, from several
+ * threads at once, so implementations must be thread-safe.
+ */
+@FunctionalInterface
+public interface CacheWarmUpLoader {
+
+    /**
+     * Loads the entries of a batch of keys. Keys listed in the configuration are strings, so the loader may map
+     * them to the keys of the cache, e.g. to numbers; the returned keys are the ones cached. Keys that have no
+     * value are left out.
+     *
+     * @param cacheName the name of the cache that is warmed up
+     * @param keys      the batch of keys to load
+     * @return the entries to put into the cache
+     * @throws Exception if the batch cannot be loaded; its keys are counted as failed
+     */
+    Map<?, ?> load(String cacheName, List<?> keys) throws Exception;
+
+    /**
+     * Returns the keys to load into the cache if the configuration lists none. By default there are none.
+     *
+     * @param cacheName the name of the cache that is warmed up
+     * @return the keys to load
+     */
+    default Iterable<?> keys(String cacheName) {
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,53 @@
+package spring.caches.autoconfigure.warmup;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collect metrics on the {@link CacheWarmUp}. The keys of each cache are reported as {@code cache.warmup.keys},
+ * tagged {@code result=loaded} or {@code result=failed}, along with their total as {@code cache.warmup.keys.total}.
+ * The warm-up as a whole reports {@code cache.warmup.progress}, the share of the keys processed,
+ * {@code cache.warmup.throughput}, the keys processed per second, and {@code cache.warmup.duration}.
+ */
+public class CacheWarmUpMetrics implements MeterBinder {
+    private static final String CACHE = "cache";
+    private static final String RESULT = "result";
+
+    private final CacheWarmUp warmUp;
+
+    public CacheWarmUpMetrics(CacheWarmUp warmUp) {
+        this.warmUp = warmUp;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (CacheWarmUp.Target target : warmUp.getTargets()) {
+            FunctionCounter.builder("cache.warmup.keys", target, CacheWarmUp.Target::getLoadedKeys)
+                    .tags(CACHE, target.getName(), RESULT, "loaded")
+                    .description("The number of keys loaded into the cache by the warm-up")
+                    .register(registry);
+            FunctionCounter.builder("cache.warmup.keys", target, CacheWarmUp.Target::getFailedKeys)
+                    .tags(CACHE, target.getName(), RESULT, "failed")
+                    .description("The number of keys the warm-up failed to load into the cache")
+                    .register(registry);
+            Gauge.builder("cache.warmup.keys.total", target, CacheWarmUp.Target::getTotalKeys)
+                    .tags(CACHE, target.getName())
+                    .description("The number of keys the warm-up loads into the cache")
+                    .register(registry);
+        }
+        Gauge.builder("cache.warmup.progress", warmUp, CacheWarmUp::getProgress)
+                .description("The share of the keys of all caches the warm-up has processed")
+                .register(registry);
+        Gauge.builder("cache.warmup.throughput", warmUp, CacheWarmUp::getThroughput)
+                .description("The number of keys the warm-up has processed per second")
+                .register(registry);
+        TimeGauge.builder("cache.warmup.duration", warmUp, TimeUnit.NANOSECONDS, w -> w.getDuration().toNanos())
+                .description("The time the warm-up has taken")
+                .register(registry);
+    }
+}
@@ -0,0 +1,120 @@
+package spring.caches.autoconfigure.warmup;
+
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The settings of the cache warm-up, bound from {@code spring.caches.warmup}.
+ */
+public class CacheWarmUpProperties {
+    static final String PREFIX = "spring.caches.warmup";
+
+    private int batchSize = 100;
+    private int parallelism = 4;
+    private int rate;
+    private Duration timeout = Duration.ofMinutes(10);
+    private Map<String, CacheSettings> caches = new LinkedHashMap<>();
+
+    /**
+     * Returns the number of keys loaded at once, 100 by default.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns the number of batches loaded concurrently, 4 by default.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the maximum number of keys loaded per second across all caches, or 0 if unlimited, the default.
+     */
+    public int getRate() {
+        return rate;
+    }
+
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+
+    /**
+     * Returns how long the warm-up may take, 10 minutes by default. Batches that have not been loaded by then are
+     * skipped, and the instance is ready anyway.
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Returns the settings of the caches to warm up, by cache name.
+     */
+    public Map<String, CacheSettings> getCaches() {
+        return caches;
+    }
+
+    public void setCaches(Map<String, CacheSettings> caches) {
+        this.caches = caches;
+    }
+
+    /**
+     * The settings of the warm-up of a cache.
+     */
+    public static class CacheSettings {
+        private @Nullable String loader;
+        private List<String> keys = new ArrayList<>();
+        private @Nullable String keysLocation;
+
+        /**
+         * Returns the name of the {@link CacheWarmUpLoader} bean, or {@code null} to use the only one.
+         */
+        public @Nullable String getLoader() {
+            return loader;
+        }
+
+        public void setLoader(@Nullable String loader) {
+            this.loader = loader;
+        }
+
+        /**
+         * Returns the keys to load.
+         */
+        public List<String> getKeys() {
+            return keys;
+        }
+
+        public void setKeys(List<String> keys) {
+            this.keys = keys;
+        }
+
+        /**
+         * Returns the location of a resource that lists the keys to load, one per line, or {@code null}.
+         */
+        public @Nullable String getKeysLocation() {
+            return keysLocation;
+        }
+
+        public void setKeysLocation(@Nullable String keysLocation) {
+            this.keysLocation = keysLocation;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package spring.caches.autoconfigure.warmup;
+
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Keeps the application's {@link ReadinessState} at {@link ReadinessState#REFUSING_TRAFFIC REFUSING_TRAFFIC}
+ * while the {@link CacheWarmUp} runs, so that the readiness probe does not send traffic to an instance with
+ * cold caches. When the application becomes ready to accept traffic before the warm-up has finished, the
+ * readiness is set back to refusing traffic, and to accepting traffic once the warm-up finishes.
+ *
+ * <p>The listener must be notified after the {@code ApplicationAvailability} bean, which records the state
+ * that it sets, so it is created after that bean.
+ */
+public class CacheWarmUpReadiness implements ApplicationListener<AvailabilityChangeEvent<?>> {
+    private final ApplicationEventPublisher publisher;
+
+    private boolean finished;
+    private boolean deferred;
+
+    public CacheWarmUpReadiness(CacheWarmUp warmUp, ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+        warmUp.whenFinished(this::finished);
+    }
+
+    @Override
+    public synchronized void onApplicationEvent(AvailabilityChangeEvent<?> event) {
+        if ((event.getState() == ReadinessState.ACCEPTING_TRAFFIC) && !finished) {
+            deferred = true;
+            AvailabilityChangeEvent.publish(publisher, this, ReadinessState.REFUSING_TRAFFIC);
+        }
+    }
+
+    private synchronized void finished() {
+        finished = true;
+        if (deferred) {
+            deferred = false;
+            AvailabilityChangeEvent.publish(publisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+        }
+    }
+
+    /**
+     * Returns whether the readiness is held back until the warm-up finishes.
+     */
+    public synchronized boolean isDeferring() {
+        return deferred;
+    }
+}
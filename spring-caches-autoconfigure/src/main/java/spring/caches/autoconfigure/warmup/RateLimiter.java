@@ -0,0 +1,47 @@
+package spring.caches.autoconfigure.warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces out permits evenly at a fixed rate. A caller that acquires several permits at once waits for the
+ * permits acquired before it, and delays the callers after it by its own permits, so bursts are not allowed.
+ */
+final class RateLimiter {
+    private final long nanosPerPermit;
+    private long next = System.nanoTime();
+
+    RateLimiter(int permitsPerSecond) {
+        this.nanosPerPermit = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+    }
+
+    /**
+     * Waits until the given number of permits is available, unless they are not available before the
+     * deadline, in which case returns {@code false} right away without taking them.
+     *
+     * @param deadline the {@link System#nanoTime()} by which the permits must be available
+     */
+    boolean tryAcquire(int permits, long deadline) throws InterruptedException {
+        long wait = reserve(permits, deadline);
+        if (wait < 0L) {
+            return false;
+        }
+        if (wait > 0L) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+        return true;
+    }
+
+    /**
+     * Reserves the given number of permits if they are available by the deadline, and returns how long to
+     * wait for them, in nanoseconds, or -1 if they are not reserved.
+     */
+    synchronized long reserve(int permits, long deadline) {
+        long now = System.nanoTime();
+        long at = Math.max(next, now);
+        if (at - deadline > 0L) {
+            return -1L;
+        }
+        next = at + (permits * nanosPerPermit);
+        return at - now;
+    }
+}
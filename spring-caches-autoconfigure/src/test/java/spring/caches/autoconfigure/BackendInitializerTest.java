@@ -0,0 +1,180 @@
+package spring.caches.autoconfigure;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import spring.caches.autoconfigure.CachesInitializationReport.Entry;
+import spring.caches.autoconfigure.CachesInitializationReport.Status;
+import spring.caches.backend.CacheBackend;
+import spring.caches.backend.properties.tree.CachesProperties;
+import spring.caches.backend.system.BackendFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BackendInitializer}.
+ */
+class BackendInitializerTest {
+    private static final CachesProperties PROPERTIES = CachesProperties.resolve(Map::of);
+
+    private static BackendInitializer.Task task(String name, BackendFactory factory) {
+        return new BackendInitializer.Task(name, factory, PROPERTIES);
+    }
+
+    @Test
+    void serialInitializationShouldReportCreatedAndFailedBackends() {
+        CachesInitializationReport report = new BackendInitializer(false, Duration.ofSeconds(10), 1).initialize(List.of(
+                task("failing", factory((properties, executor) -> {
+                    throw new IllegalStateException("misconfigured");
+                })),
+                task("working", factory((properties, executor) -> new TestBackend("working")))));
+
+        assertThat(report.isParallel()).isFalse();
+        assertThat(report.getEntries()).extracting(Entry::getBackend).containsExactly("failing", "working");
+        assertThat(report.getEntry("failing").get().getStatus()).isEqualTo(Status.FAILED);
+        assertThat(report.getEntry("failing").get().getFailure()).hasMessage("misconfigured");
+        assertThat(report.getEntry("working").get().getStatus()).isEqualTo(Status.CREATED);
+        assertThat(report.getFailures()).extracting(Entry::getBackend).containsExactly("failing");
+        assertThat(report.cacheBackends()).extracting(CacheBackend::getBackendName).containsExactly("working");
+    }
+
+    @Test
+    void parallelInitializationShouldCreateBackendsAndTheirPartsConcurrently() {
+        CountDownLatch started = new CountDownLatch(2);
+        BackendFactory factory = factory((properties, executor) -> {
+            started.countDown();
+            await(started);
+            CompletableFuture<String> part = CompletableFuture.supplyAsync(() -> Thread.currentThread().getName(),
+                    executor);
+            return new TestBackend(part.join());
+        });
+
+        CachesInitializationReport report = new BackendInitializer(true, Duration.ofSeconds(10), 2)
+                .initialize(List.of(task("first", factory), task("second", factory)));
+
+        assertThat(report.isParallel()).isTrue();
+        assertThat(report.hasFailures()).isFalse();
+        assertThat(report.cacheBackends()).extracting(CacheBackend::getBackendName)
+                .allMatch(name -> name.startsWith("spring-caches-init-"));
+    }
+
+    @Test
+    void backendThatTimesOutShouldBeReportedAndDestroyedOnceCreated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        TestBackend late = new TestBackend("late");
+
+        CachesInitializationReport report = new BackendInitializer(true, Duration.ofMillis(100), 2).initialize(List.of(
+                task("late", factory((properties, executor) -> {
+                    await(release);
+                    return CompletableFuture.supplyAsync(() -> late, executor).join();
+                })),
+                task("fast", factory((properties, executor) -> new TestBackend("fast")))));
+
+        assertThat(report.getEntry("late").get().getStatus()).isEqualTo(Status.TIMED_OUT);
+        assertThat(report.getEntry("late").get().getDuration()).isEqualTo(Duration.ofMillis(100));
+        assertThat(report.getEntry("fast").get().getStatus()).isEqualTo(Status.CREATED);
+        assertThat(report.cacheBackends()).extracting(CacheBackend::getBackendName).containsExactly("fast");
+
+        release.countDown();
+        assertThat(late.cacheManager.destroyed.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void backendsShouldBeCreatedOnAPoolOfTheConfiguredThreads() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        BackendFactory factory = factory((properties, executor) -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                TimeUnit.MILLISECONDS.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } finally {
+                running.decrementAndGet();
+            }
+            return new TestBackend(Thread.currentThread().getName());
+        });
+
+        CachesInitializationReport report = new BackendInitializer(true, Duration.ofSeconds(10), 2)
+                .initialize(List.of(task("first", factory), task("second", factory), task("third", factory)));
+
+        assertThat(report.hasFailures()).isFalse();
+        assertThat(report.cacheBackends()).extracting(CacheBackend::getBackendName)
+                .allMatch(name -> name.startsWith("spring-caches-backend-"));
+        assertThat(maxRunning).hasValue(2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("latch not released");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static BackendFactory factory(Creation creation) {
+        return new BackendFactory() {
+            @Override
+            public CacheBackend create(CachesProperties properties) {
+                return creation.create(properties, Runnable::run);
+            }
+
+            @Override
+            public CacheBackend create(CachesProperties properties, Executor executor) {
+                return creation.create(properties, executor);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface Creation {
+        CacheBackend create(CachesProperties properties, Executor executor);
+    }
+
+    private static final class TestBackend extends CacheBackend {
+        private final String name;
+        private final DisposableCacheManager cacheManager = new DisposableCacheManager();
+
+        TestBackend(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getBackendName() {
+            return name;
+        }
+
+        @Override
+        public CacheManager getCacheManager() {
+            return cacheManager;
+        }
+
+        @Override
+        public void injectCacheMeterBinderProvider(BiConsumer<String, Object> consumer) {
+        }
+    }
+
+    private static final class DisposableCacheManager extends ConcurrentMapCacheManager implements DisposableBean {
+        private final CountDownLatch destroyed = new CountDownLatch(1);
+
+        @Override
+        public void destroy() {
+            destroyed.countDown();
+        }
+    }
+}
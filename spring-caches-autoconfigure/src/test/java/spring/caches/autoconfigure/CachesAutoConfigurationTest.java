@@ -41,4 +41,21 @@ class CachesAutoConfigurationTest {
                     assertThat(method.computeInt(9)).isEqualTo(method.computeInt(9)).isEqualTo(method.computeInt(9));
                 });
     }
-}
\ No newline at end of file
+
+    @Test
+    void runInParallelShouldReportInitializedBackends() {
+        this.contextRunner.withPropertyValues(
+                "spring.caches.default.names=cache1",
+                "spring.caches.initialization.parallel=true",
+                "spring.caches.initialization.timeout=10s")
+                .run(context -> {
+                    assertThat(context).hasBean("defaultCacheManager");
+                    CachesInitializationReport report = context.getBean(CachesInitializationReport.class);
+                    assertThat(report.isParallel()).isTrue();
+                    assertThat(report.hasFailures()).isFalse();
+                    assertThat(report.getEntry("default"))
+                            .hasValueSatisfying(entry -> assertThat(entry.getStatus())
+                                    .isEqualTo(CachesInitializationReport.Status.CREATED));
+                });
+    }
+}
@@ -0,0 +1,94 @@
+package spring.caches.autoconfigure;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.CacheableOperation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link DefaultCachesResolver}.
+ */
+class DefaultCachesResolverTest {
+    private final Cache cache1 = new ConcurrentMapCache("cache1");
+    private final Cache cache2 = new ConcurrentMapCache("cache2");
+    private final DefaultCachesResolver resolver =
+            new DefaultCachesResolver(Map.of("cache1", cache1, "cache2", cache2));
+
+    private static CacheOperationInvocationContext<?> context(String... cacheNames) {
+        CacheableOperation.Builder builder = new CacheableOperation.Builder();
+        builder.setCacheNames(cacheNames);
+        CacheableOperation operation = builder.build();
+        CacheOperationInvocationContext<?> context = mock(CacheOperationInvocationContext.class);
+        when(context.getOperation()).thenAnswer(invocation -> operation);
+        return context;
+    }
+
+    @Test
+    void resolveCachesShouldReturnTheSameCollectionForAnOperation() {
+        CacheOperationInvocationContext<?> context = context("cache1", "cache2");
+
+        Collection<Cache> first = new ArrayList<>(resolver.resolveCaches(context));
+
+        assertThat(first).containsExactly(cache1, cache2);
+        assertThat(resolver.resolveCaches(context)).isSameAs(resolver.resolveCaches(context));
+        assertThat(new ArrayList<Cache>(resolver.resolveCaches(context("cache1")))).containsExactly(cache1);
+        assertThat(resolver.resolutions()).isEqualTo(2);
+    }
+
+    @Test
+    void resolveCachesShouldFailForUnknownCacheEveryTime() {
+        CacheOperationInvocationContext<?> context = context("cache1", "unknown");
+
+        assertThatThrownBy(() -> resolver.resolveCaches(context))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("'unknown'");
+        assertThatThrownBy(() -> resolver.resolveCaches(context)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(resolver.resolutions()).isZero();
+    }
+
+    @Test
+    void resolveCachesShouldFallBackToCacheManagers() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+        DefaultCachesResolver dynamic = new DefaultCachesResolver(Map.of("cache1", cache1), List.of(cacheManager));
+        CacheOperationInvocationContext<?> context = context("cache1", "created");
+
+        Collection<? extends Cache> resolved = dynamic.resolveCaches(context);
+
+        assertThat(new ArrayList<Cache>(resolved)).containsExactly(cache1, cacheManager.getCache("created"));
+        assertThat(dynamic.resolveCaches(context)).isSameAs(resolved);
+    }
+
+    @Test
+    void registeredCacheShouldBeResolvable() {
+        CacheOperationInvocationContext<?> context = context("cache1", "registered");
+        assertThatThrownBy(() -> resolver.resolveCaches(context)).isInstanceOf(IllegalArgumentException.class);
+
+        Cache registered = new ConcurrentMapCache("registered");
+        resolver.registerCache(registered);
+
+        assertThat(new ArrayList<Cache>(resolver.resolveCaches(context))).containsExactly(cache1, registered);
+    }
+
+    @Test
+    void registeringCacheShouldReplaceResolvedCacheOfTheSameName() {
+        CacheOperationInvocationContext<?> context = context("cache1");
+        assertThat(new ArrayList<Cache>(resolver.resolveCaches(context))).containsExactly(cache1);
+
+        Cache replacement = new ConcurrentMapCache("cache1");
+        resolver.registerCache(replacement);
+
+        assertThat(new ArrayList<Cache>(resolver.resolveCaches(context))).containsExactly(replacement);
+    }
+}
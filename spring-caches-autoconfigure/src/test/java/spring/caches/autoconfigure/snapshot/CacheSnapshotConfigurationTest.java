@@ -0,0 +1,82 @@
+package spring.caches.autoconfigure.snapshot;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import spring.caches.autoconfigure.CachesAutoConfiguration;
+import spring.caches.backend.SnapshotCache;
+import spring.caches.backend.snapshot.SnapshotWriter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link CacheSnapshotConfiguration}.
+ */
+class CacheSnapshotConfigurationTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(CachesAutoConfiguration.class))
+            .withSystemProperties("cache.backend_factories=spring.caches.backend.system.DefaultBackendFactory#getInstance")
+            .withBean("snapshotCacheManager", CacheManager.class, CacheSnapshotConfigurationTest::cacheManager)
+            .withPropertyValues("spring.caches.default.names=users");
+
+    @TempDir
+    Path directory;
+
+    private static CacheManager cacheManager() {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(new MapSnapshotCache("products")));
+        cacheManager.initializeCaches();
+        return cacheManager;
+    }
+
+    /**
+     * A map cache whose entries never expire.
+     */
+    static final class MapSnapshotCache extends ConcurrentMapCache implements SnapshotCache {
+
+        MapSnapshotCache(String name) {
+            super(name);
+        }
+
+        @Override
+        public void writeSnapshot(SnapshotWriter writer) throws IOException {
+            for (Map.Entry<Object, Object> entry : getNativeCache().entrySet()) {
+                writer.write(entry.getKey(), fromStoreValue(entry.getValue()), Long.MAX_VALUE);
+            }
+        }
+    }
+
+    @Test
+    void snapshotsShouldNotBeConfiguredWithoutCaches() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(CacheSnapshots.class));
+    }
+
+    @Test
+    void cachesShouldBeRestoredByTheNextContext() {
+        ApplicationContextRunner runner = contextRunner.withPropertyValues(
+                "spring.caches.snapshot.directory=" + directory,
+                "spring.caches.snapshot.caches=products,users,missing");
+        runner.run(context -> {
+            assertThat(context.getBean(CacheSnapshots.class).getTargets())
+                    .extracting(CacheSnapshots.Target::getName)
+                    .containsExactly("products");
+            context.getBean("snapshotCacheManager", CacheManager.class).getCache("products").put("1", "one");
+        });
+        assertThat(directory.resolve("products.snapshot")).exists();
+
+        runner.run(context -> {
+            CacheManager cacheManager = context.getBean("snapshotCacheManager", CacheManager.class);
+            assertThat(cacheManager.getCache("products").get("1", String.class)).isEqualTo("one");
+        });
+        assertThat(directory.resolve("products.snapshot")).exists();
+    }
+}
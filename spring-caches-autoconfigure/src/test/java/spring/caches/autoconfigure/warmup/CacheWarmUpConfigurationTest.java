@@ -0,0 +1,111 @@
+package spring.caches.autoconfigure.warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.availability.ApplicationAvailabilityAutoConfiguration;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cache.CacheManager;
+import spring.caches.autoconfigure.CachesAutoConfiguration;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link CacheWarmUpConfiguration}.
+ */
+class CacheWarmUpConfigurationTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(CachesAutoConfiguration.class))
+            .withSystemProperties("cache.backend_factories=spring.caches.backend.system.DefaultBackendFactory#getInstance")
+            .withBean("productLoader", CacheWarmUpLoader.class, () -> ProductLoader::load)
+            .withPropertyValues("spring.caches.default.names=products,users");
+
+    static final class ProductLoader {
+        static Map<?, ?> load(String cacheName, List<?> keys) {
+            return keys.stream().collect(Collectors.toMap(Function.identity(), key -> cacheName + "-" + key));
+        }
+    }
+
+    private static void awaitFinished(CacheWarmUp warmUp) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!warmUp.isFinished() && (System.nanoTime() < deadline)) {
+            Thread.sleep(10);
+        }
+        assertThat(warmUp.isFinished()).isTrue();
+    }
+
+    @Test
+    void warmUpShouldNotBeConfiguredWithoutCaches() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(CacheWarmUp.class));
+    }
+
+    @Test
+    void configuredKeysShouldBeLoadedAtStartup() {
+        contextRunner.withPropertyValues(
+                "spring.caches.warmup.caches.products.loader=productLoader",
+                "spring.caches.warmup.caches.products.keys=1,2,3",
+                "spring.caches.warmup.caches.users.keys-location=classpath:warmup-keys.txt",
+                "spring.caches.warmup.caches.missing.keys=1")
+                .run(context -> {
+                    CacheWarmUp warmUp = context.getBean(CacheWarmUp.class);
+                    assertThat(warmUp.getTargets()).extracting(CacheWarmUp.Target::getName)
+                            .containsExactly("products", "users");
+                    awaitFinished(warmUp);
+
+                    CacheManager cacheManager = context.getBean("defaultCacheManager", CacheManager.class);
+                    assertThat(cacheManager.getCache("products").get("3", String.class)).isEqualTo("products-3");
+                    assertThat(cacheManager.getCache("users").get("alice", String.class)).isEqualTo("users-alice");
+                    assertThat(cacheManager.getCache("users").get("# comment")).isNull();
+
+                    CacheWarmUpHealthIndicator health = context.getBean(CacheWarmUpHealthIndicator.class);
+                    assertThat(health.health().getStatus()).isEqualTo(Status.UP);
+                    assertThat(health.health().getDetails()).containsEntry("processedKeys", 5L);
+
+                    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+                    context.getBean(CacheWarmUpMetrics.class).bindTo(registry);
+                    assertThat(registry.get("cache.warmup.keys").tags("cache", "products", "result", "loaded")
+                            .functionCounter().count()).isEqualTo(3.0);
+                    assertThat(registry.get("cache.warmup.progress").gauge().value()).isEqualTo(1.0);
+                });
+    }
+
+    @Test
+    void readinessShouldRefuseTrafficUntilTheWarmUpHasFinished() {
+        CountDownLatch release = new CountDownLatch(1);
+        CacheWarmUpLoader blockingLoader = (cacheName, keys) -> {
+            release.await();
+            return ProductLoader.load(cacheName, keys);
+        };
+        contextRunner.withConfiguration(AutoConfigurations.of(ApplicationAvailabilityAutoConfiguration.class))
+                .withBean("blockingLoader", CacheWarmUpLoader.class, () -> blockingLoader)
+                .withPropertyValues(
+                        "spring.caches.warmup.caches.products.loader=blockingLoader",
+                        "spring.caches.warmup.caches.products.keys=1,2,3")
+                .run(context -> {
+                    ApplicationAvailability availability = context.getBean(ApplicationAvailability.class);
+                    AvailabilityChangeEvent.publish(context, ReadinessState.ACCEPTING_TRAFFIC);
+                    assertThat(availability.getReadinessState()).isEqualTo(ReadinessState.REFUSING_TRAFFIC);
+                    assertThat(context.getBean(CacheWarmUpReadiness.class).isDeferring()).isTrue();
+
+                    release.countDown();
+                    awaitFinished(context.getBean(CacheWarmUp.class));
+                    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                    while ((availability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC)
+                            && (System.nanoTime() < deadline)) {
+                        Thread.sleep(10);
+                    }
+                    assertThat(availability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+                });
+    }
+}
@@ -0,0 +1,128 @@
+package spring.caches.autoconfigure.warmup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link CacheWarmUp}.
+ */
+class CacheWarmUpTest {
+
+    private static List<Integer> keys(int count) {
+        return IntStream.range(0, count).boxed().collect(Collectors.toList());
+    }
+
+    private static Map<?, ?> identity(List<?> keys) {
+        return keys.stream().collect(Collectors.toMap(Function.identity(), key -> "value-" + key));
+    }
+
+    private static void awaitFinished(CacheWarmUp warmUp) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!warmUp.isFinished() && (System.nanoTime() < deadline)) {
+            Thread.sleep(10);
+        }
+        assertThat(warmUp.isFinished()).isTrue();
+    }
+
+    @Test
+    void keysShouldBeLoadedInBatches() throws Exception {
+        ConcurrentMapCache cache = new ConcurrentMapCache("products");
+        AtomicInteger batches = new AtomicInteger();
+        CacheWarmUp warmUp = new CacheWarmUp(List.of(new CacheWarmUp.Target("products", cache, () -> keys(250),
+                (cacheName, keys) -> {
+                    batches.incrementAndGet();
+                    assertThat(keys).hasSizeLessThanOrEqualTo(100);
+                    return identity(keys);
+                })), 100, 4, 0, Duration.ofSeconds(10));
+
+        assertThat(warmUp.isFinished()).isFalse();
+        warmUp.start();
+        awaitFinished(warmUp);
+
+        assertThat(warmUp.getState()).isEqualTo(CacheWarmUp.State.COMPLETED);
+        assertThat(batches).hasValue(3);
+        assertThat(warmUp.getProcessedKeys()).isEqualTo(250);
+        assertThat(warmUp.getProgress()).isEqualTo(1.0);
+        assertThat(cache.get(0, String.class)).isEqualTo("value-0");
+        assertThat(cache.get(249, String.class)).isEqualTo("value-249");
+    }
+
+    @Test
+    void failedBatchesShouldBeCountedAndNotStopTheWarmUp() throws Exception {
+        ConcurrentMapCache cache = new ConcurrentMapCache("products");
+        CacheWarmUp.Target target = new CacheWarmUp.Target("products", cache, () -> keys(30), (cacheName, keys) -> {
+            if (keys.contains(10)) {
+                throw new IllegalStateException("database unavailable");
+            }
+            return identity(keys);
+        });
+        CacheWarmUp warmUp = new CacheWarmUp(List.of(target), 10, 1, 0, Duration.ofSeconds(10));
+
+        warmUp.start();
+        awaitFinished(warmUp);
+
+        assertThat(warmUp.getState()).isEqualTo(CacheWarmUp.State.COMPLETED);
+        assertThat(target.getLoadedKeys()).isEqualTo(20);
+        assertThat(target.getFailedKeys()).isEqualTo(10);
+        assertThat(cache.get(10)).isNull();
+        assertThat(cache.get(20, String.class)).isEqualTo("value-20");
+    }
+
+    @Test
+    void batchesShouldBeRateLimited() throws Exception {
+        CacheWarmUp warmUp = new CacheWarmUp(List.of(new CacheWarmUp.Target("products",
+                new ConcurrentMapCache("products"), () -> keys(40), (cacheName, keys) -> identity(keys))),
+                10, 4, 100, Duration.ofSeconds(10));
+
+        warmUp.start();
+        awaitFinished(warmUp);
+
+        // the first batch starts right away, the other three 100 ms apart
+        assertThat(warmUp.getDuration()).isGreaterThanOrEqualTo(Duration.ofMillis(250));
+        assertThat(warmUp.getProcessedKeys()).isEqualTo(40);
+    }
+
+    @Test
+    void rateLimitShouldNotDelayTheWarmUpPastItsTimeout() throws Exception {
+        CacheWarmUp warmUp = new CacheWarmUp(List.of(new CacheWarmUp.Target("products",
+                new ConcurrentMapCache("products"), () -> keys(40), (cacheName, keys) -> identity(keys))),
+                10, 4, 10, Duration.ofMillis(200));
+
+        warmUp.start();
+        awaitFinished(warmUp);
+
+        // the second batch would only start after a second
+        assertThat(warmUp.getState()).isEqualTo(CacheWarmUp.State.TIMED_OUT);
+        assertThat(warmUp.getDuration()).isLessThan(Duration.ofMillis(900));
+        assertThat(warmUp.getProcessedKeys()).isEqualTo(10);
+    }
+
+    @Test
+    void warmUpShouldFinishWhenTheTimeoutElapses() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CacheWarmUp warmUp = new CacheWarmUp(List.of(new CacheWarmUp.Target("products",
+                new ConcurrentMapCache("products"), () -> keys(20), (cacheName, keys) -> {
+                    release.await();
+                    return identity(keys);
+                })), 10, 1, 0, Duration.ofMillis(100));
+
+        warmUp.start();
+        awaitFinished(warmUp);
+
+        assertThat(warmUp.getState()).isEqualTo(CacheWarmUp.State.TIMED_OUT);
+        assertThat(warmUp.getProcessedKeys()).isLessThan(20);
+        release.countDown();
+    }
+}
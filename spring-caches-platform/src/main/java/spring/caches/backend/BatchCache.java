@@ -0,0 +1,38 @@
+package spring.caches.backend;
+
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * A {@link Cache} that reads and writes many entries at once. Backends implement it with the bulk
+ * operations of their store, e.g. memcached's multi-key {@code get} or Redis' {@code MGET}, so that
+ * a batch costs a single round trip rather than one per key.
+ *
+ * <p>Callers obtain it by checking the caches of a {@code CacheManager}:
+ * <pre>{@code
+ * Cache cache = cacheManager.getCache("products");
+ * if (cache instanceof BatchCache) {
+ *     Map<Object, Object> products = ((BatchCache) cache).getAll(ids);
+ * }
+ * }</pre>
+ */
+public interface BatchCache extends Cache {
+
+    /**
+     * Returns the values of the given keys that are present in the cache. A key whose value is absent is
+     * omitted, whereas a key that is cached with a {@code null} value is mapped to {@code null}.
+     *
+     * @param keys the keys whose values are to be returned
+     * @return a mutable map of the present keys to their values
+     */
+    Map<Object, Object> getAll(Collection<?> keys);
+
+    /**
+     * Associates the given values with their keys, replacing any previously cached values.
+     *
+     * @param entries the entries to be cached
+     */
+    void putAll(Map<?, ?> entries);
+}
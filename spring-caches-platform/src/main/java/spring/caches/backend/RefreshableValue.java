@@ -0,0 +1,48 @@
+package spring.caches.backend;
+
+import org.springframework.lang.Nullable;
+
+import java.io.Serializable;
+
+/**
+ * A cached value together with the time it was written, which tells a {@link Refresher} when the value is
+ * due for a reload. Caches that refresh store their values in this holder.
+ *
+ * <p>The holder is serializable with Java serialization, Kryo and Jackson, so that caches outside the JVM
+ * can store it with their codec.
+ */
+public final class RefreshableValue implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private @Nullable Object value;
+    private long writeTime;
+
+    @SuppressWarnings("unused")
+    private RefreshableValue() {
+        // Used by deserializers.
+    }
+
+    RefreshableValue(@Nullable Object value, long writeTime) {
+        this.value = value;
+        this.writeTime = writeTime;
+    }
+
+    /**
+     * Returns the cached value.
+     */
+    public @Nullable Object getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the time the value was written, in milliseconds of the refresher's clock.
+     */
+    public long getWriteTime() {
+        return writeTime;
+    }
+
+    @Override
+    public String toString() {
+        return "RefreshableValue{value=" + value + ", writeTime=" + writeTime + '}';
+    }
+}
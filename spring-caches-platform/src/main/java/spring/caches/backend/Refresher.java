@@ -0,0 +1,163 @@
+package spring.caches.backend;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Reloads cached values in the background once they are older than the refresh age, while callers keep
+ * being served the current value (stale-while-revalidate). A cache that refreshes stores its values as
+ * {@link RefreshableValue}s with their write time. When {@code get(key, valueLoader)} finds a value that
+ * is due, it returns the value and hands the loader to {@link #refresh}.
+ *
+ * <p>At most one reload per key is in flight; further requests for the key are served the current value
+ * without scheduling another. Reloads run on a bounded executor. If it is saturated, the reload is dropped
+ * and the next request for the key tries again. A reload that fails keeps the current value.
+ */
+public final class Refresher {
+    private static final Logger LOGGER = System.getLogger(Refresher.class.getName());
+
+    private final long refreshAfterWriteMillis;
+    private final Executor executor;
+    private final LongSupplier clock;
+    private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a refresher that reloads on the shared executor and dates values with the system clock, so
+     * that the write times of values stored outside the JVM are comparable across nodes.
+     *
+     * @param refreshAfterWrite the age after which a value is reloaded
+     */
+    public Refresher(Duration refreshAfterWrite) {
+        this(refreshAfterWrite, defaultExecutor(), System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a refresher.
+     *
+     * @param refreshAfterWrite the age after which a value is reloaded
+     * @param executor          the executor that runs the reloads
+     * @param clock             the source of the write times, in milliseconds
+     */
+    public Refresher(Duration refreshAfterWrite, Executor executor, LongSupplier clock) {
+        Assert.notNull(refreshAfterWrite, "refreshAfterWrite is mandatory");
+        Assert.isTrue(!refreshAfterWrite.isNegative(), "refreshAfterWrite cannot be negative");
+        Assert.notNull(executor, "executor is mandatory");
+        Assert.notNull(clock, "clock is mandatory");
+        this.refreshAfterWriteMillis = refreshAfterWrite.toMillis();
+        this.executor = executor;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the executor shared by the refreshers of all caches. Its threads are daemons, one
+     * per processor but at least two, and it queues up to 1024 reloads.
+     */
+    public static Executor defaultExecutor() {
+        return SharedExecutor.INSTANCE;
+    }
+
+    /**
+     * Returns the age after which a value is reloaded.
+     */
+    public Duration refreshAfterWrite() {
+        return Duration.ofMillis(refreshAfterWriteMillis);
+    }
+
+    /**
+     * Returns the given value dated with the current time.
+     */
+    public RefreshableValue wrap(@Nullable Object value) {
+        return new RefreshableValue(value, clock.getAsLong());
+    }
+
+    /**
+     * Returns the value held by the given stored value. Values that were stored before refreshing was
+     * enabled are returned as they are.
+     */
+    public @Nullable Object unwrap(@Nullable Object storedValue) {
+        return (storedValue instanceof RefreshableValue) ? ((RefreshableValue) storedValue).getValue() : storedValue;
+    }
+
+    /**
+     * Returns whether the given stored value is older than the refresh age. Values that were stored
+     * before refreshing was enabled have no write time and are never due.
+     */
+    public boolean isDue(@Nullable Object storedValue) {
+        return (storedValue instanceof RefreshableValue)
+                && ((clock.getAsLong() - ((RefreshableValue) storedValue).getWriteTime()) >= refreshAfterWriteMillis);
+    }
+
+    /**
+     * Schedules a reload of the key, unless one is already in flight.
+     *
+     * @param key    the key to reload
+     * @param loader the loader of the new value
+     * @param writer stores the new value in the cache
+     * @return whether a reload was scheduled
+     */
+    public boolean refresh(Object key, Callable<?> loader, Consumer<Object> writer) {
+        if (!refreshing.add(key)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> reload(key, loader, writer));
+            return true;
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+            return false;
+        }
+    }
+
+    private void reload(Object key, Callable<?> loader, Consumer<Object> writer) {
+        try {
+            writer.accept(loader.call());
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Exception thrown while refreshing key " + key, e);
+        } finally {
+            refreshing.remove(key);
+        }
+    }
+
+    /**
+     * Returns the number of reloads in flight.
+     */
+    public int refreshing() {
+        return refreshing.size();
+    }
+
+    private static final class SharedExecutor {
+        private static final int MAX_QUEUED_REFRESHES = 1024;
+
+        static final Executor INSTANCE = create();
+
+        private static Executor create() {
+            int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+            AtomicInteger count = new AtomicInteger();
+            ThreadFactory threadFactory = runnable -> {
+                Thread thread = new Thread(runnable, "spring-caches-refresh-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(MAX_QUEUED_REFRESHES), threadFactory);
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+}
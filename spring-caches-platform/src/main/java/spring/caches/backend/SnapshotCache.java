@@ -0,0 +1,37 @@
+package spring.caches.backend;
+
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+import spring.caches.backend.snapshot.SnapshotWriter;
+
+import java.io.IOException;
+
+/**
+ * A {@link Cache} held in the memory of the application whose entries can be written to a snapshot when the
+ * application stops, and restored from it when it starts again, so that a restarted instance does not begin
+ * with an empty cache.
+ *
+ * @see spring.caches.backend.snapshot.SnapshotReader
+ */
+public interface SnapshotCache extends Cache {
+
+    /**
+     * Writes the entries of the cache that have not expired to the snapshot, one at a time, along with the
+     * time they have left to live. Entries written concurrently may or may not be included.
+     *
+     * @param writer the writer of the snapshot
+     * @throws IOException if the snapshot cannot be written
+     */
+    void writeSnapshot(SnapshotWriter writer) throws IOException;
+
+    /**
+     * Restores an entry read from a snapshot. An entry that has been cached since the start is kept, as it is
+     * newer than the snapshot.
+     *
+     * @param key   the key of the entry
+     * @param value the value of the entry
+     */
+    default void restore(Object key, @Nullable Object value) {
+        putIfAbsent(key, value);
+    }
+}
@@ -0,0 +1,28 @@
+package spring.caches.backend.snapshot;
+
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+
+/**
+ * A {@link SnapshotCodec} that uses Java serialization. It is the default codec, so keys and values must be
+ * {@link java.io.Serializable} unless another codec is configured.
+ */
+public final class JavaSnapshotCodec implements SnapshotCodec {
+    private final SerializingConverter serializer = new SerializingConverter();
+    private final DeserializingConverter deserializer = new DeserializingConverter();
+
+    @Override
+    public String name() {
+        return "java";
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        return serializer.convert(value);
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        return deserializer.convert(bytes);
+    }
+}
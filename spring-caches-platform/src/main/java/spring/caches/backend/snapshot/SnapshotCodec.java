@@ -0,0 +1,31 @@
+package spring.caches.backend.snapshot;
+
+/**
+ * Converts the keys and values of a cache snapshot to and from bytes. The name of the codec is recorded in
+ * the snapshot, which is only read back by a codec of the same name. Implementations must be thread-safe.
+ *
+ * @see JavaSnapshotCodec
+ */
+public interface SnapshotCodec {
+
+    /**
+     * Returns the name of the codec, recorded in the snapshots it writes.
+     */
+    String name();
+
+    /**
+     * Serializes a key or value.
+     *
+     * @param value the key or value, never {@code null}
+     * @return the serialized form of the value
+     */
+    byte[] encode(Object value);
+
+    /**
+     * Deserializes a key or value that was serialized by this codec.
+     *
+     * @param bytes the serialized form of the value
+     * @return the key or value
+     */
+    Object decode(byte[] bytes);
+}
@@ -0,0 +1,201 @@
+package spring.caches.backend.snapshot;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.function.BiConsumer;
+
+import static spring.caches.backend.snapshot.SnapshotWriter.END;
+import static spring.caches.backend.snapshot.SnapshotWriter.ENTRY_HEADER;
+import static spring.caches.backend.snapshot.SnapshotWriter.MAGIC;
+import static spring.caches.backend.snapshot.SnapshotWriter.NULL_VALUE;
+import static spring.caches.backend.snapshot.SnapshotWriter.VERSION;
+import static spring.caches.backend.snapshot.SnapshotWriter.WINDOW;
+
+/**
+ * Reads the entries of a snapshot file written by a {@link SnapshotWriter}, one at a time, through a window
+ * of the file that is mapped into memory. Entries that have expired since the snapshot was taken are skipped,
+ * as are entries the codec fails to decode, e.g. because their class changed.
+ */
+public final class SnapshotReader {
+    private static final System.Logger LOGGER = System.getLogger(SnapshotReader.class.getName());
+
+    private final Path file;
+    private final SnapshotCodec codec;
+    private final Clock clock;
+    private long restoredEntries;
+    private long expiredEntries;
+    private long failedEntries;
+
+    /**
+     * Creates a reader.
+     *
+     * @param file  the snapshot file
+     * @param codec the codec of the keys and values, which must have the name of the codec that wrote them
+     */
+    public SnapshotReader(Path file, SnapshotCodec codec) {
+        this(file, codec, Clock.systemUTC());
+    }
+
+    SnapshotReader(Path file, SnapshotCodec codec, Clock clock) {
+        Assert.notNull(file, "file is mandatory");
+        Assert.notNull(codec, "codec is mandatory");
+        this.file = file;
+        this.codec = codec;
+        this.clock = clock;
+    }
+
+    /**
+     * Passes the entries of the snapshot that have not expired to the consumer.
+     *
+     * @param consumer receives the key and value of each entry
+     * @return the number of entries passed to the consumer
+     * @throws IOException if the file cannot be read, is not a snapshot, was written by another codec or is
+     *                     truncated
+     */
+    public long read(BiConsumer<Object, Object> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Cursor cursor = new Cursor(channel);
+            restoredEntries = 0L;
+            expiredEntries = 0L;
+            failedEntries = 0L;
+            readHeader(cursor);
+            long now = clock.millis();
+            long entries = 0L;
+            while (true) {
+                int keyLength = cursor.ensureRemaining(Integer.BYTES).getInt();
+                if (keyLength == END) {
+                    long written = cursor.ensureRemaining(Long.BYTES).getLong();
+                    if (written != entries) {
+                        throw new IOException(file + " holds " + entries + " entries instead of " + written);
+                    }
+                    return restoredEntries;
+                }
+                readEntry(cursor, keyLength, now, consumer);
+                entries++;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of entries passed to the consumer.
+     */
+    public long getRestoredEntries() {
+        return restoredEntries;
+    }
+
+    /**
+     * Returns the number of entries skipped because they had expired.
+     */
+    public long getExpiredEntries() {
+        return expiredEntries;
+    }
+
+    /**
+     * Returns the number of entries skipped because they could not be decoded.
+     */
+    public long getFailedEntries() {
+        return failedEntries;
+    }
+
+    private void readHeader(Cursor cursor) throws IOException {
+        MappedByteBuffer buffer = cursor.ensureRemaining(Integer.BYTES + Integer.BYTES + Long.BYTES + Short.BYTES);
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException(file + " is not a cache snapshot");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException(file + " has the unsupported snapshot version " + version);
+        }
+        buffer.getLong();
+        byte[] codecName = new byte[buffer.getShort()];
+        cursor.ensureRemaining(codecName.length).get(codecName);
+        String name = new String(codecName, StandardCharsets.UTF_8);
+        if (!name.equals(codec.name())) {
+            throw new IOException(file + " was written with the codec " + name + " instead of " + codec.name());
+        }
+    }
+
+    private void readEntry(Cursor cursor, int keyLength, long now, BiConsumer<Object, Object> consumer)
+            throws IOException {
+        MappedByteBuffer buffer = cursor.ensureRemaining(ENTRY_HEADER - Integer.BYTES);
+        int valueLength = buffer.getInt();
+        long expiresAt = buffer.getLong();
+        if ((keyLength <= 0) || (valueLength < NULL_VALUE)) {
+            throw new IOException(file + " is corrupt at offset " + cursor.offset());
+        }
+        int length = keyLength + Math.max(0, valueLength);
+        buffer = cursor.ensureRemaining(length);
+        if (expiresAt <= now) {
+            buffer.position(buffer.position() + length);
+            expiredEntries++;
+            return;
+        }
+        byte[] keyBytes = new byte[keyLength];
+        buffer.get(keyBytes);
+        byte[] valueBytes = (valueLength == NULL_VALUE) ? null : new byte[valueLength];
+        if (valueBytes != null) {
+            buffer.get(valueBytes);
+        }
+        Object key;
+        Object value;
+        try {
+            key = codec.decode(keyBytes);
+            value = (valueBytes == null) ? null : codec.decode(valueBytes);
+        } catch (RuntimeException e) {
+            if (failedEntries++ == 0L) {
+                LOGGER.log(System.Logger.Level.WARNING, "Could not decode an entry of " + file, e);
+            }
+            return;
+        }
+        consumer.accept(key, value);
+        restoredEntries++;
+    }
+
+    /**
+     * The position of a read in the file, and the window of the file around it.
+     */
+    private final class Cursor {
+        private final FileChannel channel;
+        private final long size;
+        private @Nullable MappedByteBuffer window;
+        private long windowStart;
+
+        Cursor(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        long offset() {
+            MappedByteBuffer buffer = window;
+            return (buffer == null) ? windowStart : (windowStart + buffer.position());
+        }
+
+        /**
+         * Returns the current window once it has at least the given number of bytes left, mapping the next
+         * region of the file if it has not.
+         */
+        MappedByteBuffer ensureRemaining(int bytes) throws IOException {
+            MappedByteBuffer buffer = window;
+            if ((buffer != null) && (buffer.remaining() >= bytes)) {
+                return buffer;
+            }
+            long start = offset();
+            if ((start + bytes) > size) {
+                throw new EOFException(file + " is truncated");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(Math.max(WINDOW, bytes), size - start));
+            windowStart = start;
+            window = buffer;
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package spring.caches.backend.snapshot;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the entries of a cache to a snapshot file, one at a time, so that the size of the snapshot is not
+ * bounded by the heap. The file is written through a window of the file that is mapped into memory, which
+ * is moved along the file as it fills up.
+ *
+ * <p>A snapshot is written to a temporary file next to the target, which replaces the target once the
+ * snapshot is {@link #commit() committed}. A snapshot that is closed without being committed is discarded,
+ * leaving the previous snapshot, if any, in place.
+ *
+ * <p>The file starts with a header made of a magic number, the format version, the time the snapshot was
+ * taken and the name of the codec. Each entry is made of the length of its key, the length of its value or
+ * -1 for a {@code null} value, the time it expires in milliseconds since the epoch, and the key and value
+ * bytes. The entries are followed by -1 and their number.
+ *
+ * @see SnapshotReader
+ */
+public final class SnapshotWriter implements Closeable {
+    static final int MAGIC = 0x53434e50;
+    static final int VERSION = 1;
+    static final int END = -1;
+    static final int NULL_VALUE = -1;
+    static final int ENTRY_HEADER = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    static final int WINDOW = 8 * 1024 * 1024;
+
+    private final Path file;
+    private final Path temporary;
+    private final SnapshotCodec codec;
+    private final long takenAt;
+    private final FileChannel channel;
+    private @Nullable MappedByteBuffer window;
+    private long windowStart;
+    private long entries;
+    private boolean committed;
+
+    private SnapshotWriter(Path file, SnapshotCodec codec, Clock clock) throws IOException {
+        this.file = file;
+        this.temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        this.codec = codec;
+        this.takenAt = clock.millis();
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        byte[] codecName = codec.name().getBytes(StandardCharsets.UTF_8);
+        MappedByteBuffer buffer = ensureRemaining(Integer.BYTES + Integer.BYTES + Long.BYTES + Short.BYTES
+                + codecName.length);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(takenAt).putShort((short) codecName.length).put(codecName);
+    }
+
+    /**
+     * Starts a snapshot that replaces the given file once it is committed.
+     *
+     * @param file  the snapshot file
+     * @param codec the codec of the keys and values
+     * @return the writer of the snapshot
+     * @throws IOException if the temporary file cannot be created
+     */
+    public static SnapshotWriter create(Path file, SnapshotCodec codec) throws IOException {
+        return create(file, codec, Clock.systemUTC());
+    }
+
+    static SnapshotWriter create(Path file, SnapshotCodec codec, Clock clock) throws IOException {
+        Assert.notNull(file, "file is mandatory");
+        Assert.notNull(codec, "codec is mandatory");
+        return new SnapshotWriter(file, codec, clock);
+    }
+
+    /**
+     * Writes an entry. An entry that has no time left to live is skipped.
+     *
+     * @param key             the key of the entry
+     * @param value           the value of the entry
+     * @param timeToLiveNanos the nanoseconds the entry has left to live, or {@link Long#MAX_VALUE} if it does
+     *                        not expire
+     * @throws IOException if the entry cannot be written
+     */
+    public void write(Object key, @Nullable Object value, long timeToLiveNanos) throws IOException {
+        Assert.state(!committed, "The snapshot is committed");
+        if (timeToLiveNanos <= 0L) {
+            return;
+        }
+        byte[] keyBytes = codec.encode(key);
+        byte[] valueBytes = (value == null) ? null : codec.encode(value);
+        long expiresAt = (timeToLiveNanos == Long.MAX_VALUE)
+                ? Long.MAX_VALUE
+                : (takenAt + TimeUnit.NANOSECONDS.toMillis(timeToLiveNanos));
+        MappedByteBuffer buffer = ensureRemaining(ENTRY_HEADER + keyBytes.length
+                + ((valueBytes == null) ? 0 : valueBytes.length));
+        buffer.putInt(keyBytes.length)
+                .putInt((valueBytes == null) ? NULL_VALUE : valueBytes.length)
+                .putLong(expiresAt)
+                .put(keyBytes);
+        if (valueBytes != null) {
+            buffer.put(valueBytes);
+        }
+        entries++;
+    }
+
+    /**
+     * Returns the number of entries written so far.
+     */
+    public long getEntries() {
+        return entries;
+    }
+
+    /**
+     * Completes the snapshot and moves it in place of the snapshot file.
+     *
+     * @throws IOException if the snapshot cannot be completed or moved
+     */
+    public void commit() throws IOException {
+        Assert.state(!committed, "The snapshot is committed");
+        MappedByteBuffer buffer = ensureRemaining(Integer.BYTES + Long.BYTES);
+        buffer.putInt(END).putLong(entries);
+        long size = windowStart + buffer.position();
+        buffer.force();
+        window = null;
+        channel.truncate(size);
+        channel.force(true);
+        channel.close();
+        try {
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        committed = true;
+    }
+
+    /**
+     * Discards the snapshot unless it was committed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!committed) {
+            window = null;
+            channel.close();
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Returns the current window once it has at least the given number of bytes left, mapping the next region
+     * of the file if it has not.
+     */
+    private MappedByteBuffer ensureRemaining(int bytes) throws IOException {
+        MappedByteBuffer buffer = window;
+        if ((buffer != null) && (buffer.remaining() >= bytes)) {
+            return buffer;
+        }
+        if (buffer != null) {
+            buffer.force();
+            windowStart += buffer.position();
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, windowStart, Math.max(WINDOW, bytes));
+        window = buffer;
+        return buffer;
+    }
+}
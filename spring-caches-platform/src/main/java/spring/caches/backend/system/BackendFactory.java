@@ -3,6 +3,8 @@ package spring.caches.backend.system;
 import spring.caches.backend.CacheBackend;
 import spring.caches.backend.properties.tree.CachesProperties;
 
+import java.util.concurrent.Executor;
+
 /**
  * An API to create caching backends for a given set of properties. This is implemented as an abstract class
  * (rather than an interface) to reduce to risk of breaking existing implementations if the API
@@ -32,4 +34,16 @@ public abstract class BackendFactory {
      * reasons. In those situations it is expected that this method throws a {@code RuntimeException}.
      */
     public abstract CacheBackend create(CachesProperties properties);
+
+    /**
+     * Creates a cache backend like {@link #create(CachesProperties)}, but may run independent parts of the
+     * initialization, e.g. connecting to the clusters of a remote backend, on the given executor. The executor
+     * is bounded and shared by all backends that are initialized in parallel, so tasks submitted to it must
+     * not wait for other tasks of the executor. The method still returns only once the backend is created.
+     *
+     * <p>By default the executor is ignored.
+     */
+    public CacheBackend create(CachesProperties properties, Executor executor) {
+        return create(properties);
+    }
 }
@@ -0,0 +1,118 @@
+package spring.caches.backend.snapshot;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link SnapshotWriter} and {@link SnapshotReader}.
+ */
+class SnapshotTest {
+    private static final Clock TAKEN_AT = Clock.fixed(Instant.parse("2021-06-01T10:00:00Z"), ZoneOffset.UTC);
+
+    @TempDir
+    Path directory;
+
+    private static Map<Object, Object> read(SnapshotReader reader) throws IOException {
+        Map<Object, Object> entries = new HashMap<>();
+        reader.read(entries::put);
+        return entries;
+    }
+
+    @Test
+    void entriesShouldBeReadAcrossWindows() throws IOException {
+        Path file = directory.resolve("products.snapshot");
+        char[] padding = new char[1024];
+        Arrays.fill(padding, 'x');
+        try (SnapshotWriter writer = SnapshotWriter.create(file, new JavaSnapshotCodec())) {
+            for (int i = 0; i < 10_000; i++) {
+                writer.write(i, i + new String(padding), Long.MAX_VALUE);
+            }
+            writer.write("absent", null, Long.MAX_VALUE);
+            writer.commit();
+            assertThat(writer.getEntries()).isEqualTo(10_001);
+        }
+        assertThat(Files.size(file)).isGreaterThan(SnapshotWriter.WINDOW);
+        assertThat(directory.resolve("products.snapshot.tmp")).doesNotExist();
+
+        Map<Object, Object> entries = read(new SnapshotReader(file, new JavaSnapshotCodec()));
+
+        assertThat(entries).hasSize(10_001).containsEntry("absent", null);
+        assertThat((String) entries.get(9_999)).startsWith("9999x").hasSize(1028);
+    }
+
+    @Test
+    void expiredEntriesShouldBeSkipped() throws IOException {
+        Path file = directory.resolve("products.snapshot");
+        try (SnapshotWriter writer = SnapshotWriter.create(file, new JavaSnapshotCodec(), TAKEN_AT)) {
+            writer.write("expired", "value", 0L);
+            writer.write("soon", "value", Duration.ofMinutes(1).toNanos());
+            writer.write("later", "value", Duration.ofHours(1).toNanos());
+            writer.commit();
+            assertThat(writer.getEntries()).isEqualTo(2);
+        }
+
+        SnapshotReader reader = new SnapshotReader(file, new JavaSnapshotCodec(),
+                Clock.offset(TAKEN_AT, Duration.ofMinutes(5)));
+
+        assertThat(read(reader)).containsOnlyKeys("later");
+        assertThat(reader.getExpiredEntries()).isEqualTo(1);
+    }
+
+    @Test
+    void snapshotThatIsNotCommittedShouldBeDiscarded() throws IOException {
+        Path file = directory.resolve("products.snapshot");
+        try (SnapshotWriter writer = SnapshotWriter.create(file, new JavaSnapshotCodec())) {
+            writer.write("key", "first", Long.MAX_VALUE);
+            writer.commit();
+        }
+        try (SnapshotWriter writer = SnapshotWriter.create(file, new JavaSnapshotCodec())) {
+            writer.write("key", "second", Long.MAX_VALUE);
+        }
+
+        assertThat(read(new SnapshotReader(file, new JavaSnapshotCodec()))).containsEntry("key", "first");
+        assertThat(directory.resolve("products.snapshot.tmp")).doesNotExist();
+    }
+
+    @Test
+    void snapshotOfAnotherCodecShouldBeRejected() throws IOException {
+        Path file = directory.resolve("products.snapshot");
+        try (SnapshotWriter writer = SnapshotWriter.create(file, new JavaSnapshotCodec())) {
+            writer.write("key", "value", Long.MAX_VALUE);
+            writer.commit();
+        }
+        SnapshotCodec other = new SnapshotCodec() {
+            @Override
+            public String name() {
+                return "other";
+            }
+
+            @Override
+            public byte[] encode(Object value) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Object decode(byte[] bytes) {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        assertThatThrownBy(() -> new SnapshotReader(file, other).read((key, value) -> { }))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("codec java instead of other");
+    }
+}